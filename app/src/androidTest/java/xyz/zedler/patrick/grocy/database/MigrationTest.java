@@ -0,0 +1,96 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.database.Cursor;
+import androidx.room.Room;
+import androidx.room.migration.Migration;
+import androidx.room.testing.MigrationTestHelper;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import java.io.IOException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Migrates every exported schema from OLDEST_MIGRATABLE_VERSION to the current version.
+ * MigrationTestHelper compares the result with the exported schema of the current version,
+ * opening it with Room afterwards validates it against the compiled entities.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MigrationTest {
+
+  private static final String TEST_DB = "migration-test";
+  private static final Migration[] MIGRATIONS = Migrations.ALL;
+  private static final int LATEST_VERSION = MIGRATIONS[MIGRATIONS.length - 1].endVersion;
+
+  @Rule
+  public MigrationTestHelper helper = new MigrationTestHelper(
+      InstrumentationRegistry.getInstrumentation(),
+      AppDatabase.class
+  );
+
+  @Test
+  public void migrateAllVersionsToLatest() throws IOException {
+    for (int version = Migrations.OLDEST_MIGRATABLE_VERSION; version < LATEST_VERSION; version++) {
+      String name = TEST_DB + "-" + version;
+      helper.createDatabase(name, version).close();
+      helper.runMigrationsAndValidate(name, LATEST_VERSION, true, MIGRATIONS).close();
+      openWithRoom(name);
+    }
+  }
+
+  @Test
+  public void migrateKeepsPendingProducts() throws IOException {
+    String name = TEST_DB + "-pending-products";
+    SupportSQLiteDatabase db = helper.createDatabase(name, 55);
+    db.execSQL("INSERT INTO pending_product_table (id, name, name_is_from_off, "
+        + "product_group_id, qu_factor_purchase_to_stock, userfields) "
+        + "VALUES (1, 'Milk', 0, '3', '1,5', '{}')");
+    db.close();
+
+    db = helper.runMigrationsAndValidate(name, LATEST_VERSION, true, MIGRATIONS);
+    try (Cursor cursor = db.query("SELECT name, product_group_id, qu_factor_purchase_to_stock "
+        + "FROM pending_product_table WHERE id = 1")) {
+      assertTrue(cursor.moveToFirst());
+      assertEquals("Milk", cursor.getString(0));
+      assertEquals(3, cursor.getInt(1));
+      assertEquals(1.5, cursor.getDouble(2), 0);
+    }
+    db.close();
+    openWithRoom(name);
+  }
+
+  private static void openWithRoom(String name) {
+    AppDatabase appDatabase = Room.databaseBuilder(
+        ApplicationProvider.getApplicationContext(),
+        AppDatabase.class,
+        name
+    ).addMigrations(MIGRATIONS).build();
+    appDatabase.getOpenHelper().getWritableDatabase();
+    appDatabase.close();
+  }
+}
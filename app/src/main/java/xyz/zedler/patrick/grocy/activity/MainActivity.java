@@ -65,8 +65,10 @@ import androidx.fragment.app.FragmentManager;
 import androidx.interpolator.view.animation.FastOutSlowInInterpolator;
 import androidx.preference.PreferenceManager;
 import com.google.android.material.bottomsheet.BottomSheetDialogFragment;
+import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 import com.google.android.material.snackbar.Snackbar;
 import java.lang.reflect.Field;
+import java.util.List;
 import xyz.zedler.patrick.grocy.Constants;
 import xyz.zedler.patrick.grocy.Constants.ARGUMENT;
 import xyz.zedler.patrick.grocy.Constants.SETTINGS;
@@ -79,10 +81,13 @@ import xyz.zedler.patrick.grocy.api.GrocyApi;
 import xyz.zedler.patrick.grocy.behavior.BottomScrollBehavior;
 import xyz.zedler.patrick.grocy.behavior.SystemBarBehavior;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.Migrations;
 import xyz.zedler.patrick.grocy.databinding.ActivityMainBinding;
 import xyz.zedler.patrick.grocy.fragment.BaseFragment;
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.FeedbackBottomSheet;
+import xyz.zedler.patrick.grocy.helper.BookingJournal;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
+import xyz.zedler.patrick.grocy.model.BookingJournalEntry;
 import xyz.zedler.patrick.grocy.util.ClickUtil;
 import xyz.zedler.patrick.grocy.util.ConfigUtil;
 import xyz.zedler.patrick.grocy.util.HapticUtil;
@@ -184,6 +189,9 @@ public class MainActivity extends AppCompatActivity {
           return;
         }
         getCurrentFragment().updateConnectivity(netUtil.isOnline());
+        if (netUtil.isOnline() && !PrefsUtil.isServerUrlEmpty(sharedPrefs)) {
+          BookingJournal.getInstance(getApplication()).replay();
+        }
       }
     };
     ContextCompat.registerReceiver(
@@ -263,15 +271,16 @@ public class MainActivity extends AppCompatActivity {
     if (VersionUtil.isAppUpdated(sharedPrefs)) {
       // Show changelog if app was updated
       VersionUtil.showChangelogBottomSheet(this);
-      PrefsUtil.clearCachingRelatedSharedPreferences(sharedPrefs);
-    } else {
-      // Check if database scheme was updated and clear caching data if necessary
-      AppDatabase.getAppDatabase(getApplication()).getVersion(version -> {
-        if (VersionUtil.isDatabaseUpdated(sharedPrefs, version)) {
-          PrefsUtil.clearCachingRelatedSharedPreferences(sharedPrefs);
-        }
-      });
     }
+    // Migrations keep the cached data, only tables they rebuilt have to be downloaded again
+    AppDatabase.getAppDatabase(getApplication()).getVersion(version -> {
+      int versionOld = VersionUtil.updateDatabaseVersion(sharedPrefs, version);
+      if (versionOld != 0 && versionOld < version) {
+        PrefsUtil.clearCachingRelatedSharedPreferences(
+            sharedPrefs, Migrations.getOutdatedCachePrefs(versionOld, version)
+        );
+      }
+    });
   }
 
   @Override
@@ -290,6 +299,7 @@ public class MainActivity extends AppCompatActivity {
     if (netUtil != null) {
       netUtil.cancelHassSessionTimer();
     }
+    BookingJournal.getInstance(getApplication()).setOnConflictsListener(null);
     super.onPause();
   }
 
@@ -304,6 +314,11 @@ public class MainActivity extends AppCompatActivity {
     if (!sharedPrefs.contains(Constants.SETTINGS.BEHAVIOR.HAPTIC)) {
       hapticUtil.setEnabled(HapticUtil.areSystemHapticsTurnedOn(this));
     }
+    BookingJournal bookingJournal = BookingJournal.getInstance(getApplication());
+    bookingJournal.setOnConflictsListener(this::showBookingConflicts);
+    if (!PrefsUtil.isServerUrlEmpty(sharedPrefs)) {
+      bookingJournal.replay();
+    }
   }
 
   @Override
@@ -485,6 +500,29 @@ public class MainActivity extends AppCompatActivity {
     showSnackbar(getSnackbar(resId, showLong));
   }
 
+  private void showBookingConflicts(List<BookingJournalEntry> entries) {
+    StringBuilder message = new StringBuilder();
+    for (BookingJournalEntry entry : entries) {
+      if (message.length() > 0) {
+        message.append("\n\n");
+      }
+      message.append(getString(
+          R.string.msg_journal_conflict, entry.getProductName(), entry.getErrorMessage()
+      ));
+    }
+    Snackbar snackbar = getSnackbar(getResources().getQuantityString(
+        R.plurals.msg_journal_conflicts, entries.size(), entries.size()
+    ), true);
+    snackbar.setDuration(Snackbar.LENGTH_INDEFINITE);
+    snackbar.setAction(R.string.action_details, v -> new MaterialAlertDialogBuilder(
+        this, R.style.ThemeOverlay_Grocy_AlertDialog
+    ).setTitle(R.string.error_details)
+        .setMessage(message.toString())
+        .setPositiveButton(R.string.action_close, (dialog, which) -> dialog.cancel())
+        .create().show());
+    showSnackbar(snackbar);
+  }
+
   public void showToast(@StringRes int resId, boolean showLong) {
     Toast toast = Toast.makeText(
         this, resId, showLong ? Toast.LENGTH_LONG : Toast.LENGTH_SHORT
@@ -28,14 +28,12 @@ import android.view.ViewGroup;
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
-import com.bumptech.glide.load.model.LazyHeaders;
 import java.util.ArrayList;
 import xyz.zedler.patrick.grocy.api.GrocyApi;
 import xyz.zedler.patrick.grocy.databinding.RowMasterItemBinding;
 import xyz.zedler.patrick.grocy.model.Product;
 import xyz.zedler.patrick.grocy.util.ObjectUtil;
 import xyz.zedler.patrick.grocy.util.PictureUtil;
-import xyz.zedler.patrick.grocy.web.RequestHeaders;
 
 public class MasterObjectListAdapter extends
     RecyclerView.Adapter<MasterObjectListAdapter.ViewHolder> {
@@ -46,7 +44,6 @@ public class MasterObjectListAdapter extends
   private final MasterObjectListAdapterListener listener;
   private final String entity;
   private final GrocyApi grocyApi;
-  private final LazyHeaders grocyAuthHeaders;
   private boolean containsPictures;
 
   public MasterObjectListAdapter(
@@ -58,7 +55,6 @@ public class MasterObjectListAdapter extends
     this.listener = listener;
     this.entity = entity;
     this.grocyApi = new GrocyApi((Application) context.getApplicationContext());
-    this.grocyAuthHeaders = RequestHeaders.getGlideGrocyAuthHeaders(context);
   }
 
   public static class ViewHolder extends RecyclerView.ViewHolder {
@@ -101,7 +97,7 @@ public class MasterObjectListAdapter extends
           null,
           holder.binding.picturePlaceholder,
           grocyApi.getProductPictureServeSmall(pictureFileName),
-          grocyAuthHeaders,
+          true,
           false
       );
     } else if (containsPictures) {
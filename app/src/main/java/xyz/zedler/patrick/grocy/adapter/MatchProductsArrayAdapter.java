@@ -30,27 +30,32 @@ import androidx.annotation.NonNull;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
-import me.xdrop.fuzzywuzzy.FuzzySearch;
-import me.xdrop.fuzzywuzzy.model.ExtractedResult;
+import xyz.zedler.patrick.grocy.helper.SearchIndex;
 import xyz.zedler.patrick.grocy.model.Product;
+import xyz.zedler.patrick.grocy.util.PrefsUtil;
 
 public class MatchProductsArrayAdapter extends ArrayAdapter<Product> {
 
   final Context context;
   final int resource;
   final List<Product> items;
-  final HashMap<String, Product> tempItems;
+  volatile SearchIndex<Product> searchIndex;
 
   public MatchProductsArrayAdapter(Context context, int resource, List<Product> items) {
     super(context, resource, items);
     this.context = context;
     this.resource = resource;
     this.items = items;
-    tempItems = new HashMap<>(); // this makes the difference.
-    for (Product product : items) {
-      if (product.getName() == null) continue;
-      tempItems.put(product.getName().toLowerCase(), product);
-    }
+    // copy, as the filter replaces the items of the adapter
+    List<Product> products = new ArrayList<>(items);
+    SearchIndex.buildInBackground(() -> {
+      HashMap<String, Product> tempItems = new HashMap<>(); // this makes the difference.
+      for (Product product : products) {
+        if (product.getName() == null) continue;
+        tempItems.put(product.getName().toLowerCase(), product);
+      }
+      return new SearchIndex<>(new ArrayList<>(tempItems.values()), Product::getName);
+    }, PrefsUtil.isDebuggingEnabled(context), searchIndex -> this.searchIndex = searchIndex);
   }
 
   @NonNull
@@ -89,20 +94,15 @@ public class MatchProductsArrayAdapter extends ArrayAdapter<Product> {
 
     @Override
     protected FilterResults performFiltering(CharSequence constraint) {
-      if (constraint == null) {
+      SearchIndex<Product> searchIndex = MatchProductsArrayAdapter.this.searchIndex;
+      if (constraint == null || searchIndex == null) {
         return new FilterResults();
       }
 
-      // Initialize suggestion list with max. capacity; growing is expensive.
-      ArrayList<Product> suggestions = new ArrayList<>(tempItems.keySet().size());
-      List<ExtractedResult> results = FuzzySearch.extractSorted(
-          constraint.toString().toLowerCase(),
-          tempItems.keySet(),
-          50
+      // runs on the filter thread, so the index can be queried directly
+      ArrayList<Product> suggestions = new ArrayList<>(
+          searchIndex.search(constraint.toString(), 50)
       );
-      for (ExtractedResult result : results) {
-        suggestions.add(tempItems.get(result.getString()));
-      }
       FilterResults filterResults = new FilterResults();
       filterResults.values = suggestions;
       filterResults.count = suggestions.size();
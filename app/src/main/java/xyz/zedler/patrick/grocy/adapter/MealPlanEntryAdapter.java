@@ -32,7 +32,6 @@ import androidx.preference.PreferenceManager;
 import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.ItemTouchHelper;
 import androidx.recyclerview.widget.RecyclerView;
-import com.bumptech.glide.load.model.LazyHeaders;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.color.ColorRoles;
 import java.util.ArrayList;
@@ -47,6 +46,7 @@ import xyz.zedler.patrick.grocy.R;
 import xyz.zedler.patrick.grocy.api.GrocyApi;
 import xyz.zedler.patrick.grocy.databinding.RowMealPlanEntryBinding;
 import xyz.zedler.patrick.grocy.databinding.RowMealPlanSectionHeaderBinding;
+import xyz.zedler.patrick.grocy.helper.GroupedListDiffer;
 import xyz.zedler.patrick.grocy.model.GroupedListItem;
 import xyz.zedler.patrick.grocy.model.MealPlanEntry;
 import xyz.zedler.patrick.grocy.model.MealPlanSection;
@@ -72,6 +72,7 @@ public class MealPlanEntryAdapter extends
   private final static String TAG = MealPlanEntryAdapter.class.getSimpleName();
 
   private final List<GroupedListItem> groupedListItems;
+  private final GroupedListDiffer listDiffer;
   private final HashMap<Integer, Recipe> recipeHashMap;
   private final HashMap<Integer, Product> productHashMap;
   private final HashMap<Integer, QuantityUnit> quantityUnitHashMap;
@@ -82,7 +83,6 @@ public class MealPlanEntryAdapter extends
   private final List<String> activeFields;
   private final PluralUtil pluralUtil;
   private final GrocyApi grocyApi;
-  private final LazyHeaders grocyAuthHeaders;
   private final String date;
   private final String energyUnit;
   private final int maxDecimalPlacesAmount;
@@ -92,7 +92,6 @@ public class MealPlanEntryAdapter extends
   public MealPlanEntryAdapter(
       Context context,
       GrocyApi grocyApi,
-      LazyHeaders grocyAuthHeaders,
       String date
   ) {
     SharedPreferences sharedPrefs = PreferenceManager.getDefaultSharedPreferences(context);
@@ -117,8 +116,15 @@ public class MealPlanEntryAdapter extends
     this.activeFields = new ArrayList<>();
     this.pluralUtil = new PluralUtil(context);
     this.grocyApi = grocyApi;
-    this.grocyAuthHeaders = grocyAuthHeaders;
     this.groupedListItems = new ArrayList<>();
+    this.listDiffer = new GroupedListDiffer();
+  }
+
+  @Override
+  public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+    super.onDetachedFromRecyclerView(recyclerView);
+    // results of pending calculations must not reach a destroyed view
+    listDiffer.cancel();
   }
 
   static ArrayList<GroupedListItem> getGroupedListItems(
@@ -347,7 +353,7 @@ public class MealPlanEntryAdapter extends
               null,
               binding.picturePlaceholder,
               grocyApi.getRecipePictureServeSmall(pictureFileName),
-              grocyAuthHeaders,
+              true,
               false
           );
         } else if (activeFields.contains(MealPlanViewModel.FIELD_PICTURE)) {
@@ -422,8 +428,8 @@ public class MealPlanEntryAdapter extends
               entry.getProductAmount()) : 1;
           int quId = NumUtil.isStringInt(entry.getProductQuId())
               ? Integer.parseInt(entry.getProductQuId()) : -1;
-          if (quId == -1 && NumUtil.isStringInt(product.getQuIdStock())) {
-            quId = Integer.parseInt(product.getQuIdStock());
+          if (quId == -1) {
+            quId = product.getQuIdStockInt();
           }
           QuantityUnit quantityUnit = quId != -1 ? quantityUnitHashMap.get(quId) : null;
           String amountText;
@@ -448,8 +454,8 @@ public class MealPlanEntryAdapter extends
           );
         }
         if (activeFields.contains(MealPlanViewModel.FIELD_ENERGY)
-            && NumUtil.isStringDouble(product.getCalories())) {
-          double calories = Double.parseDouble(product.getCalories());
+            && product.getCalories() != null) {
+          double calories = product.getCalories();
           binding.flexboxLayout.addView(chipUtil.createTextChip(NumUtil.trimAmount(
               calories, maxDecimalPlacesAmount
           ) + " " + energyUnit, context.getString(R.string.subtitle_per_serving)));
@@ -498,7 +504,7 @@ public class MealPlanEntryAdapter extends
               null,
               binding.picturePlaceholder,
               grocyApi.getProductPictureServeSmall(pictureFileName),
-              grocyAuthHeaders,
+              true,
               false
           );
         } else if (activeFields.contains(MealPlanViewModel.FIELD_PICTURE)) {
@@ -553,56 +559,60 @@ public class MealPlanEntryAdapter extends
       HashMap<String, Userfield> userfieldHashMap,
       List<String> activeFields
   ) {
-    List<GroupedListItem> newGroupedListItems = getGroupedListItems(
-        mealPlanEntries,
-        mealPlanSections,
-        activeFields.contains(MealPlanViewModel.FIELD_DAY_SUMMARY)
-            && (activeFields.contains(MealPlanViewModel.FIELD_PRICE)
-            || activeFields.contains(MealPlanViewModel.FIELD_ENERGY)
-            || activeFields.contains(MealPlanViewModel.FIELD_FULFILLMENT))
-    );
-    DiffCallback diffCallback = new DiffCallback(
-        this.groupedListItems,
-        newGroupedListItems,
-        this.recipeHashMap,
-        recipeHashMap,
-        this.productHashMap,
-        productHashMap,
-        this.quantityUnitHashMap,
-        quantityUnitHashMap,
-        this.productLastPurchasedHashMap,
-        productLastPurchasedHashMap,
-        this.recipeResolvedFulfillmentHashMap,
-        recipeResolvedFulfillmentHashMap,
-        this.stockItemHashMap,
-        stockItemHashMap,
-        this.userfieldHashMap,
-        userfieldHashMap,
-        this.activeFields,
-        activeFields,
-        date
-    );
-
-    DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(diffCallback);
-    this.groupedListItems.clear();
-    this.groupedListItems.addAll(newGroupedListItems);
-    this.recipeHashMap.clear();
-    this.recipeHashMap.putAll(recipeHashMap);
-    this.productHashMap.clear();
-    this.productHashMap.putAll(productHashMap);
-    this.quantityUnitHashMap.clear();
-    this.quantityUnitHashMap.putAll(quantityUnitHashMap);
-    this.productLastPurchasedHashMap.clear();
-    this.productLastPurchasedHashMap.putAll(productLastPurchasedHashMap);
-    this.recipeResolvedFulfillmentHashMap.clear();
-    this.recipeResolvedFulfillmentHashMap.putAll(recipeResolvedFulfillmentHashMap);
-    this.stockItemHashMap.clear();
-    this.stockItemHashMap.putAll(stockItemHashMap);
-    this.userfieldHashMap.clear();
-    this.userfieldHashMap.putAll(userfieldHashMap);
-    this.activeFields.clear();
-    this.activeFields.addAll(activeFields);
-    diffResult.dispatchUpdatesTo(this);
+    listDiffer.submit(() -> {
+      List<GroupedListItem> newGroupedListItems = getGroupedListItems(
+          mealPlanEntries,
+          mealPlanSections,
+          activeFields.contains(MealPlanViewModel.FIELD_DAY_SUMMARY)
+              && (activeFields.contains(MealPlanViewModel.FIELD_PRICE)
+              || activeFields.contains(MealPlanViewModel.FIELD_ENERGY)
+              || activeFields.contains(MealPlanViewModel.FIELD_FULFILLMENT))
+      );
+      DiffCallback diffCallback = new DiffCallback(
+          this.groupedListItems,
+          newGroupedListItems,
+          this.recipeHashMap,
+          recipeHashMap,
+          this.productHashMap,
+          productHashMap,
+          this.quantityUnitHashMap,
+          quantityUnitHashMap,
+          this.productLastPurchasedHashMap,
+          productLastPurchasedHashMap,
+          this.recipeResolvedFulfillmentHashMap,
+          recipeResolvedFulfillmentHashMap,
+          this.stockItemHashMap,
+          stockItemHashMap,
+          this.userfieldHashMap,
+          userfieldHashMap,
+          this.activeFields,
+          activeFields,
+          date
+      );
+      return new GroupedListDiffer.Result(
+          newGroupedListItems, DiffUtil.calculateDiff(diffCallback)
+      );
+    }, result -> {
+      this.groupedListItems.clear();
+      this.groupedListItems.addAll(result.getGroupedListItems());
+      this.recipeHashMap.clear();
+      this.recipeHashMap.putAll(recipeHashMap);
+      this.productHashMap.clear();
+      this.productHashMap.putAll(productHashMap);
+      this.quantityUnitHashMap.clear();
+      this.quantityUnitHashMap.putAll(quantityUnitHashMap);
+      this.productLastPurchasedHashMap.clear();
+      this.productLastPurchasedHashMap.putAll(productLastPurchasedHashMap);
+      this.recipeResolvedFulfillmentHashMap.clear();
+      this.recipeResolvedFulfillmentHashMap.putAll(recipeResolvedFulfillmentHashMap);
+      this.stockItemHashMap.clear();
+      this.stockItemHashMap.putAll(stockItemHashMap);
+      this.userfieldHashMap.clear();
+      this.userfieldHashMap.putAll(userfieldHashMap);
+      this.activeFields.clear();
+      this.activeFields.addAll(activeFields);
+      result.getDiffResult().dispatchUpdatesTo(this);
+    });
   }
 
   static class DiffCallback extends DiffUtil.Callback {
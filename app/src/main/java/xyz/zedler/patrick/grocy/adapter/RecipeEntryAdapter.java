@@ -36,7 +36,6 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import androidx.recyclerview.widget.RecyclerView.LayoutManager;
 import androidx.recyclerview.widget.StaggeredGridLayoutManager;
-import com.bumptech.glide.load.model.LazyHeaders;
 import com.google.android.flexbox.FlexboxLayout;
 import com.google.android.material.card.MaterialCardView;
 import com.google.android.material.chip.Chip;
@@ -58,7 +57,6 @@ import xyz.zedler.patrick.grocy.util.ChipUtil;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.util.PictureUtil;
 import xyz.zedler.patrick.grocy.viewmodel.RecipesViewModel;
-import xyz.zedler.patrick.grocy.web.RequestHeaders;
 
 public class RecipeEntryAdapter extends
     RecyclerView.Adapter<RecipeEntryAdapter.ViewHolder> {
@@ -69,11 +67,10 @@ public class RecipeEntryAdapter extends
   private Context context;
   private final LayoutManager layoutManager;
   private final ArrayList<Recipe> recipes;
-  private final ArrayList<RecipeFulfillment> recipeFulfillments;
+  private final HashMap<Integer, RecipeFulfillment> recipeFulfillmentHashMap;
   private final HashMap<String, Userfield> userfieldHashMap;
   private final RecipesItemAdapterListener listener;
   private final GrocyApi grocyApi;
-  private final LazyHeaders grocyAuthHeaders;
   private String sortMode;
   private boolean sortAscending;
   private final List<String> activeFields;
@@ -89,11 +86,10 @@ public class RecipeEntryAdapter extends
     this.context = context;
     this.layoutManager = layoutManager;
     this.recipes = new ArrayList<>();
-    this.recipeFulfillments = new ArrayList<>();
+    this.recipeFulfillmentHashMap = new HashMap<>();
     this.userfieldHashMap = new HashMap<>();
     this.listener = listener;
     this.grocyApi = new GrocyApi((Application) context.getApplicationContext());
-    this.grocyAuthHeaders = RequestHeaders.getGlideGrocyAuthHeaders(context);
     this.activeFields = new ArrayList<>();
     SharedPreferences sharedPrefs = PreferenceManager.getDefaultSharedPreferences(context);
     maxDecimalPlacesAmount = sharedPrefs.getInt(
@@ -162,9 +158,7 @@ public class RecipeEntryAdapter extends
     int position = viewHolder.getAbsoluteAdapterPosition();
 
     Recipe recipe = recipes.get(position);
-    RecipeFulfillment recipeFulfillment = RecipeFulfillment.getRecipeFulfillmentFromRecipeId(
-        recipeFulfillments, recipe.getId()
-    );
+    RecipeFulfillment recipeFulfillment = recipeFulfillmentHashMap.get(recipe.getId());
 
     ViewGroup container;
     TextView title;
@@ -241,7 +235,7 @@ public class RecipeEntryAdapter extends
           null,
           picturePlaceholder,
           grocyApi.getRecipePictureServeSmall(pictureFileName),
-          grocyAuthHeaders,
+          true,
           viewHolder instanceof RecipeGridViewHolder
       );
     } else if (activeFields.contains(RecipesViewModel.FIELD_PICTURE)
@@ -272,7 +266,7 @@ public class RecipeEntryAdapter extends
 
   public void updateData(
       ArrayList<Recipe> newList,
-      ArrayList<RecipeFulfillment> newRecipeFulfillments,
+      HashMap<Integer, RecipeFulfillment> newRecipeFulfillmentHashMap,
       HashMap<String, Userfield> newUserfieldHashMap,
       String sortMode,
       boolean sortAscending,
@@ -282,8 +276,8 @@ public class RecipeEntryAdapter extends
     RecipeEntryAdapter.DiffCallback diffCallback = new RecipeEntryAdapter.DiffCallback(
         this.recipes,
         newList,
-        this.recipeFulfillments,
-        newRecipeFulfillments,
+        this.recipeFulfillmentHashMap,
+        newRecipeFulfillmentHashMap,
         this.userfieldHashMap,
         newUserfieldHashMap,
         this.sortMode,
@@ -301,8 +295,8 @@ public class RecipeEntryAdapter extends
     DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(diffCallback);
     this.recipes.clear();
     this.recipes.addAll(newList);
-    this.recipeFulfillments.clear();
-    this.recipeFulfillments.addAll(newRecipeFulfillments);
+    this.recipeFulfillmentHashMap.clear();
+    this.recipeFulfillmentHashMap.putAll(newRecipeFulfillmentHashMap);
     this.userfieldHashMap.clear();
     this.userfieldHashMap.putAll(newUserfieldHashMap);
     this.sortMode = sortMode;
@@ -325,8 +319,8 @@ public class RecipeEntryAdapter extends
 
     ArrayList<Recipe> oldItems;
     ArrayList<Recipe> newItems;
-    ArrayList<RecipeFulfillment> oldRecipeFulfillments;
-    ArrayList<RecipeFulfillment> newRecipeFulfillments;
+    HashMap<Integer, RecipeFulfillment> oldRecipeFulfillmentHashMap;
+    HashMap<Integer, RecipeFulfillment> newRecipeFulfillmentHashMap;
     HashMap<String, Userfield> oldUserfieldHashMap;
     HashMap<String, Userfield> newUserfieldHashMap;
     String sortModeOld;
@@ -339,8 +333,8 @@ public class RecipeEntryAdapter extends
     public DiffCallback(
         ArrayList<Recipe> oldItems,
         ArrayList<Recipe> newItems,
-        ArrayList<RecipeFulfillment> oldRecipeFulfillments,
-        ArrayList<RecipeFulfillment> newRecipeFulfillments,
+        HashMap<Integer, RecipeFulfillment> oldRecipeFulfillmentHashMap,
+        HashMap<Integer, RecipeFulfillment> newRecipeFulfillmentHashMap,
         HashMap<String, Userfield> oldUserfieldHashMap,
         HashMap<String, Userfield> newUserfieldHashMap,
         String sortModeOld,
@@ -352,8 +346,8 @@ public class RecipeEntryAdapter extends
     ) {
       this.oldItems = oldItems;
       this.newItems = newItems;
-      this.oldRecipeFulfillments = oldRecipeFulfillments;
-      this.newRecipeFulfillments = newRecipeFulfillments;
+      this.oldRecipeFulfillmentHashMap = oldRecipeFulfillmentHashMap;
+      this.newRecipeFulfillmentHashMap = newRecipeFulfillmentHashMap;
       this.oldUserfieldHashMap = oldUserfieldHashMap;
       this.newUserfieldHashMap = newUserfieldHashMap;
       this.sortModeOld = sortModeOld;
@@ -398,8 +392,8 @@ public class RecipeEntryAdapter extends
         return false;
       }
 
-      RecipeFulfillment recipeFulfillmentOld = RecipeFulfillment.getRecipeFulfillmentFromRecipeId(oldRecipeFulfillments, oldItem.getId());
-      RecipeFulfillment recipeFulfillmentNew = RecipeFulfillment.getRecipeFulfillmentFromRecipeId(newRecipeFulfillments, newItem.getId());
+      RecipeFulfillment recipeFulfillmentOld = oldRecipeFulfillmentHashMap.get(oldItem.getId());
+      RecipeFulfillment recipeFulfillmentNew = newRecipeFulfillmentHashMap.get(newItem.getId());
       if (recipeFulfillmentOld == null && recipeFulfillmentNew != null
           || recipeFulfillmentOld != null && recipeFulfillmentNew == null
           || recipeFulfillmentOld != null && !recipeFulfillmentOld.equals(recipeFulfillmentNew)) {
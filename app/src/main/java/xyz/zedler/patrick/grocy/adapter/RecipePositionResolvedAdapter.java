@@ -45,6 +45,7 @@ import xyz.zedler.patrick.grocy.Constants.SETTINGS_DEFAULT;
 import xyz.zedler.patrick.grocy.R;
 import xyz.zedler.patrick.grocy.databinding.RowRecipePositionEntryBinding;
 import xyz.zedler.patrick.grocy.databinding.RowRecipePositionGroupBinding;
+import xyz.zedler.patrick.grocy.helper.GroupedListDiffer;
 import xyz.zedler.patrick.grocy.model.GroupHeader;
 import xyz.zedler.patrick.grocy.model.GroupedListItem;
 import xyz.zedler.patrick.grocy.model.Product;
@@ -70,9 +71,10 @@ public class RecipePositionResolvedAdapter extends
   private final LinearLayoutManager linearLayoutManager;
   private Recipe recipe;
   private final List<GroupedListItem> groupedListItems;
+  private final GroupedListDiffer listDiffer;
   private final List<Product> products;
   private final List<QuantityUnit> quantityUnits;
-  private final List<QuantityUnitConversionResolved> quantityUnitConversions;
+  private List<QuantityUnitConversionResolved> quantityUnitConversions;
   private final List<String> activeFields;
   private final RecipePositionsItemAdapterListener listener;
 
@@ -109,9 +111,10 @@ public class RecipePositionResolvedAdapter extends
     this.linearLayoutManager = linearLayoutManager;
     this.recipe = recipe;
     this.groupedListItems = getGroupedListItems(context, recipePositions);
+    this.listDiffer = new GroupedListDiffer();
     this.products = new ArrayList<>(products);
     this.quantityUnits = new ArrayList<>(quantityUnits);
-    this.quantityUnitConversions = new ArrayList<>(quantityUnitConversions);
+    this.quantityUnitConversions = quantityUnitConversions;
     this.activeFields = new ArrayList<>(activeFields);
     this.listener = listener;
     this.pluralUtil = new PluralUtil(context);
@@ -121,6 +124,13 @@ public class RecipePositionResolvedAdapter extends
     colorRed = ResUtil.getColor(context, R.attr.colorError);
   }
 
+  @Override
+  public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+    super.onDetachedFromRecyclerView(recyclerView);
+    // results of pending calculations must not reach a destroyed view
+    listDiffer.cancel();
+  }
+
   @Override
   public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
     super.onDetachedFromRecyclerView(recyclerView);
@@ -443,36 +453,41 @@ public class RecipePositionResolvedAdapter extends
       List<QuantityUnitConversionResolved> newQuantityUnitConversions,
       List<String> newActiveFields
   ) {
-    List<GroupedListItem> groupedListItemsNew = getGroupedListItems(
-        context, (ArrayList<RecipePositionResolved>) newList
-    );
-    RecipePositionResolvedAdapter.DiffCallback diffCallback = new RecipePositionResolvedAdapter.DiffCallback(
-        this.recipe,
-        recipe,
-        this.groupedListItems,
-        groupedListItemsNew,
-        this.products,
-        newProducts,
-        this.quantityUnits,
-        newQuantityUnits,
-        this.quantityUnitConversions,
-        newQuantityUnitConversions,
-        this.activeFields,
-        newActiveFields
-    );
-    DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(diffCallback);
-    this.recipe = recipe;
-    this.groupedListItems.clear();
-    this.groupedListItems.addAll(groupedListItemsNew);
-    this.products.clear();
-    this.products.addAll(newProducts);
-    this.quantityUnits.clear();
-    this.quantityUnits.addAll(newQuantityUnits);
-    this.quantityUnitConversions.clear();
-    this.quantityUnitConversions.addAll(newQuantityUnitConversions);
-    this.activeFields.clear();
-    this.activeFields.addAll(newActiveFields);
-    diffResult.dispatchUpdatesTo(new AdapterListUpdateCallback(this, linearLayoutManager));
+    Context context = this.context;
+    listDiffer.submit(() -> {
+      List<GroupedListItem> groupedListItemsNew = getGroupedListItems(context, newList);
+      DiffCallback diffCallback = new DiffCallback(
+          this.recipe,
+          recipe,
+          this.groupedListItems,
+          groupedListItemsNew,
+          this.products,
+          newProducts,
+          this.quantityUnits,
+          newQuantityUnits,
+          this.quantityUnitConversions,
+          newQuantityUnitConversions,
+          this.activeFields,
+          newActiveFields
+      );
+      return new GroupedListDiffer.Result(
+          groupedListItemsNew, DiffUtil.calculateDiff(diffCallback)
+      );
+    }, result -> {
+      this.recipe = recipe;
+      this.groupedListItems.clear();
+      this.groupedListItems.addAll(result.getGroupedListItems());
+      this.products.clear();
+      this.products.addAll(newProducts);
+      this.quantityUnits.clear();
+      this.quantityUnits.addAll(newQuantityUnits);
+      this.quantityUnitConversions = newQuantityUnitConversions;
+      this.activeFields.clear();
+      this.activeFields.addAll(newActiveFields);
+      result.getDiffResult().dispatchUpdatesTo(
+          new AdapterListUpdateCallback(this, linearLayoutManager)
+      );
+    });
   }
 
   static class DiffCallback extends DiffUtil.Callback {
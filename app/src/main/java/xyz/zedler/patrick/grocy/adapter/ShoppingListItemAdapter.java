@@ -35,7 +35,6 @@ import androidx.annotation.NonNull;
 import androidx.preference.PreferenceManager;
 import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
-import com.bumptech.glide.load.model.LazyHeaders;
 import com.google.android.material.chip.Chip;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -49,6 +48,7 @@ import xyz.zedler.patrick.grocy.api.GrocyApi;
 import xyz.zedler.patrick.grocy.databinding.RowShoppingListBottomNotesBinding;
 import xyz.zedler.patrick.grocy.databinding.RowShoppingListGroupBinding;
 import xyz.zedler.patrick.grocy.databinding.RowShoppingListItemBinding;
+import xyz.zedler.patrick.grocy.helper.GroupedListDiffer;
 import xyz.zedler.patrick.grocy.model.FilterChipLiveDataGroupingShoppingList;
 import xyz.zedler.patrick.grocy.model.GroupHeader;
 import xyz.zedler.patrick.grocy.model.GroupedListItem;
@@ -69,7 +69,6 @@ import xyz.zedler.patrick.grocy.util.SortUtil;
 import xyz.zedler.patrick.grocy.util.TextUtil;
 import xyz.zedler.patrick.grocy.viewmodel.ShoppingListViewModel;
 import xyz.zedler.patrick.grocy.viewmodel.StockOverviewViewModel;
-import xyz.zedler.patrick.grocy.web.RequestHeaders;
 
 public class ShoppingListItemAdapter extends
     RecyclerView.Adapter<ShoppingListItemAdapter.ViewHolder> {
@@ -77,15 +76,15 @@ public class ShoppingListItemAdapter extends
   private final static String TAG = ShoppingListItemAdapter.class.getSimpleName();
 
   private final ArrayList<GroupedListItem> groupedListItems;
+  private final GroupedListDiffer listDiffer;
   private final HashMap<Integer, Product> productHashMap;
   private final HashMap<Integer, ProductLastPurchased> productLastPurchasedHashMap;
   private final HashMap<Integer, QuantityUnit> quantityUnitHashMap;
-  private final List<QuantityUnitConversionResolved> unitConversions;
+  private List<QuantityUnitConversionResolved> unitConversions;
   private final HashMap<Integer, Double> shoppingListItemAmountsHashMap;
   private final ArrayList<Integer> missingProductIds;
   private final ShoppingListItemAdapterListener listener;
   private final GrocyApi grocyApi;
-  private final LazyHeaders grocyAuthHeaders;
   private final PluralUtil pluralUtil;
   private String groupingMode;
   private final List<String> activeFields;
@@ -118,10 +117,17 @@ public class ShoppingListItemAdapter extends
     this.missingProductIds = new ArrayList<>();
     this.listener = listener;
     this.grocyApi = new GrocyApi((Application) context.getApplicationContext());
-    this.grocyAuthHeaders = RequestHeaders.getGlideGrocyAuthHeaders(context);
     this.pluralUtil = new PluralUtil(context);
     this.activeFields = new ArrayList<>();
     this.groupedListItems = new ArrayList<>();
+    this.listDiffer = new GroupedListDiffer();
+  }
+
+  @Override
+  public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+    super.onDetachedFromRecyclerView(recyclerView);
+    // results of pending calculations must not reach a destroyed view
+    listDiffer.cancel();
   }
 
   static ArrayList<GroupedListItem> getGroupedListItems(
@@ -211,9 +217,7 @@ public class ShoppingListItemAdapter extends
     if (groupingMode.equals(FilterChipLiveDataGroupingShoppingList.GROUPING_PRODUCT_GROUP)
         && shoppingListItem.hasProduct()) {
       Product product = productHashMap.get(shoppingListItem.getProductIdInt());
-      Integer productGroupId = product != null && NumUtil.isStringInt(product.getProductGroupId())
-          ? Integer.parseInt(product.getProductGroupId())
-          : null;
+      Integer productGroupId = product != null ? product.getProductGroupId() : null;
       ProductGroup productGroup = productGroupId != null
           ? productGroupHashMap.get(productGroupId)
           : null;
@@ -592,7 +596,7 @@ public class ShoppingListItemAdapter extends
           null,
           null,
           grocyApi.getProductPictureServeSmall(pictureFileName),
-          grocyAuthHeaders,
+          true,
           false
       );
     } else {
@@ -777,54 +781,59 @@ public class ShoppingListItemAdapter extends
       List<String> activeFields,
       Runnable onListFilled
   ) {
-    ArrayList<GroupedListItem> newGroupedListItems = getGroupedListItems(context, shoppingListItems,
-        productGroupHashMap, productHashMap, productNamesHashMap, storeHashMap,
-        productLastPurchasedHashMap, shoppingListItemAmountsHashMap,
-        shoppingListNotes, groupingMode, priceTrackingEnabled, decimalPlacesPriceDisplay, currency);
-    ShoppingListItemAdapter.DiffCallback diffCallback = new ShoppingListItemAdapter.DiffCallback(
-        this.groupedListItems,
-        newGroupedListItems,
-        this.productHashMap,
-        productHashMap,
-        this.productLastPurchasedHashMap,
-        productLastPurchasedHashMap,
-        this.quantityUnitHashMap,
-        quantityUnitHashMap,
-        this.unitConversions,
-        unitConversions,
-        this.shoppingListItemAmountsHashMap,
-        shoppingListItemAmountsHashMap,
-        this.missingProductIds,
-        missingProductIds,
-        this.groupingMode,
-        groupingMode,
-        this.activeFields,
-        activeFields
-    );
+    ArrayList<ShoppingListItem> newItems = new ArrayList<>(shoppingListItems);
+    listDiffer.submit(() -> {
+      ArrayList<GroupedListItem> newGroupedListItems = getGroupedListItems(context, newItems,
+          productGroupHashMap, productHashMap, productNamesHashMap, storeHashMap,
+          productLastPurchasedHashMap, shoppingListItemAmountsHashMap, shoppingListNotes,
+          groupingMode, priceTrackingEnabled, decimalPlacesPriceDisplay, currency);
+      DiffCallback diffCallback = new DiffCallback(
+          this.groupedListItems,
+          newGroupedListItems,
+          this.productHashMap,
+          productHashMap,
+          this.productLastPurchasedHashMap,
+          productLastPurchasedHashMap,
+          this.quantityUnitHashMap,
+          quantityUnitHashMap,
+          this.unitConversions,
+          unitConversions,
+          this.shoppingListItemAmountsHashMap,
+          shoppingListItemAmountsHashMap,
+          this.missingProductIds,
+          missingProductIds,
+          this.groupingMode,
+          groupingMode,
+          this.activeFields,
+          activeFields
+      );
+      return new GroupedListDiffer.Result(
+          newGroupedListItems, DiffUtil.calculateDiff(diffCallback)
+      );
+    }, result -> {
+      if (onListFilled != null && !result.getGroupedListItems().isEmpty()
+          && groupedListItems.isEmpty()) {
+        onListFilled.run();
+      }
 
-    if (onListFilled != null && !newGroupedListItems.isEmpty() && groupedListItems.isEmpty()) {
-      onListFilled.run();
-    }
-
-    DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(diffCallback);
-    this.groupedListItems.clear();
-    this.groupedListItems.addAll(newGroupedListItems);
-    this.productHashMap.clear();
-    this.productHashMap.putAll(productHashMap);
-    this.quantityUnitHashMap.clear();
-    this.quantityUnitHashMap.putAll(quantityUnitHashMap);
-    this.unitConversions.clear();
-    this.unitConversions.addAll(unitConversions);
-    this.productLastPurchasedHashMap.clear();
-    this.productLastPurchasedHashMap.putAll(productLastPurchasedHashMap);
-    this.shoppingListItemAmountsHashMap.clear();
-    this.shoppingListItemAmountsHashMap.putAll(shoppingListItemAmountsHashMap);
-    this.missingProductIds.clear();
-    this.missingProductIds.addAll(missingProductIds);
-    this.groupingMode = groupingMode;
-    this.activeFields.clear();
-    this.activeFields.addAll(activeFields);
-    diffResult.dispatchUpdatesTo(this);
+      this.groupedListItems.clear();
+      this.groupedListItems.addAll(result.getGroupedListItems());
+      this.productHashMap.clear();
+      this.productHashMap.putAll(productHashMap);
+      this.quantityUnitHashMap.clear();
+      this.quantityUnitHashMap.putAll(quantityUnitHashMap);
+      this.unitConversions = unitConversions;
+      this.productLastPurchasedHashMap.clear();
+      this.productLastPurchasedHashMap.putAll(productLastPurchasedHashMap);
+      this.shoppingListItemAmountsHashMap.clear();
+      this.shoppingListItemAmountsHashMap.putAll(shoppingListItemAmountsHashMap);
+      this.missingProductIds.clear();
+      this.missingProductIds.addAll(missingProductIds);
+      this.groupingMode = groupingMode;
+      this.activeFields.clear();
+      this.activeFields.addAll(activeFields);
+      result.getDiffResult().dispatchUpdatesTo(this);
+    });
   }
 
   static class DiffCallback extends DiffUtil.Callback {
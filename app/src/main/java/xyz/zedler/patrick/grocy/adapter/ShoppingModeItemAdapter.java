@@ -38,7 +38,6 @@ import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.ListUpdateCallback;
 import androidx.recyclerview.widget.RecyclerView;
-import com.bumptech.glide.load.model.LazyHeaders;
 import com.google.android.material.chip.Chip;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -53,6 +52,7 @@ import xyz.zedler.patrick.grocy.api.GrocyApi;
 import xyz.zedler.patrick.grocy.databinding.RowShoppingModeBottomNotesBinding;
 import xyz.zedler.patrick.grocy.databinding.RowShoppingModeGroupBinding;
 import xyz.zedler.patrick.grocy.databinding.RowShoppingModeItemBinding;
+import xyz.zedler.patrick.grocy.helper.GroupedListDiffer;
 import xyz.zedler.patrick.grocy.model.FilterChipLiveDataGroupingShoppingList;
 import xyz.zedler.patrick.grocy.model.GroupHeader;
 import xyz.zedler.patrick.grocy.model.GroupedListItem;
@@ -73,7 +73,6 @@ import xyz.zedler.patrick.grocy.util.TextUtil;
 import xyz.zedler.patrick.grocy.util.UiUtil;
 import xyz.zedler.patrick.grocy.viewmodel.ShoppingListViewModel;
 import xyz.zedler.patrick.grocy.viewmodel.ShoppingModeViewModel;
-import xyz.zedler.patrick.grocy.web.RequestHeaders;
 
 public class ShoppingModeItemAdapter extends
     RecyclerView.Adapter<ShoppingModeItemAdapter.ViewHolder> {
@@ -81,15 +80,15 @@ public class ShoppingModeItemAdapter extends
   private final Context context;
   private final LinearLayoutManager linearLayoutManager;
   private final ArrayList<GroupedListItem> groupedListItems;
+  private final GroupedListDiffer listDiffer;
   private final HashMap<Integer, Product> productHashMap;
   private final HashMap<Integer, ProductLastPurchased> productLastPurchasedHashMap;
   private final HashMap<Integer, QuantityUnit> quantityUnitHashMap;
-  private final List<QuantityUnitConversionResolved> unitConversions;
+  private List<QuantityUnitConversionResolved> unitConversions;
   private final HashMap<Integer, Double> shoppingListItemAmountsHashMap;
   private final ArrayList<Integer> missingProductIds;
   private final ShoppingModeItemClickListener listener;
   private final GrocyApi grocyApi;
-  private final LazyHeaders grocyAuthHeaders;
   private final PluralUtil pluralUtil;
   private String groupingMode;
   private final boolean useSmallerFonts;
@@ -117,7 +116,6 @@ public class ShoppingModeItemAdapter extends
     this.activeFields = new ArrayList<>();
     this.listener = listener;
     this.grocyApi = new GrocyApi((Application) context.getApplicationContext());
-    this.grocyAuthHeaders = RequestHeaders.getGlideGrocyAuthHeaders(context);
     this.useSmallerFonts = sharedPrefs.getBoolean(
         SHOPPING_MODE.USE_SMALLER_FONT,
         SETTINGS_DEFAULT.SHOPPING_MODE.USE_SMALLER_FONT
@@ -139,6 +137,14 @@ public class ShoppingModeItemAdapter extends
         .getBoolean(PREF.FEATURE_STOCK_PRICE_TRACKING, true);
     this.pluralUtil = new PluralUtil(context);
     this.groupedListItems = new ArrayList<>();
+    this.listDiffer = new GroupedListDiffer();
+  }
+
+  @Override
+  public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+    super.onDetachedFromRecyclerView(recyclerView);
+    // results of pending calculations must not reach a destroyed view
+    listDiffer.cancel();
   }
 
   static ArrayList<GroupedListItem> getGroupedListItems(
@@ -522,7 +528,7 @@ public class ShoppingModeItemAdapter extends
           null,
           null,
           grocyApi.getProductPictureServeSmall(pictureFileName),
-          grocyAuthHeaders,
+          true,
           false
       );
     } else {
@@ -618,56 +624,63 @@ public class ShoppingModeItemAdapter extends
       List<String> activeFields,
       Runnable onListFilled
   ) {
-    ArrayList<GroupedListItem> newGroupedListItems = getGroupedListItems(
-        context, shoppingListItems,
-        productGroupHashMap, productHashMap, productNamesHashMap, storeHashMap,
-        productLastPurchasedHashMap, shoppingListItemAmountsHashMap,
-        shoppingListNotes, groupingMode, priceTrackingEnabled, decimalPlacesPriceDisplay,
-        currency, showDoneItems);
-    ShoppingListItemAdapter.DiffCallback diffCallback = new ShoppingListItemAdapter.DiffCallback(
-        this.groupedListItems,
-        newGroupedListItems,
-        this.productHashMap,
-        productHashMap,
-        this.productLastPurchasedHashMap,
-        productLastPurchasedHashMap,
-        this.quantityUnitHashMap,
-        quantityUnitHashMap,
-        this.unitConversions,
-        unitConversions,
-        this.shoppingListItemAmountsHashMap,
-        shoppingListItemAmountsHashMap,
-        this.missingProductIds,
-        missingProductIds,
-        this.groupingMode,
-        groupingMode,
-        this.activeFields,
-        activeFields
-    );
-
-    if (onListFilled != null && !newGroupedListItems.isEmpty() && groupedListItems.isEmpty()) {
-      onListFilled.run();
-    }
+    ArrayList<ShoppingListItem> newItems = new ArrayList<>(shoppingListItems);
+    listDiffer.submit(() -> {
+      ArrayList<GroupedListItem> newGroupedListItems = getGroupedListItems(
+          context, newItems,
+          productGroupHashMap, productHashMap, productNamesHashMap, storeHashMap,
+          productLastPurchasedHashMap, shoppingListItemAmountsHashMap,
+          shoppingListNotes, groupingMode, priceTrackingEnabled, decimalPlacesPriceDisplay,
+          currency, showDoneItems);
+      ShoppingListItemAdapter.DiffCallback diffCallback = new ShoppingListItemAdapter.DiffCallback(
+          this.groupedListItems,
+          newGroupedListItems,
+          this.productHashMap,
+          productHashMap,
+          this.productLastPurchasedHashMap,
+          productLastPurchasedHashMap,
+          this.quantityUnitHashMap,
+          quantityUnitHashMap,
+          this.unitConversions,
+          unitConversions,
+          this.shoppingListItemAmountsHashMap,
+          shoppingListItemAmountsHashMap,
+          this.missingProductIds,
+          missingProductIds,
+          this.groupingMode,
+          groupingMode,
+          this.activeFields,
+          activeFields
+      );
+      return new GroupedListDiffer.Result(
+          newGroupedListItems, DiffUtil.calculateDiff(diffCallback)
+      );
+    }, result -> {
+      if (onListFilled != null && !result.getGroupedListItems().isEmpty()
+          && groupedListItems.isEmpty()) {
+        onListFilled.run();
+      }
 
-    DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(diffCallback);
-    this.groupedListItems.clear();
-    this.groupedListItems.addAll(newGroupedListItems);
-    this.productHashMap.clear();
-    this.productHashMap.putAll(productHashMap);
-    this.quantityUnitHashMap.clear();
-    this.quantityUnitHashMap.putAll(quantityUnitHashMap);
-    this.unitConversions.clear();
-    this.unitConversions.addAll(unitConversions);
-    this.productLastPurchasedHashMap.clear();
-    this.productLastPurchasedHashMap.putAll(productLastPurchasedHashMap);
-    this.shoppingListItemAmountsHashMap.clear();
-    this.shoppingListItemAmountsHashMap.putAll(shoppingListItemAmountsHashMap);
-    this.missingProductIds.clear();
-    this.missingProductIds.addAll(missingProductIds);
-    this.groupingMode = groupingMode;
-    this.activeFields.clear();
-    this.activeFields.addAll(activeFields);
-    diffResult.dispatchUpdatesTo(new AdapterListUpdateCallback(this, linearLayoutManager));
+      this.groupedListItems.clear();
+      this.groupedListItems.addAll(result.getGroupedListItems());
+      this.productHashMap.clear();
+      this.productHashMap.putAll(productHashMap);
+      this.quantityUnitHashMap.clear();
+      this.quantityUnitHashMap.putAll(quantityUnitHashMap);
+      this.unitConversions = unitConversions;
+      this.productLastPurchasedHashMap.clear();
+      this.productLastPurchasedHashMap.putAll(productLastPurchasedHashMap);
+      this.shoppingListItemAmountsHashMap.clear();
+      this.shoppingListItemAmountsHashMap.putAll(shoppingListItemAmountsHashMap);
+      this.missingProductIds.clear();
+      this.missingProductIds.addAll(missingProductIds);
+      this.groupingMode = groupingMode;
+      this.activeFields.clear();
+      this.activeFields.addAll(activeFields);
+      result.getDiffResult().dispatchUpdatesTo(
+          new AdapterListUpdateCallback(this, linearLayoutManager)
+      );
+    });
   }
 
   @Override
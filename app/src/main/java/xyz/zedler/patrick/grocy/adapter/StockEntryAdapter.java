@@ -39,6 +39,7 @@ import xyz.zedler.patrick.grocy.Constants.SETTINGS_DEFAULT;
 import xyz.zedler.patrick.grocy.R;
 import xyz.zedler.patrick.grocy.databinding.RowShoppingListGroupBinding;
 import xyz.zedler.patrick.grocy.databinding.RowStockEntryBinding;
+import xyz.zedler.patrick.grocy.helper.GroupedListDiffer;
 import xyz.zedler.patrick.grocy.model.FilterChipLiveDataGroupingStockEntries;
 import xyz.zedler.patrick.grocy.model.FilterChipLiveDataGroupingStock;
 import xyz.zedler.patrick.grocy.model.GroupHeader;
@@ -63,6 +64,7 @@ public class StockEntryAdapter extends
   private final static String TAG = StockEntryAdapter.class.getSimpleName();
 
   private final ArrayList<GroupedListItem> groupedListItems;
+  private final GroupedListDiffer listDiffer;
   private final HashMap<Integer, Product> productHashMap;
   private final HashMap<Integer, QuantityUnit> quantityUnitHashMap;
   private final HashMap<Integer, Location> locationHashMap;
@@ -108,6 +110,14 @@ public class StockEntryAdapter extends
     this.listener = listener;
     this.dateUtil = new DateUtil(context);
     this.groupedListItems = new ArrayList<>();
+    this.listDiffer = new GroupedListDiffer();
+  }
+
+  @Override
+  public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+    super.onDetachedFromRecyclerView(recyclerView);
+    // results of pending calculations must not reach a destroyed view
+    listDiffer.cancel();
   }
 
   static ArrayList<GroupedListItem> getGroupedListItems(
@@ -469,47 +479,53 @@ public class StockEntryAdapter extends
       String groupingMode,
       Runnable onListFilled
   ) {
-    ArrayList<GroupedListItem> newGroupedListItems = getGroupedListItems(context, newList,
-        productHashMap, locationHashMap, storeHashMap, this.currency, this.dateUtil,
-        sortMode, sortAscending, groupingMode);
-    StockEntryAdapter.DiffCallback diffCallback = new StockEntryAdapter.DiffCallback(
-        this.groupedListItems,
-        newGroupedListItems,
-        this.productHashMap,
-        productHashMap,
-        this.quantityUnitHashMap,
-        quantityUnitHashMap,
-        this.locationHashMap,
-        locationHashMap,
-        this.storeHashMap,
-        storeHashMap,
-        this.sortMode,
-        sortMode,
-        this.sortAscending,
-        sortAscending,
-        this.groupingMode,
-        groupingMode
-    );
-
-    if (onListFilled != null && !newGroupedListItems.isEmpty() && groupedListItems.isEmpty()) {
-      onListFilled.run();
-    }
+    ArrayList<StockEntry> newItems = new ArrayList<>(newList);
+    listDiffer.submit(() -> {
+      ArrayList<GroupedListItem> newGroupedListItems = getGroupedListItems(context, newItems,
+          productHashMap, locationHashMap, storeHashMap, this.currency, this.dateUtil,
+          sortMode, sortAscending, groupingMode);
+      DiffCallback diffCallback = new DiffCallback(
+          this.groupedListItems,
+          newGroupedListItems,
+          this.productHashMap,
+          productHashMap,
+          this.quantityUnitHashMap,
+          quantityUnitHashMap,
+          this.locationHashMap,
+          locationHashMap,
+          this.storeHashMap,
+          storeHashMap,
+          this.sortMode,
+          sortMode,
+          this.sortAscending,
+          sortAscending,
+          this.groupingMode,
+          groupingMode
+      );
+      return new GroupedListDiffer.Result(
+          newGroupedListItems, DiffUtil.calculateDiff(diffCallback)
+      );
+    }, result -> {
+      if (onListFilled != null && !result.getGroupedListItems().isEmpty()
+          && groupedListItems.isEmpty()) {
+        onListFilled.run();
+      }
 
-    DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(diffCallback);
-    this.groupedListItems.clear();
-    this.groupedListItems.addAll(newGroupedListItems);
-    this.productHashMap.clear();
-    this.productHashMap.putAll(productHashMap);
-    this.quantityUnitHashMap.clear();
-    this.quantityUnitHashMap.putAll(quantityUnitHashMap);
-    this.locationHashMap.clear();
-    this.locationHashMap.putAll(locationHashMap);
-    this.storeHashMap.clear();
-    this.storeHashMap.putAll(storeHashMap);
-    this.sortMode = sortMode;
-    this.sortAscending = sortAscending;
-    this.groupingMode = groupingMode;
-    diffResult.dispatchUpdatesTo(this);
+      this.groupedListItems.clear();
+      this.groupedListItems.addAll(result.getGroupedListItems());
+      this.productHashMap.clear();
+      this.productHashMap.putAll(productHashMap);
+      this.quantityUnitHashMap.clear();
+      this.quantityUnitHashMap.putAll(quantityUnitHashMap);
+      this.locationHashMap.clear();
+      this.locationHashMap.putAll(locationHashMap);
+      this.storeHashMap.clear();
+      this.storeHashMap.putAll(storeHashMap);
+      this.sortMode = sortMode;
+      this.sortAscending = sortAscending;
+      this.groupingMode = groupingMode;
+      result.getDiffResult().dispatchUpdatesTo(this);
+    });
   }
 
   static class DiffCallback extends DiffUtil.Callback {
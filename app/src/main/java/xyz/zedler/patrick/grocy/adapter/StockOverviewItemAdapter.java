@@ -28,14 +28,22 @@ import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.Lifecycle;
+import androidx.paging.AsyncPagingDataDiffer;
+import androidx.paging.LoadState;
+import androidx.paging.PagingData;
 import androidx.preference.PreferenceManager;
 import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
 import androidx.recyclerview.widget.RecyclerView;
-import com.bumptech.glide.load.model.LazyHeaders;
 import com.google.android.material.chip.Chip;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import kotlin.Unit;
 import xyz.zedler.patrick.grocy.Constants;
 import xyz.zedler.patrick.grocy.Constants.PREF;
 import xyz.zedler.patrick.grocy.Constants.SETTINGS.STOCK;
@@ -44,6 +52,8 @@ import xyz.zedler.patrick.grocy.R;
 import xyz.zedler.patrick.grocy.api.GrocyApi;
 import xyz.zedler.patrick.grocy.databinding.RowShoppingListGroupBinding;
 import xyz.zedler.patrick.grocy.databinding.RowStockItemBinding;
+import xyz.zedler.patrick.grocy.helper.GroupedListDiffer;
+import xyz.zedler.patrick.grocy.helper.PicturePreloader;
 import xyz.zedler.patrick.grocy.model.FilterChipLiveDataGroupingStock;
 import xyz.zedler.patrick.grocy.model.GroupHeader;
 import xyz.zedler.patrick.grocy.model.GroupedListItem;
@@ -61,28 +71,28 @@ import xyz.zedler.patrick.grocy.util.DateUtil;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.util.PictureUtil;
 import xyz.zedler.patrick.grocy.util.PluralUtil;
+import xyz.zedler.patrick.grocy.util.QuantityUnitConversionUtil;
 import xyz.zedler.patrick.grocy.util.ResUtil;
 import xyz.zedler.patrick.grocy.util.SortUtil;
 import xyz.zedler.patrick.grocy.viewmodel.StockOverviewViewModel;
-import xyz.zedler.patrick.grocy.web.RequestHeaders;
 
 public class StockOverviewItemAdapter extends
-    RecyclerView.Adapter<StockOverviewItemAdapter.ViewHolder> {
+    RecyclerView.Adapter<StockOverviewItemAdapter.ViewHolder>
+    implements PicturePreloader.PictureUrlProvider {
 
   private final static String TAG = StockOverviewItemAdapter.class.getSimpleName();
 
   private final ArrayList<GroupedListItem> groupedListItems;
-  private final ArrayList<String> shoppingListItemsProductIds;
+  private final HashSet<String> shoppingListItemsProductIds;
   private final HashMap<Integer, QuantityUnit> quantityUnitHashMap;
-  private final List<QuantityUnitConversionResolved> quantityUnitConversions;
+  private final HashMap<Integer, QuantityUnitConversionResolved> priceConversionHashMap;
   private final HashMap<Integer, String> productAveragePriceHashMap;
   private final HashMap<Integer, ProductLastPurchased> productLastPurchasedHashMap;
   private final PluralUtil pluralUtil;
-  private final ArrayList<Integer> missingItemsProductIds;
+  private final HashSet<Integer> missingItemsProductIds;
   private final HashMap<String, Userfield> userfieldHashMap;
   private final StockOverviewItemAdapterListener listener;
   private final GrocyApi grocyApi;
-  private final LazyHeaders grocyAuthHeaders;
   private final boolean showDateTracking;
   private final boolean shoppingListFeatureEnabled;
   private final int daysExpiringSoon;
@@ -96,6 +106,10 @@ public class StockOverviewItemAdapter extends
   private final int decimalPlacesPriceDisplay;
   private final String energyUnit;
   private boolean containsPictures;
+  private final GroupedListDiffer listDiffer;
+  private final AsyncPagingDataDiffer<StockItem> pagingDiffer;
+  private Lifecycle pagingLifecycle;
+  private boolean paged;
 
   public StockOverviewItemAdapter(
       Context context,
@@ -105,17 +119,16 @@ public class StockOverviewItemAdapter extends
       int daysExpiringSoon,
       String currency
   ) {
-    this.shoppingListItemsProductIds = new ArrayList<>();
+    this.shoppingListItemsProductIds = new HashSet<>();
     this.quantityUnitHashMap = new HashMap<>();
-    this.quantityUnitConversions = new ArrayList<>();
+    this.priceConversionHashMap = new HashMap<>();
     this.productAveragePriceHashMap = new HashMap<>();
     this.productLastPurchasedHashMap = new HashMap<>();
     this.pluralUtil = new PluralUtil(context);
-    this.missingItemsProductIds = new ArrayList<>();
+    this.missingItemsProductIds = new HashSet<>();
     this.userfieldHashMap = new HashMap<>();
     this.listener = listener;
     this.grocyApi = new GrocyApi((Application) context.getApplicationContext());
-    this.grocyAuthHeaders = RequestHeaders.getGlideGrocyAuthHeaders(context);
     this.showDateTracking = showDateTracking;
     this.shoppingListFeatureEnabled = shoppingListFeatureEnabled;
     this.daysExpiringSoon = daysExpiringSoon;
@@ -133,6 +146,44 @@ public class StockOverviewItemAdapter extends
     this.dateUtil = new DateUtil(context);
     this.activeFields = new ArrayList<>();
     this.groupedListItems = new ArrayList<>();
+    this.listDiffer = new GroupedListDiffer();
+    this.pagingDiffer = new AsyncPagingDataDiffer<>(
+        new PagingDiffCallback(),
+        new ListUpdateCallback() {
+          @Override
+          public void onInserted(int position, int count) {
+            if (paged) notifyItemRangeInserted(position, count);
+          }
+
+          @Override
+          public void onRemoved(int position, int count) {
+            if (paged) notifyItemRangeRemoved(position, count);
+          }
+
+          @Override
+          public void onMoved(int fromPosition, int toPosition) {
+            if (paged) notifyItemMoved(fromPosition, toPosition);
+          }
+
+          @Override
+          public void onChanged(int position, int count, @Nullable Object payload) {
+            if (paged) notifyItemRangeChanged(position, count, payload);
+          }
+        }
+    );
+    this.pagingDiffer.addLoadStateListener(loadStates -> {
+      if (paged && loadStates.getRefresh() instanceof LoadState.NotLoading) {
+        listener.onPagedListLoaded(pagingDiffer.getItemCount());
+      }
+      return Unit.INSTANCE;
+    });
+  }
+
+  @Override
+  public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+    super.onDetachedFromRecyclerView(recyclerView);
+    // results of pending calculations must not reach a destroyed view
+    listDiffer.cancel();
   }
 
   static ArrayList<GroupedListItem> getGroupedListItems(
@@ -159,19 +210,20 @@ public class StockOverviewItemAdapter extends
     for (StockItem stockItem : stockItems) {
       String groupName = null;
       if (groupingMode.equals(FilterChipLiveDataGroupingStock.GROUPING_PRODUCT_GROUP)
-          && NumUtil.isStringInt(stockItem.getProduct().getProductGroupId())
+          && stockItem.getProduct().getProductGroupId() != null
       ) {
-        int productGroupId = Integer.parseInt(stockItem.getProduct().getProductGroupId());
+        Integer productGroupId = stockItem.getProduct().getProductGroupId();
         ProductGroup productGroup = productGroupHashMap.get(productGroupId);
         groupName = productGroup != null ? productGroup.getName() : null;
       } else if (groupingMode.equals(FilterChipLiveDataGroupingStock.GROUPING_VALUE)) {
         groupName = NumUtil.trimPrice(stockItem.getValueDouble(), decimalPlacesPriceDisplay);
       } else if (groupingMode.equals(FilterChipLiveDataGroupingStock.GROUPING_CALORIES_PER_STOCK)) {
-        groupName = NumUtil.isStringDouble(stockItem.getProduct().getCalories())
-            ? stockItem.getProduct().getCalories() : null;
+        groupName = stockItem.getProduct().getCalories() != null
+            ? NumUtil.trimAmount(stockItem.getProduct().getCalories(), maxDecimalPlacesAmount)
+            : null;
       } else if (groupingMode.equals(FilterChipLiveDataGroupingStock.GROUPING_CALORIES)) {
-        groupName = NumUtil.isStringDouble(stockItem.getProduct().getCalories())
-            ? NumUtil.trimAmount(NumUtil.toDouble(stockItem.getProduct().getCalories())
+        groupName = stockItem.getProduct().getCalories() != null
+            ? NumUtil.trimAmount(stockItem.getProduct().getCalories()
             * stockItem.getAmountDouble(), maxDecimalPlacesAmount) : null;
       } else if (groupingMode.equals(FilterChipLiveDataGroupingStock.GROUPING_DUE_DATE)) {
         groupName = stockItem.getBestBeforeDate();
@@ -179,16 +231,16 @@ public class StockOverviewItemAdapter extends
           groupName += "  " + dateUtil.getHumanForDaysFromNow(groupName);
         }
       } else if (groupingMode.equals(FilterChipLiveDataGroupingStock.GROUPING_MIN_STOCK_AMOUNT)) {
-        groupName = stockItem.getProduct().getMinStockAmount();
+        groupName = stockItem.getProduct().getMinStockAmount() != null
+            ? NumUtil.trimAmount(stockItem.getProduct().getMinStockAmount(), maxDecimalPlacesAmount)
+            : null;
       } else if (groupingMode.equals(FilterChipLiveDataGroupingStock.GROUPING_PARENT_PRODUCT)
-          && NumUtil.isStringInt(stockItem.getProduct().getParentProductId())) {
-        int productId = Integer.parseInt(stockItem.getProduct().getParentProductId());
-        Product product = productHashMap.get(productId);
+          && stockItem.getProduct().getParentProductId() != null) {
+        Product product = productHashMap.get(stockItem.getProduct().getParentProductId());
         groupName = product != null ? product.getName() : null;
       } else if (groupingMode.equals(FilterChipLiveDataGroupingStock.GROUPING_DEFAULT_LOCATION)
-          && NumUtil.isStringInt(stockItem.getProduct().getLocationId())) {
-        int locationId = Integer.parseInt(stockItem.getProduct().getLocationId());
-        Location location = locationHashMap.get(locationId);
+          && stockItem.getProduct().getLocationId() != null) {
+        Location location = locationHashMap.get(stockItem.getProduct().getLocationId());
         groupName = location != null ? location.getName() : null;
       } else if (groupingMode.startsWith(Userfield.NAME_PREFIX)) {
         String userfieldName = groupingMode.substring(
@@ -271,6 +323,39 @@ public class StockOverviewItemAdapter extends
     }
   }
 
+  /**
+   * Returns the conversion from price unit to stock unit for every product in the list, so that
+   * binding and diffing a row is a map lookup instead of a scan over all conversions.
+   */
+  static HashMap<Integer, QuantityUnitConversionResolved> getPriceConversionHashMap(
+      List<StockItem> stockItems,
+      List<QuantityUnitConversionResolved> quantityUnitConversions
+  ) {
+    ArrayList<Product> products = new ArrayList<>(stockItems.size());
+    for (StockItem stockItem : stockItems) {
+      if (stockItem.getProduct() != null) products.add(stockItem.getProduct());
+    }
+    return getPriceConversionHashMapForProducts(products, quantityUnitConversions);
+  }
+
+  static HashMap<Integer, QuantityUnitConversionResolved> getPriceConversionHashMapForProducts(
+      Collection<Product> products,
+      List<QuantityUnitConversionResolved> quantityUnitConversions
+  ) {
+    HashMap<Integer, QuantityUnitConversionResolved> priceConversions = new HashMap<>();
+    for (Product product : products) {
+      // the conversions are shared and grouped by product only once after each sync
+      for (QuantityUnitConversionResolved conversion : QuantityUnitConversionUtil
+          .getProductConversions(quantityUnitConversions, product.getId())) {
+        if (conversion.getFromQuId() == product.getQuIdPriceInt()
+            && conversion.getToQuId() == product.getQuIdStockInt()) {
+          priceConversions.put(product.getId(), conversion);
+        }
+      }
+    }
+    return priceConversions;
+  }
+
   public static class ViewHolder extends RecyclerView.ViewHolder {
 
     public ViewHolder(View view) {
@@ -301,7 +386,7 @@ public class StockOverviewItemAdapter extends
   @Override
   public int getItemViewType(int position) {
     return GroupedListItem.getType(
-        groupedListItems.get(position),
+        getGroupedListItemForPos(position),
         GroupedListItem.CONTEXT_STOCK_OVERVIEW
     );
   }
@@ -329,7 +414,7 @@ public class StockOverviewItemAdapter extends
   @SuppressLint("ClickableViewAccessibility")
   @Override
   public void onBindViewHolder(@NonNull final ViewHolder viewHolder, int positionDoNotUse) {
-    GroupedListItem groupedListItem = groupedListItems.get(viewHolder.getAdapterPosition());
+    GroupedListItem groupedListItem = getGroupedListItemForPos(viewHolder.getAdapterPosition());
 
     int type = getItemViewType(viewHolder.getAdapterPosition());
     if (type == GroupedListItem.TYPE_HEADER) {
@@ -436,10 +521,8 @@ public class StockOverviewItemAdapter extends
     }
 
     if (activeFields.contains(StockOverviewViewModel.FIELD_VALUE)
-        && NumUtil.isStringDouble(stockItem.getValue())) {
-      String value = NumUtil.trimPrice(
-          NumUtil.toDouble(stockItem.getValue()), decimalPlacesPriceDisplay
-      );
+        && stockItem.getValue() != null) {
+      String value = NumUtil.trimPrice(stockItem.getValue(), decimalPlacesPriceDisplay);
       if (currency != null && !currency.isEmpty()) {
         value = context.getString(R.string.property_price_with_currency, value, currency);
       }
@@ -447,30 +530,26 @@ public class StockOverviewItemAdapter extends
       holder.binding.flexboxLayout.addView(chipValue);
     }
     if (activeFields.contains(StockOverviewViewModel.FIELD_CALORIES_UNIT)
-        && NumUtil.isStringDouble(stockItem.getProduct().getCalories())) {
+        && stockItem.getProduct().getCalories() != null) {
       Chip chipValue = createChip(context, context.getString(
           R.string.property_insert_per_unit,
-          stockItem.getProduct().getCalories() + " " + energyUnit
+          NumUtil.trimAmount(stockItem.getProduct().getCalories(), maxDecimalPlacesAmount)
+              + " " + energyUnit
       ));
       holder.binding.flexboxLayout.addView(chipValue);
     }
     if (activeFields.contains(StockOverviewViewModel.FIELD_CALORIES_TOTAL)
-        && NumUtil.isStringDouble(stockItem.getProduct().getCalories())) {
+        && stockItem.getProduct().getCalories() != null) {
       Chip chipValue = createChip(context, context.getString(
           R.string.property_insert_total,
-          NumUtil.trimAmount(NumUtil.toDouble(stockItem.getProduct()
-              .getCalories()) * stockItem.getAmountDouble(), maxDecimalPlacesAmount)
+          NumUtil.trimAmount(stockItem.getProduct().getCalories()
+              * stockItem.getAmountDouble(), maxDecimalPlacesAmount)
               + " " + energyUnit
       ));
       holder.binding.flexboxLayout.addView(chipValue);
     }
     double factorPriceToStock = 1.0;
-    QuantityUnitConversionResolved c = QuantityUnitConversionResolved.findConversion(
-            quantityUnitConversions,
-            stockItem.getProduct().getId(),
-            stockItem.getProduct().getQuIdPriceInt(),
-            stockItem.getProduct().getQuIdStockInt()
-    );
+    QuantityUnitConversionResolved c = priceConversionHashMap.get(stockItem.getProductId());
     if (c != null) {
       factorPriceToStock = c.getFactor();
     }
@@ -529,7 +608,7 @@ public class StockOverviewItemAdapter extends
           null,
           holder.binding.picturePlaceholder,
           grocyApi.getProductPictureServeSmall(pictureFileName),
-          grocyAuthHeaders,
+          true,
           false
       );
     } else if (activeFields.contains(StockOverviewViewModel.FIELD_PICTURE) && containsPictures) {
@@ -561,20 +640,107 @@ public class StockOverviewItemAdapter extends
 
   @Override
   public int getItemCount() {
-    return groupedListItems.size();
+    return paged ? pagingDiffer.getItemCount() : groupedListItems.size();
   }
 
   public GroupedListItem getGroupedListItemForPos(int position) {
-    if (groupedListItems == null || position < 0
-        || position >= groupedListItems.size()) {
+    if (position < 0 || position >= getItemCount()) {
       return null;
     }
-    return groupedListItems.get(position);
+    return paged ? pagingDiffer.getItem(position) : groupedListItems.get(position);
+  }
+
+  @Nullable
+  @Override
+  public String getPictureUrl(int position) {
+    if (!activeFields.contains(StockOverviewViewModel.FIELD_PICTURE)) return null;
+    GroupedListItem groupedListItem = getGroupedListItemForPos(position);
+    if (!(groupedListItem instanceof StockItem)) return null;
+    Product product = ((StockItem) groupedListItem).getProduct();
+    if (product == null) return null;
+    String pictureFileName = product.getPictureFileName();
+    if (pictureFileName == null || pictureFileName.isEmpty()) return null;
+    return grocyApi.getProductPictureServeSmall(pictureFileName);
   }
 
   public interface StockOverviewItemAdapterListener {
 
     void onItemRowClicked(StockItem stockItem);
+
+    void onPagedListLoaded(int itemCount);
+  }
+
+  /**
+   * Shows pages of stock items which are already filtered and sorted by the database, used by
+   * the overview when the items are not grouped. The other data is needed to bind the rows.
+   */
+  public void submitPagedData(
+      Lifecycle lifecycle,
+      PagingData<StockItem> pagingData,
+      ArrayList<String> shoppingListItemsProductIds,
+      HashMap<Integer, QuantityUnit> quantityUnitHashMap,
+      List<QuantityUnitConversionResolved> quantityUnitConversions,
+      HashMap<Integer, String> productAveragePriceHashMap,
+      HashMap<Integer, ProductLastPurchased> productLastPurchasedHashMap,
+      HashMap<Integer, Product> productHashMap,
+      ArrayList<Integer> missingItemsProductIds,
+      HashMap<String, Userfield> userfieldHashMap,
+      List<String> activeFields
+  ) {
+    HashSet<String> newShoppingListItemsProductIds = new HashSet<>(shoppingListItemsProductIds);
+    HashSet<Integer> newMissingItemsProductIds = new HashSet<>(missingItemsProductIds);
+    HashMap<Integer, QuantityUnitConversionResolved> newPriceConversionHashMap
+        = getPriceConversionHashMapForProducts(productHashMap.values(), quantityUnitConversions);
+
+    // queued behind a running grouped list calculation, which reads the adapter state
+    listDiffer.submit(() -> null, result -> {
+      // rows are only rebound by the paging diff if the item itself changed
+      boolean bindingDataChanged = !newShoppingListItemsProductIds
+          .equals(this.shoppingListItemsProductIds)
+          || !quantityUnitHashMap.equals(this.quantityUnitHashMap)
+          || !newPriceConversionHashMap.equals(this.priceConversionHashMap)
+          || !productAveragePriceHashMap.equals(this.productAveragePriceHashMap)
+          || !productLastPurchasedHashMap.equals(this.productLastPurchasedHashMap)
+          || !newMissingItemsProductIds.equals(this.missingItemsProductIds)
+          || !userfieldHashMap.equals(this.userfieldHashMap)
+          || !ArrayUtil.areListsEqualIgnoreOrder(this.activeFields, activeFields);
+
+      containsPictures = false;
+      for (Product product : productHashMap.values()) {
+        String pictureFileName = product.getPictureFileName();
+        if (pictureFileName != null && !pictureFileName.isEmpty()) {
+          containsPictures = true;
+          break;
+        }
+      }
+      this.shoppingListItemsProductIds.clear();
+      this.shoppingListItemsProductIds.addAll(newShoppingListItemsProductIds);
+      this.quantityUnitHashMap.clear();
+      this.quantityUnitHashMap.putAll(quantityUnitHashMap);
+      this.priceConversionHashMap.clear();
+      this.priceConversionHashMap.putAll(newPriceConversionHashMap);
+      this.productAveragePriceHashMap.clear();
+      this.productAveragePriceHashMap.putAll(productAveragePriceHashMap);
+      this.productLastPurchasedHashMap.clear();
+      this.productLastPurchasedHashMap.putAll(productLastPurchasedHashMap);
+      this.missingItemsProductIds.clear();
+      this.missingItemsProductIds.addAll(newMissingItemsProductIds);
+      this.userfieldHashMap.clear();
+      this.userfieldHashMap.putAll(userfieldHashMap);
+      this.groupingMode = FilterChipLiveDataGroupingStock.GROUPING_NONE;
+      this.activeFields.clear();
+      this.activeFields.addAll(activeFields);
+
+      if (!paged) {
+        paged = true;
+        groupedListItems.clear();
+        notifyDataSetChanged();
+      } else if (bindingDataChanged) {
+        notifyItemRangeChanged(0, getItemCount());
+      }
+      pagingLifecycle = lifecycle;
+      pagingDiffer.submitData(lifecycle, pagingData);
+    });
   }
 
   public void updateData(
@@ -596,92 +762,126 @@ public class StockOverviewItemAdapter extends
       List<String> activeFields,
       Runnable onListFilled
   ) {
-    ArrayList<GroupedListItem> newGroupedListItems = getGroupedListItems(context, newList,
-        productGroupHashMap, productHashMap, locationHashMap, userfieldHashMap, this.currency,
-        this.dateUtil, sortMode, sortAscending, groupingMode, maxDecimalPlacesAmount,
-        decimalPlacesPriceDisplay);
-    StockOverviewItemAdapter.DiffCallback diffCallback = new StockOverviewItemAdapter.DiffCallback(
-        this.groupedListItems,
-        newGroupedListItems,
-        this.shoppingListItemsProductIds,
-        shoppingListItemsProductIds,
-        this.quantityUnitHashMap,
-        quantityUnitHashMap,
-        this.quantityUnitConversions,
-        quantityUnitConversions,
-        this.productAveragePriceHashMap,
-        productAveragePriceHashMap,
-        this.productLastPurchasedHashMap,
-        productLastPurchasedHashMap,
-        this.missingItemsProductIds,
-        missingItemsProductIds,
-        this.userfieldHashMap,
-        userfieldHashMap,
-        this.sortMode,
-        sortMode,
-        this.sortAscending,
-        sortAscending,
-        this.groupingMode,
-        groupingMode,
-        this.activeFields,
-        activeFields
-    );
+    ArrayList<StockItem> newItems = new ArrayList<>(newList);
+    HashSet<String> newShoppingListItemsProductIds = new HashSet<>(shoppingListItemsProductIds);
+    HashSet<Integer> newMissingItemsProductIds = new HashSet<>(missingItemsProductIds);
+    HashMap<Integer, QuantityUnitConversionResolved> newPriceConversionHashMap
+        = getPriceConversionHashMap(newItems, quantityUnitConversions);
 
-    containsPictures = false;
-    for (StockItem stockItem : newList) {
-      if (stockItem.getProduct() == null) continue;
-      String pictureFileName = stockItem.getProduct().getPictureFileName();
-      if (pictureFileName != null && !pictureFileName.isEmpty()) {
-        containsPictures = true;
-        break;
+    listDiffer.submit(() -> {
+      ArrayList<GroupedListItem> newGroupedListItems = getGroupedListItems(context, newItems,
+          productGroupHashMap, productHashMap, locationHashMap, userfieldHashMap, this.currency,
+          this.dateUtil, sortMode, sortAscending, groupingMode, maxDecimalPlacesAmount,
+          decimalPlacesPriceDisplay);
+      DiffCallback diffCallback = new DiffCallback(
+          this.groupedListItems,
+          newGroupedListItems,
+          this.shoppingListItemsProductIds,
+          newShoppingListItemsProductIds,
+          this.quantityUnitHashMap,
+          quantityUnitHashMap,
+          this.priceConversionHashMap,
+          newPriceConversionHashMap,
+          this.productAveragePriceHashMap,
+          productAveragePriceHashMap,
+          this.productLastPurchasedHashMap,
+          productLastPurchasedHashMap,
+          this.missingItemsProductIds,
+          newMissingItemsProductIds,
+          this.userfieldHashMap,
+          userfieldHashMap,
+          this.sortMode,
+          sortMode,
+          this.sortAscending,
+          sortAscending,
+          this.groupingMode,
+          groupingMode,
+          this.activeFields,
+          activeFields
+      );
+      return new GroupedListDiffer.Result(
+          newGroupedListItems, DiffUtil.calculateDiff(diffCallback)
+      );
+    }, result -> {
+      containsPictures = false;
+      for (StockItem stockItem : newItems) {
+        if (stockItem.getProduct() == null) continue;
+        String pictureFileName = stockItem.getProduct().getPictureFileName();
+        if (pictureFileName != null && !pictureFileName.isEmpty()) {
+          containsPictures = true;
+          break;
+        }
+      }
+
+      if (onListFilled != null && !result.getGroupedListItems().isEmpty()
+          && groupedListItems.isEmpty()) {
+        onListFilled.run();
+      }
+      boolean wasPaged = paged;
+      if (wasPaged) {
+        paged = false;
+        pagingDiffer.submitData(pagingLifecycle, PagingData.empty());
+      }
+
+      this.groupedListItems.clear();
+      this.groupedListItems.addAll(result.getGroupedListItems());
+      this.shoppingListItemsProductIds.clear();
+      this.shoppingListItemsProductIds.addAll(newShoppingListItemsProductIds);
+      this.quantityUnitHashMap.clear();
+      this.quantityUnitHashMap.putAll(quantityUnitHashMap);
+      this.priceConversionHashMap.clear();
+      this.priceConversionHashMap.putAll(newPriceConversionHashMap);
+      this.productAveragePriceHashMap.clear();
+      this.productAveragePriceHashMap.putAll(productAveragePriceHashMap);
+      this.productLastPurchasedHashMap.clear();
+      this.productLastPurchasedHashMap.putAll(productLastPurchasedHashMap);
+      this.missingItemsProductIds.clear();
+      this.missingItemsProductIds.addAll(newMissingItemsProductIds);
+      this.userfieldHashMap.clear();
+      this.userfieldHashMap.putAll(userfieldHashMap);
+      this.sortMode = sortMode;
+      this.sortAscending = sortAscending;
+      this.groupingMode = groupingMode;
+      this.activeFields.clear();
+      this.activeFields.addAll(activeFields);
+      if (wasPaged) {
+        // the diff was calculated against the empty list and not against the pages
+        notifyDataSetChanged();
+      } else {
+        result.getDiffResult().dispatchUpdatesTo(this);
       }
+    });
+  }
+
+  static class PagingDiffCallback extends DiffUtil.ItemCallback<StockItem> {
+
+    @Override
+    public boolean areItemsTheSame(@NonNull StockItem oldItem, @NonNull StockItem newItem) {
+      return oldItem.getProductId() == newItem.getProductId();
     }
 
-    if (onListFilled != null && !newGroupedListItems.isEmpty() && groupedListItems.isEmpty()) {
-      onListFilled.run();
-    }
-
-    DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(diffCallback);
-    this.groupedListItems.clear();
-    this.groupedListItems.addAll(newGroupedListItems);
-    this.shoppingListItemsProductIds.clear();
-    this.shoppingListItemsProductIds.addAll(shoppingListItemsProductIds);
-    this.quantityUnitHashMap.clear();
-    this.quantityUnitHashMap.putAll(quantityUnitHashMap);
-    this.quantityUnitConversions.clear();
-    this.quantityUnitConversions.addAll(quantityUnitConversions);
-    this.productAveragePriceHashMap.clear();
-    this.productAveragePriceHashMap.putAll(productAveragePriceHashMap);
-    this.productLastPurchasedHashMap.clear();
-    this.productLastPurchasedHashMap.putAll(productLastPurchasedHashMap);
-    this.missingItemsProductIds.clear();
-    this.missingItemsProductIds.addAll(missingItemsProductIds);
-    this.userfieldHashMap.clear();
-    this.userfieldHashMap.putAll(userfieldHashMap);
-    this.sortMode = sortMode;
-    this.sortAscending = sortAscending;
-    this.groupingMode = groupingMode;
-    this.activeFields.clear();
-    this.activeFields.addAll(activeFields);
-    diffResult.dispatchUpdatesTo(this);
+    @Override
+    public boolean areContentsTheSame(@NonNull StockItem oldItem, @NonNull StockItem newItem) {
+      return oldItem.equals(newItem);
+    }
   }
 
   static class DiffCallback extends DiffUtil.Callback {
 
     ArrayList<GroupedListItem> oldItems;
     ArrayList<GroupedListItem> newItems;
-    ArrayList<String> shoppingListItemsProductIdsOld;
-    ArrayList<String> shoppingListItemsProductIdsNew;
+    HashSet<String> shoppingListItemsProductIdsOld;
+    HashSet<String> shoppingListItemsProductIdsNew;
     HashMap<Integer, QuantityUnit> quantityUnitHashMapOld;
     HashMap<Integer, QuantityUnit> quantityUnitHashMapNew;
-    List<QuantityUnitConversionResolved> unitConversionsOld;
-    List<QuantityUnitConversionResolved> unitConversionsNew;
+    HashMap<Integer, QuantityUnitConversionResolved> priceConversionHashMapOld;
+    HashMap<Integer, QuantityUnitConversionResolved> priceConversionHashMapNew;
     HashMap<Integer, String> productAveragePriceHashMapOld;
     HashMap<Integer, String> productAveragePriceHashMapNew;
     HashMap<Integer, ProductLastPurchased> productLastPurchasedHashMapOld;
     HashMap<Integer, ProductLastPurchased> productLastPurchasedHashMapNew;
-    ArrayList<Integer> missingProductIdsOld;
-    ArrayList<Integer> missingProductIdsNew;
+    HashSet<Integer> missingProductIdsOld;
+    HashSet<Integer> missingProductIdsNew;
     HashMap<String, Userfield> userfieldHashMapOld;
     HashMap<String, Userfield> userfieldHashMapNew;
     String sortModeOld;
@@ -696,18 +896,18 @@ public class StockOverviewItemAdapter extends
     public DiffCallback(
         ArrayList<GroupedListItem> oldItems,
         ArrayList<GroupedListItem> newItems,
-        ArrayList<String> shoppingListItemsProductIdsOld,
-        ArrayList<String> shoppingListItemsProductIdsNew,
+        HashSet<String> shoppingListItemsProductIdsOld,
+        HashSet<String> shoppingListItemsProductIdsNew,
         HashMap<Integer, QuantityUnit> quantityUnitHashMapOld,
         HashMap<Integer, QuantityUnit> quantityUnitHashMapNew,
-        List<QuantityUnitConversionResolved> unitConversionsOld,
-        List<QuantityUnitConversionResolved> unitConversionsNew,
+        HashMap<Integer, QuantityUnitConversionResolved> priceConversionHashMapOld,
+        HashMap<Integer, QuantityUnitConversionResolved> priceConversionHashMapNew,
         HashMap<Integer, String> productAveragePriceHashMapOld,
         HashMap<Integer, String> productAveragePriceHashMapNew,
         HashMap<Integer, ProductLastPurchased> productLastPurchasedHashMapOld,
         HashMap<Integer, ProductLastPurchased> productLastPurchasedHashMapNew,
-        ArrayList<Integer> missingProductIdsOld,
-        ArrayList<Integer> missingProductIdsNew,
+        HashSet<Integer> missingProductIdsOld,
+        HashSet<Integer> missingProductIdsNew,
         HashMap<String, Userfield> userfieldHashMapOld,
         HashMap<String, Userfield> userfieldHashMapNew,
         String sortModeOld,
@@ -725,8 +925,8 @@ public class StockOverviewItemAdapter extends
       this.shoppingListItemsProductIdsNew = shoppingListItemsProductIdsNew;
       this.quantityUnitHashMapOld = quantityUnitHashMapOld;
       this.quantityUnitHashMapNew = quantityUnitHashMapNew;
-      this.unitConversionsOld = unitConversionsOld;
-      this.unitConversionsNew = unitConversionsNew;
+      this.priceConversionHashMapOld = priceConversionHashMapOld;
+      this.priceConversionHashMapNew = priceConversionHashMapNew;
       this.productAveragePriceHashMapOld = productAveragePriceHashMapOld;
       this.productAveragePriceHashMapNew = productAveragePriceHashMapNew;
       this.productLastPurchasedHashMapOld = productLastPurchasedHashMapOld;
@@ -833,18 +1033,10 @@ public class StockOverviewItemAdapter extends
           return false;
         }
 
-        QuantityUnitConversionResolved oldCon = QuantityUnitConversionResolved.findConversion(
-                unitConversionsOld,
-                oldItem.getProductId(),
-                oldItem.getProduct().getQuIdPriceInt(),
-                oldItem.getProduct().getQuIdStockInt()
-        );
-        QuantityUnitConversionResolved newCon = QuantityUnitConversionResolved.findConversion(
-                unitConversionsNew,
-                newItem.getProductId(),
-                newItem.getProduct().getQuIdPriceInt(),
-                newItem.getProduct().getQuIdStockInt()
-        );
+        QuantityUnitConversionResolved oldCon = priceConversionHashMapOld
+            .get(oldItem.getProductId());
+        QuantityUnitConversionResolved newCon = priceConversionHashMapNew
+            .get(newItem.getProductId());
         if (oldCon == null && newCon != null || newCon != null && !newCon.equals(oldCon)) {
           return false;
         }
@@ -0,0 +1,56 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import io.reactivex.rxjava3.core.Single;
+import java.util.List;
+import xyz.zedler.patrick.grocy.model.BookingJournalEntry;
+
+@Dao
+public interface BookingJournalDao {
+
+  @Query("SELECT * FROM booking_journal_table WHERE state = :state ORDER BY id LIMIT :limit")
+  Single<List<BookingJournalEntry>> getEntries(int state, int limit);
+
+  /**
+   * Returns -1 if an entry with the same idempotency key is already stored.
+   */
+  @Insert(onConflict = OnConflictStrategy.IGNORE)
+  Single<Long> insertEntry(BookingJournalEntry entry);
+
+  @Query("UPDATE booking_journal_table SET state = :state, error_message = :errorMessage "
+      + "WHERE id = :id")
+  Single<Integer> updateState(int id, int state, String errorMessage);
+
+  @Query("UPDATE booking_journal_table SET state = :newState, error_message = :errorMessage "
+      + "WHERE state = :state")
+  Single<Integer> updateStates(int state, int newState, String errorMessage);
+
+  @Query("DELETE FROM booking_journal_table WHERE id = :id")
+  Single<Integer> deleteEntry(int id);
+
+  @Query("DELETE FROM booking_journal_table WHERE id IN (:ids)")
+  Single<Integer> deleteEntries(List<Integer> ids);
+
+}
@@ -28,7 +28,7 @@ import java.util.List;
 import xyz.zedler.patrick.grocy.model.Chore;
 
 @Dao
-public interface ChoreDao {
+public interface ChoreDao extends BulkDao<Chore> {
 
   @Query("SELECT * FROM chore_table")
   Single<List<Chore>> getChores();
@@ -39,4 +39,7 @@ public interface ChoreDao {
   @Query("DELETE FROM chore_table")
   Single<Integer> deleteChores();
 
+  @Query("DELETE FROM chore_table")
+  void deleteAll();
+
 }
@@ -28,7 +28,7 @@ import java.util.List;
 import xyz.zedler.patrick.grocy.model.ChoreEntry;
 
 @Dao
-public interface ChoreEntryDao {
+public interface ChoreEntryDao extends BulkDao<ChoreEntry> {
 
   @Query("SELECT * FROM chore_entry_table")
   Single<List<ChoreEntry>> getChoreEntries();
@@ -39,4 +39,7 @@ public interface ChoreEntryDao {
   @Query("DELETE FROM chore_entry_table")
   Single<Integer> deleteChoreEntries();
 
+  @Query("DELETE FROM chore_entry_table")
+  void deleteAll();
+
 }
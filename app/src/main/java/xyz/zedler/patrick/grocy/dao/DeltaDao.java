@@ -0,0 +1,37 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.dao;
+
+import java.util.List;
+
+/**
+ * Additional synchronous operations for entities which are synced row by row
+ * with AppDatabase.deltaWriter() instead of replacing the whole table.
+ * All methods must be implemented with queries for the respective table.
+ */
+public interface DeltaDao<T> extends BulkDao<T> {
+
+  List<Integer> getAllIds();
+
+  List<T> getByIds(List<Integer> ids);
+
+  int deleteByIds(List<Integer> ids);
+
+}
@@ -28,15 +28,21 @@ import java.util.List;
 import xyz.zedler.patrick.grocy.model.Location;
 
 @Dao
-public interface LocationDao {
+public interface LocationDao extends BulkDao<Location> {
 
   @Query("SELECT * FROM location_table")
   Single<List<Location>> getLocations();
 
+  @Query("SELECT * FROM location_table WHERE id = :id")
+  Location getById(int id);
+
   @Insert(onConflict = OnConflictStrategy.REPLACE)
   Single<List<Long>> insertLocations(List<Location> locations);
 
   @Query("DELETE FROM location_table")
   Single<Integer> deleteLocations();
 
+  @Query("DELETE FROM location_table")
+  void deleteAll();
+
 }
@@ -28,7 +28,7 @@ import java.util.List;
 import xyz.zedler.patrick.grocy.model.MealPlanEntry;
 
 @Dao
-public interface MealPlanEntryDao {
+public interface MealPlanEntryDao extends BulkDao<MealPlanEntry> {
 
   @Query("SELECT * FROM meal_plan_entry_table")
   Single<List<MealPlanEntry>> getMealPlanEntries();
@@ -39,4 +39,7 @@ public interface MealPlanEntryDao {
   @Query("DELETE FROM meal_plan_entry_table")
   Single<Integer> deleteMealPlanEntries();
 
+  @Query("DELETE FROM meal_plan_entry_table")
+  void deleteAll();
+
 }
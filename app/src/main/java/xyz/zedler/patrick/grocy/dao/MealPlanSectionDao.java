@@ -28,7 +28,7 @@ import java.util.List;
 import xyz.zedler.patrick.grocy.model.MealPlanSection;
 
 @Dao
-public interface MealPlanSectionDao {
+public interface MealPlanSectionDao extends BulkDao<MealPlanSection> {
 
   @Query("SELECT * FROM meal_plan_section_table")
   Single<List<MealPlanSection>> getMealPlanSections();
@@ -39,4 +39,7 @@ public interface MealPlanSectionDao {
   @Query("DELETE FROM meal_plan_section_table")
   Single<Integer> deleteMealPlanSections();
 
+  @Query("DELETE FROM meal_plan_section_table")
+  void deleteAll();
+
 }
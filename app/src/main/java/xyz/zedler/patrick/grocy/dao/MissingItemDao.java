@@ -28,15 +28,21 @@ import java.util.List;
 import xyz.zedler.patrick.grocy.model.MissingItem;
 
 @Dao
-public interface MissingItemDao {
+public interface MissingItemDao extends BulkDao<MissingItem> {
 
   @Query("SELECT * FROM missing_item_table")
   Single<List<MissingItem>> getMissingItems();
 
+  @Query("SELECT * FROM missing_item_table WHERE id = :id")
+  MissingItem getById(int id);
+
   @Insert(onConflict = OnConflictStrategy.REPLACE)
   Single<List<Long>> insertMissingItems(List<MissingItem> missingItems);
 
   @Query("DELETE FROM missing_item_table")
   Single<Integer> deleteMissingItems();
 
+  @Query("DELETE FROM missing_item_table")
+  void deleteAll();
+
 }
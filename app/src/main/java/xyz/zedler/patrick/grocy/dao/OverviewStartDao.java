@@ -0,0 +1,91 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.dao;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import java.util.List;
+
+/**
+ * Aggregate queries for the dashboard on the start screen. They only return counts and sums,
+ * so the start screen doesn't have to load and loop over the whole stock.
+ * Must not be called on the main thread.
+ */
+@Dao
+public interface OverviewStartDao {
+
+  String HIDDEN_PRODUCT_IDS = "SELECT id FROM product_table "
+      + "WHERE CAST(hide_on_stock_overview AS INTEGER) = 1";
+
+  String MISSING_NOT_IN_STOCK_PRODUCT_IDS = "SELECT id FROM missing_item_table "
+      + "WHERE is_partly_in_stock IS NULL OR CAST(is_partly_in_stock AS INTEGER) != 1";
+
+  String IN_STOCK_CONDITION = "product_id NOT IN (" + HIDDEN_PRODUCT_IDS + ") "
+      + "AND product_id NOT IN (" + MISSING_NOT_IN_STOCK_PRODUCT_IDS + ")";
+
+  @Query("SELECT COUNT(*) FROM volatile_item_table WHERE volatile_type = :volatileType "
+      + "AND product_id IN (SELECT product_id FROM stock_item_table)")
+  int getVolatileItemCount(int volatileType);
+
+  @Query("SELECT COUNT(*) FROM missing_item_table")
+  int getMissingItemCount();
+
+  @Query("SELECT COUNT(*) FROM missing_item_table WHERE id IN ("
+      + "SELECT CAST(product_id AS INTEGER) FROM shopping_list_item_table "
+      + "WHERE product_id GLOB '[0-9]*')")
+  int getMissingItemOnShoppingListCount();
+
+  @Query("SELECT COUNT(*) FROM stock_item_table WHERE " + IN_STOCK_CONDITION)
+  int getInStockCount();
+
+  @Query("SELECT TOTAL(value) FROM stock_item_table WHERE " + IN_STOCK_CONDITION)
+  double getStockValue();
+
+  @Query("SELECT COUNT(*) FROM shopping_list_item_table")
+  int getShoppingListItemCount();
+
+  @Query("SELECT COUNT(*) FROM shopping_list_table")
+  int getShoppingListCount();
+
+  @Query("SELECT COUNT(*) FROM product_table")
+  int getProductCount();
+
+  @Query("SELECT COUNT(*) FROM recipe_table WHERE id >= 0")
+  int getRecipeCount();
+
+  @Query("SELECT COUNT(*) FROM stored_purchase_table")
+  int getStoredPurchaseCount();
+
+  @Query("SELECT next_estimated_execution_time FROM chore_entry_table "
+      + "WHERE next_estimated_execution_time IS NOT NULL AND next_estimated_execution_time != ''")
+  List<String> getChoreExecutionTimes();
+
+  @Query("SELECT COUNT(*) FROM chore_entry_table "
+      + "WHERE CAST(next_execution_assigned_to_user_id AS INTEGER) = :userId")
+  int getChoresAssignedCount(int userId);
+
+  @Query("SELECT COUNT(*) FROM task_table WHERE done IS NULL OR done != 1")
+  int getUndoneTaskCount();
+
+  @Query("SELECT COUNT(*) FROM task_table WHERE (done IS NULL OR done != 1) "
+      + "AND CAST(assigned_to_user_id AS INTEGER) = :userId")
+  int getUndoneTasksAssignedCount(int userId);
+
+}
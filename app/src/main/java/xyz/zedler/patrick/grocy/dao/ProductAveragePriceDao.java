@@ -28,7 +28,7 @@ import java.util.List;
 import xyz.zedler.patrick.grocy.model.ProductAveragePrice;
 
 @Dao
-public interface ProductAveragePriceDao {
+public interface ProductAveragePriceDao extends BulkDao<ProductAveragePrice> {
 
   @Query("SELECT * FROM product_average_price_table")
   Single<List<ProductAveragePrice>> getProductsAveragePrice();
@@ -39,4 +39,7 @@ public interface ProductAveragePriceDao {
   @Query("DELETE FROM product_average_price_table")
   Single<Integer> deleteProductsAveragePrice();
 
+  @Query("DELETE FROM product_average_price_table")
+  void deleteAll();
+
 }
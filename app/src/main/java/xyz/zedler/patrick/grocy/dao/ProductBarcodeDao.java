@@ -25,18 +25,130 @@ import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
+import xyz.zedler.patrick.grocy.model.BarcodeLookup;
 import xyz.zedler.patrick.grocy.model.ProductBarcode;
 
 @Dao
-public interface ProductBarcodeDao {
+public interface ProductBarcodeDao extends DeltaDao<ProductBarcode> {
+
+  // columns of getBarcodeLookup() with the prefixes of the embedded objects of BarcodeLookup
+  String BARCODE_COLUMNS =
+      "b.id AS b_id, b.product_id AS b_product_id, b.barcode AS b_barcode, "
+      + "b.qu_id AS b_qu_id, b.amount AS b_amount, "
+      + "b.shopping_location_id AS b_shopping_location_id, b.last_price AS b_last_price, "
+      + "b.note AS b_note, b.row_created_timestamp AS b_row_created_timestamp";
+
+  String PRODUCT_COLUMNS =
+      "p.id AS p_id, p.name AS p_name, p.description AS p_description, "
+      + "p.product_group_id AS p_product_group_id, p.active AS p_active, "
+      + "p.location_id AS p_location_id, p.shopping_location_id AS p_shopping_location_id, "
+      + "p.qu_id_purchase AS p_qu_id_purchase, p.qu_id_stock AS p_qu_id_stock, "
+      + "p.qu_factor_purchase_to_stock AS p_qu_factor_purchase_to_stock, "
+      + "p.qu_id_consume AS p_qu_id_consume, p.qu_id_price AS p_qu_id_price, "
+      + "p.min_stock_amount AS p_min_stock_amount, "
+      + "p.default_best_before_days AS p_default_best_before_days, "
+      + "p.default_best_before_days_after_open AS p_default_best_before_days_after_open, "
+      + "p.default_best_before_days_after_freezing "
+      + "AS p_default_best_before_days_after_freezing, "
+      + "p.default_best_before_days_after_thawing AS p_default_best_before_days_after_thawing, "
+      + "p.picture_file_name AS p_picture_file_name, "
+      + "p.enable_tare_weight_handling AS p_enable_tare_weight_handling, "
+      + "p.tare_weight AS p_tare_weight, "
+      + "p.not_check_stock_fulfillment_for_recipes "
+      + "AS p_not_check_stock_fulfillment_for_recipes, "
+      + "p.parent_product_id AS p_parent_product_id, p.calories AS p_calories, "
+      + "p.cumulate_min_stock_amount_of_sub_products "
+      + "AS p_cumulate_min_stock_amount_of_sub_products, p.due_type AS p_due_type, "
+      + "p.quick_consume_amount AS p_quick_consume_amount, "
+      + "p.quick_open_amount AS p_quick_open_amount, "
+      + "p.hide_on_stock_overview AS p_hide_on_stock_overview, "
+      + "p.default_stock_label_type AS p_default_stock_label_type, "
+      + "p.auto_reprint_stock_label AS p_auto_reprint_stock_label, "
+      + "p.should_not_be_frozen AS p_should_not_be_frozen, "
+      + "p.treat_opened_as_out_of_stock AS p_treat_opened_as_out_of_stock, "
+      + "p.no_own_stock AS p_no_own_stock, "
+      + "p.default_consume_location_id AS p_default_consume_location_id, "
+      + "p.move_on_open AS p_move_on_open, p.row_created_timestamp AS p_row_created_timestamp";
+
+  String PENDING_BARCODE_COLUMNS =
+      "pb.id AS pb_id, pb.pending_product_id AS pb_pending_product_id, "
+      + "pb.barcode AS pb_barcode, pb.qu_id AS pb_qu_id, pb.amount AS pb_amount, "
+      + "pb.shopping_location_id AS pb_shopping_location_id, pb.last_price AS pb_last_price, "
+      + "pb.product_id AS pb_product_id, pb.note AS pb_note, "
+      + "pb.row_created_timestamp AS pb_row_created_timestamp";
+
+  String PENDING_PRODUCT_COLUMNS =
+      "pp.id AS pp_id, pp.name AS pp_name, pp.name_is_from_off AS pp_name_is_from_off, "
+      + "pp.description AS pp_description, pp.product_group_id AS pp_product_group_id, "
+      + "pp.active AS pp_active, pp.location_id AS pp_location_id, "
+      + "pp.shopping_location_id AS pp_shopping_location_id, "
+      + "pp.qu_id_purchase AS pp_qu_id_purchase, pp.qu_id_stock AS pp_qu_id_stock, "
+      + "pp.qu_factor_purchase_to_stock AS pp_qu_factor_purchase_to_stock, "
+      + "pp.qu_id_consume AS pp_qu_id_consume, pp.qu_id_price AS pp_qu_id_price, "
+      + "pp.min_stock_amount AS pp_min_stock_amount, "
+      + "pp.default_best_before_days AS pp_default_best_before_days, "
+      + "pp.default_best_before_days_after_open AS pp_default_best_before_days_after_open, "
+      + "pp.default_best_before_days_after_freezing "
+      + "AS pp_default_best_before_days_after_freezing, "
+      + "pp.default_best_before_days_after_thawing "
+      + "AS pp_default_best_before_days_after_thawing, "
+      + "pp.picture_file_name AS pp_picture_file_name, "
+      + "pp.enable_tare_weight_handling AS pp_enable_tare_weight_handling, "
+      + "pp.tare_weight AS pp_tare_weight, "
+      + "pp.not_check_stock_fulfillment_for_recipes "
+      + "AS pp_not_check_stock_fulfillment_for_recipes, "
+      + "pp.parent_product_id AS pp_parent_product_id, pp.calories AS pp_calories, "
+      + "pp.cumulate_min_stock_amount_of_sub_products "
+      + "AS pp_cumulate_min_stock_amount_of_sub_products, pp.due_type AS pp_due_type, "
+      + "pp.quick_consume_amount AS pp_quick_consume_amount, "
+      + "pp.quick_open_amount AS pp_quick_open_amount, "
+      + "pp.hide_on_stock_overview AS pp_hide_on_stock_overview, "
+      + "pp.default_stock_label_type AS pp_default_stock_label_type, "
+      + "pp.auto_reprint_stock_label AS pp_auto_reprint_stock_label, "
+      + "pp.should_not_be_frozen AS pp_should_not_be_frozen, "
+      + "pp.treat_opened_as_out_of_stock AS pp_treat_opened_as_out_of_stock, "
+      + "pp.no_own_stock AS pp_no_own_stock, "
+      + "pp.default_consume_location_id AS pp_default_consume_location_id, "
+      + "pp.move_on_open AS pp_move_on_open, "
+      + "pp.row_created_timestamp AS pp_row_created_timestamp";
 
   @Query("SELECT * FROM product_barcode_table")
   Single<List<ProductBarcode>> getProductBarcodes();
 
+  /**
+   * Resolves a barcode to its product and pending product in one query on the barcode indices.
+   * Always returns a lookup, its embedded rows are null if the barcode is unknown.
+   */
+  @Query("SELECT " + BARCODE_COLUMNS + ", " + PRODUCT_COLUMNS + ", "
+      + PENDING_BARCODE_COLUMNS + ", " + PENDING_PRODUCT_COLUMNS
+      + " FROM (SELECT :barcode AS barcode) AS scanned"
+      + " LEFT JOIN product_barcode_table AS b ON b.barcode = scanned.barcode"
+      + " LEFT JOIN product_table AS p ON p.id = b.product_id"
+      + " LEFT JOIN pending_product_barcode_table AS pb ON pb.barcode = scanned.barcode"
+      + " LEFT JOIN pending_product_table AS pp ON pp.id = pb.pending_product_id"
+      + " LIMIT 1")
+  BarcodeLookup getBarcodeLookup(String barcode);
+
+  // barcodes stored before the server returned them get negative ids until the next sync
+  @Query("SELECT MIN(IFNULL(MIN(id), 0), 0) - 1 FROM product_barcode_table")
+  int getNextLocalId();
+
   @Insert(onConflict = OnConflictStrategy.REPLACE)
   Single<List<Long>> insertProductBarcodes(List<ProductBarcode> productBarcodes);
 
   @Query("DELETE FROM product_barcode_table")
   Single<Integer> deleteProductBarcodes();
 
+  @Query("SELECT id FROM product_barcode_table")
+  List<Integer> getAllIds();
+
+  @Query("SELECT * FROM product_barcode_table WHERE id IN (:ids)")
+  List<ProductBarcode> getByIds(List<Integer> ids);
+
+  @Query("DELETE FROM product_barcode_table WHERE id IN (:ids)")
+  int deleteByIds(List<Integer> ids);
+
+  @Query("DELETE FROM product_barcode_table")
+  void deleteAll();
+
 }
@@ -28,15 +28,30 @@ import java.util.List;
 import xyz.zedler.patrick.grocy.model.Product;
 
 @Dao
-public interface ProductDao {
+public interface ProductDao extends DeltaDao<Product> {
 
   @Query("SELECT * FROM product_table")
   Single<List<Product>> getProducts();
 
+  @Query("SELECT * FROM product_table WHERE id = :productId")
+  Single<List<Product>> getProductsById(int productId);
+
   @Insert(onConflict = OnConflictStrategy.REPLACE)
   Single<List<Long>> insertProducts(List<Product> products);
 
   @Query("DELETE FROM product_table")
   Single<Integer> deleteProducts();
 
+  @Query("SELECT id FROM product_table")
+  List<Integer> getAllIds();
+
+  @Query("SELECT * FROM product_table WHERE id IN (:ids)")
+  List<Product> getByIds(List<Integer> ids);
+
+  @Query("DELETE FROM product_table WHERE id IN (:ids)")
+  int deleteByIds(List<Integer> ids);
+
+  @Query("DELETE FROM product_table")
+  void deleteAll();
+
 }
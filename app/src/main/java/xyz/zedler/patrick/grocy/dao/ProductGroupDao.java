@@ -28,7 +28,7 @@ import java.util.List;
 import xyz.zedler.patrick.grocy.model.ProductGroup;
 
 @Dao
-public interface ProductGroupDao {
+public interface ProductGroupDao extends BulkDao<ProductGroup> {
 
   @Query("SELECT * FROM product_group_table")
   Single<List<ProductGroup>> getProductGroups();
@@ -39,4 +39,7 @@ public interface ProductGroupDao {
   @Query("DELETE FROM product_group_table")
   Single<Integer> deleteProductGroups();
 
+  @Query("DELETE FROM product_group_table")
+  void deleteAll();
+
 }
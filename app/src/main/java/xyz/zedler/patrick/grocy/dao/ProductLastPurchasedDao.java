@@ -28,15 +28,21 @@ import java.util.List;
 import xyz.zedler.patrick.grocy.model.ProductLastPurchased;
 
 @Dao
-public interface ProductLastPurchasedDao {
+public interface ProductLastPurchasedDao extends BulkDao<ProductLastPurchased> {
 
   @Query("SELECT * FROM product_last_purchased_table")
   Single<List<ProductLastPurchased>> getProductsLastPurchased();
 
+  @Query("SELECT * FROM product_last_purchased_table WHERE product_id = :productId")
+  Single<List<ProductLastPurchased>> getProductsLastPurchasedByProductId(int productId);
+
   @Insert(onConflict = OnConflictStrategy.REPLACE)
   Single<List<Long>> insertProductsLastPurchased(List<ProductLastPurchased> productsLastPurchased);
 
   @Query("DELETE FROM product_last_purchased_table")
   Single<Integer> deleteProductsLastPurchased();
 
+  @Query("DELETE FROM product_last_purchased_table")
+  void deleteAll();
+
 }
@@ -28,7 +28,7 @@ import java.util.List;
 import xyz.zedler.patrick.grocy.model.QuantityUnitConversion;
 
 @Dao
-public interface QuantityUnitConversionDao {
+public interface QuantityUnitConversionDao extends BulkDao<QuantityUnitConversion> {
 
   @Query("SELECT * FROM quantity_unit_conversion_table")
   Single<List<QuantityUnitConversion>> getConversions();
@@ -39,4 +39,7 @@ public interface QuantityUnitConversionDao {
   @Query("DELETE FROM quantity_unit_conversion_table")
   Single<Integer> deleteConversions();
 
+  @Query("DELETE FROM quantity_unit_conversion_table")
+  void deleteAll();
+
 }
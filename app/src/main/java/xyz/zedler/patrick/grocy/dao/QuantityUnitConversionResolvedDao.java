@@ -28,7 +28,7 @@ import java.util.List;
 import xyz.zedler.patrick.grocy.model.QuantityUnitConversionResolved;
 
 @Dao
-public interface QuantityUnitConversionResolvedDao {
+public interface QuantityUnitConversionResolvedDao extends BulkDao<QuantityUnitConversionResolved> {
 
   @Query("SELECT * FROM quantity_unit_conversion_resolved_table")
   Single<List<QuantityUnitConversionResolved>> getConversionsResolved();
@@ -39,4 +39,7 @@ public interface QuantityUnitConversionResolvedDao {
   @Query("DELETE FROM quantity_unit_conversion_resolved_table")
   Single<Integer> deleteConversionsResolved();
 
+  @Query("DELETE FROM quantity_unit_conversion_resolved_table")
+  void deleteAll();
+
 }
@@ -28,7 +28,7 @@ import java.util.List;
 import xyz.zedler.patrick.grocy.model.QuantityUnit;
 
 @Dao
-public interface QuantityUnitDao {
+public interface QuantityUnitDao extends BulkDao<QuantityUnit> {
 
   @Query("SELECT * FROM quantity_unit_table")
   Single<List<QuantityUnit>> getQuantityUnits();
@@ -39,4 +39,7 @@ public interface QuantityUnitDao {
   @Query("DELETE FROM quantity_unit_table")
   Single<Integer> deleteQuantityUnits();
 
+  @Query("DELETE FROM quantity_unit_table")
+  void deleteAll();
+
 }
@@ -30,7 +30,7 @@ import io.reactivex.rxjava3.core.Single;
 import xyz.zedler.patrick.grocy.model.Recipe;
 
 @Dao
-public interface RecipeDao {
+public interface RecipeDao extends BulkDao<Recipe> {
 
   @Query("SELECT * FROM recipe_table")
   Single<List<Recipe>> getRecipes();
@@ -41,4 +41,7 @@ public interface RecipeDao {
   @Query("DELETE FROM recipe_table")
   Single<Integer> deleteRecipes();
 
+  @Query("DELETE FROM recipe_table")
+  void deleteAll();
+
 }
@@ -28,7 +28,7 @@ import java.util.List;
 import xyz.zedler.patrick.grocy.model.RecipeFulfillment;
 
 @Dao
-public interface RecipeFulfillmentDao {
+public interface RecipeFulfillmentDao extends BulkDao<RecipeFulfillment> {
 
   @Query("SELECT * FROM recipe_fulfillment_table")
   Single<List<RecipeFulfillment>> getRecipeFulfillments();
@@ -39,4 +39,7 @@ public interface RecipeFulfillmentDao {
   @Query("DELETE FROM recipe_fulfillment_table")
   Single<Integer> deleteRecipeFulfillments();
 
+  @Query("DELETE FROM recipe_fulfillment_table")
+  void deleteAll();
+
 }
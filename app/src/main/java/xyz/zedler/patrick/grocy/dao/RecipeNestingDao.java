@@ -29,7 +29,7 @@ import xyz.zedler.patrick.grocy.model.RecipeNesting;
 import xyz.zedler.patrick.grocy.model.RecipeNestingResolved;
 
 @Dao
-public interface RecipeNestingDao {
+public interface RecipeNestingDao extends BulkDao<RecipeNesting> {
 
   @Query("SELECT * FROM recipe_nesting_table")
   Single<List<RecipeNesting>> getRecipeNestings();
@@ -43,4 +43,7 @@ public interface RecipeNestingDao {
   @Query("SELECT * FROM RecipeNestingResolved")
   Single<List<RecipeNestingResolved>> getRecipeNestingsResolved();
 
+  @Query("DELETE FROM recipe_nesting_table")
+  void deleteAll();
+
 }
@@ -30,7 +30,7 @@ import io.reactivex.rxjava3.core.Single;
 import xyz.zedler.patrick.grocy.model.RecipePosition;
 
 @Dao
-public interface RecipePositionDao {
+public interface RecipePositionDao extends BulkDao<RecipePosition> {
 
   @Query("SELECT * FROM recipe_pos_table")
   Single<List<RecipePosition>> getRecipePositions();
@@ -41,4 +41,7 @@ public interface RecipePositionDao {
   @Query("DELETE FROM recipe_pos_table")
   Single<Integer> deleteRecipePositions();
 
+  @Query("DELETE FROM recipe_pos_table")
+  void deleteAll();
+
 }
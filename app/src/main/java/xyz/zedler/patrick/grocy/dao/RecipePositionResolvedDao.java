@@ -28,7 +28,7 @@ import java.util.List;
 import xyz.zedler.patrick.grocy.model.RecipePositionResolved;
 
 @Dao
-public interface RecipePositionResolvedDao {
+public interface RecipePositionResolvedDao extends BulkDao<RecipePositionResolved> {
 
   @Query("SELECT * FROM recipe_pos_resolved_table")
   Single<List<RecipePositionResolved>> getRecipePositionsResolved();
@@ -39,4 +39,7 @@ public interface RecipePositionResolvedDao {
   @Query("DELETE FROM recipe_pos_resolved_table")
   Single<Integer> deleteRecipePositionsResolved();
 
+  @Query("DELETE FROM recipe_pos_resolved_table")
+  void deleteAll();
+
 }
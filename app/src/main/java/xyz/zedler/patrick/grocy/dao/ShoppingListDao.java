@@ -29,7 +29,7 @@ import java.util.List;
 import xyz.zedler.patrick.grocy.model.ShoppingList;
 
 @Dao
-public interface ShoppingListDao {
+public interface ShoppingListDao extends BulkDao<ShoppingList> {
 
   @Query("SELECT * FROM shopping_list_table")
   LiveData<List<ShoppingList>> getAllLive();
@@ -43,4 +43,7 @@ public interface ShoppingListDao {
   @Query("DELETE FROM shopping_list_table")
   Single<Integer> deleteShoppingLists();
 
+  @Query("DELETE FROM shopping_list_table")
+  void deleteAll();
+
 }
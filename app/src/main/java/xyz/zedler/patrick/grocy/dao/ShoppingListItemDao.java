@@ -28,7 +28,7 @@ import java.util.List;
 import xyz.zedler.patrick.grocy.model.ShoppingListItem;
 
 @Dao
-public interface ShoppingListItemDao {
+public interface ShoppingListItemDao extends BulkDao<ShoppingListItem> {
 
   @Query("SELECT * FROM shopping_list_item_table")
   Single<List<ShoppingListItem>> getShoppingListItems();
@@ -39,9 +39,6 @@ public interface ShoppingListItemDao {
   @Insert(onConflict = OnConflictStrategy.REPLACE)
   Single<List<Long>> insertShoppingListItems(ShoppingListItem... shoppingListItems);
 
-  @Insert(onConflict = OnConflictStrategy.REPLACE)
-  List<Long> insertAll(List<ShoppingListItem> shoppingListItems);
-
   @Query("DELETE FROM shopping_list_item_table")
   void deleteAll();
 
@@ -28,15 +28,25 @@ import java.util.List;
 import xyz.zedler.patrick.grocy.model.StockEntry;
 
 @Dao
-public interface StockEntryDao {
+public interface StockEntryDao extends BulkDao<StockEntry> {
 
   @Query("SELECT * FROM stock_entry_table")
   Single<List<StockEntry>> getStockEntries();
 
+  @Query("SELECT * FROM stock_entry_table WHERE product_id = :productId "
+      + "ORDER BY open DESC, best_before_date, purchased_date, id")
+  Single<List<StockEntry>> getStockEntriesByProductId(int productId);
+
+  @Query("SELECT * FROM stock_entry_table WHERE product_id = :productId")
+  List<StockEntry> getByProductId(int productId);
+
   @Insert(onConflict = OnConflictStrategy.REPLACE)
   Single<List<Long>> insertStockEntries(List<StockEntry> stockEntries);
 
   @Query("DELETE FROM stock_entry_table")
   Single<Integer> deleteStockEntries();
 
+  @Query("DELETE FROM stock_entry_table")
+  void deleteAll();
+
 }
@@ -28,15 +28,24 @@ import java.util.List;
 import xyz.zedler.patrick.grocy.model.StockItem;
 
 @Dao
-public interface StockItemDao {
+public interface StockItemDao extends BulkDao<StockItem> {
 
   @Query("SELECT * FROM stock_item_table")
   Single<List<StockItem>> getStockItems();
 
+  @Query("SELECT * FROM stock_item_table WHERE product_id = :productId")
+  Single<List<StockItem>> getStockItemsByProductId(int productId);
+
+  @Query("SELECT * FROM stock_item_table WHERE product_id = :productId")
+  StockItem getByProductId(int productId);
+
   @Insert(onConflict = OnConflictStrategy.REPLACE)
   Single<List<Long>> insertStockItems(List<StockItem> stockItems);
 
   @Query("DELETE FROM stock_item_table")
   Single<Integer> deleteStockItems();
 
+  @Query("DELETE FROM stock_item_table")
+  void deleteAll();
+
 }
@@ -28,14 +28,23 @@ import java.util.List;
 import xyz.zedler.patrick.grocy.model.StockLocation;
 
 @Dao
-public interface StockLocationDao {
+public interface StockLocationDao extends BulkDao<StockLocation> {
 
   @Query("SELECT * FROM stock_current_location_table")
   Single<List<StockLocation>> getStockLocations();
 
+  @Query("SELECT * FROM stock_current_location_table WHERE product_id = :productId")
+  Single<List<StockLocation>> getStockLocationsByProductId(int productId);
+
+  @Query("SELECT * FROM stock_current_location_table WHERE product_id = :productId")
+  List<StockLocation> getByProductId(int productId);
+
   @Insert(onConflict = OnConflictStrategy.REPLACE)
   Single<List<Long>> insertStockLocations(List<StockLocation> stockLocation);
 
   @Query("DELETE FROM stock_current_location_table")
   Single<Integer> deleteStockLocations();
+  @Query("DELETE FROM stock_current_location_table")
+  void deleteAll();
+
 }
@@ -0,0 +1,136 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.dao;
+
+import androidx.paging.PagingSource;
+import androidx.room.Dao;
+import androidx.room.Query;
+import io.reactivex.rxjava3.core.Single;
+import java.util.List;
+import xyz.zedler.patrick.grocy.model.Product;
+import xyz.zedler.patrick.grocy.model.ProductAveragePrice;
+import xyz.zedler.patrick.grocy.model.ProductBarcode;
+import xyz.zedler.patrick.grocy.model.ProductLastPurchased;
+import xyz.zedler.patrick.grocy.model.StockItem;
+import xyz.zedler.patrick.grocy.model.UserfieldValue;
+
+/**
+ * Projection queries for the stock overview. Only rows belonging to products which are in stock
+ * or below min. stock amount are loaded, so the overview does not have to read the whole product
+ * catalogue (and all barcodes, conversions and prices) each time it is opened.
+ */
+@Dao
+public interface StockOverviewDao {
+
+  String OVERVIEW_PRODUCT_IDS = "SELECT product_id FROM stock_item_table "
+      + "UNION SELECT id FROM missing_item_table";
+
+  // barcodes and conversions store the product id as TEXT, comparing the bare column with text
+  // values keeps their product_id indices usable
+  String OVERVIEW_PRODUCT_IDS_TEXT = "SELECT CAST(product_id AS TEXT) FROM ("
+      + OVERVIEW_PRODUCT_IDS + ")";
+
+  // parent products are needed for the group names when grouping by parent product
+  @Query("SELECT * FROM product_table WHERE id IN (" + OVERVIEW_PRODUCT_IDS + " "
+      + "UNION SELECT parent_product_id FROM product_table "
+      + "WHERE id IN (" + OVERVIEW_PRODUCT_IDS + "))")
+  Single<List<Product>> getProducts();
+
+  @Query("SELECT * FROM userfield_value_table "
+      + "WHERE entity = 'products' AND object_id IN (" + OVERVIEW_PRODUCT_IDS + ")")
+  Single<List<UserfieldValue>> getProductUserfieldValues();
+
+  @Query("SELECT * FROM product_barcode_table "
+      + "WHERE product_id IN (" + OVERVIEW_PRODUCT_IDS_TEXT + ")")
+  Single<List<ProductBarcode>> getProductBarcodes();
+
+  @Query("SELECT * FROM product_average_price_table "
+      + "WHERE product_id IN (" + OVERVIEW_PRODUCT_IDS + ")")
+  Single<List<ProductAveragePrice>> getProductsAveragePrice();
+
+  @Query("SELECT * FROM product_last_purchased_table "
+      + "WHERE product_id IN (" + OVERVIEW_PRODUCT_IDS + ")")
+  Single<List<ProductLastPurchased>> getProductsLastPurchased();
+
+  // same rows and flags as StockOverviewViewModel builds in memory: stock items with their
+  // due/missing state plus the missing products which have no stock at all
+  String OVERVIEW_STOCK_ITEMS = "SELECT s.amount, s.amount_aggregated, s.value, "
+      + "s.best_before_date, s.amount_opened, s.amount_opened_aggregated, "
+      + "s.is_aggregated_amount, s.due_type, s.product_id, "
+      + "p.no_own_stock IS NOT '1' AND EXISTS (SELECT 1 FROM volatile_item_table v "
+      + "WHERE v.product_id = s.product_id AND v.volatile_type = 1) AS item_due, "
+      + "p.no_own_stock IS NOT '1' AND EXISTS (SELECT 1 FROM volatile_item_table v "
+      + "WHERE v.product_id = s.product_id AND v.volatile_type = 2) AS item_overdue, "
+      + "p.no_own_stock IS NOT '1' AND EXISTS (SELECT 1 FROM volatile_item_table v "
+      + "WHERE v.product_id = s.product_id AND v.volatile_type = 3) AS item_expired, "
+      + "m.id IS NOT NULL AS item_missing, "
+      + "m.is_partly_in_stock IS '1' AS item_missing_partly_in_stock "
+      + "FROM stock_item_table s JOIN product_table p ON p.id = s.product_id "
+      + "LEFT JOIN missing_item_table m ON m.id = s.product_id "
+      + "UNION ALL SELECT 0, 0, NULL, NULL, 0, 0, 0, NULL, m.id, 0, 0, 0, 1, 0 "
+      + "FROM missing_item_table m WHERE m.is_partly_in_stock IS NOT '1' "
+      + "AND m.id NOT IN (SELECT product_id FROM stock_item_table)";
+
+  /**
+   * Filtered and sorted stock overview rows for paging. Pass -1 (NO_FILTER of the chips)
+   * for the group and location to disable the filter, status is a
+   * FilterChipLiveDataStatusStock status. Rows are ordered like SortUtil sorts them in memory,
+   * with the product name and id as tie breakers to keep page boundaries stable.
+   */
+  @Query("SELECT i.* FROM (" + OVERVIEW_STOCK_ITEMS + ") i "
+      + "JOIN product_table p ON p.id = i.product_id "
+      + "WHERE p.hide_on_stock_overview IS NOT '1' "
+      + "AND (:productGroupId = -1 OR p.product_group_id = :productGroupId) "
+      + "AND (:locationId = -1 OR EXISTS (SELECT 1 FROM stock_current_location_table l "
+      + "WHERE l.product_id = i.product_id AND l.location_id = :locationId)) "
+      + "AND CASE :status "
+      + "WHEN 1 THEN i.item_due "
+      + "WHEN 2 THEN i.item_overdue "
+      + "WHEN 3 THEN i.item_expired "
+      + "WHEN 4 THEN i.item_missing "
+      + "WHEN 5 THEN NOT i.item_missing OR i.item_missing_partly_in_stock "
+      + "WHEN 6 THEN i.amount_opened > 0 "
+      + "WHEN 7 THEN i.item_due OR i.item_overdue OR i.item_expired "
+      + "ELSE 1 END "
+      + "ORDER BY "
+      + "CASE WHEN :sortMode = 'sort_due_date' AND :ascending "
+      + "THEN i.best_before_date END ASC, "
+      + "CASE WHEN :sortMode = 'sort_due_date' AND NOT :ascending "
+      + "THEN i.best_before_date END DESC, "
+      + "CASE WHEN :sortMode = 'sort_created_timestamp' AND :ascending "
+      + "THEN p.row_created_timestamp END ASC, "
+      + "CASE WHEN :sortMode = 'sort_created_timestamp' AND NOT :ascending "
+      + "THEN p.row_created_timestamp END DESC, "
+      + "CASE WHEN :ascending THEN p.name END COLLATE LOCALIZED ASC, "
+      + "CASE WHEN NOT :ascending THEN p.name END COLLATE LOCALIZED DESC, "
+      + "i.product_id")
+  PagingSource<Integer, StockItem> getStockItemsPaged(
+      int productGroupId,
+      int locationId,
+      int status,
+      String sortMode,
+      boolean ascending
+  );
+
+  @Query("SELECT DISTINCT product_id FROM shopping_list_item_table "
+      + "WHERE product_id IS NOT NULL AND product_id != ''")
+  Single<List<String>> getShoppingListProductIds();
+
+}
@@ -28,7 +28,7 @@ import java.util.List;
 import xyz.zedler.patrick.grocy.model.Store;
 
 @Dao
-public interface StoreDao {
+public interface StoreDao extends BulkDao<Store> {
 
   @Query("SELECT * FROM store_table")
   Single<List<Store>> getStores();
@@ -39,4 +39,7 @@ public interface StoreDao {
   @Query("DELETE FROM store_table")
   Single<Integer> deleteStores();
 
+  @Query("DELETE FROM store_table")
+  void deleteAll();
+
 }
@@ -28,7 +28,7 @@ import java.util.List;
 import xyz.zedler.patrick.grocy.model.TaskCategory;
 
 @Dao
-public interface TaskCategoryDao {
+public interface TaskCategoryDao extends BulkDao<TaskCategory> {
 
   @Query("SELECT * FROM task_category_table")
   Single<List<TaskCategory>> getTaskCategories();
@@ -39,4 +39,7 @@ public interface TaskCategoryDao {
   @Query("DELETE FROM task_category_table")
   Single<Integer> deleteCategories();
 
+  @Query("DELETE FROM task_category_table")
+  void deleteAll();
+
 }
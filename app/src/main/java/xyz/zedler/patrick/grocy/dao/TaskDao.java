@@ -28,7 +28,7 @@ import java.util.List;
 import xyz.zedler.patrick.grocy.model.Task;
 
 @Dao
-public interface TaskDao {
+public interface TaskDao extends BulkDao<Task> {
 
   @Query("SELECT * FROM task_table")
   Single<List<Task>> getTasks();
@@ -39,4 +39,7 @@ public interface TaskDao {
   @Query("DELETE FROM task_table")
   Single<Integer> deleteTasks();
 
+  @Query("DELETE FROM task_table")
+  void deleteAll();
+
 }
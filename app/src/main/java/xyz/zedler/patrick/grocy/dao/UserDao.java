@@ -28,7 +28,7 @@ import java.util.List;
 import xyz.zedler.patrick.grocy.model.User;
 
 @Dao
-public interface UserDao {
+public interface UserDao extends BulkDao<User> {
 
   @Query("SELECT * FROM user_table")
   Single<List<User>> getUsers();
@@ -39,4 +39,7 @@ public interface UserDao {
   @Query("DELETE FROM user_table")
   Single<Integer> deleteUsers();
 
+  @Query("DELETE FROM user_table")
+  void deleteAll();
+
 }
@@ -28,7 +28,7 @@ import java.util.List;
 import xyz.zedler.patrick.grocy.model.Userfield;
 
 @Dao
-public interface UserfieldDao {
+public interface UserfieldDao extends BulkDao<Userfield> {
 
   @Query("SELECT * FROM userfield_table")
   Single<List<Userfield>> getUserfields();
@@ -39,4 +39,7 @@ public interface UserfieldDao {
   @Query("DELETE FROM userfield_table")
   Single<Integer> deleteUserfields();
 
+  @Query("DELETE FROM userfield_table")
+  void deleteAll();
+
 }
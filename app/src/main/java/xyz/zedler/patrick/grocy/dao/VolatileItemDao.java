@@ -28,7 +28,7 @@ import java.util.List;
 import xyz.zedler.patrick.grocy.model.VolatileItem;
 
 @Dao
-public interface VolatileItemDao {
+public interface VolatileItemDao extends BulkDao<VolatileItem> {
 
   @Query("SELECT * FROM volatile_item_table")
   Single<List<VolatileItem>> getVolatileItems();
@@ -36,10 +36,16 @@ public interface VolatileItemDao {
   @Query("SELECT product_id FROM volatile_item_table WHERE volatile_type == :volatileType")
   List<Integer> getVolatileProductIds(int volatileType);
 
+  @Query("SELECT * FROM volatile_item_table WHERE product_id = :productId")
+  List<VolatileItem> getByProductId(int productId);
+
   @Insert(onConflict = OnConflictStrategy.REPLACE)
   Single<List<Long>> insertVolatileItems(List<VolatileItem> volatileItems);
 
   @Query("DELETE FROM volatile_item_table")
   Single<Integer> deleteVolatileItems();
 
+  @Query("DELETE FROM volatile_item_table")
+  void deleteAll();
+
 }
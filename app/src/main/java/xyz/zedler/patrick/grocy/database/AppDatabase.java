@@ -20,19 +20,33 @@
 package xyz.zedler.patrick.grocy.database;
 
 import android.content.Context;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.preference.PreferenceManager;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
 import androidx.room.TypeConverters;
+import androidx.sqlite.db.SupportSQLiteDatabase;
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import xyz.zedler.patrick.grocy.api.GrocyApi.ENTITY;
+import xyz.zedler.patrick.grocy.dao.BookingJournalDao;
+import xyz.zedler.patrick.grocy.dao.BulkDao;
 import xyz.zedler.patrick.grocy.dao.ChoreDao;
 import xyz.zedler.patrick.grocy.dao.ChoreEntryDao;
+import xyz.zedler.patrick.grocy.dao.DeltaDao;
 import xyz.zedler.patrick.grocy.dao.LocationDao;
 import xyz.zedler.patrick.grocy.dao.MealPlanEntryDao;
 import xyz.zedler.patrick.grocy.dao.MealPlanSectionDao;
 import xyz.zedler.patrick.grocy.dao.MissingItemDao;
+import xyz.zedler.patrick.grocy.dao.OverviewStartDao;
 import xyz.zedler.patrick.grocy.dao.PendingProductBarcodeDao;
 import xyz.zedler.patrick.grocy.dao.PendingProductDao;
 import xyz.zedler.patrick.grocy.dao.ProductAveragePriceDao;
@@ -54,13 +68,16 @@ import xyz.zedler.patrick.grocy.dao.ShoppingListItemDao;
 import xyz.zedler.patrick.grocy.dao.StockEntryDao;
 import xyz.zedler.patrick.grocy.dao.StockItemDao;
 import xyz.zedler.patrick.grocy.dao.StockLocationDao;
+import xyz.zedler.patrick.grocy.dao.StockOverviewDao;
 import xyz.zedler.patrick.grocy.dao.StoreDao;
 import xyz.zedler.patrick.grocy.dao.StoredPurchaseDao;
 import xyz.zedler.patrick.grocy.dao.TaskCategoryDao;
 import xyz.zedler.patrick.grocy.dao.TaskDao;
 import xyz.zedler.patrick.grocy.dao.UserDao;
 import xyz.zedler.patrick.grocy.dao.UserfieldDao;
+import xyz.zedler.patrick.grocy.dao.UserfieldValueDao;
 import xyz.zedler.patrick.grocy.dao.VolatileItemDao;
+import xyz.zedler.patrick.grocy.model.BookingJournalEntry;
 import xyz.zedler.patrick.grocy.model.Chore;
 import xyz.zedler.patrick.grocy.model.ChoreEntry;
 import xyz.zedler.patrick.grocy.model.Location;
@@ -95,8 +112,14 @@ import xyz.zedler.patrick.grocy.model.Task;
 import xyz.zedler.patrick.grocy.model.TaskCategory;
 import xyz.zedler.patrick.grocy.model.User;
 import xyz.zedler.patrick.grocy.model.Userfield;
+import xyz.zedler.patrick.grocy.model.UserfieldValue;
 import xyz.zedler.patrick.grocy.model.VolatileItem;
 import xyz.zedler.patrick.grocy.repository.MainRepository.OnVersionListener;
+import xyz.zedler.patrick.grocy.util.DeltaSyncUtil;
+import xyz.zedler.patrick.grocy.util.DeltaSyncUtil.Delta;
+import xyz.zedler.patrick.grocy.util.DeltaSyncUtil.IdGetter;
+import xyz.zedler.patrick.grocy.util.PrefsUtil;
+import xyz.zedler.patrick.grocy.web.CustomStreamingArrayRequest.BatchWriter;
 
 @Database(
     entities = {
@@ -133,18 +156,22 @@ import xyz.zedler.patrick.grocy.repository.MainRepository.OnVersionListener;
         RecipeNesting.class,
         MealPlanEntry.class,
         MealPlanSection.class,
-        Userfield.class
+        Userfield.class,
+        UserfieldValue.class,
+        BookingJournalEntry.class
     },
     views = {
         RecipeNestingResolved.class
     },
-    version = 54
+    version = 58
 )
 @TypeConverters({Converters.class})
 public abstract class AppDatabase extends RoomDatabase {
 
   private static AppDatabase INSTANCE;
 
+  private static final int INSERT_BATCH_SIZE = 500;
+
   public abstract ShoppingListDao shoppingListDao();
 
   public abstract ShoppingListItemDao shoppingListItemDao();
@@ -163,6 +190,8 @@ public abstract class AppDatabase extends RoomDatabase {
 
   public abstract MissingItemDao missingItemDao();
 
+  public abstract OverviewStartDao overviewStartDao();
+
   public abstract QuantityUnitConversionDao quantityUnitConversionDao();
 
   public abstract QuantityUnitConversionResolvedDao quantityUnitConversionResolvedDao();
@@ -173,6 +202,8 @@ public abstract class AppDatabase extends RoomDatabase {
 
   public abstract StockLocationDao stockLocationDao();
 
+  public abstract StockOverviewDao stockOverviewDao();
+
   public abstract TaskDao taskDao();
 
   public abstract TaskCategoryDao taskCategoryDao();
@@ -211,6 +242,10 @@ public abstract class AppDatabase extends RoomDatabase {
 
   public abstract UserfieldDao userfieldDao();
 
+  public abstract UserfieldValueDao userfieldValueDao();
+
+  public abstract BookingJournalDao bookingJournalDao();
+
   public abstract ServerDao serverDao();
 
   public static AppDatabase getAppDatabase(Context context) {
@@ -219,7 +254,20 @@ public abstract class AppDatabase extends RoomDatabase {
           context.getApplicationContext(),
           AppDatabase.class,
           "app_database"
-      ).fallbackToDestructiveMigration().build();
+      )
+          .addMigrations(Migrations.ALL)
+          .fallbackToDestructiveMigrationFrom(Migrations.getDestructiveVersions())
+          .fallbackToDestructiveMigrationOnDowngrade()
+          .addCallback(new Callback() {
+            @Override
+            public void onDestructiveMigration(@NonNull SupportSQLiteDatabase db) {
+              // all cached data is gone, so everything has to be downloaded again
+              PrefsUtil.clearCachingRelatedSharedPreferences(
+                  PreferenceManager.getDefaultSharedPreferences(context.getApplicationContext())
+              );
+            }
+          })
+          .build();
     }
     return INSTANCE;
   }
@@ -228,6 +276,159 @@ public abstract class AppDatabase extends RoomDatabase {
     INSTANCE = null;
   }
 
+  /**
+   * Replaces the whole content of a table in one write transaction.
+   * Readers keep seeing the old rows until the transaction is committed.
+   * Must not be called on the main thread.
+   */
+  public <T> void replaceAll(BulkDao<T> dao, List<T> objects) {
+    runInTransaction(() -> {
+      dao.deleteAll();
+      for (int i = 0; i < objects.size(); i += INSERT_BATCH_SIZE) {
+        dao.insertAll(objects.subList(i, Math.min(i + INSERT_BATCH_SIZE, objects.size())));
+      }
+    });
+  }
+
+  /**
+   * Streaming counterpart of replaceAll(): the table is cleared when parsing starts
+   * and every decoded batch is inserted in the same transaction.
+   */
+  public <T> BatchWriter<T> replacingWriter(BulkDao<T> dao) {
+    return new BatchWriter<>() {
+      @Override
+      public void runInTransaction(Runnable parsing) {
+        AppDatabase.this.runInTransaction(() -> {
+          dao.deleteAll();
+          parsing.run();
+        });
+      }
+
+      @Override
+      public void onBatch(List<T> objects) {
+        dao.insertAll(objects);
+      }
+    };
+  }
+
+  /**
+   * Streaming writer which only upserts new or changed rows of each batch and deletes
+   * all stored rows which were not part of the response when parsing is finished.
+   */
+  public <T> BatchWriter<T> deltaWriter(DeltaDao<T> dao, IdGetter<T> idGetter) {
+    return deltaWriter(dao, idGetter, null);
+  }
+
+  /**
+   * Same as deltaWriter(dao, idGetter), the ids of all upserted rows are added to writtenIds.
+   */
+  public <T> BatchWriter<T> deltaWriter(
+      DeltaDao<T> dao,
+      IdGetter<T> idGetter,
+      @Nullable List<Integer> writtenIds
+  ) {
+    return new BatchWriter<>() {
+      private HashSet<Integer> idsNotInResponse;
+
+      @Override
+      public void runInTransaction(Runnable parsing) {
+        AppDatabase.this.runInTransaction(() -> {
+          idsNotInResponse = new HashSet<>(dao.getAllIds());
+          parsing.run();
+          ArrayList<Integer> deletedIds = new ArrayList<>(idsNotInResponse);
+          for (int i = 0; i < deletedIds.size(); i += DeltaSyncUtil.MAX_BIND_VARIABLES) {
+            dao.deleteByIds(deletedIds.subList(
+                i, Math.min(i + DeltaSyncUtil.MAX_BIND_VARIABLES, deletedIds.size())
+            ));
+          }
+        });
+      }
+
+      @Override
+      public void onBatch(List<T> objects) {
+        ArrayList<Integer> ids = new ArrayList<>(objects.size());
+        for (T object : objects) {
+          ids.add(idGetter.getId(object));
+        }
+        Delta<T> delta = DeltaSyncUtil.calculateDelta(dao.getByIds(ids), objects, idGetter);
+        if (!delta.upserts.isEmpty()) {
+          dao.insertAll(delta.upserts);
+          if (writtenIds != null) {
+            for (T object : delta.upserts) {
+              writtenIds.add(idGetter.getId(object));
+            }
+          }
+        }
+        idsNotInResponse.removeAll(ids);
+      }
+    };
+  }
+
+  /**
+   * Loads the rows with the given ids in chunks which fit into the bind variable limit.
+   * Must not be called on the main thread.
+   */
+  public <T> List<T> getByIds(DeltaDao<T> dao, List<Integer> ids) {
+    List<T> objects = new ArrayList<>(ids.size());
+    for (int i = 0; i < ids.size(); i += DeltaSyncUtil.MAX_BIND_VARIABLES) {
+      objects.addAll(dao.getByIds(
+          ids.subList(i, Math.min(i + DeltaSyncUtil.MAX_BIND_VARIABLES, ids.size()))
+      ));
+    }
+    return objects;
+  }
+
+  /**
+   * Moves the userfields of each downloaded product into the userfield_value_table before the
+   * batch is passed on, so product rows are compared and stored without them. The values of a
+   * batch are only rewritten if they differ from the stored ones.
+   */
+  public BatchWriter<Product> productUserfieldsWriter(BatchWriter<Product> writer) {
+    return new BatchWriter<>() {
+      private HashSet<Integer> idsNotInResponse;
+
+      @Override
+      public void runInTransaction(Runnable parsing) {
+        writer.runInTransaction(() -> {
+          idsNotInResponse = new HashSet<>(userfieldValueDao().getObjectIds(ENTITY.PRODUCTS));
+          parsing.run();
+          ArrayList<Integer> deletedIds = new ArrayList<>(idsNotInResponse);
+          for (int i = 0; i < deletedIds.size(); i += DeltaSyncUtil.MAX_BIND_VARIABLES - 1) {
+            userfieldValueDao().deleteByObjectIds(ENTITY.PRODUCTS, deletedIds.subList(
+                i, Math.min(i + DeltaSyncUtil.MAX_BIND_VARIABLES - 1, deletedIds.size())
+            ));
+          }
+        });
+      }
+
+      @Override
+      public void onBatch(List<Product> products) {
+        ArrayList<Integer> ids = new ArrayList<>(products.size());
+        HashSet<UserfieldValue> values = new HashSet<>();
+        for (Product product : products) {
+          ids.add(product.getId());
+          Map<String, String> userfields = product.getUserfields();
+          product.setUserfields(null);
+          if (userfields == null) continue;
+          for (Entry<String, String> userfield : userfields.entrySet()) {
+            if (userfield.getValue() == null) continue;
+            values.add(new UserfieldValue(
+                ENTITY.PRODUCTS, product.getId(), userfield.getKey(), userfield.getValue()
+            ));
+          }
+        }
+        List<UserfieldValue> storedValues = userfieldValueDao()
+            .getByObjectIds(ENTITY.PRODUCTS, ids);
+        if (!values.equals(new HashSet<>(storedValues))) {
+          userfieldValueDao().deleteByObjectIds(ENTITY.PRODUCTS, ids);
+          userfieldValueDao().insertAll(new ArrayList<>(values));
+        }
+        idsNotInResponse.removeAll(ids);
+        writer.onBatch(products);
+      }
+    };
+  }
+
   public void getVersion(OnVersionListener versionListener) {
     Single.fromCallable(() -> getOpenHelper().getReadableDatabase().getVersion())
         .subscribeOn(Schedulers.io())
@@ -0,0 +1,370 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.database;
+
+import androidx.annotation.NonNull;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import xyz.zedler.patrick.grocy.Constants.PREF;
+
+/**
+ * Schema migrations for AppDatabase, one per version step. The SQL must result in exactly the
+ * schema exported to app/schemas for the target version.
+ * Every version bump needs a migration here, otherwise Room can't open the database anymore.
+ * Only versions older than OLDEST_MIGRATABLE_VERSION are still recreated from scratch.
+ * Migrations which drop cached rows or add columns to cached tables must list the
+ * DB_LAST_TIME preferences of these tables in getOutdatedCaches().
+ */
+public class Migrations {
+
+  public static final int OLDEST_MIGRATABLE_VERSION = 45;
+
+  static final Migration MIGRATION_45_46 = new Migration(45, 46) {
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase db) {
+      // calories changed from INTEGER to REAL, the table only caches server data
+      db.execSQL("DROP TABLE IF EXISTS `recipe_pos_resolved_table`");
+      db.execSQL("CREATE TABLE IF NOT EXISTS `recipe_pos_resolved_table` (`id` INTEGER NOT NULL, "
+          + "`recipe_id` INTEGER NOT NULL, `recipe_pos_id` INTEGER NOT NULL, "
+          + "`product_id` INTEGER NOT NULL, `recipe_amount` REAL NOT NULL, "
+          + "`stock_amount` REAL NOT NULL, `need_fulfilled` INTEGER NOT NULL, "
+          + "`missing_amount` REAL NOT NULL, `amount_on_shopping_list` REAL NOT NULL, "
+          + "`need_fulfilled_with_shopping_list` INTEGER NOT NULL, `qu_id` INTEGER NOT NULL, "
+          + "`costs` REAL NOT NULL, `is_nested_recipe_pos` INTEGER NOT NULL, "
+          + "`ingredient_group` TEXT, `product_group` TEXT, `recipe_type` TEXT, "
+          + "`child_recipe_id` INTEGER NOT NULL, `note` TEXT, `recipe_variable_amount` TEXT, "
+          + "`only_check_single_unit_in_stock` INTEGER NOT NULL, `calories` REAL NOT NULL, "
+          + "`product_active` INTEGER NOT NULL, `due_score` INTEGER NOT NULL, "
+          + "`product_id_effective` INTEGER NOT NULL, `product_name` TEXT, PRIMARY KEY(`id`))");
+    }
+  };
+
+  static final Migration MIGRATION_46_47 = new Migration(46, 47) {
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase db) {
+      // no schema changes
+    }
+  };
+
+  static final Migration MIGRATION_47_48 = new Migration(47, 48) {
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase db) {
+      addColumn(db, "product_table", "userfields");
+      addColumn(db, "pending_product_table", "userfields");
+      db.execSQL("CREATE TABLE IF NOT EXISTS `userfield_table` (`id` INTEGER NOT NULL, "
+          + "`entity` TEXT, `name` TEXT, `caption` TEXT, `type` TEXT, "
+          + "`show_as_column_in_tables` TEXT, `sort_number` TEXT, `input_required` TEXT, "
+          + "`default_value` TEXT, PRIMARY KEY(`id`))");
+    }
+  };
+
+  static final Migration MIGRATION_48_49 = new Migration(48, 49) {
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase db) {
+      addColumn(db, "product_table", "row_created_timestamp");
+      addColumn(db, "pending_product_table", "row_created_timestamp");
+    }
+  };
+
+  static final Migration MIGRATION_49_50 = new Migration(49, 50) {
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase db) {
+      addColumn(db, "location_table", "userfields");
+      addColumn(db, "product_group_table", "userfields");
+      addColumn(db, "product_group_table", "row_created_timestamp");
+      addColumn(db, "quantity_unit_table", "userfields");
+      addColumn(db, "quantity_unit_table", "row_created_timestamp");
+      addColumn(db, "store_table", "userfields");
+      addColumn(db, "task_category_table", "userfields");
+      addColumn(db, "task_category_table", "row_created_timestamp");
+    }
+  };
+
+  static final Migration MIGRATION_50_51 = new Migration(50, 51) {
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase db) {
+      addColumn(db, "recipe_table", "userfields");
+    }
+  };
+
+  static final Migration MIGRATION_51_52 = new Migration(51, 52) {
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase db) {
+      // no schema changes
+    }
+  };
+
+  static final Migration MIGRATION_52_53 = new Migration(52, 53) {
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase db) {
+      db.execSQL("CREATE TABLE IF NOT EXISTS `meal_plan_entry_table` (`id` INTEGER NOT NULL, "
+          + "`day` TEXT, `type` TEXT, `recipe_id` TEXT, `recipe_servings` TEXT, `note` TEXT, "
+          + "`product_id` TEXT, `product_amount` TEXT, `product_qu_id` TEXT, `done` TEXT, "
+          + "`section_id` TEXT, PRIMARY KEY(`id`))");
+    }
+  };
+
+  static final Migration MIGRATION_53_54 = new Migration(53, 54) {
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase db) {
+      db.execSQL("CREATE TABLE IF NOT EXISTS `meal_plan_section_table` (`id` INTEGER NOT NULL, "
+          + "`name` TEXT, `sort_number` INTEGER NOT NULL, `row_created_timestamp` TEXT, "
+          + "`time_info` TEXT, PRIMARY KEY(`id`))");
+    }
+  };
+
+  static final Migration MIGRATION_54_55 = new Migration(54, 55) {
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase db) {
+      createIndex(db, "product_barcode_table", "barcode");
+      createIndex(db, "product_barcode_table", "product_id");
+      createIndex(db, "pending_product_barcode_table", "barcode");
+      createIndex(db, "pending_product_barcode_table", "pending_product_id");
+      createIndex(db, "shopping_list_item_table", "shopping_list_id");
+      createIndex(db, "shopping_list_item_table", "product_id");
+      createIndex(db, "stock_entry_table", "product_id");
+      createIndex(db, "stock_entry_table", "location_id");
+      createIndex(db, "stock_current_location_table", "product_id");
+      createIndex(db, "stock_current_location_table", "location_id");
+      createIndex(db, "quantity_unit_conversion_table", "product_id");
+      createIndex(db, "quantity_unit_conversion_resolved_table", "product_id");
+      createIndex(db, "recipe_pos_table", "recipe_id");
+      createIndex(db, "recipe_pos_table", "product_id");
+      createIndex(db, "recipe_pos_resolved_table", "recipe_id");
+      createIndex(db, "meal_plan_entry_table", "day");
+    }
+  };
+
+  static final Migration MIGRATION_55_56 = new Migration(55, 56) {
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase db) {
+      // numeric columns changed from TEXT to INTEGER/REAL, both tables only cache server data
+      db.execSQL("DROP TABLE IF EXISTS `product_table`");
+      db.execSQL("CREATE TABLE IF NOT EXISTS `product_table` (`id` INTEGER NOT NULL, "
+          + "`name` TEXT, " + PRODUCT_COLUMNS_55_56 + ", PRIMARY KEY(`id`))");
+      db.execSQL("DROP TABLE IF EXISTS `stock_item_table`");
+      db.execSQL("CREATE TABLE IF NOT EXISTS `stock_item_table` (`amount` REAL NOT NULL, "
+          + "`amount_aggregated` REAL NOT NULL, `value` REAL, `best_before_date` TEXT, "
+          + "`amount_opened` REAL NOT NULL, `amount_opened_aggregated` REAL NOT NULL, "
+          + "`is_aggregated_amount` INTEGER NOT NULL, `due_type` INTEGER, "
+          + "`product_id` INTEGER NOT NULL, `item_due` INTEGER NOT NULL, "
+          + "`item_overdue` INTEGER NOT NULL, `item_expired` INTEGER NOT NULL, "
+          + "`item_missing` INTEGER NOT NULL, `item_missing_partly_in_stock` INTEGER NOT NULL, "
+          + "PRIMARY KEY(`product_id`))");
+
+      // pending products are created offline and have to be kept
+      db.execSQL("ALTER TABLE `pending_product_table` RENAME TO `pending_product_table_old`");
+      db.execSQL("CREATE TABLE IF NOT EXISTS `pending_product_table` ("
+          + "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `name` TEXT NOT NULL, "
+          + "`name_is_from_off` INTEGER NOT NULL, " + PRODUCT_COLUMNS_55_56 + ")");
+      db.execSQL("INSERT INTO `pending_product_table` SELECT `id`, `name`, `name_is_from_off`, "
+          + "`description`, " + toInteger("product_group_id") + ", `active`, "
+          + toInteger("location_id") + ", `shopping_location_id`, "
+          + toInteger("qu_id_purchase") + ", " + toInteger("qu_id_stock") + ", "
+          + toReal("qu_factor_purchase_to_stock") + ", " + toInteger("qu_id_consume") + ", "
+          + toInteger("qu_id_price") + ", " + toReal("min_stock_amount") + ", "
+          + "`default_best_before_days`, `default_best_before_days_after_open`, "
+          + "`default_best_before_days_after_freezing`, "
+          + "`default_best_before_days_after_thawing`, `picture_file_name`, "
+          + "`enable_tare_weight_handling`, `tare_weight`, "
+          + "`not_check_stock_fulfillment_for_recipes`, " + toInteger("parent_product_id") + ", "
+          + toReal("calories") + ", `cumulate_min_stock_amount_of_sub_products`, `due_type`, "
+          + "`quick_consume_amount`, `quick_open_amount`, `hide_on_stock_overview`, "
+          + "`default_stock_label_type`, `auto_reprint_stock_label`, `should_not_be_frozen`, "
+          + "`treat_opened_as_out_of_stock`, `no_own_stock`, `default_consume_location_id`, "
+          + "`move_on_open`, `userfields`, `row_created_timestamp` "
+          + "FROM `pending_product_table_old`");
+      db.execSQL("DROP TABLE `pending_product_table_old`");
+    }
+  };
+
+  private static final String PRODUCT_COLUMNS_55_56 = "`description` TEXT, "
+      + "`product_group_id` INTEGER, `active` TEXT, `location_id` INTEGER, "
+      + "`shopping_location_id` TEXT, `qu_id_purchase` INTEGER, `qu_id_stock` INTEGER, "
+      + "`qu_factor_purchase_to_stock` REAL, `qu_id_consume` INTEGER, `qu_id_price` INTEGER, "
+      + "`min_stock_amount` REAL, `default_best_before_days` TEXT, "
+      + "`default_best_before_days_after_open` TEXT, "
+      + "`default_best_before_days_after_freezing` TEXT, "
+      + "`default_best_before_days_after_thawing` TEXT, `picture_file_name` TEXT, "
+      + "`enable_tare_weight_handling` TEXT, `tare_weight` TEXT, "
+      + "`not_check_stock_fulfillment_for_recipes` TEXT, `parent_product_id` INTEGER, "
+      + "`calories` REAL, `cumulate_min_stock_amount_of_sub_products` TEXT, `due_type` TEXT, "
+      + "`quick_consume_amount` TEXT, `quick_open_amount` TEXT, "
+      + "`hide_on_stock_overview` TEXT, `default_stock_label_type` TEXT, "
+      + "`auto_reprint_stock_label` TEXT, `should_not_be_frozen` TEXT, "
+      + "`treat_opened_as_out_of_stock` TEXT, `no_own_stock` TEXT, "
+      + "`default_consume_location_id` TEXT, `move_on_open` TEXT, `userfields` TEXT, "
+      + "`row_created_timestamp` TEXT";
+
+  static final Migration MIGRATION_56_57 = new Migration(56, 57) {
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase db) {
+      db.execSQL("CREATE TABLE IF NOT EXISTS `userfield_value_table` (`entity` TEXT NOT NULL, "
+          + "`object_id` INTEGER NOT NULL, `name` TEXT NOT NULL, `value` TEXT, "
+          + "PRIMARY KEY(`entity`, `object_id`, `name`))");
+
+      // userfields column removed, values are filled again with the next product download
+      db.execSQL("DROP TABLE IF EXISTS `product_table`");
+      db.execSQL("CREATE TABLE IF NOT EXISTS `product_table` (`id` INTEGER NOT NULL, "
+          + "`name` TEXT, " + PRODUCT_COLUMNS_56_57 + ", PRIMARY KEY(`id`))");
+
+      // pending products don't have userfields, all other columns are kept
+      db.execSQL("ALTER TABLE `pending_product_table` RENAME TO `pending_product_table_old`");
+      db.execSQL("CREATE TABLE IF NOT EXISTS `pending_product_table` ("
+          + "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `name` TEXT NOT NULL, "
+          + "`name_is_from_off` INTEGER NOT NULL, " + PRODUCT_COLUMNS_56_57 + ")");
+      String columns = "`id`, `name`, `name_is_from_off`, "
+          + PRODUCT_COLUMNS_56_57.replaceAll(" (TEXT|INTEGER|REAL)", "");
+      db.execSQL("INSERT INTO `pending_product_table` (" + columns + ") SELECT " + columns
+          + " FROM `pending_product_table_old`");
+      db.execSQL("DROP TABLE `pending_product_table_old`");
+    }
+  };
+
+  static final Migration MIGRATION_57_58 = new Migration(57, 58) {
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase db) {
+      db.execSQL("CREATE TABLE IF NOT EXISTS `booking_journal_table` ("
+          + "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `idempotency_key` TEXT NOT NULL, "
+          + "`type` INTEGER NOT NULL, `product_id` INTEGER NOT NULL, `product_name` TEXT, "
+          + "`body` TEXT, `state` INTEGER NOT NULL, `error_message` TEXT)");
+      db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_booking_journal_table_idempotency_key` "
+          + "ON `booking_journal_table` (`idempotency_key`)");
+    }
+  };
+
+  private static final String PRODUCT_COLUMNS_56_57 = "`description` TEXT, "
+      + "`product_group_id` INTEGER, `active` TEXT, `location_id` INTEGER, "
+      + "`shopping_location_id` TEXT, `qu_id_purchase` INTEGER, `qu_id_stock` INTEGER, "
+      + "`qu_factor_purchase_to_stock` REAL, `qu_id_consume` INTEGER, `qu_id_price` INTEGER, "
+      + "`min_stock_amount` REAL, `default_best_before_days` TEXT, "
+      + "`default_best_before_days_after_open` TEXT, "
+      + "`default_best_before_days_after_freezing` TEXT, "
+      + "`default_best_before_days_after_thawing` TEXT, `picture_file_name` TEXT, "
+      + "`enable_tare_weight_handling` TEXT, `tare_weight` TEXT, "
+      + "`not_check_stock_fulfillment_for_recipes` TEXT, `parent_product_id` INTEGER, "
+      + "`calories` REAL, `cumulate_min_stock_amount_of_sub_products` TEXT, `due_type` TEXT, "
+      + "`quick_consume_amount` TEXT, `quick_open_amount` TEXT, "
+      + "`hide_on_stock_overview` TEXT, `default_stock_label_type` TEXT, "
+      + "`auto_reprint_stock_label` TEXT, `should_not_be_frozen` TEXT, "
+      + "`treat_opened_as_out_of_stock` TEXT, `no_own_stock` TEXT, "
+      + "`default_consume_location_id` TEXT, `move_on_open` TEXT, "
+      + "`row_created_timestamp` TEXT";
+
+  public static final Migration[] ALL = {
+      MIGRATION_45_46,
+      MIGRATION_46_47,
+      MIGRATION_47_48,
+      MIGRATION_48_49,
+      MIGRATION_49_50,
+      MIGRATION_50_51,
+      MIGRATION_51_52,
+      MIGRATION_52_53,
+      MIGRATION_53_54,
+      MIGRATION_54_55,
+      MIGRATION_55_56,
+      MIGRATION_56_57,
+      MIGRATION_57_58
+  };
+
+  /**
+   * Versions which are too old to be migrated, the database is recreated for them.
+   */
+  public static int[] getDestructiveVersions() {
+    int[] versions = new int[OLDEST_MIGRATABLE_VERSION - 1];
+    for (int i = 0; i < versions.length; i++) {
+      versions[i] = i + 1;
+    }
+    return versions;
+  }
+
+  /**
+   * DB_LAST_TIME preferences of the tables whose cached data is incomplete after migrating
+   * from oldVersion to newVersion, these tables have to be downloaded completely again.
+   */
+  public static List<String> getOutdatedCachePrefs(int oldVersion, int newVersion) {
+    List<String> prefs = new ArrayList<>();
+    for (Migration migration : ALL) {
+      if (migration.startVersion >= oldVersion && migration.endVersion <= newVersion) {
+        Collections.addAll(prefs, getOutdatedCaches(migration.endVersion));
+      }
+    }
+    return prefs;
+  }
+
+  private static String[] getOutdatedCaches(int endVersion) {
+    switch (endVersion) {
+      case 46:
+        return new String[]{PREF.DB_LAST_TIME_RECIPE_POSITIONS_RESOLVED};
+      case 48:
+        return new String[]{PREF.DB_LAST_TIME_PRODUCTS, PREF.DB_LAST_TIME_USERFIELDS};
+      case 49:
+      case 57:
+        return new String[]{PREF.DB_LAST_TIME_PRODUCTS};
+      case 50:
+        return new String[]{
+            PREF.DB_LAST_TIME_LOCATIONS,
+            PREF.DB_LAST_TIME_PRODUCT_GROUPS,
+            PREF.DB_LAST_TIME_QUANTITY_UNITS,
+            PREF.DB_LAST_TIME_STORES,
+            PREF.DB_LAST_TIME_TASK_CATEGORIES
+        };
+      case 51:
+        return new String[]{PREF.DB_LAST_TIME_RECIPES};
+      case 53:
+        return new String[]{PREF.DB_LAST_TIME_MEAL_PLAN_ENTRIES};
+      case 54:
+        return new String[]{PREF.DB_LAST_TIME_MEAL_PLAN_SECTIONS};
+      case 56:
+        return new String[]{PREF.DB_LAST_TIME_PRODUCTS, PREF.DB_LAST_TIME_STOCK_ITEMS};
+      default:
+        return new String[0];
+    }
+  }
+
+  private static void addColumn(SupportSQLiteDatabase db, String table, String column) {
+    db.execSQL("ALTER TABLE `" + table + "` ADD COLUMN `" + column + "` TEXT");
+  }
+
+  /**
+   * Converts a numeric TEXT column for copying into an INTEGER column, empty strings and
+   * other non-numeric values become NULL like in the Gson adapters.
+   */
+  private static String toInteger(String column) {
+    return "CASE WHEN `" + column + "` GLOB '[0-9]*' THEN CAST(`" + column
+        + "` AS INTEGER) END";
+  }
+
+  private static String toReal(String column) {
+    return "CASE WHEN `" + column + "` GLOB '*[0-9]*' THEN CAST(REPLACE(`" + column
+        + "`, ',', '.') AS REAL) END";
+  }
+
+  /**
+   * Creates an index with the same name Room generates for @Index(column) on the entity.
+   */
+  private static void createIndex(SupportSQLiteDatabase db, String table, String column) {
+    db.execSQL("CREATE INDEX IF NOT EXISTS `index_" + table + "_" + column + "` ON `"
+        + table + "` (`" + column + "`)");
+  }
+}
@@ -30,8 +30,8 @@ import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.Transformations;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.json.JSONException;
 import org.json.JSONObject;
 import xyz.zedler.patrick.grocy.Constants;
@@ -68,7 +68,7 @@ public class FormDataConsume {
   private final MutableLiveData<Integer> productNameErrorLive;
   private final MutableLiveData<Boolean> consumeExactAmountLive;
   private final MutableLiveData<String> barcodeLive;
-  private final MutableLiveData<HashMap<QuantityUnit, Double>> quantityUnitsFactorsLive;
+  private final MutableLiveData<Map<QuantityUnit, Double>> quantityUnitsFactorsLive;
   private final MutableLiveData<QuantityUnit> quantityUnitStockLive;
   private final MutableLiveData<QuantityUnit> quantityUnitLive;
   private final LiveData<String> quantityUnitNameLive;
@@ -227,7 +227,7 @@ public class FormDataConsume {
     return productNameErrorLive;
   }
 
-  public MutableLiveData<HashMap<QuantityUnit, Double>> getQuantityUnitsFactorsLive() {
+  public MutableLiveData<Map<QuantityUnit, Double>> getQuantityUnitsFactorsLive() {
     return quantityUnitsFactorsLive;
   }
 
@@ -474,7 +474,7 @@ public class FormDataConsume {
 
     ProductDetails productDetails = productDetailsLive.getValue();
     QuantityUnit current = quantityUnitLive.getValue();
-    HashMap<QuantityUnit, Double> hashMap = quantityUnitsFactorsLive.getValue();
+    Map<QuantityUnit, Double> hashMap = quantityUnitsFactorsLive.getValue();
     Double currentFactor = hashMap != null ? hashMap.get(current) : null;
     double maxAmount;
     if (isTareWeightEnabled() && productDetails != null) {
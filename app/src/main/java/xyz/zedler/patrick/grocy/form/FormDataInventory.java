@@ -31,7 +31,7 @@ import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.Transformations;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Map;
 import org.json.JSONException;
 import org.json.JSONObject;
 import xyz.zedler.patrick.grocy.Constants;
@@ -70,7 +70,7 @@ public class FormDataInventory {
   private final LiveData<String> productNameInfoStockLive;
   private final MutableLiveData<Integer> productNameErrorLive;
   private final MutableLiveData<String> barcodeLive;
-  private final MutableLiveData<HashMap<QuantityUnit, Double>> quantityUnitsFactorsLive;
+  private final MutableLiveData<Map<QuantityUnit, Double>> quantityUnitsFactorsLive;
   private final MutableLiveData<QuantityUnit> quantityUnitStockLive;
   private final MutableLiveData<QuantityUnit> quantityUnitLive;
   private final LiveData<String> quantityUnitNameLive;
@@ -328,7 +328,7 @@ public class FormDataInventory {
     return productNameErrorLive;
   }
 
-  public MutableLiveData<HashMap<QuantityUnit, Double>> getQuantityUnitsFactorsLive() {
+  public MutableLiveData<Map<QuantityUnit, Double>> getQuantityUnitsFactorsLive() {
     return quantityUnitsFactorsLive;
   }
 
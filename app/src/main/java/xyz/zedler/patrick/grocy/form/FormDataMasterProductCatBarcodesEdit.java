@@ -31,8 +31,8 @@ import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.Transformations;
 import androidx.preference.PreferenceManager;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import xyz.zedler.patrick.grocy.Constants.SETTINGS.STOCK;
 import xyz.zedler.patrick.grocy.Constants.SETTINGS_DEFAULT;
 import xyz.zedler.patrick.grocy.R;
@@ -58,7 +58,7 @@ public class FormDataMasterProductCatBarcodesEdit {
   private final MediatorLiveData<String> amountHelperLive;
   private final LiveData<String> amountHintLive;
   private final MediatorLiveData<String> amountPurchaseLive;
-  private final MutableLiveData<HashMap<QuantityUnit, Double>> quantityUnitsFactorsLive;
+  private final MutableLiveData<Map<QuantityUnit, Double>> quantityUnitsFactorsLive;
   private final LiveData<ArrayList<QuantityUnit>> quantityUnitsLive;
   private final MutableLiveData<QuantityUnit> quantityUnitLive;
   private final LiveData<String> quantityUnitNameLive;
@@ -188,7 +188,7 @@ public class FormDataMasterProductCatBarcodesEdit {
     }
   }
 
-  public MutableLiveData<HashMap<QuantityUnit, Double>> getQuantityUnitsFactorsLive() {
+  public MutableLiveData<Map<QuantityUnit, Double>> getQuantityUnitsFactorsLive() {
     return quantityUnitsFactorsLive;
   }
 
@@ -223,7 +223,7 @@ public class FormDataMasterProductCatBarcodesEdit {
 
     if (quantityUnitPurchase != null && current != null
         && quantityUnitPurchase.getId() != current.getId()) {
-      HashMap<QuantityUnit, Double> hashMap = quantityUnitsFactorsLive.getValue();
+      Map<QuantityUnit, Double> hashMap = quantityUnitsFactorsLive.getValue();
       double amount = NumUtil.toDouble(amountLive.getValue());
       Double currentFactor = hashMap.get(current);
       if (!isGrocyServerMin400 && quantityUnitStock != null
@@ -156,12 +156,18 @@ public class FormDataMasterProductCatLocation {
   }
 
   private Location getLocationFromId(String id) {
-    if (locationsLive.getValue() == null || !NumUtil.isStringInt(id)) {
+    if (!NumUtil.isStringInt(id)) {
+      return null;
+    }
+    return getLocationFromId(Integer.parseInt(id));
+  }
+
+  private Location getLocationFromId(Integer id) {
+    if (locationsLive.getValue() == null || id == null) {
       return null;
     }
-    int idInt = Integer.parseInt(id);
     for (Location location : locationsLive.getValue()) {
-      if (location.getId() == idInt) {
+      if (location.getId() == id) {
         return location;
       }
     }
@@ -189,13 +195,12 @@ public class FormDataMasterProductCatLocation {
     if (product == null) {
       return true;
     }
-    boolean valid = product.getLocationId() != null && !product.getLocationId().isEmpty();
-    return !valid;
+    return product.getLocationId() == null;
   }
 
   public Product fillProduct(@NonNull Product product) {
     if (!isFormValid()) {
-      if (locationLive.getValue() == null && NumUtil.isStringInt(product.getLocationId())) {
+      if (locationLive.getValue() == null && product.getLocationId() != null) {
         product.setLocationId(null);
       }
       if (locationConsumeLive.getValue() == null
@@ -210,7 +215,7 @@ public class FormDataMasterProductCatLocation {
     Location location = locationLive.getValue();
     Location locationConsume = locationConsumeLive.getValue();
     Store store = storeLive.getValue();
-    product.setLocationId(location != null ? String.valueOf(location.getId()) : null);
+    product.setLocationId(location != null ? location.getId() : null);
     product.setDefaultConsumeLocationId(locationConsume != null
         ? String.valueOf(locationConsume.getId()) : null);
     assert moveOnOpenLive.getValue() != null;
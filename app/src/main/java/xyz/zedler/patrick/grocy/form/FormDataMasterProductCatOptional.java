@@ -31,6 +31,8 @@ import androidx.lifecycle.Transformations;
 import java.util.ArrayList;
 import java.util.List;
 import xyz.zedler.patrick.grocy.Constants.PREF;
+import xyz.zedler.patrick.grocy.Constants.SETTINGS.STOCK;
+import xyz.zedler.patrick.grocy.Constants.SETTINGS_DEFAULT;
 import xyz.zedler.patrick.grocy.R;
 import xyz.zedler.patrick.grocy.model.Product;
 import xyz.zedler.patrick.grocy.model.ProductGroup;
@@ -63,6 +65,7 @@ public class FormDataMasterProductCatOptional {
   private final MutableLiveData<String> pictureFilenameLive;
 
   private final MutableLiveData<Product> productLive;
+  private final int maxDecimalPlacesAmount;
   private boolean filledWithProduct;
 
   public FormDataMasterProductCatOptional(
@@ -72,6 +75,10 @@ public class FormDataMasterProductCatOptional {
   ) {
     this.application = application;
     this.sharedPrefs = sharedPrefs;
+    maxDecimalPlacesAmount = sharedPrefs.getInt(
+        STOCK.DECIMAL_PLACES_AMOUNT,
+        SETTINGS_DEFAULT.STOCK.DECIMAL_PLACES_AMOUNT
+    );
     displayHelpLive = new MutableLiveData<>(beginnerMode);
     displayPictureWarningLive = new MutableLiveData<>(false);
     isActiveLive = new MutableLiveData<>();
@@ -267,26 +274,24 @@ public class FormDataMasterProductCatOptional {
     return null;
   }
 
-  private Product getProductFromId(String id) {
+  private Product getProductFromId(Integer id) {
     if (productsLive.getValue() == null || id == null) {
       return null;
     }
-    int idInt = Integer.parseInt(id);
     for (Product product : productsLive.getValue()) {
-      if (product.getId() == idInt) {
+      if (product.getId() == id) {
         return product;
       }
     }
     return null;
   }
 
-  private ProductGroup getProductGroupFromId(String id) {
-    if (productGroupsLive.getValue() == null || id == null || id.isEmpty()) {
+  private ProductGroup getProductGroupFromId(Integer id) {
+    if (productGroupsLive.getValue() == null || id == null) {
       return null;
     }
-    int idInt = Integer.parseInt(id);
     for (ProductGroup productGroup : productGroupsLive.getValue()) {
-      if (productGroup.getId() == idInt) {
+      if (productGroup.getId() == id) {
         return productGroup;
       }
     }
@@ -318,10 +323,10 @@ public class FormDataMasterProductCatOptional {
       product.setActive(isActiveLive.getValue());
     }
     product.setParentProductId(parentProductLive.getValue() != null
-        ? String.valueOf(parentProductLive.getValue().getId()) : null);
+        ? parentProductLive.getValue().getId() : null);
     product.setDescription(descriptionLive.getValue() != null
         ? descriptionLive.getValue() : null);
-    product.setProductGroupId(pGroup != null ? String.valueOf(pGroup.getId()) : null);
+    product.setProductGroupId(pGroup != null ? pGroup.getId() : null);
     product.setCalories(energyLive.getValue());
     if (isFeatureLabelPrintEnabled()) {
       product.setDefaultStockLabelType(String.valueOf(defaultStockLabelTypeLive.getValue()));
@@ -352,8 +357,7 @@ public class FormDataMasterProductCatOptional {
     List<Product> products = productsLive.getValue();
     if (products != null) {
       for (Product productTemp : products) {
-        if (NumUtil.isStringInt(productTemp.getParentProductId())
-            && Integer.parseInt(productTemp.getParentProductId()) == product.getId()) {
+        if (productTemp.getParentProductIdInt() == product.getId()) {
           parentProductEnabled.setValue(false);
           break;
         }
@@ -363,7 +367,8 @@ public class FormDataMasterProductCatOptional {
     descriptionSpannedLive.setValue(product.getDescription() != null
         ? Html.fromHtml(product.getDescription()) : null);
     productGroupLive.setValue(getProductGroupFromId(product.getProductGroupId()));
-    energyLive.setValue(product.getCalories());
+    energyLive.setValue(product.getCalories() != null
+        ? NumUtil.trimAmount(product.getCalories(), maxDecimalPlacesAmount) : null);
     defaultStockLabelTypeLive.setValue(product.getDefaultStockLabelTypeInt());
     neverShowOnStockLive.setValue(product.getHideOnStockOverviewBoolean());
     noOwnStockLive.setValue(product.getNoOwnStockBoolean());
@@ -31,8 +31,8 @@ import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.Transformations;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.json.JSONException;
 import org.json.JSONObject;
 import xyz.zedler.patrick.grocy.Constants;
@@ -80,7 +80,7 @@ public class FormDataPurchase {
   private final MutableLiveData<String> productNameLive;
   private final MutableLiveData<Integer> productNameErrorLive;
   private final MutableLiveData<String> barcodeLive;
-  private final MutableLiveData<HashMap<QuantityUnit, Double>> quantityUnitsFactorsLive;
+  private final MutableLiveData<Map<QuantityUnit, Double>> quantityUnitsFactorsLive;
   private final MutableLiveData<QuantityUnit> quantityUnitStockLive;
   private final MutableLiveData<QuantityUnit> quantityUnitLive;
   private final LiveData<String> quantityUnitNameLive;
@@ -362,7 +362,7 @@ public class FormDataPurchase {
     return productNameErrorLive;
   }
 
-  public MutableLiveData<HashMap<QuantityUnit, Double>> getQuantityUnitsFactorsLive() {
+  public MutableLiveData<Map<QuantityUnit, Double>> getQuantityUnitsFactorsLive() {
     return quantityUnitsFactorsLive;
   }
 
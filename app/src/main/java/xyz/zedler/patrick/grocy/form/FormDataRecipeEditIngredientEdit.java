@@ -29,7 +29,7 @@ import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.Transformations;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Map;
 import xyz.zedler.patrick.grocy.Constants;
 import xyz.zedler.patrick.grocy.Constants.SETTINGS.STOCK;
 import xyz.zedler.patrick.grocy.Constants.SETTINGS_DEFAULT;
@@ -63,7 +63,7 @@ public class FormDataRecipeEditIngredientEdit {
   private final MediatorLiveData<String> amountHelperLive;
   private final LiveData<String> amountHintLive;
   private final MediatorLiveData<String> amountStockLive;
-  private final MutableLiveData<HashMap<QuantityUnit, Double>> quantityUnitsFactorsLive;
+  private final MutableLiveData<Map<QuantityUnit, Double>> quantityUnitsFactorsLive;
   private final MutableLiveData<QuantityUnit> quantityUnitLive;
   private final MutableLiveData<String> quantityUnitLabelLive;
   private final MutableLiveData<QuantityUnit> quantityUnitStockLive;
@@ -227,7 +227,7 @@ public class FormDataRecipeEditIngredientEdit {
     );
   }
 
-  public MutableLiveData<HashMap<QuantityUnit, Double>> getQuantityUnitsFactorsLive() {
+  public MutableLiveData<Map<QuantityUnit, Double>> getQuantityUnitsFactorsLive() {
     return quantityUnitsFactorsLive;
   }
 
@@ -186,7 +186,7 @@ public class ChoreEntryRescheduleFragment extends BaseFragment {
         .build();
 
     picker.addOnPositiveButtonClickListener(v -> {
-      String date = DateUtil.DATE_FORMAT.format(picker.getSelection());
+      String date = DateUtil.DATE_FORMAT.get().format(picker.getSelection());
       viewModel.getNextTrackingDateLive().setValue(date);
     });
     picker.show(getParentFragmentManager(), "date_picker_dialog");
@@ -60,7 +60,6 @@ import xyz.zedler.patrick.grocy.scanner.EmbeddedFragmentScanner.BarcodeListener;
 import xyz.zedler.patrick.grocy.scanner.EmbeddedFragmentScannerBundle;
 import xyz.zedler.patrick.grocy.util.PictureUtil;
 import xyz.zedler.patrick.grocy.viewmodel.MasterProductCatOptionalViewModel;
-import xyz.zedler.patrick.grocy.web.RequestHeaders;
 
 public class MasterProductCatOptionalFragment extends BaseFragment implements BarcodeListener {
 
@@ -340,7 +339,7 @@ public class MasterProductCatOptionalFragment extends BaseFragment implements Ba
           null,
           null,
           grocyApi.getProductPictureServeLarge(filename),
-          RequestHeaders.getGlideGrocyAuthHeaders(requireContext()),
+          true,
           true
       );
     } else {
@@ -30,7 +30,6 @@ import xyz.zedler.patrick.grocy.activity.MainActivity;
 import xyz.zedler.patrick.grocy.behavior.SystemBarBehavior;
 import xyz.zedler.patrick.grocy.databinding.FragmentPhotoViewerBinding;
 import xyz.zedler.patrick.grocy.util.PictureUtil;
-import xyz.zedler.patrick.grocy.web.RequestHeaders;
 
 public class PhotoViewerFragment extends BaseFragment {
 
@@ -77,9 +76,7 @@ public class PhotoViewerFragment extends BaseFragment {
         null,
         null,
         args.getUrl(),
-        args.getAddGrocyRequestHeaders()
-            ? RequestHeaders.getGlideGrocyAuthHeaders(requireContext())
-            : null,
+        args.getAddGrocyRequestHeaders(),
         true
     );
   }
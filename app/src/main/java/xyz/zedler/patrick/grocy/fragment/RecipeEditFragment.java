@@ -63,7 +63,6 @@ import xyz.zedler.patrick.grocy.util.PictureUtil;
 import xyz.zedler.patrick.grocy.util.ViewUtil;
 import xyz.zedler.patrick.grocy.viewmodel.RecipeEditViewModel;
 import xyz.zedler.patrick.grocy.viewmodel.RecipeEditViewModel.RecipeEditViewModelFactory;
-import xyz.zedler.patrick.grocy.web.RequestHeaders;
 
 public class RecipeEditFragment extends BaseFragment implements EmbeddedFragmentScanner.BarcodeListener {
 
@@ -350,7 +349,7 @@ public class RecipeEditFragment extends BaseFragment implements EmbeddedFragment
           null,
           null,
           grocyApi.getRecipePictureServeLarge(filename),
-          RequestHeaders.getGlideGrocyAuthHeaders(requireContext()),
+          true,
           true
       );
     } else {
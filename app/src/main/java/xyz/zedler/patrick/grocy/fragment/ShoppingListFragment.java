@@ -182,7 +182,9 @@ public class ShoppingListFragment extends BaseFragment implements
           viewModel.getShoppingListNotes(),
           viewModel.getGroupingMode(),
           viewModel.getActiveFields(),
-          () -> binding.recycler.scheduleLayoutAnimation()
+          () -> {
+            if (binding != null) binding.recycler.scheduleLayoutAnimation();
+          }
       );
     });
 
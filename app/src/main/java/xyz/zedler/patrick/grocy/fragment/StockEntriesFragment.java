@@ -161,7 +161,9 @@ public class StockEntriesFragment extends BaseFragment implements StockEntryAdap
           viewModel.getSortMode(),
           viewModel.isSortAscending(),
           viewModel.getGroupingMode(),
-          () -> binding.recycler.scheduleLayoutAnimation()
+          () -> {
+            if (binding != null) binding.recycler.scheduleLayoutAnimation();
+          }
       );
     });
 
@@ -40,6 +40,7 @@ import xyz.zedler.patrick.grocy.behavior.SwipeBehavior;
 import xyz.zedler.patrick.grocy.behavior.SystemBarBehavior;
 import xyz.zedler.patrick.grocy.databinding.FragmentStockOverviewBinding;
 import xyz.zedler.patrick.grocy.helper.InfoFullscreenHelper;
+import xyz.zedler.patrick.grocy.helper.PicturePreloader;
 import xyz.zedler.patrick.grocy.model.Event;
 import xyz.zedler.patrick.grocy.model.GroupedListItem;
 import xyz.zedler.patrick.grocy.model.Location;
@@ -50,6 +51,7 @@ import xyz.zedler.patrick.grocy.scanner.EmbeddedFragmentScanner;
 import xyz.zedler.patrick.grocy.scanner.EmbeddedFragmentScanner.BarcodeListener;
 import xyz.zedler.patrick.grocy.scanner.EmbeddedFragmentScannerBundle;
 import xyz.zedler.patrick.grocy.util.ClickUtil;
+import xyz.zedler.patrick.grocy.util.UiUtil;
 import xyz.zedler.patrick.grocy.util.ViewUtil;
 import xyz.zedler.patrick.grocy.viewmodel.StockOverviewViewModel;
 
@@ -144,6 +146,9 @@ public class StockOverviewFragment extends BaseFragment implements
         viewModel.getCurrency()
     );
     binding.recycler.setAdapter(adapter);
+    binding.recycler.addOnScrollListener(new PicturePreloader(
+        requireContext(), adapter, UiUtil.dpToPx(requireContext(), 56), 10
+    ));
 
     if (savedInstanceState == null) {
       binding.recycler.scrollToPosition(0);
@@ -174,7 +179,26 @@ public class StockOverviewFragment extends BaseFragment implements
           viewModel.isSortAscending(),
           viewModel.getGroupingMode(),
           viewModel.getActiveFields(),
-          () -> binding.recycler.scheduleLayoutAnimation()
+          () -> {
+            if (binding != null) binding.recycler.scheduleLayoutAnimation();
+          }
+      );
+    });
+
+    viewModel.getPagedStockItemsLive().observe(getViewLifecycleOwner(), pagingData -> {
+      if (pagingData == null) return;
+      adapter.submitPagedData(
+          getViewLifecycleOwner().getLifecycle(),
+          pagingData,
+          viewModel.getShoppingListItemsProductIds(),
+          viewModel.getQuantityUnitHashMap(),
+          viewModel.getQuantityUnitConversions(),
+          viewModel.getProductAveragePriceHashMap(),
+          viewModel.getProductLastPurchasedHashMap(),
+          viewModel.getProductHashMap(),
+          viewModel.getProductIdsMissingItems(),
+          viewModel.getUserfieldHashMap(),
+          viewModel.getActiveFields()
       );
     });
 
@@ -362,6 +386,11 @@ public class StockOverviewFragment extends BaseFragment implements
     showProductOverview(stockItem);
   }
 
+  @Override
+  public void onPagedListLoaded(int itemCount) {
+    viewModel.onPagedListLoaded(itemCount);
+  }
+
   private void showProductOverview(StockItem stockItem) {
     if (stockItem == null) {
       return;
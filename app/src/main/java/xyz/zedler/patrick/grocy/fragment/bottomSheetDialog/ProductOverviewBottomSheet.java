@@ -325,7 +325,7 @@ public class ProductOverviewBottomSheet extends BaseBottomSheetDialogFragment {
     // LOAD DETAILS
 
     if (activity.isOnline() && !hasDetails()) {
-      ProductDetails.getProductDetails(dlHelper, product.getId(), details -> {
+      ProductDetails.getProductDetailsCached(dlHelper, product.getId(), details -> {
         productDetails = details;
         stockItem = new StockItem(productDetails);
         refreshButtonStates();
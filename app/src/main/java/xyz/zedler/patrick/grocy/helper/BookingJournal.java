@@ -0,0 +1,410 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.helper;
+
+import android.app.Application;
+import android.os.SystemClock;
+import android.util.Log;
+import androidx.annotation.Nullable;
+import com.android.volley.RetryPolicy;
+import com.android.volley.VolleyError;
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import xyz.zedler.patrick.grocy.R;
+import xyz.zedler.patrick.grocy.api.GrocyApi;
+import xyz.zedler.patrick.grocy.api.GrocyApi.ENTITY;
+import xyz.zedler.patrick.grocy.dao.BookingJournalDao;
+import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnErrorListener;
+import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnJSONArrayResponseListener;
+import xyz.zedler.patrick.grocy.model.BookingJournalEntry;
+
+/**
+ * Process-wide write-ahead journal for stock bookings. Every booking is stored in the
+ * database before it is sent, so bookings made without connection are kept and sent in
+ * their original order as soon as the server can be reached again, in batches of
+ * BATCH_SIZE entries per database read.
+ *
+ * Grocy has no idempotent booking requests, so each entry is marked as sending with its
+ * idempotency key before its request starts and only deleted after the response. An entry
+ * which is still marked as sending when the next replay starts was interrupted, e.g. because
+ * the app was killed, and it's unknown whether the server booked it. Such entries are never
+ * sent again, they are reported as conflicts like the entries rejected by the server, e.g.
+ * because the product is no longer in stock. The same applies to server errors and timeouts,
+ * as a proxy can answer with an error after Grocy already booked the entry.
+ *
+ * If the server couldn't be reached, new bookings are only stored and not sent until
+ * RETRY_DELAY_MS passed or replay() is called, so scanning doesn't wait for requests which
+ * fail anyway. All methods must be called on the main thread.
+ */
+public class BookingJournal {
+
+  private final static String TAG = BookingJournal.class.getSimpleName();
+  private final static int BATCH_SIZE = 20;
+  private final static long RETRY_DELAY_MS = 30 * 1000;
+
+  private static BookingJournal instance;
+
+  private final Application application;
+  private final BookingJournalDao dao;
+  private final HashMap<String, Booking> bookings;
+  private OnConflictsListener onConflictsListener;
+  private boolean isReplaying;
+  private boolean isReplayRequested;
+  private long lastUnreachableTime;
+
+  public interface OnConflictsListener {
+    void onConflicts(List<BookingJournalEntry> entries);
+  }
+
+  private static class Booking {
+
+    private final OnJSONArrayResponseListener onResponseListener;
+    private final Runnable onStoredListener;
+    private final OnErrorListener onErrorListener;
+
+    private Booking(
+        OnJSONArrayResponseListener onResponseListener,
+        Runnable onStoredListener,
+        OnErrorListener onErrorListener
+    ) {
+      this.onResponseListener = onResponseListener;
+      this.onStoredListener = onStoredListener;
+      this.onErrorListener = onErrorListener;
+    }
+  }
+
+  private BookingJournal(Application application) {
+    this.application = application;
+    dao = AppDatabase.getAppDatabase(application).bookingJournalDao();
+    bookings = new HashMap<>();
+  }
+
+  public static BookingJournal getInstance(Application application) {
+    if (instance == null) {
+      instance = new BookingJournal(application);
+    }
+    return instance;
+  }
+
+  /**
+   * Stores the entry and sends it right after all older entries. onResponse gets the response
+   * of the server, onStored is called instead if the entry is kept for a later replay because
+   * the server can't be reached. onError is called if the server rejected the entry, it is
+   * removed from the journal then and not reported as conflict. It is also called if it's
+   * unknown whether the entry was booked, but then the entry is reported as conflict too.
+   * Responses of product barcode entries are passed as array with one object.
+   */
+  public void book(
+      BookingJournalEntry entry,
+      OnJSONArrayResponseListener onResponse,
+      Runnable onStored,
+      OnErrorListener onError
+  ) {
+    boolean sendNow = lastUnreachableTime == 0
+        || SystemClock.elapsedRealtime() - lastUnreachableTime > RETRY_DELAY_MS;
+    dao.insertEntry(entry)
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .doOnSuccess(id -> {
+          if (id == -1 || !sendNow) {
+            onStored.run();
+            return;
+          }
+          bookings.put(entry.getIdempotencyKey(), new Booking(onResponse, onStored, onError));
+          replay();
+        })
+        .doOnError(throwable -> onError.onError(new VolleyError(throwable)))
+        .onErrorComplete()
+        .subscribe();
+  }
+
+  public void setOnConflictsListener(@Nullable OnConflictsListener onConflictsListener) {
+    this.onConflictsListener = onConflictsListener;
+  }
+
+  /**
+   * Sends all pending entries in the order they were stored. If a replay is already running,
+   * another one is started after it, unless the server couldn't be reached.
+   */
+  public void replay() {
+    if (isReplaying) {
+      isReplayRequested = true;
+      return;
+    }
+    isReplaying = true;
+    DownloadHelper dlHelper = new DownloadHelper(application, TAG, null, null);
+    dao.updateStates(
+        BookingJournalEntry.STATE_SENDING,
+        BookingJournalEntry.STATE_CONFLICT,
+        application.getString(R.string.error_journal_unknown_state)
+    ).subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .doOnSuccess(count -> sendNextBatch(dlHelper))
+        .doOnError(throwable -> finishReplay(true))
+        .onErrorComplete()
+        .subscribe();
+  }
+
+  private void sendNextBatch(DownloadHelper dlHelper) {
+    dao.getEntries(BookingJournalEntry.STATE_PENDING, BATCH_SIZE)
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .doOnSuccess(entries -> {
+          if (entries.isEmpty()) {
+            finishReplay(true);
+          } else {
+            sendEntry(dlHelper, entries, 0);
+          }
+        })
+        .doOnError(throwable -> finishReplay(true))
+        .onErrorComplete()
+        .subscribe();
+  }
+
+  private void sendEntry(DownloadHelper dlHelper, List<BookingJournalEntry> entries, int index) {
+    if (index == entries.size()) {
+      sendNextBatch(dlHelper);
+      return;
+    }
+    BookingJournalEntry entry = entries.get(index);
+    JSONObject body;
+    try {
+      body = new JSONObject(entry.getBody());
+    } catch (JSONException e) {
+      onEntryRejected(entry, new VolleyError(e), e.getLocalizedMessage(),
+          () -> sendEntry(dlHelper, entries, index + 1));
+      return;
+    }
+    dao.updateState(entry.getId(), BookingJournalEntry.STATE_SENDING, null)
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .doOnSuccess(count -> {
+          String url = getUrl(dlHelper.grocyApi, entry);
+          OnJSONArrayResponseListener onResponse = response -> onEntrySent(
+              entry, response, () -> sendEntry(dlHelper, entries, index + 1)
+          );
+          OnErrorListener onError = error -> onEntryFailed(
+              dlHelper, entry, error, () -> sendEntry(dlHelper, entries, index + 1)
+          );
+          // the journal decides about retries, Volley must never send a booking twice
+          RetryPolicy retryPolicy = dlHelper.getSingleAttemptRetryPolicy();
+          if (entry.getType() == BookingJournalEntry.TYPE_PRODUCT_BARCODE) {
+            dlHelper.post(
+                url,
+                body,
+                response -> onResponse.onResponse(new JSONArray().put(response)),
+                onError,
+                retryPolicy
+            );
+          } else {
+            dlHelper.postWithArray(url, body, onResponse, onError, retryPolicy);
+          }
+        })
+        .doOnError(throwable -> finishReplay(true))
+        .onErrorComplete()
+        .subscribe();
+  }
+
+  private void onEntrySent(BookingJournalEntry entry, JSONArray response, Runnable onFinished) {
+    lastUnreachableTime = 0;
+    Booking booking = bookings.remove(entry.getIdempotencyKey());
+    if (booking != null) {
+      booking.onResponseListener.onResponse(response);
+    }
+    deleteEntry(entry, onFinished);
+  }
+
+  private void onEntryFailed(
+      DownloadHelper dlHelper,
+      BookingJournalEntry entry,
+      VolleyError error,
+      Runnable onNext
+  ) {
+    if (isNotSent(error)) {
+      // keep the entry and all newer entries for the next replay
+      if (dlHelper.debug) {
+        Log.i(TAG, "onEntryFailed: server not reachable, stopping replay: " + error);
+      }
+      lastUnreachableTime = SystemClock.elapsedRealtime();
+      dao.updateState(entry.getId(), BookingJournalEntry.STATE_PENDING, null)
+          .subscribeOn(Schedulers.io())
+          .observeOn(AndroidSchedulers.mainThread())
+          .doFinally(() -> finishReplay(false))
+          .onErrorComplete()
+          .subscribe();
+    } else if (error.networkResponse != null && error.networkResponse.statusCode < 500) {
+      onEntryRejected(entry, error, getErrorMessage(error), onNext);
+    } else {
+      // server errors (e.g. from a proxy) and timeouts can happen after Grocy booked the entry
+      onEntryInUnknownState(entry, error, onNext);
+    }
+  }
+
+  private void onEntryRejected(
+      BookingJournalEntry entry,
+      VolleyError error,
+      String errorMessage,
+      Runnable onFinished
+  ) {
+    Booking booking = bookings.remove(entry.getIdempotencyKey());
+    if (booking != null) {
+      booking.onErrorListener.onError(error);
+      deleteEntry(entry, onFinished);
+      return;
+    }
+    dao.updateState(entry.getId(), BookingJournalEntry.STATE_CONFLICT, errorMessage)
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .doFinally(onFinished::run)
+        .onErrorComplete()
+        .subscribe();
+  }
+
+  /**
+   * The entry may have been booked, so it's never sent again but always kept as conflict,
+   * also if its booking is waiting for the response.
+   */
+  private void onEntryInUnknownState(
+      BookingJournalEntry entry,
+      VolleyError error,
+      Runnable onFinished
+  ) {
+    Booking booking = bookings.remove(entry.getIdempotencyKey());
+    if (booking != null) {
+      booking.onErrorListener.onError(error);
+    }
+    dao.updateState(
+        entry.getId(),
+        BookingJournalEntry.STATE_CONFLICT,
+        application.getString(R.string.error_journal_unknown_state)
+    ).subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .doFinally(onFinished::run)
+        .onErrorComplete()
+        .subscribe();
+  }
+
+  private void deleteEntry(BookingJournalEntry entry, Runnable onFinished) {
+    dao.deleteEntry(entry.getId())
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .doFinally(onFinished::run)
+        .onErrorComplete()
+        .subscribe();
+  }
+
+  private void finishReplay(boolean isServerReachable) {
+    isReplaying = false;
+    if (isReplayRequested && isServerReachable) {
+      // waiting bookings are sent by the next replay
+      isReplayRequested = false;
+      replay();
+      return;
+    }
+    isReplayRequested = false;
+    for (Booking booking : bookings.values()) {
+      booking.onStoredListener.run();
+    }
+    bookings.clear();
+    reportConflicts();
+  }
+
+  /**
+   * Passes all conflicts to the listener and removes them from the journal. Without listener,
+   * e.g. because the app is in background, they are kept for the next replay.
+   */
+  private void reportConflicts() {
+    if (onConflictsListener == null) {
+      return;
+    }
+    dao.getEntries(BookingJournalEntry.STATE_CONFLICT, Integer.MAX_VALUE)
+        .flatMap(entries -> {
+          List<Integer> ids = new ArrayList<>();
+          for (BookingJournalEntry entry : entries) {
+            ids.add(entry.getId());
+          }
+          return entries.isEmpty() ? Single.just(entries)
+              : dao.deleteEntries(ids).map(count -> entries);
+        })
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .doOnSuccess(entries -> {
+          if (!entries.isEmpty() && onConflictsListener != null) {
+            onConflictsListener.onConflicts(entries);
+          }
+        })
+        .onErrorComplete()
+        .subscribe();
+  }
+
+  /**
+   * Errors where no connection to the server could be established, so it's safe to send the
+   * request again. Every error with a response or after the connection was established, e.g.
+   * a timeout, can happen after the booking was made.
+   */
+  private static boolean isNotSent(VolleyError error) {
+    if (error.networkResponse != null) {
+      return false;
+    }
+    Throwable cause = error.getCause();
+    return cause instanceof UnknownHostException || cause instanceof ConnectException
+        || cause instanceof NoRouteToHostException;
+  }
+
+  private String getErrorMessage(VolleyError error) {
+    if (error.networkResponse.data != null) {
+      try {
+        String data = new String(error.networkResponse.data, StandardCharsets.UTF_8);
+        return new JSONObject(data).getString("error_message");
+      } catch (JSONException ignored) {
+      }
+    }
+    return application.getString(
+        R.string.error_network_exact, String.valueOf(error.networkResponse.statusCode)
+    );
+  }
+
+  private static String getUrl(GrocyApi grocyApi, BookingJournalEntry entry) {
+    switch (entry.getType()) {
+      case BookingJournalEntry.TYPE_CONSUME:
+        return grocyApi.consumeProduct(entry.getProductId());
+      case BookingJournalEntry.TYPE_OPEN:
+        return grocyApi.openProduct(entry.getProductId());
+      case BookingJournalEntry.TYPE_TRANSFER:
+        return grocyApi.transferProduct(entry.getProductId());
+      case BookingJournalEntry.TYPE_INVENTORY:
+        return grocyApi.inventoryProduct(entry.getProductId());
+      default:
+        return grocyApi.getObjects(ENTITY.PRODUCT_BARCODES);
+    }
+  }
+}
@@ -0,0 +1,230 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.helper;
+
+import android.os.Handler;
+import android.os.Looper;
+import androidx.annotation.Nullable;
+import java.util.ArrayList;
+import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnMultiTypeErrorListener;
+import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnStringResponseListener;
+
+/**
+ * Process-wide watcher for changes on the server, shared by all screens which want to
+ * update automatically. Only one db-changed-time request is running at a time, no matter
+ * how many screens are subscribed, and subscribers are only notified if the time changed.
+ *
+ * The poll interval starts with the shortest interval of all subscribers and is doubled
+ * after every poll without changes, up to MAX_INTERVAL_MS or the shortest interval if it is
+ * longer. A change, an error or a call of requestPoll() resets it. If nothing is subscribed,
+ * e.g. because the screen is paused or turned off, the watcher doesn't poll at all.
+ *
+ * A subscriber which couldn't download the changes it was notified about has to call
+ * onUpdateFailed(), otherwise the next polls would see an unchanged time and never notify again.
+ *
+ * A PushSource can trigger polls immediately, so the interval can stay long if the server
+ * notifies about changes. All methods must be called on the main thread.
+ */
+public class ChangeWatcher {
+
+  private final static long FIRST_POLL_DELAY_MS = 2000;
+  private final static long MAX_INTERVAL_MS = 2 * 60 * 1000;
+
+  private static ChangeWatcher instance;
+
+  private final Handler handler;
+  private final Runnable pollRunnable;
+  private final ArrayList<Subscription> subscriptions;
+  private PushSource pushSource;
+  private String lastDbChangedTime;
+  private Subscription pollingSubscription;
+  private long currentIntervalMs;
+  private int pollGeneration;
+
+  public interface PushSource {
+    void start(Runnable onChanged);
+
+    void stop();
+  }
+
+  public static class Subscription {
+
+    private final DownloadHelper dlHelper;
+    private final long minIntervalMs;
+    private final OnStringResponseListener onChangedListener;
+    private final OnMultiTypeErrorListener onErrorListener;
+
+    private Subscription(
+        DownloadHelper dlHelper,
+        long minIntervalMs,
+        OnStringResponseListener onChangedListener,
+        OnMultiTypeErrorListener onErrorListener
+    ) {
+      this.dlHelper = dlHelper;
+      this.minIntervalMs = minIntervalMs;
+      this.onChangedListener = onChangedListener;
+      this.onErrorListener = onErrorListener;
+    }
+  }
+
+  private ChangeWatcher() {
+    handler = new Handler(Looper.getMainLooper());
+    pollRunnable = this::poll;
+    subscriptions = new ArrayList<>();
+  }
+
+  public static ChangeWatcher getInstance() {
+    if (instance == null) {
+      instance = new ChangeWatcher();
+    }
+    return instance;
+  }
+
+  /**
+   * Subscribes to changes of the db-changed-time. The listener receives the new time, which
+   * can be passed to DownloadHelper.updateData() so that it isn't requested a second time.
+   * The given DownloadHelper is used for polls as long as it is subscribed.
+   */
+  public Subscription subscribe(
+      DownloadHelper dlHelper,
+      int minIntervalSeconds,
+      OnStringResponseListener onChangedListener,
+      OnMultiTypeErrorListener onErrorListener
+  ) {
+    Subscription subscription = new Subscription(
+        dlHelper, minIntervalSeconds * 1000L, onChangedListener, onErrorListener
+    );
+    subscriptions.add(subscription);
+    if (subscriptions.size() == 1 && pushSource != null) {
+      pushSource.start(this::requestPoll);
+    }
+    currentIntervalMs = getMinIntervalMs();
+    if (pollingSubscription == null) {
+      handler.removeCallbacks(pollRunnable);
+      handler.postDelayed(pollRunnable, Math.min(FIRST_POLL_DELAY_MS, currentIntervalMs));
+    }
+    return subscription;
+  }
+
+  public void unsubscribe(@Nullable Subscription subscription) {
+    if (subscription == null || !subscriptions.remove(subscription)) {
+      return;
+    }
+    if (subscriptions.isEmpty()) {
+      handler.removeCallbacks(pollRunnable);
+      pollingSubscription = null;
+      pollGeneration++;
+      if (pushSource != null) pushSource.stop();
+      return;
+    }
+    if (subscription == pollingSubscription) {
+      // callbacks of a destroyed helper never arrive, so the running poll is abandoned
+      pollingSubscription = null;
+      pollGeneration++;
+      schedulePoll();
+    }
+  }
+
+  public void setPushSource(@Nullable PushSource pushSource) {
+    if (this.pushSource != null && !subscriptions.isEmpty()) {
+      this.pushSource.stop();
+    }
+    this.pushSource = pushSource;
+    if (pushSource != null && !subscriptions.isEmpty()) {
+      pushSource.start(this::requestPoll);
+    }
+  }
+
+  /**
+   * Polls as soon as possible and resets the interval, e.g. after a push notification or
+   * after the user changed something.
+   */
+  public void requestPoll() {
+    if (subscriptions.isEmpty()) {
+      return;
+    }
+    currentIntervalMs = getMinIntervalMs();
+    if (pollingSubscription == null) {
+      handler.removeCallbacks(pollRunnable);
+      handler.post(pollRunnable);
+    }
+  }
+
+  /**
+   * Forgets the last db-changed-time after a subscriber failed to download the changes, so the
+   * next poll, which is scheduled with the shortest interval, notifies the subscribers again.
+   */
+  public void onUpdateFailed() {
+    lastDbChangedTime = null;
+    currentIntervalMs = getMinIntervalMs();
+    if (pollingSubscription == null) {
+      schedulePoll();
+    }
+  }
+
+  private void schedulePoll() {
+    handler.removeCallbacks(pollRunnable);
+    if (!subscriptions.isEmpty()) {
+      handler.postDelayed(pollRunnable, currentIntervalMs);
+    }
+  }
+
+  private void poll() {
+    if (subscriptions.isEmpty() || pollingSubscription != null) {
+      return;
+    }
+    Subscription subscription = subscriptions.get(0);
+    pollingSubscription = subscription;
+    int generation = ++pollGeneration;
+    subscription.dlHelper.getTimeDbChanged(time -> {
+      if (generation != pollGeneration) return;
+      pollingSubscription = null;
+      if (time.equals(lastDbChangedTime)) {
+        currentIntervalMs = Math.min(
+            currentIntervalMs * 2, Math.max(MAX_INTERVAL_MS, getMinIntervalMs())
+        );
+      } else {
+        lastDbChangedTime = time;
+        currentIntervalMs = getMinIntervalMs();
+        for (Subscription s : new ArrayList<>(subscriptions)) {
+          s.onChangedListener.onResponse(time);
+        }
+      }
+      schedulePoll();
+    }, error -> {
+      if (generation != pollGeneration) return;
+      pollingSubscription = null;
+      lastDbChangedTime = null;
+      currentIntervalMs = getMinIntervalMs();
+      for (Subscription s : new ArrayList<>(subscriptions)) {
+        s.onErrorListener.onError(error);
+      }
+      schedulePoll();
+    });
+  }
+
+  private long getMinIntervalMs() {
+    long minIntervalMs = Long.MAX_VALUE;
+    for (Subscription subscription : subscriptions) {
+      minIntervalMs = Math.min(minIntervalMs, subscription.minIntervalMs);
+    }
+    return minIntervalMs;
+  }
+}
@@ -28,8 +28,10 @@ import androidx.annotation.Nullable;
 import androidx.annotation.StringRes;
 import androidx.lifecycle.MutableLiveData;
 import androidx.preference.PreferenceManager;
+import com.android.volley.DefaultRetryPolicy;
 import com.android.volley.Request;
 import com.android.volley.RequestQueue;
+import com.android.volley.RetryPolicy;
 import com.android.volley.VolleyError;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -39,6 +41,8 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonParseException;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.UUID;
 import org.json.JSONArray;
@@ -82,8 +86,12 @@ import xyz.zedler.patrick.grocy.util.PrefsUtil;
 import xyz.zedler.patrick.grocy.web.CustomByteArrayRequest;
 import xyz.zedler.patrick.grocy.web.CustomJsonArrayRequest;
 import xyz.zedler.patrick.grocy.web.CustomJsonObjectRequest;
+import xyz.zedler.patrick.grocy.web.CustomStreamingArrayRequest;
+import xyz.zedler.patrick.grocy.web.CustomStreamingArrayRequest.BatchWriter;
 import xyz.zedler.patrick.grocy.web.CustomStringRequest;
+import xyz.zedler.patrick.grocy.web.HttpCache;
 import xyz.zedler.patrick.grocy.web.NetworkQueue;
+import xyz.zedler.patrick.grocy.web.NetworkQueue.OnItemFinishedListener;
 import xyz.zedler.patrick.grocy.web.NetworkQueue.OnQueueEmptyListener;
 import xyz.zedler.patrick.grocy.web.NetworkQueue.QueueItem;
 import xyz.zedler.patrick.grocy.web.RequestQueueSingleton;
@@ -103,11 +111,14 @@ public class DownloadHelper {
   public final AppDatabase appDatabase;
 
   private final ArrayList<NetworkQueue> queueArrayList;
+  private final HashSet<Class<?>> highPriorityTypes;
+  private OnItemFinishedListener onItemFinishedListener;
   public final String tag;
   private final String apiKey;
   public final boolean debug;
   private final int timeoutSeconds;
   private int loadingRequests;
+  private boolean isDestroyed;
 
   public DownloadHelper(
       Application application,
@@ -127,6 +138,7 @@ public class DownloadHelper {
     apiKey = sharedPrefs.getString(Constants.PREF.API_KEY, "");
     uuidHelper = UUID.randomUUID().toString();
     queueArrayList = new ArrayList<>();
+    highPriorityTypes = new HashSet<>();
     loadingRequests = 0;
     this.onLoadingListener = onLoadingListener;
     this.offlineLive = offlineLive;
@@ -155,6 +167,7 @@ public class DownloadHelper {
     this.apiKey = apiKey;
     uuidHelper = UUID.randomUUID().toString();
     queueArrayList = new ArrayList<>();
+    highPriorityTypes = new HashSet<>();
     loadingRequests = 0;
     this.onLoadingListener = onLoadingListener;
     this.offlineLive = null;
@@ -168,12 +181,21 @@ public class DownloadHelper {
     this(activity.getApplication(), tag, null, null);
   }
 
+  /**
+   * Retry policy for requests which must not be sent twice, e.g. bookings: Volley would resend
+   * them after a timeout although the first attempt could already have reached the server.
+   */
+  public RetryPolicy getSingleAttemptRetryPolicy() {
+    return new DefaultRetryPolicy(timeoutSeconds * 1000, 0, 1f);
+  }
+
   public DownloadHelper(Context context, String tag) {
     this((Application) context.getApplicationContext(), tag, null, null);
   }
 
   // cancel all requests
   public void destroy() {
+    isDestroyed = true;
     for (NetworkQueue queue : queueArrayList) {
       queue.reset(true);
     }
@@ -184,6 +206,17 @@ public class DownloadHelper {
     return uuidHelper;
   }
 
+  // types which are needed first by the current screen are downloaded before all others
+  public void setHighPriorityTypes(Class<?>... types) {
+    highPriorityTypes.clear();
+    highPriorityTypes.addAll(Arrays.asList(types));
+  }
+
+  // called in updateData() as soon as an entity is downloaded and stored in the database
+  public void setOnItemFinishedListener(@Nullable OnItemFinishedListener listener) {
+    onItemFinishedListener = listener;
+  }
+
   public void get(
       String url,
       String tag,
@@ -239,6 +272,30 @@ public class DownloadHelper {
     get(url, uuidHelper, onResponse, onError);
   }
 
+  // GET requests which may be answered from the HTTP cache for the given time
+  public void getCached(
+      String url,
+      String tag,
+      long cacheTtlMillis,
+      OnStringResponseListener onResponse,
+      OnErrorListener onError
+  ) {
+    String sessionKey = sharedPrefs
+        .getString(Constants.PREF.HOME_ASSISTANT_INGRESS_SESSION_KEY, null);
+    CustomStringRequest request = new CustomStringRequest(
+        Request.Method.GET,
+        url,
+        apiKey,
+        sessionKey,
+        onResponse::onResponse,
+        onError::onError,
+        timeoutSeconds,
+        tag
+    );
+    request.setCacheTtlMillis(cacheTtlMillis);
+    requestQueue.add(request);
+  }
+
   // GET requests with modified user-agent
   public void get(
       String url,
@@ -262,11 +319,47 @@ public class DownloadHelper {
     requestQueue.add(request);
   }
 
+  // for large object lists which are decoded and written to the database in batches
+  public <T> void getObjectsStreaming(
+      String url,
+      String tag,
+      Type objectType,
+      BatchWriter<T> batchWriter,
+      OnIntegerResponseListener onResponse,
+      OnErrorListener onError
+  ) {
+    String sessionKey = sharedPrefs
+        .getString(Constants.PREF.HOME_ASSISTANT_INGRESS_SESSION_KEY, null);
+    CustomStreamingArrayRequest<T> request = new CustomStreamingArrayRequest<>(
+        url,
+        apiKey,
+        sessionKey,
+        gson,
+        objectType,
+        batchWriter,
+        onResponse::onResponse,
+        onError::onError,
+        timeoutSeconds,
+        tag
+    );
+    requestQueue.add(request);
+  }
+
   public void post(
       String url,
       JSONObject json,
       OnJSONResponseListener onResponse,
       OnErrorListener onError
+  ) {
+    post(url, json, onResponse, onError, null);
+  }
+
+  public void post(
+      String url,
+      JSONObject json,
+      OnJSONResponseListener onResponse,
+      OnErrorListener onError,
+      @Nullable RetryPolicy retryPolicy
   ) {
     String sessionKey = sharedPrefs
         .getString(Constants.PREF.HOME_ASSISTANT_INGRESS_SESSION_KEY, null);
@@ -276,11 +369,17 @@ public class DownloadHelper {
         apiKey,
         sessionKey,
         json,
-        onResponse::onResponse,
+        response -> {
+          HttpCache.clear(requestQueue);
+          onResponse.onResponse(response);
+        },
         onError::onError,
         timeoutSeconds,
         uuidHelper
     );
+    if (retryPolicy != null) {
+      request.setRetryPolicy(retryPolicy);
+    }
     requestQueue.add(request);
   }
 
@@ -289,6 +388,16 @@ public class DownloadHelper {
       JSONObject json,
       OnJSONArrayResponseListener onResponse,
       OnErrorListener onError
+  ) {
+    postWithArray(url, json, onResponse, onError, null);
+  }
+
+  public void postWithArray(
+      String url,
+      JSONObject json,
+      OnJSONArrayResponseListener onResponse,
+      OnErrorListener onError,
+      @Nullable RetryPolicy retryPolicy
   ) {
     String sessionKey = sharedPrefs
         .getString(Constants.PREF.HOME_ASSISTANT_INGRESS_SESSION_KEY, null);
@@ -298,11 +407,17 @@ public class DownloadHelper {
         apiKey,
         sessionKey,
         json,
-        onResponse::onResponse,
+        response -> {
+          HttpCache.clear(requestQueue);
+          onResponse.onResponse(response);
+        },
         onError::onError,
         timeoutSeconds,
         uuidHelper
     );
+    if (retryPolicy != null) {
+      request.setRetryPolicy(retryPolicy);
+    }
     requestQueue.add(request);
   }
 
@@ -314,7 +429,10 @@ public class DownloadHelper {
         url,
         apiKey,
         sessionKey,
-        onResponse::onResponse,
+        response -> {
+          HttpCache.clear(requestQueue);
+          onResponse.onResponse(response);
+        },
         onError::onError,
         timeoutSeconds,
         uuidHelper
@@ -336,7 +454,10 @@ public class DownloadHelper {
         apiKey,
         sessionKey,
         json,
-        onResponse::onResponse,
+        response -> {
+          HttpCache.clear(requestQueue);
+          onResponse.onResponse(response);
+        },
         onError::onError,
         timeoutSeconds,
         uuidHelper
@@ -358,7 +479,10 @@ public class DownloadHelper {
         apiKey,
         sessionKey,
         fileContent,
-        onSuccess,
+        () -> {
+          HttpCache.clear(requestQueue);
+          onSuccess.run();
+        },
         onError::onError,
         timeoutSeconds,
         uuidHelper
@@ -379,7 +503,10 @@ public class DownloadHelper {
         url,
         apiKey,
         sessionKey,
-        onResponse::onResponse,
+        response -> {
+          HttpCache.clear(requestQueue);
+          onResponse.onResponse(response);
+        },
         onError::onError,
         timeoutSeconds,
         tag
@@ -399,20 +526,36 @@ public class DownloadHelper {
       OnStringResponseListener onResponseListener,
       OnMultiTypeErrorListener onErrorListener
   ) {
+    String url = grocyApi.getDbChangedTime();
+    SyncCoordinator syncCoordinator = SyncCoordinator.getInstance();
+    boolean isAlreadyRequested = syncCoordinator.joinDbChangedTimeRequest(
+        url,
+        time -> {
+          // shared request is not cancelled with this helper
+          if (!isDestroyed) onResponseListener.onResponse(time);
+        },
+        error -> {
+          if (!isDestroyed) onErrorListener.onError(error);
+        }
+    );
+    if (isAlreadyRequested) {
+      return;
+    }
     get(
-        grocyApi.getDbChangedTime(),
-        uuidHelper,
+        url,
+        syncCoordinator.getUuid(),
         response -> {
           try {
             JSONObject body = new JSONObject(response);
             String dateStr = body.getString("changed_time");
-            onResponseListener.onResponse(dateStr);
+            HttpCache.onDbChangedTime(requestQueue, sharedPrefs, dateStr);
+            syncCoordinator.onDbChangedTimeResponse(url, dateStr);
           } catch (JSONException e) {
             Log.e(tag, "getTimeDbChanged: " + e);
-            onErrorListener.onError(e);
+            syncCoordinator.onDbChangedTimeError(url, e);
           }
         },
-        onErrorListener::onError,
+        error -> syncCoordinator.onDbChangedTimeError(url, error),
         !sharedPrefs.getBoolean(
             Constants.SETTINGS.NETWORK.LOADING_CIRCLE,
             Constants.SETTINGS_DEFAULT.NETWORK.LOADING_CIRCLE
@@ -498,71 +641,87 @@ public class DownloadHelper {
       }
       errorListener.onError(error);
     });
+    queue.setOnItemFinishedListener(onItemFinishedListener);
 
     for (Class<?> type : types) {
+      QueueItem queueItem = null;
       if (type == Product.class) {
-        queue.append(Product.updateProducts(this, dbChangedTime, forceUpdate, null, false));
+        queueItem = Product.updateProducts(this, dbChangedTime, forceUpdate, null, false);
       } else if (type == ProductGroup.class) {
-        queue.append(ProductGroup.updateProductGroups(this, dbChangedTime, forceUpdate, null));
+        queueItem = ProductGroup.updateProductGroups(this, dbChangedTime, forceUpdate, null);
       } else if (type == QuantityUnit.class) {
-        queue.append(QuantityUnit.updateQuantityUnits(this, dbChangedTime, forceUpdate, null));
+        queueItem = QuantityUnit.updateQuantityUnits(this, dbChangedTime, forceUpdate, null);
       } else if (type == QuantityUnitConversion.class) {
-        queue.append(QuantityUnitConversion.updateQuantityUnitConversions(this, dbChangedTime, forceUpdate, null));
+        queueItem = QuantityUnitConversion.updateQuantityUnitConversions(this, dbChangedTime, forceUpdate, null);
       } else if (type == QuantityUnitConversionResolved.class) {
-        queue.append(QuantityUnitConversionResolved.updateQuantityUnitConversions(this, dbChangedTime, forceUpdate, false, null));
+        queueItem = QuantityUnitConversionResolved.updateQuantityUnitConversions(this, dbChangedTime, forceUpdate, false, null);
       } else if (type == Location.class) {
-        queue.append(Location.updateLocations(this, dbChangedTime, forceUpdate, null));
+        queueItem = Location.updateLocations(this, dbChangedTime, forceUpdate, null);
       } else if (type == StockLocation.class) {
-        queue.append(StockLocation.updateStockCurrentLocations(this, dbChangedTime, forceUpdate, null));
+        queueItem = StockLocation.updateStockCurrentLocations(this, dbChangedTime, forceUpdate, null);
       } else if (type == ProductLastPurchased.class) {
-        queue.append(ProductLastPurchased.updateProductsLastPurchased(this, dbChangedTime, forceUpdate, null, true));
+        queueItem = ProductLastPurchased.updateProductsLastPurchased(this, dbChangedTime, forceUpdate, null, true);
       } else if (type == ProductAveragePrice.class) {
-        queue.append(ProductAveragePrice.updateProductsAveragePrice(this, dbChangedTime, forceUpdate, null, true));
+        queueItem = ProductAveragePrice.updateProductsAveragePrice(this, dbChangedTime, forceUpdate, null, true);
       } else if (type == ProductBarcode.class) {
-        queue.append(ProductBarcode.updateProductBarcodes(this, dbChangedTime, forceUpdate, null));
+        queueItem = ProductBarcode.updateProductBarcodes(this, dbChangedTime, forceUpdate, null);
       } else if (type == User.class) {
-        queue.append(User.updateUsers(this, dbChangedTime, forceUpdate, null));
+        queueItem = User.updateUsers(this, dbChangedTime, forceUpdate, null);
       } else if (type == StockItem.class) {
-        queue.append(StockItem.updateStockItems(this, dbChangedTime, forceUpdate, null));
+        queueItem = StockItem.updateStockItems(this, dbChangedTime, forceUpdate, null);
       } else if (type == StockEntry.class) {
-        queue.append(StockEntry.updateStockEntries(this, dbChangedTime, forceUpdate, null));
+        queueItem = StockEntry.updateStockEntries(this, dbChangedTime, forceUpdate, null);
       } else if (type == VolatileItem.class) {
-        queue.append(VolatileItem.updateVolatile(this, dbChangedTime, forceUpdate, null));
+        queueItem = VolatileItem.updateVolatile(this, dbChangedTime, forceUpdate, null);
       } else if (type == MissingItem.class) {
-        queue.append(MissingItem.updateMissingItems(this, dbChangedTime, forceUpdate, null));
+        queueItem = MissingItem.updateMissingItems(this, dbChangedTime, forceUpdate, null);
       } else if (type == ShoppingListItem.class) {
-        queue.append(ShoppingListItem.updateShoppingListItems(this, dbChangedTime, forceUpdate,
-            null));
+        queueItem = ShoppingListItem.updateShoppingListItems(this, dbChangedTime, forceUpdate,
+            null);
       } else if (type == ShoppingListItemWithSync.class) {
-        queue.append(ShoppingListItem.updateShoppingListItemsWithoutNotSyncedItems(this, dbChangedTime, forceUpdate,
-            null));
+        queueItem = ShoppingListItem.updateShoppingListItemsWithoutNotSyncedItems(this, dbChangedTime, forceUpdate,
+            null);
       } else if (type == ShoppingList.class) {
-        queue.append(ShoppingList.updateShoppingLists(this, dbChangedTime, forceUpdate, null));
+        queueItem = ShoppingList.updateShoppingLists(this, dbChangedTime, forceUpdate, null);
       } else if (type == Store.class) {
-        queue.append(Store.updateStores(this, dbChangedTime, forceUpdate, null));
+        queueItem = Store.updateStores(this, dbChangedTime, forceUpdate, null);
       } else if (type == Task.class) {
-        queue.append(Task.updateTasks(this, dbChangedTime, forceUpdate, null));
+        queueItem = Task.updateTasks(this, dbChangedTime, forceUpdate, null);
       } else if (type == TaskCategory.class) {
-        queue.append(TaskCategory.updateTaskCategories(this, dbChangedTime, forceUpdate, null));
+        queueItem = TaskCategory.updateTaskCategories(this, dbChangedTime, forceUpdate, null);
       } else if (type == Chore.class) {
-        queue.append(Chore.updateChores(this, dbChangedTime, forceUpdate, null));
+        queueItem = Chore.updateChores(this, dbChangedTime, forceUpdate, null);
       } else if (type == ChoreEntry.class) {
-        queue.append(ChoreEntry.updateChoreEntries(this, dbChangedTime, forceUpdate, null));
+        queueItem = ChoreEntry.updateChoreEntries(this, dbChangedTime, forceUpdate, null);
       } else if (type == Recipe.class) {
-        queue.append(Recipe.updateRecipes(this, dbChangedTime, forceUpdate, null));
+        queueItem = Recipe.updateRecipes(this, dbChangedTime, forceUpdate, null);
       } else if (type == RecipeFulfillment.class) {
-        queue.append(RecipeFulfillment.updateRecipeFulfillments(this, dbChangedTime, forceUpdate, null));
+        queueItem = RecipeFulfillment.updateRecipeFulfillments(this, dbChangedTime, forceUpdate, null);
       } else if (type == RecipePosition.class) {
-        queue.append(RecipePosition.updateRecipePositions(this, dbChangedTime, forceUpdate, null));
+        queueItem = RecipePosition.updateRecipePositions(this, dbChangedTime, forceUpdate, null);
       } else if (type == RecipePositionResolved.class) {
-        queue.append(RecipePositionResolved.updateRecipePositionsResolved(this, dbChangedTime, forceUpdate, null));
+        queueItem = RecipePositionResolved.updateRecipePositionsResolved(this, dbChangedTime, forceUpdate, null);
       } else if (type == Userfield.class) {
-        queue.append(Userfield.updateUserfields(this, dbChangedTime, forceUpdate, null));
+        queueItem = Userfield.updateUserfields(this, dbChangedTime, forceUpdate, null);
       } else if (type == MealPlanEntry.class) {
-        queue.append(MealPlanEntry.updateMealPlanEntries(this, dbChangedTime, null));
+        queueItem = MealPlanEntry.updateMealPlanEntries(this, dbChangedTime, null);
       } else if (type == MealPlanSection.class) {
-        queue.append(MealPlanSection.updateMealPlanSections(this, dbChangedTime, null));
+        queueItem = MealPlanSection.updateMealPlanSections(this, dbChangedTime, null);
       }
+      // joins the download of another DownloadHelper if it is already running
+      queueItem = SyncCoordinator.getInstance().shareQueueItem(type, dbChangedTime, queueItem);
+      if (queueItem == null) {
+        continue;
+      }
+      queueItem.setType(type);
+      if (type == QuantityUnitConversionResolved.class) {
+        // conversions are displayed for products, so they are useless without them
+        queueItem.setDependencies(Product.class, QuantityUnitConversion.class);
+      }
+      if (highPriorityTypes.contains(type)) {
+        queueItem.setPriority(NetworkQueue.PRIORITY_HIGH);
+      }
+      queue.append(queueItem);
     }
 
     queue.append(extraQueueItem);
@@ -629,4 +788,32 @@ public class DownloadHelper {
       }
     }
   }
+
+  /**
+   * For typed model fields (via @JsonAdapter) which the server may send as empty string or
+   * number string. Invalid values become null, so the parsing is done only once at ingest.
+   */
+  public static class NullableIntegerDeserializer implements JsonDeserializer<Integer> {
+    @Override
+    public Integer deserialize(
+        JsonElement element,
+        Type type,
+        JsonDeserializationContext context
+    ) throws JsonParseException {
+      String value = element.isJsonPrimitive() ? element.getAsString() : null;
+      return NumUtil.isStringInt(value) ? Integer.valueOf(value) : null;
+    }
+  }
+
+  public static class NullableDoubleDeserializer implements JsonDeserializer<Double> {
+    @Override
+    public Double deserialize(
+        JsonElement element,
+        Type type,
+        JsonDeserializationContext context
+    ) throws JsonParseException {
+      String value = element.isJsonPrimitive() ? element.getAsString() : null;
+      return NumUtil.isStringDouble(value) ? NumUtil.toDouble(value) : null;
+    }
+  }
 }
@@ -0,0 +1,104 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.helper;
+
+import android.os.Handler;
+import android.os.Looper;
+import androidx.recyclerview.widget.DiffUtil;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import xyz.zedler.patrick.grocy.model.GroupedListItem;
+
+/**
+ * Groups, sorts and diffs the items of a grouped list adapter on a background thread.
+ * Only the result of the latest submitted calculation is delivered (on the main thread);
+ * calculations which are superseded by a newer one are skipped or their result is dropped.
+ *
+ * The calculation reads the current adapter state to diff against it. This is safe because
+ * adapter state is only changed in the result listener, which is never called while a newer
+ * calculation is pending.
+ */
+public class GroupedListDiffer {
+
+  private static final ExecutorService executor = Executors.newSingleThreadExecutor();
+  private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+  private final AtomicInteger generation;
+
+  public GroupedListDiffer() {
+    generation = new AtomicInteger();
+  }
+
+  public void submit(Calculation calculation, OnResultListener onResultListener) {
+    int runGeneration = generation.incrementAndGet();
+    executor.execute(() -> {
+      if (runGeneration != generation.get()) return;
+      Result result;
+      try {
+        result = calculation.calculate();
+      } catch (RuntimeException e) {
+        // rethrow on main thread like before, instead of silently losing the update
+        mainHandler.post(() -> {
+          throw e;
+        });
+        return;
+      }
+      mainHandler.post(() -> {
+        if (runGeneration != generation.get()) return;
+        onResultListener.onResult(result);
+      });
+    });
+  }
+
+  public void cancel() {
+    generation.incrementAndGet();
+  }
+
+  public static class Result {
+
+    private final List<GroupedListItem> groupedListItems;
+    private final DiffUtil.DiffResult diffResult;
+
+    public Result(List<GroupedListItem> groupedListItems, DiffUtil.DiffResult diffResult) {
+      this.groupedListItems = groupedListItems;
+      this.diffResult = diffResult;
+    }
+
+    public List<GroupedListItem> getGroupedListItems() {
+      return groupedListItems;
+    }
+
+    public DiffUtil.DiffResult getDiffResult() {
+      return diffResult;
+    }
+  }
+
+  public interface Calculation {
+
+    Result calculate();
+  }
+
+  public interface OnResultListener {
+
+    void onResult(Result result);
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.helper;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.ListPreloader;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.util.FixedPreloadSizeProvider;
+import java.util.Collections;
+import java.util.List;
+import xyz.zedler.patrick.grocy.util.PictureUtil;
+
+/**
+ * Loads the pictures of the next rows in scroll direction into the cache before they become
+ * visible. The size has to match the picture view in the rows, otherwise the preloaded
+ * thumbnails can't be reused.
+ */
+public class PicturePreloader extends RecyclerView.OnScrollListener {
+
+  private final ListPreloader<String> listPreloader;
+
+  public PicturePreloader(
+      Context context,
+      PictureUrlProvider pictureUrlProvider,
+      int pictureSizePx,
+      int maxPreload
+  ) {
+    listPreloader = new ListPreloader<>(
+        Glide.with(context),
+        new ListPreloader.PreloadModelProvider<>() {
+          @NonNull
+          @Override
+          public List<String> getPreloadItems(int position) {
+            String pictureUrl = pictureUrlProvider.getPictureUrl(position);
+            if (pictureUrl == null) return Collections.emptyList();
+            return Collections.singletonList(pictureUrl);
+          }
+
+          @Nullable
+          @Override
+          public RequestBuilder<?> getPreloadRequestBuilder(@NonNull String pictureUrl) {
+            return PictureUtil.getPictureRequest(context, pictureUrl);
+          }
+        },
+        new FixedPreloadSizeProvider<>(pictureSizePx, pictureSizePx),
+        maxPreload
+    );
+  }
+
+  @Override
+  public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+    if (!(recyclerView.getLayoutManager() instanceof LinearLayoutManager)
+        || recyclerView.getAdapter() == null) {
+      return;
+    }
+    LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+    int firstVisible = layoutManager.findFirstVisibleItemPosition();
+    int lastVisible = layoutManager.findLastVisibleItemPosition();
+    if (firstVisible == RecyclerView.NO_POSITION) return;
+    listPreloader.onScroll(
+        null,
+        firstVisible,
+        lastVisible - firstVisible + 1,
+        recyclerView.getAdapter().getItemCount()
+    );
+  }
+
+  public interface PictureUrlProvider {
+
+    @Nullable
+    String getPictureUrl(int position);
+  }
+}
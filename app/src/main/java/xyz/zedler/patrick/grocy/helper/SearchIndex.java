@@ -0,0 +1,241 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.helper;
+
+import android.util.Log;
+import androidx.annotation.Nullable;
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.functions.Consumer;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import me.xdrop.fuzzywuzzy.FuzzySearch;
+
+/**
+ * Search index for lists of named objects, built once per database load.
+ * Names are normalized once; trigram postings answer substring queries and limit fuzzy matching
+ * to objects which share a minimum part of the trigrams of the query, so the expensive scorer
+ * only runs for a few candidates. Additional exact keys (e.g. barcodes) can be added.
+ *
+ * Keys have to be added before the index is shared; after that it is only read and can be
+ * queried from any thread.
+ */
+public class SearchIndex<T> {
+
+  public static final long DEBOUNCE_DELAY = 150; // milliseconds
+
+  private static final String TAG = SearchIndex.class.getSimpleName();
+  private static final int GRAM_LENGTH = 3;
+  // share of the query trigrams a name needs for fuzzy scoring, one typo breaks up to three
+  private static final double MIN_GRAM_OVERLAP = 0.25;
+
+  private final List<T> items;
+  private final String[] names;
+  private final HashMap<String, ArrayList<Integer>> gramPostings;
+  private final HashMap<String, T> keyHashMap;
+
+  public SearchIndex(List<? extends T> items, NameGetter<T> nameGetter) {
+    this.items = new ArrayList<>(items);
+    names = new String[this.items.size()];
+    gramPostings = new HashMap<>();
+    keyHashMap = new HashMap<>();
+
+    for (int i = 0; i < names.length; i++) {
+      String name = normalize(nameGetter.getName(this.items.get(i)));
+      names[i] = name;
+      for (String gram : getGrams(name)) {
+        addPosting(gramPostings, gram, i);
+      }
+    }
+  }
+
+  public void addKey(@Nullable String key, T item) {
+    if (key == null || key.isEmpty()) return;
+    keyHashMap.put(normalize(key), item);
+  }
+
+  @Nullable
+  public T getByKey(@Nullable String key) {
+    if (key == null || key.isEmpty()) return null;
+    return keyHashMap.get(normalize(key));
+  }
+
+  /**
+   * Returns all objects whose name contains the query, in the order of the original list.
+   */
+  public List<T> searchContaining(String query) {
+    String normalizedQuery = normalize(query);
+    List<T> results = new ArrayList<>();
+    if (normalizedQuery.isEmpty()) return results;
+
+    if (normalizedQuery.length() < GRAM_LENGTH) {
+      for (int i = 0; i < names.length; i++) {
+        if (names[i].contains(normalizedQuery)) results.add(items.get(i));
+      }
+      return results;
+    }
+    // every match contains all grams of the query, so the shortest posting list is enough
+    ArrayList<Integer> candidates = null;
+    for (String gram : getGrams(normalizedQuery)) {
+      ArrayList<Integer> postings = gramPostings.get(gram);
+      if (postings == null) return results;
+      if (candidates == null || postings.size() < candidates.size()) candidates = postings;
+    }
+    if (candidates == null) return results;
+    for (int index : candidates) {
+      if (names[index].contains(normalizedQuery)) results.add(items.get(index));
+    }
+    return results;
+  }
+
+  /**
+   * Fuzzy search with the same scorer as FuzzySearch.extractSorted() (weighted ratio).
+   * Returns the objects with a score of at least the cutoff, best match first.
+   * Only objects with a trigram overlap of at least MIN_GRAM_OVERLAP with the query are scored,
+   * queries shorter than a trigram only score objects containing all of their characters.
+   */
+  public List<T> search(String query, int cutoff) {
+    String normalizedQuery = normalize(query);
+    List<T> results = new ArrayList<>();
+    if (normalizedQuery.isEmpty()) return results;
+
+    ArrayList<int[]> scoredIndices = new ArrayList<>();
+    for (int i : getCandidates(normalizedQuery)) {
+      int score = FuzzySearch.weightedRatio(normalizedQuery, names[i]);
+      if (score >= cutoff) scoredIndices.add(new int[]{i, score});
+    }
+    Collections.sort(scoredIndices, (a, b) -> Integer.compare(b[1], a[1]));
+    for (int[] scoredIndex : scoredIndices) {
+      results.add(items.get(scoredIndex[0]));
+    }
+    return results;
+  }
+
+  private List<Integer> getCandidates(String normalizedQuery) {
+    List<Integer> candidates = new ArrayList<>();
+    if (normalizedQuery.length() < GRAM_LENGTH) {
+      HashSet<Character> chars = getChars(normalizedQuery);
+      for (int i = 0; i < names.length; i++) {
+        if (containsAll(names[i], chars)) candidates.add(i);
+      }
+      return candidates;
+    }
+
+    HashSet<String> grams = getGrams(normalizedQuery);
+    int minOverlap = Math.max(1, (int) Math.ceil(grams.size() * MIN_GRAM_OVERLAP));
+    int[] overlaps = new int[names.length];
+    for (String gram : grams) {
+      ArrayList<Integer> postings = gramPostings.get(gram);
+      if (postings == null) continue;
+      for (int index : postings) {
+        if (++overlaps[index] == minOverlap) candidates.add(index);
+      }
+    }
+    // equal scores keep the order of the original list
+    Collections.sort(candidates);
+    return candidates;
+  }
+
+  /**
+   * Runs search() after the debounce delay on a background thread and delivers the result on
+   * the main thread. The returned Disposable has to be disposed when a newer query arrives.
+   */
+  public Disposable searchDelayed(
+      String query,
+      int cutoff,
+      boolean debug,
+      Consumer<List<T>> onResult
+  ) {
+    return Single.timer(DEBOUNCE_DELAY, TimeUnit.MILLISECONDS, Schedulers.computation())
+        .map(tick -> search(query, cutoff))
+        .observeOn(AndroidSchedulers.mainThread())
+        .subscribe(onResult, throwable -> {
+          if (debug) Log.e(TAG, "searchDelayed: " + throwable);
+        });
+  }
+
+  /**
+   * Builds an index on a background thread and delivers it on the main thread, as normalizing
+   * all names takes too long for the main thread with large databases.
+   */
+  public static <T> Disposable buildInBackground(
+      Callable<SearchIndex<T>> builder,
+      boolean debug,
+      Consumer<SearchIndex<T>> onBuilt
+  ) {
+    return Single.fromCallable(builder)
+        .subscribeOn(Schedulers.computation())
+        .observeOn(AndroidSchedulers.mainThread())
+        .subscribe(onBuilt, throwable -> {
+          if (debug) Log.e(TAG, "buildInBackground: " + throwable);
+        });
+  }
+
+  public static String normalize(@Nullable String text) {
+    if (text == null) return "";
+    String normalized = Normalizer.normalize(text.trim().toLowerCase(), Normalizer.Form.NFD);
+    return normalized.replaceAll("\\p{M}", "");
+  }
+
+  private static HashSet<String> getGrams(String name) {
+    HashSet<String> grams = new HashSet<>();
+    for (int i = 0; i + GRAM_LENGTH <= name.length(); i++) {
+      grams.add(name.substring(i, i + GRAM_LENGTH));
+    }
+    return grams;
+  }
+
+  private static HashSet<Character> getChars(String name) {
+    HashSet<Character> chars = new HashSet<>();
+    for (int i = 0; i < name.length(); i++) {
+      if (!Character.isWhitespace(name.charAt(i))) chars.add(name.charAt(i));
+    }
+    return chars;
+  }
+
+  private static boolean containsAll(String name, HashSet<Character> chars) {
+    for (char c : chars) {
+      if (name.indexOf(c) == -1) return false;
+    }
+    return true;
+  }
+
+  private static <K> void addPosting(HashMap<K, ArrayList<Integer>> postings, K key, int index) {
+    ArrayList<Integer> list = postings.get(key);
+    if (list == null) {
+      list = new ArrayList<>();
+      postings.put(key, list);
+    }
+    list.add(index);
+  }
+
+  public interface NameGetter<T> {
+
+    String getName(T item);
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.helper;
+
+import androidx.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.UUID;
+import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnMultiTypeErrorListener;
+import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnStringResponseListener;
+import xyz.zedler.patrick.grocy.web.NetworkQueue.QueueItem;
+import xyz.zedler.patrick.grocy.web.NetworkQueue.QueueItemWithoutLoading;
+
+/**
+ * Process-wide coordinator for DownloadHelper.updateData() calls of all ViewModels.
+ * Concurrent requests for the db-changed-time and concurrent downloads of the same entity
+ * for the same db-changed-time share one network request and one database write; every
+ * caller is notified when the shared request is finished.
+ *
+ * Shared requests are tagged with the UUID of this coordinator instead of the UUID of the
+ * calling DownloadHelper, so they are not cancelled if only one of the callers is destroyed.
+ * All methods must be called on the main thread, like all Volley callbacks.
+ */
+public class SyncCoordinator {
+
+  private static SyncCoordinator instance;
+
+  private final String uuid;
+  private final HashMap<String, ArrayList<Listeners>> inFlightItems;
+  private final HashMap<String, ArrayList<Listeners>> inFlightDbChangedTimes;
+
+  private SyncCoordinator() {
+    uuid = UUID.randomUUID().toString();
+    inFlightItems = new HashMap<>();
+    inFlightDbChangedTimes = new HashMap<>();
+  }
+
+  public static SyncCoordinator getInstance() {
+    if (instance == null) {
+      instance = new SyncCoordinator();
+    }
+    return instance;
+  }
+
+  public String getUuid() {
+    return uuid;
+  }
+
+  /**
+   * Returns true if a request for the db-changed-time of this server is already running.
+   * In this case the listeners are notified with its result and no new request is needed.
+   * Otherwise the caller has to start the request and report its result with
+   * onDbChangedTimeResponse() or onDbChangedTimeError().
+   */
+  public boolean joinDbChangedTimeRequest(
+      String url,
+      OnStringResponseListener onResponseListener,
+      OnMultiTypeErrorListener onErrorListener
+  ) {
+    ArrayList<Listeners> waiting = inFlightDbChangedTimes.get(url);
+    boolean isInFlight = waiting != null;
+    if (!isInFlight) {
+      waiting = new ArrayList<>();
+      inFlightDbChangedTimes.put(url, waiting);
+    }
+    waiting.add(new Listeners(onResponseListener, onErrorListener));
+    return isInFlight;
+  }
+
+  public void onDbChangedTimeResponse(String url, String dbChangedTime) {
+    ArrayList<Listeners> waiting = inFlightDbChangedTimes.remove(url);
+    if (waiting == null) return;
+    for (Listeners listeners : waiting) {
+      listeners.onResponse(dbChangedTime);
+    }
+  }
+
+  public void onDbChangedTimeError(String url, Object error) {
+    ArrayList<Listeners> waiting = inFlightDbChangedTimes.remove(url);
+    if (waiting == null) return;
+    for (Listeners listeners : waiting) {
+      listeners.onError(error);
+    }
+  }
+
+  /**
+   * Wraps an update QueueItem so that it joins a running download of the same entity
+   * for the same db-changed-time instead of starting a second one.
+   */
+  @Nullable
+  public QueueItem shareQueueItem(
+      Class<?> type,
+      String dbChangedTime,
+      @Nullable QueueItem queueItem
+  ) {
+    if (queueItem == null || queueItem instanceof QueueItemWithoutLoading) {
+      // nothing to download
+      return queueItem;
+    }
+    String key = type.getName() + "|" + dbChangedTime;
+    return new QueueItem() {
+      @Override
+      public void perform(
+          @Nullable OnStringResponseListener responseListener,
+          @Nullable OnMultiTypeErrorListener errorListener,
+          @Nullable String uuidQueue
+      ) {
+        ArrayList<Listeners> waiting = inFlightItems.get(key);
+        if (waiting != null) {
+          waiting.add(new Listeners(responseListener, errorListener));
+          return;
+        }
+        waiting = new ArrayList<>();
+        waiting.add(new Listeners(responseListener, errorListener));
+        inFlightItems.put(key, waiting);
+        queueItem.perform(response -> {
+          ArrayList<Listeners> finished = inFlightItems.remove(key);
+          if (finished == null) return;
+          for (Listeners listeners : finished) {
+            listeners.onResponse(response);
+          }
+        }, error -> {
+          ArrayList<Listeners> finished = inFlightItems.remove(key);
+          if (finished == null) return;
+          for (Listeners listeners : finished) {
+            listeners.onError(error);
+          }
+        }, uuid);
+      }
+    };
+  }
+
+  private static class Listeners {
+
+    private final OnStringResponseListener onResponseListener;
+    private final OnMultiTypeErrorListener onErrorListener;
+
+    Listeners(
+        @Nullable OnStringResponseListener onResponseListener,
+        @Nullable OnMultiTypeErrorListener onErrorListener
+    ) {
+      this.onResponseListener = onResponseListener;
+      this.onErrorListener = onErrorListener;
+    }
+
+    void onResponse(String response) {
+      if (onResponseListener != null) {
+        onResponseListener.onResponse(response);
+      }
+    }
+
+    void onError(Object error) {
+      if (onErrorListener != null) {
+        onErrorListener.onError(error);
+      }
+    }
+  }
+}
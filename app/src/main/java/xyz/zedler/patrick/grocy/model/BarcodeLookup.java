@@ -0,0 +1,96 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.model;
+
+import androidx.annotation.Nullable;
+import androidx.room.Embedded;
+
+/**
+ * Result of ProductBarcodeDao.getBarcodeLookup(): the barcode of a product on the server and
+ * the barcode of a pending product with the scanned code, each with its product.
+ * Embedded objects are null if the respective row doesn't exist.
+ */
+public class BarcodeLookup {
+
+  @Embedded(prefix = "b_")
+  private ProductBarcode productBarcode;
+
+  @Embedded(prefix = "p_")
+  private Product product;
+
+  @Embedded(prefix = "pb_")
+  private PendingProductBarcode pendingProductBarcode;
+
+  @Embedded(prefix = "pp_")
+  private PendingProduct pendingProduct;
+
+  /**
+   * Returns the barcode of a product on the server or, if no product has this code,
+   * the barcode of a pending product.
+   */
+  @Nullable
+  public ProductBarcode getBarcode() {
+    return productBarcode != null ? productBarcode : pendingProductBarcode;
+  }
+
+  /**
+   * Returns the product or pending product of the barcode returned by getBarcode().
+   */
+  @Nullable
+  public Product getBarcodeProduct() {
+    return productBarcode != null ? product : pendingProduct;
+  }
+
+  @Nullable
+  public ProductBarcode getProductBarcode() {
+    return productBarcode;
+  }
+
+  public void setProductBarcode(ProductBarcode productBarcode) {
+    this.productBarcode = productBarcode;
+  }
+
+  @Nullable
+  public Product getProduct() {
+    return product;
+  }
+
+  public void setProduct(Product product) {
+    this.product = product;
+  }
+
+  @Nullable
+  public PendingProductBarcode getPendingProductBarcode() {
+    return pendingProductBarcode;
+  }
+
+  public void setPendingProductBarcode(PendingProductBarcode pendingProductBarcode) {
+    this.pendingProductBarcode = pendingProductBarcode;
+  }
+
+  @Nullable
+  public PendingProduct getPendingProduct() {
+    return pendingProduct;
+  }
+
+  public void setPendingProduct(PendingProduct pendingProduct) {
+    this.pendingProduct = pendingProduct;
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.model;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+import java.util.UUID;
+import org.json.JSONObject;
+
+/**
+ * One stock booking in the write-ahead booking journal, stored before it is sent to the server.
+ * Entries are sent in the order of their id, and the idempotency key makes sure that an
+ * entry is stored and sent only once, even if the request is repeated.
+ */
+@Entity(
+    tableName = "booking_journal_table",
+    indices = {@Index(value = {"idempotency_key"}, unique = true)}
+)
+public class BookingJournalEntry {
+
+  public final static int TYPE_CONSUME = 0;
+  public final static int TYPE_OPEN = 1;
+  public final static int TYPE_TRANSFER = 2;
+  public final static int TYPE_INVENTORY = 3;
+  public final static int TYPE_PRODUCT_BARCODE = 4;
+
+  public final static int STATE_PENDING = 0;
+  public final static int STATE_SENDING = 1;
+  public final static int STATE_CONFLICT = 2;
+
+  @PrimaryKey(autoGenerate = true)
+  @ColumnInfo(name = "id")
+  private int id;
+
+  @NonNull
+  @ColumnInfo(name = "idempotency_key")
+  private String idempotencyKey;
+
+  @ColumnInfo(name = "type")
+  private int type;
+
+  @ColumnInfo(name = "product_id")
+  private int productId;
+
+  @ColumnInfo(name = "product_name")
+  private String productName;
+
+  @ColumnInfo(name = "body")
+  private String body;
+
+  @ColumnInfo(name = "state")
+  private int state;
+
+  @ColumnInfo(name = "error_message")
+  private String errorMessage;
+
+  public BookingJournalEntry() {
+    idempotencyKey = "";
+  }
+
+  @Ignore
+  public BookingJournalEntry(int type, Product product, JSONObject body) {
+    this.idempotencyKey = UUID.randomUUID().toString();
+    this.type = type;
+    this.productId = product.getId();
+    this.productName = product.getName();
+    this.body = body.toString();
+    this.state = STATE_PENDING;
+  }
+
+  public int getId() {
+    return id;
+  }
+
+  public void setId(int id) {
+    this.id = id;
+  }
+
+  @NonNull
+  public String getIdempotencyKey() {
+    return idempotencyKey;
+  }
+
+  public void setIdempotencyKey(@NonNull String idempotencyKey) {
+    this.idempotencyKey = idempotencyKey;
+  }
+
+  public int getType() {
+    return type;
+  }
+
+  public void setType(int type) {
+    this.type = type;
+  }
+
+  public int getProductId() {
+    return productId;
+  }
+
+  public void setProductId(int productId) {
+    this.productId = productId;
+  }
+
+  public String getProductName() {
+    return productName;
+  }
+
+  public void setProductName(String productName) {
+    this.productName = productName;
+  }
+
+  public String getBody() {
+    return body;
+  }
+
+  public void setBody(String body) {
+    this.body = body;
+  }
+
+  public int getState() {
+    return state;
+  }
+
+  public void setState(int state) {
+    this.state = state;
+  }
+
+  @Nullable
+  public String getErrorMessage() {
+    return errorMessage;
+  }
+
+  public void setErrorMessage(@Nullable String errorMessage) {
+    this.errorMessage = errorMessage;
+  }
+
+  @NonNull
+  @Override
+  public String toString() {
+    return "BookingJournalEntry(" + id + ", " + type + ", " + productName + ')';
+  }
+}
@@ -452,8 +452,7 @@ public class Chore implements Parcelable {
                   Log.i(dlHelper.tag, "download Chores: " + chores);
                 }
                 Single.fromCallable(() -> {
-                  dlHelper.appDatabase.choreDao().deleteChores().blockingSubscribe();
-                  dlHelper.appDatabase.choreDao().insertChores(chores).blockingSubscribe();
+                  dlHelper.appDatabase.replaceAll(dlHelper.appDatabase.choreDao(), chores);
                   dlHelper.sharedPrefs.edit()
                       .putString(PREF.DB_LAST_TIME_CHORES, dbChangedTime).apply();
                   return true;
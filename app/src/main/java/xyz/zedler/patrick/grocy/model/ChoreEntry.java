@@ -276,10 +276,9 @@ public class ChoreEntry implements Parcelable {
                   Log.i(dlHelper.tag, "download ChoreEntries: " + choreEntries);
                 }
                 Single.fromCallable(() -> {
-                  dlHelper.appDatabase.choreEntryDao()
-                      .deleteChoreEntries().blockingSubscribe();
-                  dlHelper.appDatabase.choreEntryDao()
-                      .insertChoreEntries(choreEntries).blockingSubscribe();
+                  dlHelper.appDatabase.replaceAll(
+                      dlHelper.appDatabase.choreEntryDao(), choreEntries
+                  );
                   dlHelper.sharedPrefs.edit()
                       .putString(PREF.DB_LAST_TIME_CHORE_ENTRIES, dbChangedTime).apply();
                   return true;
@@ -278,10 +278,7 @@ public class Location implements Parcelable {
                   Log.i(dlHelper.tag, "download Locations: " + locations);
                 }
                 Single.fromCallable(() -> {
-                  dlHelper.appDatabase.locationDao()
-                      .deleteLocations().blockingSubscribe();
-                  dlHelper.appDatabase.locationDao()
-                      .insertLocations(locations).blockingSubscribe();
+                  dlHelper.appDatabase.replaceAll(dlHelper.appDatabase.locationDao(), locations);
                   dlHelper.sharedPrefs.edit()
                       .putString(PREF.DB_LAST_TIME_LOCATIONS, dbChangedTime).apply();
                   return true;
@@ -27,6 +27,7 @@ import androidx.annotation.Nullable;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
@@ -46,7 +47,10 @@ import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnObjectsResponseListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnStringResponseListener;
 import xyz.zedler.patrick.grocy.web.NetworkQueue.QueueItem;
 
-@Entity(tableName = "meal_plan_entry_table")
+@Entity(
+    tableName = "meal_plan_entry_table",
+    indices = {@Index("day")}
+)
 public class MealPlanEntry extends GroupedListItem implements Parcelable {
 
   public final static String TYPE_RECIPE = "recipe";
@@ -317,10 +321,9 @@ public class MealPlanEntry extends GroupedListItem implements Parcelable {
                   Log.i(dlHelper.tag, "download MealPlanEntries: " + mealPlanEntries);
                 }
                 Single.fromCallable(() -> {
-                      dlHelper.appDatabase.mealPlanEntryDao()
-                          .deleteMealPlanEntries().blockingSubscribe();
-                      dlHelper.appDatabase.mealPlanEntryDao()
-                          .insertMealPlanEntries(mealPlanEntries).blockingSubscribe();
+                      dlHelper.appDatabase.replaceAll(
+                          dlHelper.appDatabase.mealPlanEntryDao(), mealPlanEntries
+                      );
                       dlHelper.sharedPrefs.edit()
                           .putString(PREF.DB_LAST_TIME_MEAL_PLAN_ENTRIES, dbChangedTime).apply();
                       return true;
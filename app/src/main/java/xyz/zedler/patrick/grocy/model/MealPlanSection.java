@@ -233,10 +233,9 @@ public class MealPlanSection extends GroupedListItem implements Parcelable {
                   Log.i(dlHelper.tag, "download MealPlanSections: " + mealPlanSections);
                 }
                 Single.fromCallable(() -> {
-                      dlHelper.appDatabase.mealPlanSectionDao()
-                          .deleteMealPlanSections().blockingSubscribe();
-                      dlHelper.appDatabase.mealPlanSectionDao()
-                          .insertMealPlanSections(mealPlanSections).blockingSubscribe();
+                      dlHelper.appDatabase.replaceAll(
+                          dlHelper.appDatabase.mealPlanSectionDao(), mealPlanSections
+                      );
                       dlHelper.sharedPrefs.edit()
                           .putString(PREF.DB_LAST_TIME_MEAL_PLAN_SECTIONS, dbChangedTime).apply();
                       return true;
@@ -27,6 +27,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Ignore;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
@@ -70,6 +71,14 @@ public class MissingItem implements Parcelable {
   public MissingItem() {
   }
 
+  @Ignore
+  public MissingItem(int id, String name, String amountMissing, String isPartlyInStock) {
+    this.id = id;
+    this.name = name;
+    this.amountMissing = amountMissing;
+    this.isPartlyInStock = isPartlyInStock;
+  }
+
   private MissingItem(Parcel parcel) {
     id = parcel.readInt();
     name = parcel.readString();
@@ -198,9 +207,9 @@ public class MissingItem implements Parcelable {
                 }
                 ArrayList<MissingItem> finalMissingItems = missingItems;
                 Single.fromCallable(() -> {
-                  dlHelper.appDatabase.missingItemDao().deleteMissingItems().blockingSubscribe();
-                  dlHelper.appDatabase.missingItemDao()
-                      .insertMissingItems(finalMissingItems).blockingSubscribe();
+                  dlHelper.appDatabase.replaceAll(
+                      dlHelper.appDatabase.missingItemDao(), finalMissingItems
+                  );
                   dlHelper.sharedPrefs.edit()
                       .putString(PREF.DB_LAST_TIME_VOLATILE_MISSING, dbChangedTime).apply();
                   return true;
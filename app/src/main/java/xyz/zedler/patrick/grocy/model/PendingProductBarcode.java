@@ -23,11 +23,15 @@ import androidx.annotation.NonNull;
 import androidx.lifecycle.LiveData;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import java.util.List;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 
-@Entity(tableName = "pending_product_barcode_table")
+@Entity(
+    tableName = "pending_product_barcode_table",
+    indices = {@Index("barcode"), @Index("pending_product_id")}
+)
 public class PendingProductBarcode extends ProductBarcode {
 
     @PrimaryKey(autoGenerate = true)
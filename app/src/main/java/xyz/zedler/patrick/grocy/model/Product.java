@@ -30,12 +30,11 @@ import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.Ignore;
 import androidx.room.PrimaryKey;
+import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
-import com.google.gson.reflect.TypeToken;
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
-import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -49,6 +48,8 @@ import xyz.zedler.patrick.grocy.Constants.SETTINGS_DEFAULT;
 import xyz.zedler.patrick.grocy.api.GrocyApi;
 import xyz.zedler.patrick.grocy.database.Converters;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
+import xyz.zedler.patrick.grocy.helper.DownloadHelper.NullableDoubleDeserializer;
+import xyz.zedler.patrick.grocy.helper.DownloadHelper.NullableIntegerDeserializer;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnMultiTypeErrorListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnObjectsResponseListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnStringResponseListener;
@@ -75,7 +76,8 @@ public class Product extends GroupedListItem implements Parcelable {
 
   @ColumnInfo(name = "product_group_id")
   @SerializedName("product_group_id")
-  private String productGroupId;
+  @JsonAdapter(NullableIntegerDeserializer.class)
+  private Integer productGroupId;
 
   @ColumnInfo(name = "active")
   @SerializedName("active")
@@ -83,7 +85,8 @@ public class Product extends GroupedListItem implements Parcelable {
 
   @ColumnInfo(name = "location_id")
   @SerializedName("location_id")
-  private String locationId;
+  @JsonAdapter(NullableIntegerDeserializer.class)
+  private Integer locationId;
 
   @ColumnInfo(name = "shopping_location_id")
   @SerializedName("shopping_location_id")
@@ -91,27 +94,33 @@ public class Product extends GroupedListItem implements Parcelable {
 
   @ColumnInfo(name = "qu_id_purchase")
   @SerializedName("qu_id_purchase")
-  private String quIdPurchase; // quantity unit
+  @JsonAdapter(NullableIntegerDeserializer.class)
+  private Integer quIdPurchase; // quantity unit
 
   @ColumnInfo(name = "qu_id_stock")
   @SerializedName("qu_id_stock")
-  private String quIdStock; // quantity unit
+  @JsonAdapter(NullableIntegerDeserializer.class)
+  private Integer quIdStock; // quantity unit
 
   @ColumnInfo(name = "qu_factor_purchase_to_stock")
   @SerializedName("qu_factor_purchase_to_stock")
-  private String quFactorPurchaseToStock; // quantity unit
+  @JsonAdapter(NullableDoubleDeserializer.class)
+  private Double quFactorPurchaseToStock; // quantity unit
 
   @ColumnInfo(name = "qu_id_consume")
   @SerializedName("qu_id_consume")
-  private String quIdConsume;
+  @JsonAdapter(NullableIntegerDeserializer.class)
+  private Integer quIdConsume;
 
   @ColumnInfo(name = "qu_id_price")
   @SerializedName("qu_id_price")
-  private String quIdPrice;
+  @JsonAdapter(NullableIntegerDeserializer.class)
+  private Integer quIdPrice;
 
   @ColumnInfo(name = "min_stock_amount")
   @SerializedName("min_stock_amount")
-  private String minStockAmount;
+  @JsonAdapter(NullableDoubleDeserializer.class)
+  private Double minStockAmount;
 
   @ColumnInfo(name = "default_best_before_days")
   @SerializedName("default_best_before_days")
@@ -147,11 +156,13 @@ public class Product extends GroupedListItem implements Parcelable {
 
   @ColumnInfo(name = "parent_product_id")
   @SerializedName("parent_product_id")
-  private String parentProductId; /// STRING: null for empty
+  @JsonAdapter(NullableIntegerDeserializer.class)
+  private Integer parentProductId;
 
   @ColumnInfo(name = "calories")
   @SerializedName("calories")
-  private String calories;
+  @JsonAdapter(NullableDoubleDeserializer.class)
+  private Double calories;
 
   @ColumnInfo(name = "cumulate_min_stock_amount_of_sub_products")
   @SerializedName("cumulate_min_stock_amount_of_sub_products")
@@ -201,7 +212,8 @@ public class Product extends GroupedListItem implements Parcelable {
   @SerializedName("move_on_open")
   private String moveOnOpen;
 
-  @ColumnInfo(name = "userfields")
+  // stored in userfield_value_table, see UserfieldValue
+  @Ignore
   @SerializedName("userfields")
   private Map<String, String> userfields;
 
@@ -245,27 +257,27 @@ public class Product extends GroupedListItem implements Parcelable {
     parentProductId = null;
     description = null;
     if (sharedPrefs.getBoolean(PREF.FEATURE_STOCK_LOCATION_TRACKING, true)) {
-      locationId = presetLocationId == -1 ? null : String.valueOf(presetLocationId);
+      locationId = presetLocationId == -1 ? null : presetLocationId;
     } else {
-      locationId = "1";
+      locationId = 1;
     }
     storeId = null;
-    minStockAmount = String.valueOf(0);
+    minStockAmount = 0d;
     accumulateSubProductsMinStockAmount = "0";
     dueDateType = "1";
     defaultDueDays = String.valueOf(presetDefaultDueDays);
     defaultDueDaysAfterOpen = "0";
-    productGroupId = presetProductGroupId == -1 ? null : String.valueOf(presetProductGroupId);
-    String presetQuIdStr = presetQuId == -1 ? null : String.valueOf(presetQuId);
-    quIdStock = presetQuIdStr;
-    quIdPurchase = presetQuIdStr;
-    quFactorPurchaseToStock = "1";
-    quIdConsume = presetQuIdStr;
-    quIdPrice = presetQuIdStr;
+    productGroupId = presetProductGroupId == -1 ? null : presetProductGroupId;
+    Integer presetQuIdInteger = presetQuId == -1 ? null : presetQuId;
+    quIdStock = presetQuIdInteger;
+    quIdPurchase = presetQuIdInteger;
+    quFactorPurchaseToStock = 1d;
+    quIdConsume = presetQuIdInteger;
+    quIdPrice = presetQuIdInteger;
     enableTareWeightHandling = "0";
     tareWeight = "0";
     notCheckStockFulfillmentForRecipes = "0";
-    calories = "0";
+    calories = 0d;
     defaultDueDaysAfterFreezing = "0";
     defaultDueDaysAfterThawing = "0";
     quickConsumeAmount = "1";
@@ -286,16 +298,16 @@ public class Product extends GroupedListItem implements Parcelable {
     id = parcel.readInt();
     name = parcel.readString();
     description = parcel.readString();
-    productGroupId = parcel.readString();
+    productGroupId = (Integer) parcel.readValue(Integer.class.getClassLoader());
     active = parcel.readString();
-    locationId = parcel.readString();
+    locationId = (Integer) parcel.readValue(Integer.class.getClassLoader());
     storeId = parcel.readString();
-    quIdPurchase = parcel.readString();
-    quIdStock = parcel.readString();
-    quFactorPurchaseToStock = parcel.readString();
-    quIdConsume = parcel.readString();
-    quIdPrice = parcel.readString();
-    minStockAmount = parcel.readString();
+    quIdPurchase = (Integer) parcel.readValue(Integer.class.getClassLoader());
+    quIdStock = (Integer) parcel.readValue(Integer.class.getClassLoader());
+    quFactorPurchaseToStock = (Double) parcel.readValue(Double.class.getClassLoader());
+    quIdConsume = (Integer) parcel.readValue(Integer.class.getClassLoader());
+    quIdPrice = (Integer) parcel.readValue(Integer.class.getClassLoader());
+    minStockAmount = (Double) parcel.readValue(Double.class.getClassLoader());
     defaultDueDays = parcel.readString();
     defaultDueDaysAfterOpen = parcel.readString();
     defaultDueDaysAfterFreezing = parcel.readString();
@@ -304,8 +316,8 @@ public class Product extends GroupedListItem implements Parcelable {
     enableTareWeightHandling = parcel.readString();
     tareWeight = parcel.readString();
     notCheckStockFulfillmentForRecipes = parcel.readString();
-    parentProductId = parcel.readString();
-    calories = parcel.readString();
+    parentProductId = (Integer) parcel.readValue(Integer.class.getClassLoader());
+    calories = (Double) parcel.readValue(Double.class.getClassLoader());
     accumulateSubProductsMinStockAmount = parcel.readString();
     dueDateType = parcel.readString();
     quickConsumeAmount = parcel.readString();
@@ -327,16 +339,16 @@ public class Product extends GroupedListItem implements Parcelable {
     dest.writeInt(id);
     dest.writeString(name);
     dest.writeString(description);
-    dest.writeString(productGroupId);
+    dest.writeValue(productGroupId);
     dest.writeString(active);
-    dest.writeString(locationId);
+    dest.writeValue(locationId);
     dest.writeString(storeId);
-    dest.writeString(quIdPurchase);
-    dest.writeString(quIdStock);
-    dest.writeString(quFactorPurchaseToStock);
-    dest.writeString(quIdConsume);
-    dest.writeString(quIdPrice);
-    dest.writeString(minStockAmount);
+    dest.writeValue(quIdPurchase);
+    dest.writeValue(quIdStock);
+    dest.writeValue(quFactorPurchaseToStock);
+    dest.writeValue(quIdConsume);
+    dest.writeValue(quIdPrice);
+    dest.writeValue(minStockAmount);
     dest.writeString(defaultDueDays);
     dest.writeString(defaultDueDaysAfterOpen);
     dest.writeString(defaultDueDaysAfterFreezing);
@@ -345,8 +357,8 @@ public class Product extends GroupedListItem implements Parcelable {
     dest.writeString(enableTareWeightHandling);
     dest.writeString(tareWeight);
     dest.writeString(notCheckStockFulfillmentForRecipes);
-    dest.writeString(parentProductId);
-    dest.writeString(calories);
+    dest.writeValue(parentProductId);
+    dest.writeValue(calories);
     dest.writeString(accumulateSubProductsMinStockAmount);
     dest.writeString(dueDateType);
     dest.writeString(quickConsumeAmount);
@@ -400,11 +412,15 @@ public class Product extends GroupedListItem implements Parcelable {
     this.description = description;
   }
 
-  public String getProductGroupId() {
+  public Integer getProductGroupId() {
     return productGroupId;
   }
 
-  public void setProductGroupId(String productGroupId) {
+  public int getProductGroupIdInt() {
+    return productGroupId != null ? productGroupId : -1;
+  }
+
+  public void setProductGroupId(Integer productGroupId) {
     this.productGroupId = productGroupId;
   }
 
@@ -425,14 +441,14 @@ public class Product extends GroupedListItem implements Parcelable {
   }
 
   public int getLocationIdInt() {
-    return NumUtil.isStringInt(locationId) ? Integer.parseInt(locationId) : -1;
+    return locationId != null ? locationId : -1;
   }
 
-  public String getLocationId() {
+  public Integer getLocationId() {
     return locationId;
   }
 
-  public void setLocationId(String locationId) {
+  public void setLocationId(Integer locationId) {
     this.locationId = locationId;
   }
 
@@ -444,96 +460,88 @@ public class Product extends GroupedListItem implements Parcelable {
     this.storeId = storeId;
   }
 
-  public String getQuIdPurchase() {
+  public Integer getQuIdPurchase() {
     return quIdPurchase;
   }
 
   public int getQuIdPurchaseInt() {
-    return NumUtil.isStringInt(quIdPurchase) ? Integer.parseInt(quIdPurchase) : -1;
+    return quIdPurchase != null ? quIdPurchase : -1;
   }
 
-  public void setQuIdPurchase(String quIdPurchase) {
+  public void setQuIdPurchase(Integer quIdPurchase) {
     this.quIdPurchase = quIdPurchase;
   }
 
-  public void setQuIdPurchase(int quIdPurchase) {
-    this.quIdPurchase = String.valueOf(quIdPurchase);
-  }
-
   public int getQuIdStockInt() {
-    return NumUtil.isStringInt(quIdStock) ? Integer.parseInt(quIdStock) : -1;
+    return quIdStock != null ? quIdStock : -1;
   }
 
-  public String getQuIdStock() {
+  public Integer getQuIdStock() {
     return quIdStock;
   }
 
-  public void setQuIdStock(String quIdStock) {
+  public void setQuIdStock(Integer quIdStock) {
     this.quIdStock = quIdStock;
   }
 
-  public void setQuIdStock(int quIdStock) {
-    this.quIdStock = String.valueOf(quIdStock);
-  }
-
   public double getQuFactorPurchaseToStockDouble() {
-    return NumUtil.isStringDouble(quFactorPurchaseToStock)
-        ? NumUtil.toDouble(quFactorPurchaseToStock)
-        : 1;
+    return quFactorPurchaseToStock != null ? quFactorPurchaseToStock : 1;
   }
 
-  public String getQuFactorPurchaseToStock() {
+  public Double getQuFactorPurchaseToStock() {
     return quFactorPurchaseToStock;
   }
 
-  public void setQuFactorPurchaseToStock(String quFactorPurchaseToStock) {
+  public void setQuFactorPurchaseToStock(Double quFactorPurchaseToStock) {
     this.quFactorPurchaseToStock = quFactorPurchaseToStock;
   }
 
-  public String getQuIdConsume() {
+  public void setQuFactorPurchaseToStock(String quFactorPurchaseToStock) {
+    this.quFactorPurchaseToStock = NumUtil.isStringDouble(quFactorPurchaseToStock)
+        ? NumUtil.toDouble(quFactorPurchaseToStock) : null;
+  }
+
+  public Integer getQuIdConsume() {
     return quIdConsume;
   }
 
   public int getQuIdConsumeInt() {
-    return NumUtil.isStringInt(quIdConsume) ? Integer.parseInt(quIdConsume) : getQuIdStockInt();
+    return quIdConsume != null ? quIdConsume : getQuIdStockInt();
   }
 
-  public void setQuIdConsume(String quIdConsume) {
+  public void setQuIdConsume(Integer quIdConsume) {
     this.quIdConsume = quIdConsume;
   }
 
-  public void setQuIdConsume(int quIdConsume) {
-    this.quIdConsume = String.valueOf(quIdConsume);
-  }
-
-  public String getQuIdPrice() {
+  public Integer getQuIdPrice() {
     return quIdPrice;
   }
 
   public int getQuIdPriceInt() {
-    return NumUtil.isStringInt(quIdPrice) ? Integer.parseInt(quIdPrice) : getQuIdPurchaseInt();
+    return quIdPrice != null ? quIdPrice : getQuIdPurchaseInt();
   }
 
-  public void setQuIdPrice(String quIdPrice) {
+  public void setQuIdPrice(Integer quIdPrice) {
     this.quIdPrice = quIdPrice;
   }
 
-  public void setQuIdPrice(int quIdPrice) {
-    this.quIdPrice = String.valueOf(quIdPrice);
-  }
-
-  public String getMinStockAmount() {
+  public Double getMinStockAmount() {
     return minStockAmount;
   }
 
   public double getMinStockAmountDouble() {
-    return NumUtil.isStringDouble(minStockAmount) ? NumUtil.toDouble(minStockAmount) : 0;
+    return minStockAmount != null ? minStockAmount : 0;
   }
 
-  public void setMinStockAmount(String minStockAmount) {
+  public void setMinStockAmount(Double minStockAmount) {
     this.minStockAmount = minStockAmount;
   }
 
+  public void setMinStockAmount(String minStockAmount) {
+    this.minStockAmount = NumUtil.isStringDouble(minStockAmount)
+        ? NumUtil.toDouble(minStockAmount) : null;
+  }
+
   public String getDefaultDueDays() {
     return defaultDueDays;
   }
@@ -632,26 +640,34 @@ public class Product extends GroupedListItem implements Parcelable {
     this.notCheckStockFulfillmentForRecipes = notCheckStockFulfillmentForRecipes ? "1" : "0";
   }
 
-  public String getParentProductId() {
+  public Integer getParentProductId() {
     return parentProductId;
   }
 
-  public void setParentProductId(String parentProductId) {
+  public int getParentProductIdInt() {
+    return parentProductId != null ? parentProductId : -1;
+  }
+
+  public void setParentProductId(Integer parentProductId) {
     this.parentProductId = parentProductId;
   }
 
-  public String getCalories() {
+  public Double getCalories() {
     return calories;
   }
 
   public double getCaloriesDouble() {
-    return NumUtil.isStringDouble(calories) ? NumUtil.toDouble(calories) : 0;
+    return calories != null ? calories : 0;
   }
 
-  public void setCalories(String calories) {
+  public void setCalories(Double calories) {
     this.calories = calories;
   }
 
+  public void setCalories(String calories) {
+    this.calories = NumUtil.isStringDouble(calories) ? NumUtil.toDouble(calories) : null;
+  }
+
   public boolean getAccumulateSubProductsMinStockAmountBoolean() {
     return NumUtil.isStringInt(accumulateSubProductsMinStockAmount)
         && Integer.parseInt(accumulateSubProductsMinStockAmount) == 1;
@@ -870,7 +886,7 @@ public class Product extends GroupedListItem implements Parcelable {
       String notCheckStock = product.notCheckStockFulfillmentForRecipes;
       Object parentProductId =
           product.parentProductId != null ? product.parentProductId : JSONObject.NULL;
-      String calories = product.calories;
+      Double calories = product.calories;
       String cumulateAmounts = product.accumulateSubProductsMinStockAmount;
       String dueType = product.dueDateType;
       String quickConsume = product.quickConsumeAmount;
@@ -975,7 +991,7 @@ public class Product extends GroupedListItem implements Parcelable {
   public static ArrayList<Product> getProductChildren(List<Product> allProducts, int parentProductId) {
     ArrayList<Product> productChildren = new ArrayList<>();
     for (Product product : allProducts) {
-      if (NumUtil.isStringInt(product.getParentProductId()) && Integer.parseInt(product.getParentProductId()) == parentProductId) {
+      if (product.getParentProductIdInt() == parentProductId) {
         productChildren.add(product);
       }
     }
@@ -1088,6 +1104,10 @@ public class Product extends GroupedListItem implements Parcelable {
     return updateProducts(dlHelper, dbChangedTime, false, onResponseListener, false);
   }
 
+  /**
+   * The response listener is called with the products which were added or changed by this
+   * download, not with all products.
+   */
   @SuppressLint("CheckResult")
   public static QueueItem updateProducts(
       DownloadHelper dlHelper,
@@ -1107,36 +1127,38 @@ public class Product extends GroupedListItem implements Parcelable {
             @Nullable OnMultiTypeErrorListener errorListener,
             @Nullable String uuid
         ) {
-          dlHelper.get(
+          List<Integer> writtenIds = onResponseListener != null ? new ArrayList<>() : null;
+          dlHelper.getObjectsStreaming(
               dlHelper.grocyApi.getObjects(GrocyApi.ENTITY.PRODUCTS),
               uuid,
-              response -> {
-                Type type = new TypeToken<List<Product>>() {
-                }.getType();
-                ArrayList<Product> products = dlHelper.gson.fromJson(response, type);
+              Product.class,
+              dlHelper.appDatabase.productUserfieldsWriter(dlHelper.appDatabase.deltaWriter(
+                  dlHelper.appDatabase.productDao(), Product::getId, writtenIds
+              )),
+              count -> {
                 if (dlHelper.debug) {
-                  Log.i(dlHelper.tag, "download Products: " + products);
+                  Log.i(dlHelper.tag, "download Products: " + count);
                 }
-                Single.fromCallable(() -> {
-                  dlHelper.appDatabase.productDao()
-                      .deleteProducts().blockingSubscribe();
-                  dlHelper.appDatabase.productDao()
-                      .insertProducts(products).blockingSubscribe();
-                  dlHelper.sharedPrefs.edit()
-                      .putString(PREF.DB_LAST_TIME_PRODUCTS, dbChangedTime).apply();
-                  return true;
-                })
+                dlHelper.sharedPrefs.edit().putString(PREF.DB_LAST_TIME_PRODUCTS, dbChangedTime).apply();
+                if (onResponseListener == null) {
+                  if (responseListener != null) {
+                    responseListener.onResponse(null);
+                  }
+                  return;
+                }
+                // objects are not kept in memory while streaming, so load the written ones
+                Single
+                    .fromCallable(() -> dlHelper.appDatabase.getByIds(
+                        dlHelper.appDatabase.productDao(), writtenIds
+                    ))
                     .subscribeOn(Schedulers.io())
                     .observeOn(AndroidSchedulers.mainThread())
                     .doFinally(() -> {
-                      if (onResponseListener != null) {
-                        onResponseListener.onResponse(products);
-                      }
                       if (responseListener != null) {
-                        responseListener.onResponse(response);
+                        responseListener.onResponse(null);
                       }
                     })
-                    .subscribe(ignored -> {}, throwable -> {
+                    .subscribe(onResponseListener::onResponse, throwable -> {
                       if (errorListener != null) {
                         errorListener.onError(throwable);
                       }
@@ -1162,24 +1184,13 @@ public class Product extends GroupedListItem implements Parcelable {
               @Nullable OnMultiTypeErrorListener errorListener,
               @Nullable String uuid
           ) {
-            dlHelper.appDatabase.productDao().getProducts()
-                .subscribeOn(Schedulers.io())
-                .observeOn(AndroidSchedulers.mainThread())
-                .doOnSuccess(products -> {
-                  if (onResponseListener != null) {
-                    onResponseListener.onResponse(products);
-                  }
-                  if (responseListener != null) {
-                    responseListener.onResponse(null);
-                  }
-                })
-                .doOnError(throwable -> {
-                  if (errorListener != null) {
-                    errorListener.onError(throwable);
-                  }
-                })
-                .onErrorComplete()
-                .subscribe();
+            // nothing was written, so no product has changed
+            if (onResponseListener != null) {
+              onResponseListener.onResponse(new ArrayList<>());
+            }
+            if (responseListener != null) {
+              responseListener.onResponse(null);
+            }
           }
         };
       } else {
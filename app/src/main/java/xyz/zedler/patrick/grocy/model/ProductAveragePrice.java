@@ -160,10 +160,9 @@ public class ProductAveragePrice implements Parcelable {
                   Log.i(dlHelper.tag, "download ProductsAveragePrice: " + productsAveragePrice);
                 }
                 Single.fromCallable(() -> {
-                  dlHelper.appDatabase.productAveragePriceDao()
-                      .deleteProductsAveragePrice().blockingSubscribe();
-                  dlHelper.appDatabase.productAveragePriceDao()
-                      .insertProductsAveragePrice(productsAveragePrice).blockingSubscribe();
+                  dlHelper.appDatabase.replaceAll(
+                      dlHelper.appDatabase.productAveragePriceDao(), productsAveragePrice
+                  );
                   dlHelper.sharedPrefs.edit()
                       .putString(PREF.DB_LAST_TIME_PRODUCTS_AVERAGE_PRICE, dbChangedTime).apply();
                   return true;
@@ -28,6 +28,7 @@ import androidx.annotation.Nullable;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
@@ -52,7 +53,10 @@ import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnStringResponseListener;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.web.NetworkQueue.QueueItem;
 
-@Entity(tableName = "product_barcode_table")
+@Entity(
+    tableName = "product_barcode_table",
+    indices = {@Index("barcode"), @Index("product_id")}
+)
 public class ProductBarcode implements Parcelable {
 
   @PrimaryKey
@@ -330,6 +334,10 @@ public class ProductBarcode implements Parcelable {
     return "ProductBarcode(" + id + ')';
   }
 
+  /**
+   * The response listener is called with the barcodes which were added or changed by this
+   * download, not with all barcodes.
+   */
   @SuppressLint("CheckResult")
   public static QueueItem updateProductBarcodes(
       DownloadHelper dlHelper,
@@ -348,37 +356,39 @@ public class ProductBarcode implements Parcelable {
             @Nullable OnMultiTypeErrorListener errorListener,
             @Nullable String uuid
         ) {
-          dlHelper.get(
+          List<Integer> writtenIds = onResponseListener != null ? new ArrayList<>() : null;
+          dlHelper.getObjectsStreaming(
               dlHelper.grocyApi.getObjects(GrocyApi.ENTITY.PRODUCT_BARCODES),
               uuid,
-              response -> {
-                Type type = new TypeToken<List<ProductBarcode>>() {
-                }.getType();
-                ArrayList<ProductBarcode> barcodes
-                    = dlHelper.gson.fromJson(response, type);
+              ProductBarcode.class,
+              dlHelper.appDatabase.deltaWriter(
+                  dlHelper.appDatabase.productBarcodeDao(), ProductBarcode::getId, writtenIds
+              ),
+              count -> {
                 if (dlHelper.debug) {
-                  Log.i(dlHelper.tag, "download Barcodes: " + barcodes);
+                  Log.i(dlHelper.tag, "download Barcodes: " + count);
                 }
-                Single.fromCallable(() -> {
-                  dlHelper.appDatabase.productBarcodeDao()
-                      .deleteProductBarcodes().blockingSubscribe();
-                  dlHelper.appDatabase.productBarcodeDao()
-                      .insertProductBarcodes(barcodes).blockingSubscribe();
-                  dlHelper.sharedPrefs.edit()
-                      .putString(PREF.DB_LAST_TIME_PRODUCT_BARCODES, dbChangedTime).apply();
-                  return true;
-                })
+                dlHelper.sharedPrefs.edit()
+                    .putString(PREF.DB_LAST_TIME_PRODUCT_BARCODES, dbChangedTime).apply();
+                if (onResponseListener == null) {
+                  if (responseListener != null) {
+                    responseListener.onResponse(null);
+                  }
+                  return;
+                }
+                // objects are not kept in memory while streaming, so load the written ones
+                Single
+                    .fromCallable(() -> dlHelper.appDatabase.getByIds(
+                        dlHelper.appDatabase.productBarcodeDao(), writtenIds
+                    ))
                     .subscribeOn(Schedulers.io())
                     .observeOn(AndroidSchedulers.mainThread())
                     .doFinally(() -> {
-                      if (onResponseListener != null) {
-                        onResponseListener.onResponse(barcodes);
-                      }
                       if (responseListener != null) {
-                        responseListener.onResponse(response);
+                        responseListener.onResponse(null);
                       }
                     })
-                    .subscribe(ignored -> {}, throwable -> {
+                    .subscribe(onResponseListener::onResponse, throwable -> {
                       if (errorListener != null) {
                         errorListener.onError(throwable);
                       }
@@ -33,6 +33,7 @@ import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnMultiTypeErrorListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnObjectResponseListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnStringResponseListener;
 import xyz.zedler.patrick.grocy.util.NumUtil;
+import xyz.zedler.patrick.grocy.web.HttpCache;
 import xyz.zedler.patrick.grocy.web.NetworkQueue.QueueItem;
 
 public class ProductDetails implements Parcelable {
@@ -106,6 +107,51 @@ public class ProductDetails implements Parcelable {
   @SerializedName("qu_conversion_factor_purchase_to_stock")
   private final String quFactorPurchaseToStock; // quantity unit
 
+  /**
+   * Composes the details from the local database, so that forms can be filled without
+   * waiting for the server. Values which only the server calculates, like the average price,
+   * the spoil rate or the conversion factors, are missing until the details are downloaded.
+   */
+  public ProductDetails(
+      Product product,
+      @Nullable StockItem stockItem,
+      @Nullable ProductLastPurchased productLastPurchased,
+      @Nullable QuantityUnit quantityUnitPurchase,
+      @Nullable QuantityUnit quantityUnitStock,
+      @Nullable Location location
+  ) {
+    this.product = product;
+    lastPurchased = productLastPurchased != null
+        ? productLastPurchased.getPurchasedDate() : null;
+    lastUsed = null;
+    stockAmount = String.valueOf(stockItem != null ? stockItem.getAmount() : 0);
+    stockValue = stockItem != null && stockItem.getValue() != null
+        ? String.valueOf(stockItem.getValue()) : null;
+    stockAmountOpened = String.valueOf(stockItem != null ? stockItem.getAmountOpened() : 0);
+    stockAmountAggregated = String.valueOf(
+        stockItem != null ? stockItem.getAmountAggregated() : 0
+    );
+    stockAmountOpenedAggregated = String.valueOf(
+        stockItem != null ? stockItem.getAmountOpenedAggregated() : 0
+    );
+    this.quantityUnitPurchase = quantityUnitPurchase;
+    this.quantityUnitStock = quantityUnitStock;
+    lastPrice = productLastPurchased != null ? productLastPurchased.getPrice() : null;
+    avgPrice = null;
+    currentPrice = null;
+    lastShoppingLocationId = productLastPurchased != null
+        ? productLastPurchased.getShoppingLocationId() : null;
+    defaultShoppingLocationId = product.getStoreId();
+    nextDueDate = stockItem != null ? stockItem.getBestBeforeDate() : null;
+    this.location = location;
+    averageShelfLifeDays = null;
+    spoilRatePercent = null;
+    isAggregatedAmount = String.valueOf(stockItem != null ? stockItem.getIsAggregatedAmount() : 0);
+    hasChilds = null;
+    quFactorPriceToStock = null;
+    quFactorPurchaseToStock = null;
+  }
+
   public ProductDetails(Parcel parcel) {
     product = parcel.readParcelable(Product.class.getClassLoader());
     lastPurchased = parcel.readString();
@@ -288,6 +334,30 @@ public class ProductDetails implements Parcelable {
       int productId,
       OnObjectResponseListener<ProductDetails> onResponseListener,
       OnErrorListener onErrorListener
+  ) {
+    return getProductDetails(dlHelper, productId, 0, onResponseListener, onErrorListener);
+  }
+
+  /**
+   * Product details which may be up to HttpCache.TTL_PRODUCT_DETAILS_MS old, only for displaying
+   * them. Forms which validate amounts against the stock have to use getProductDetails().
+   */
+  public static QueueItem getProductDetailsCached(
+      DownloadHelper dlHelper,
+      int productId,
+      OnObjectResponseListener<ProductDetails> onResponseListener
+  ) {
+    return getProductDetails(
+        dlHelper, productId, HttpCache.TTL_PRODUCT_DETAILS_MS, onResponseListener, null
+    );
+  }
+
+  private static QueueItem getProductDetails(
+      DownloadHelper dlHelper,
+      int productId,
+      long cacheTtlMillis,
+      OnObjectResponseListener<ProductDetails> onResponseListener,
+      OnErrorListener onErrorListener
   ) {
     return new QueueItem() {
       @Override
@@ -296,9 +366,10 @@ public class ProductDetails implements Parcelable {
           @Nullable OnMultiTypeErrorListener errorListener,
           @Nullable String uuid
       ) {
-        dlHelper.get(
+        dlHelper.getCached(
             dlHelper.grocyApi.getStockProductDetails(productId),
             uuid,
+            cacheTtlMillis,
             response -> {
               Type type = new TypeToken<ProductDetails>() {
               }.getType();
@@ -266,10 +266,9 @@ public class ProductGroup extends GroupedListItem implements Parcelable {
                   Log.i(dlHelper.tag, "download ProductGroups: " + productGroups);
                 }
                 Single.fromCallable(() -> {
-                      dlHelper.appDatabase.productGroupDao()
-                          .deleteProductGroups().blockingSubscribe();
-                      dlHelper.appDatabase.productGroupDao()
-                          .insertProductGroups(productGroups).blockingSubscribe();
+                      dlHelper.appDatabase.replaceAll(
+                          dlHelper.appDatabase.productGroupDao(), productGroups
+                      );
                       dlHelper.sharedPrefs.edit()
                           .putString(PREF.DB_LAST_TIME_PRODUCT_GROUPS, dbChangedTime).apply();
                       return true;
@@ -226,10 +226,9 @@ public class ProductLastPurchased implements Parcelable {
                   Log.i(dlHelper.tag, "download ProductsLastPurchased: " + productsLastPurchased);
                 }
                 Single.fromCallable(() -> {
-                  dlHelper.appDatabase.productLastPurchasedDao()
-                      .deleteProductsLastPurchased().blockingSubscribe();
-                  dlHelper.appDatabase.productLastPurchasedDao()
-                      .insertProductsLastPurchased(productsLastPurchased).blockingSubscribe();
+                  dlHelper.appDatabase.replaceAll(
+                      dlHelper.appDatabase.productLastPurchasedDao(), productsLastPurchased
+                  );
                   dlHelper.sharedPrefs.edit()
                       .putString(PREF.DB_LAST_TIME_PRODUCTS_LAST_PURCHASED, dbChangedTime).apply();
                   return true;
@@ -313,9 +313,9 @@ public class QuantityUnit implements Parcelable {
                   Log.i(dlHelper.tag, "download QuantityUnits: " + quantityUnits);
                 }
                 Single.fromCallable(() -> {
-                  dlHelper.appDatabase.quantityUnitDao().deleteQuantityUnits().blockingSubscribe();
-                  dlHelper.appDatabase.quantityUnitDao()
-                      .insertQuantityUnits(quantityUnits).blockingSubscribe();
+                  dlHelper.appDatabase.replaceAll(
+                      dlHelper.appDatabase.quantityUnitDao(), quantityUnits
+                  );
                   dlHelper.sharedPrefs.edit()
                       .putString(PREF.DB_LAST_TIME_QUANTITY_UNITS, dbChangedTime).apply();
                   return true;
@@ -28,6 +28,7 @@ import androidx.annotation.Nullable;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
@@ -47,10 +48,14 @@ import xyz.zedler.patrick.grocy.helper.DownloadHelper;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnMultiTypeErrorListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnObjectsResponseListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnStringResponseListener;
+import xyz.zedler.patrick.grocy.repository.QuantityUnitConversionRepository;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.web.NetworkQueue.QueueItem;
 
-@Entity(tableName = "quantity_unit_conversion_table")
+@Entity(
+    tableName = "quantity_unit_conversion_table",
+    indices = {@Index("product_id")}
+)
 public class QuantityUnitConversion implements Parcelable {
 
   @PrimaryKey
@@ -294,10 +299,10 @@ public class QuantityUnitConversion implements Parcelable {
                       + conversions);
                 }
                 Single.fromCallable(() -> {
-                  dlHelper.appDatabase.quantityUnitConversionDao()
-                      .deleteConversions().blockingSubscribe();
-                  dlHelper.appDatabase.quantityUnitConversionDao()
-                      .insertConversions(conversions).blockingSubscribe();
+                  dlHelper.appDatabase.replaceAll(
+                      dlHelper.appDatabase.quantityUnitConversionDao(), conversions
+                  );
+                  QuantityUnitConversionRepository.invalidate();
                   dlHelper.sharedPrefs.edit()
                       .putString(PREF.DB_LAST_TIME_QUANTITY_UNIT_CONVERSIONS, dbChangedTime).apply();
                   return true;
@@ -23,6 +23,7 @@ import android.annotation.SuppressLint;
 import android.util.Log;
 import androidx.annotation.Nullable;
 import androidx.room.Entity;
+import androidx.room.Index;
 import com.google.gson.reflect.TypeToken;
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
 import io.reactivex.rxjava3.core.Single;
@@ -36,10 +37,15 @@ import xyz.zedler.patrick.grocy.helper.DownloadHelper;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnMultiTypeErrorListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnObjectsResponseListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnStringResponseListener;
+import xyz.zedler.patrick.grocy.repository.QuantityUnitConversionRepository;
+import xyz.zedler.patrick.grocy.util.QuantityUnitConversionUtil;
 import xyz.zedler.patrick.grocy.util.VersionUtil;
 import xyz.zedler.patrick.grocy.web.NetworkQueue.QueueItem;
 
-@Entity(tableName = "quantity_unit_conversion_resolved_table")
+@Entity(
+    tableName = "quantity_unit_conversion_resolved_table",
+    indices = {@Index("product_id")}
+)
 public class QuantityUnitConversionResolved extends QuantityUnitConversion {
 
   public QuantityUnitConversionResolved() {
@@ -60,10 +66,9 @@ public class QuantityUnitConversionResolved extends QuantityUnitConversion {
       int fromQuId,
       int toQuId
   ) {
-    String productIdStr = String.valueOf(productId);
-    for (QuantityUnitConversionResolved tmpConversion : conversionsResolved) {
-      if (productIdStr.equals(tmpConversion.getProductId())
-          && tmpConversion.getFromQuId() == fromQuId
+    for (QuantityUnitConversionResolved tmpConversion : QuantityUnitConversionUtil
+        .getProductConversions(conversionsResolved, productId)) {
+      if (tmpConversion.getFromQuId() == fromQuId
           && tmpConversion.getToQuId() == toQuId) {
         return tmpConversion;
       }
@@ -123,10 +128,10 @@ public class QuantityUnitConversionResolved extends QuantityUnitConversion {
                             + conversionsResolved);
                       }
                     }
-                dlHelper.appDatabase.quantityUnitConversionResolvedDao()
-                    .deleteConversionsResolved().blockingSubscribe();
-                dlHelper.appDatabase.quantityUnitConversionResolvedDao()
-                    .insertConversionsResolved(conversionsResolved).blockingSubscribe();
+                dlHelper.appDatabase.replaceAll(
+                    dlHelper.appDatabase.quantityUnitConversionResolvedDao(), conversionsResolved
+                );
+                QuantityUnitConversionRepository.invalidate();
                 dlHelper.sharedPrefs.edit()
                     .putString(PREF.DB_LAST_TIME_QUANTITY_UNIT_CONVERSIONS_RESOLVED, dbChangedTime).apply();
                 return conversionsResolved;
@@ -359,9 +359,7 @@ public class Recipe implements Parcelable {
                   Log.i(dlHelper.tag, "download Recipes: " + recipes);
                 }
                 Single.fromCallable(() -> {
-                  dlHelper.appDatabase.recipeDao().deleteRecipes().blockingSubscribe();
-                  dlHelper.appDatabase.recipeDao()
-                      .insertRecipes(recipes).blockingSubscribe();
+                  dlHelper.appDatabase.replaceAll(dlHelper.appDatabase.recipeDao(), recipes);
                   dlHelper.sharedPrefs.edit()
                       .putString(PREF.DB_LAST_TIME_RECIPES, dbChangedTime).apply();
                   return true;
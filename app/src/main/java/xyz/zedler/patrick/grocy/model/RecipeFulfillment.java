@@ -322,10 +322,9 @@ public class RecipeFulfillment implements Parcelable {
                   Log.i(dlHelper.tag, "download RecipeFulfillments: " + recipeFulfillments);
                 }
                 Single.fromCallable(() -> {
-                  dlHelper.appDatabase.recipeFulfillmentDao()
-                      .deleteRecipeFulfillments().blockingSubscribe();
-                  dlHelper.appDatabase.recipeFulfillmentDao()
-                      .insertRecipeFulfillments(recipeFulfillments).blockingSubscribe();
+                  dlHelper.appDatabase.replaceAll(
+                      dlHelper.appDatabase.recipeFulfillmentDao(), recipeFulfillments
+                  );
                   dlHelper.sharedPrefs.edit()
                       .putString(PREF.DB_LAST_TIME_RECIPE_FULFILLMENTS, dbChangedTime).apply();
                   return true;
@@ -190,10 +190,9 @@ public class RecipeNesting implements Parcelable {
                   Log.i(dlHelper.tag, "download RecipeNestings: " + recipeNestings);
                 }
                 Single.fromCallable(() -> {
-                  dlHelper.appDatabase.recipeNestingDao()
-                      .deleteRecipeNestings().blockingSubscribe();
-                  dlHelper.appDatabase.recipeNestingDao()
-                      .insertRecipeNestings(recipeNestings).blockingSubscribe();
+                  dlHelper.appDatabase.replaceAll(
+                      dlHelper.appDatabase.recipeNestingDao(), recipeNestings
+                  );
                   dlHelper.sharedPrefs.edit()
                       .putString(PREF.DB_LAST_TIME_RECIPE_NESTINGS, dbChangedTime).apply();
                   return true;
@@ -28,6 +28,7 @@ import androidx.annotation.Nullable;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
@@ -48,7 +49,10 @@ import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnObjectsResponseListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnStringResponseListener;
 import xyz.zedler.patrick.grocy.web.NetworkQueue.QueueItem;
 
-@Entity(tableName = "recipe_pos_table")
+@Entity(
+    tableName = "recipe_pos_table",
+    indices = {@Index("recipe_id"), @Index("product_id")}
+)
 public class RecipePosition implements Parcelable {
 
   @PrimaryKey
@@ -375,10 +379,9 @@ public class RecipePosition implements Parcelable {
                   }
                 }
                 Single.fromCallable(() -> {
-                  dlHelper.appDatabase.recipePositionDao()
-                      .deleteRecipePositions().blockingSubscribe();
-                  dlHelper.appDatabase.recipePositionDao()
-                      .insertRecipePositions(recipePositions).blockingSubscribe();
+                  dlHelper.appDatabase.replaceAll(
+                      dlHelper.appDatabase.recipePositionDao(), recipePositions
+                  );
                   dlHelper.sharedPrefs.edit()
                       .putString(PREF.DB_LAST_TIME_RECIPE_POSITIONS, dbChangedTime).apply();
                   return true;
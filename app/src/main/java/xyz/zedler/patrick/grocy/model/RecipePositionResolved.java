@@ -26,6 +26,7 @@ import androidx.annotation.Nullable;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
@@ -44,7 +45,10 @@ import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnObjectsResponseListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnStringResponseListener;
 import xyz.zedler.patrick.grocy.web.NetworkQueue.QueueItem;
 
-@Entity(tableName = "recipe_pos_resolved_table")
+@Entity(
+    tableName = "recipe_pos_resolved_table",
+    indices = {@Index("recipe_id")}
+)
 public class RecipePositionResolved extends GroupedListItem {
 
   @PrimaryKey
@@ -465,11 +469,9 @@ public class RecipePositionResolved extends GroupedListItem {
                   }
                 }
                 Single.fromCallable(() -> {
-                      dlHelper.appDatabase.recipePositionResolvedDao()
-                          .deleteRecipePositionsResolved().blockingSubscribe();
-                      dlHelper.appDatabase.recipePositionResolvedDao()
-                          .insertRecipePositionsResolved(recipePositionsResolved)
-                          .blockingSubscribe();
+                      dlHelper.appDatabase.replaceAll(
+                          dlHelper.appDatabase.recipePositionResolvedDao(), recipePositionsResolved
+                      );
                       dlHelper.sharedPrefs.edit()
                           .putString(PREF.DB_LAST_TIME_RECIPE_POSITIONS_RESOLVED, dbChangedTime)
                           .apply();
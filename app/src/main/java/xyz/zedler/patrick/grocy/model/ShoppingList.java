@@ -199,10 +199,9 @@ public class ShoppingList implements Parcelable {
                   Log.i(dlHelper.tag, "download ShoppingLists: " + shoppingLists);
                 }
                 Single.fromCallable(() -> {
-                  dlHelper.appDatabase.shoppingListDao()
-                      .deleteShoppingLists().blockingSubscribe();
-                  dlHelper.appDatabase.shoppingListDao()
-                      .insertShoppingLists(shoppingLists).blockingSubscribe();
+                  dlHelper.appDatabase.replaceAll(
+                      dlHelper.appDatabase.shoppingListDao(), shoppingLists
+                  );
                   dlHelper.sharedPrefs.edit()
                       .putString(PREF.DB_LAST_TIME_SHOPPING_LISTS, dbChangedTime).apply();
                   return true;
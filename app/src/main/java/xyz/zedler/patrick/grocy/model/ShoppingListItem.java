@@ -27,6 +27,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
@@ -52,7 +53,10 @@ import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnStringResponseListener;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.web.NetworkQueue.QueueItem;
 
-@Entity(tableName = "shopping_list_item_table")
+@Entity(
+    tableName = "shopping_list_item_table",
+    indices = {@Index("shopping_list_id"), @Index("product_id")}
+)
 public class ShoppingListItem extends GroupedListItem implements Parcelable {
 
   @PrimaryKey
@@ -382,10 +386,9 @@ public class ShoppingListItem extends GroupedListItem implements Parcelable {
                   Log.i(dlHelper.tag, "download ShoppingListItems: " + shoppingListItems);
                 }
                 Single.fromCallable(() -> {
-                  dlHelper.appDatabase.shoppingListItemDao()
-                      .deleteShoppingListItems().blockingSubscribe();
-                  dlHelper.appDatabase.shoppingListItemDao()
-                      .insertShoppingListItems(shoppingListItems).blockingSubscribe();
+                  dlHelper.appDatabase.replaceAll(
+                      dlHelper.appDatabase.shoppingListItemDao(), shoppingListItems
+                  );
                   dlHelper.sharedPrefs.edit()
                       .putString(PREF.DB_LAST_TIME_SHOPPING_LIST_ITEMS, dbChangedTime).apply();
                   return true;
@@ -468,8 +471,9 @@ public class ShoppingListItem extends GroupedListItem implements Parcelable {
                       }
                     })
                     .flatMap(completeItems -> {
-                      dlHelper.appDatabase.shoppingListItemDao().deleteAll();
-                      dlHelper.appDatabase.shoppingListItemDao().insertAll(shoppingListItems);
+                      dlHelper.appDatabase.replaceAll(
+                          dlHelper.appDatabase.shoppingListItemDao(), shoppingListItems
+                      );
                       dlHelper.sharedPrefs.edit()
                           .putString(PREF.DB_LAST_TIME_SHOPPING_LIST_ITEMS, dbChangedTime).apply();
                       return Single.just(shoppingListItems);
@@ -28,11 +28,11 @@ import androidx.annotation.Nullable;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
-import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -48,7 +48,10 @@ import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnStringResponseListener;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.web.NetworkQueue.QueueItem;
 
-@Entity(tableName = "stock_entry_table")
+@Entity(
+    tableName = "stock_entry_table",
+    indices = {@Index("product_id"), @Index("location_id")}
+)
 public class StockEntry extends GroupedListItem implements Parcelable {
 
   @PrimaryKey
@@ -338,35 +341,33 @@ public class StockEntry extends GroupedListItem implements Parcelable {
             @Nullable OnMultiTypeErrorListener errorListener,
             @Nullable String uuid
         ) {
-          dlHelper.get(
+          dlHelper.getObjectsStreaming(
               dlHelper.grocyApi.getObjects(ENTITY.STOCK_ENTRIES),
               uuid,
-              response -> {
-                Type type = new TypeToken<List<StockEntry>>() {
-                }.getType();
-                ArrayList<StockEntry> stockEntries = dlHelper.gson.fromJson(response, type);
+              StockEntry.class,
+              dlHelper.appDatabase.replacingWriter(dlHelper.appDatabase.stockEntryDao()),
+              count -> {
                 if (dlHelper.debug) {
-                  Log.i(dlHelper.tag, "dowload StockEntries: " + stockEntries);
+                  Log.i(dlHelper.tag, "download StockEntries: " + count);
                 }
-                Single.fromCallable(() -> {
-                  dlHelper.appDatabase.stockEntryDao().deleteStockEntries().blockingSubscribe();
-                  dlHelper.appDatabase.stockEntryDao()
-                      .insertStockEntries(stockEntries).blockingSubscribe();
-                  dlHelper.sharedPrefs.edit()
-                      .putString(PREF.DB_LAST_TIME_STOCK_ENTRIES, dbChangedTime).apply();
-                  return true;
-                })
+                dlHelper.sharedPrefs.edit()
+                    .putString(PREF.DB_LAST_TIME_STOCK_ENTRIES, dbChangedTime).apply();
+                if (onResponseListener == null) {
+                  if (responseListener != null) {
+                    responseListener.onResponse(null);
+                  }
+                  return;
+                }
+                // objects are not kept in memory while streaming, so load them if needed
+                dlHelper.appDatabase.stockEntryDao().getStockEntries()
                     .subscribeOn(Schedulers.io())
                     .observeOn(AndroidSchedulers.mainThread())
                     .doFinally(() -> {
-                      if (onResponseListener != null) {
-                        onResponseListener.onResponse(stockEntries);
-                      }
                       if (responseListener != null) {
-                        responseListener.onResponse(response);
+                        responseListener.onResponse(null);
                       }
                     })
-                    .subscribe(ignored -> {}, throwable -> {
+                    .subscribe(onResponseListener::onResponse, throwable -> {
                       if (errorListener != null) {
                         errorListener.onError(throwable);
                       }
@@ -29,6 +29,7 @@ import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.Ignore;
 import androidx.room.PrimaryKey;
+import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
@@ -41,6 +42,8 @@ import java.util.Objects;
 import xyz.zedler.patrick.grocy.Constants;
 import xyz.zedler.patrick.grocy.Constants.PREF;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
+import xyz.zedler.patrick.grocy.helper.DownloadHelper.NullableDoubleDeserializer;
+import xyz.zedler.patrick.grocy.helper.DownloadHelper.NullableIntegerDeserializer;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnMultiTypeErrorListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnObjectsResponseListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnStringResponseListener;
@@ -55,15 +58,18 @@ public class StockItem extends GroupedListItem implements Parcelable {
 
   @ColumnInfo(name = "amount")
   @SerializedName("amount")
-  private String amount;
+  @JsonAdapter(NullableDoubleDeserializer.class)
+  private double amount;
 
   @ColumnInfo(name = "amount_aggregated")
   @SerializedName("amount_aggregated")
-  private String amountAggregated;
+  @JsonAdapter(NullableDoubleDeserializer.class)
+  private double amountAggregated;
 
   @ColumnInfo(name = "value")
   @SerializedName("value")
-  private String value;
+  @JsonAdapter(NullableDoubleDeserializer.class)
+  private Double value;
 
   @ColumnInfo(name = "best_before_date")
   @SerializedName("best_before_date")
@@ -71,19 +77,23 @@ public class StockItem extends GroupedListItem implements Parcelable {
 
   @ColumnInfo(name = "amount_opened")
   @SerializedName("amount_opened")
-  private String amountOpened;
+  @JsonAdapter(NullableDoubleDeserializer.class)
+  private double amountOpened;
 
   @ColumnInfo(name = "amount_opened_aggregated")
   @SerializedName("amount_opened_aggregated")
-  private String amountOpenedAggregated;
+  @JsonAdapter(NullableDoubleDeserializer.class)
+  private double amountOpenedAggregated;
 
   @ColumnInfo(name = "is_aggregated_amount")
   @SerializedName("is_aggregated_amount")
-  private String isAggregatedAmount;
+  @JsonAdapter(NullableIntegerDeserializer.class)
+  private int isAggregatedAmount;
 
   @ColumnInfo(name = "due_type")
   @SerializedName("due_type")
-  private String dueType;
+  @JsonAdapter(NullableIntegerDeserializer.class)
+  private Integer dueType;
 
   @PrimaryKey
   @ColumnInfo(name = "product_id")
@@ -121,42 +131,44 @@ public class StockItem extends GroupedListItem implements Parcelable {
 
   @Ignore
   public StockItem(ProductDetails productDetails) {
-    this.amount = String.valueOf(productDetails.getStockAmount());
-    this.amountAggregated = String.valueOf(productDetails.getStockAmountAggregated());
-    this.value = productDetails.getStockValue();
+    this.amount = productDetails.getStockAmount();
+    this.amountAggregated = productDetails.getStockAmountAggregated();
+    this.value = NumUtil.isStringDouble(productDetails.getStockValue())
+        ? NumUtil.toDouble(productDetails.getStockValue()) : null;
     this.bestBeforeDate = productDetails.getNextDueDate();
-    this.amountOpened = String.valueOf(productDetails.getStockAmountOpened());
-    this.amountOpenedAggregated = String.valueOf(productDetails.getStockAmountOpenedAggregated());
-    this.isAggregatedAmount = productDetails.getIsAggregatedAmount();
-    this.dueType = productDetails.getProduct().getDueDateType();
+    this.amountOpened = productDetails.getStockAmountOpened();
+    this.amountOpenedAggregated = productDetails.getStockAmountOpenedAggregated();
+    this.isAggregatedAmount = NumUtil.isStringInt(productDetails.getIsAggregatedAmount())
+        ? Integer.parseInt(productDetails.getIsAggregatedAmount()) : 0;
+    this.dueType = productDetails.getProduct().getDueDateTypeInt();
     this.productId = productDetails.getProduct().getId();
     this.product = productDetails.getProduct();
   }
 
   @Ignore
   private StockItem(Parcel parcel) {
-    amount = parcel.readString();
-    amountAggregated = parcel.readString();
-    value = parcel.readString();
+    amount = parcel.readDouble();
+    amountAggregated = parcel.readDouble();
+    value = (Double) parcel.readValue(Double.class.getClassLoader());
     bestBeforeDate = parcel.readString();
-    amountOpened = parcel.readString();
-    amountOpenedAggregated = parcel.readString();
-    isAggregatedAmount = parcel.readString();
-    dueType = parcel.readString();
+    amountOpened = parcel.readDouble();
+    amountOpenedAggregated = parcel.readDouble();
+    isAggregatedAmount = parcel.readInt();
+    dueType = (Integer) parcel.readValue(Integer.class.getClassLoader());
     productId = parcel.readInt();
     product = parcel.readParcelable(Product.class.getClassLoader());
   }
 
   @Override
   public void writeToParcel(Parcel dest, int flags) {
-    dest.writeString(amount);
-    dest.writeString(amountAggregated);
-    dest.writeString(value);
+    dest.writeDouble(amount);
+    dest.writeDouble(amountAggregated);
+    dest.writeValue(value);
     dest.writeString(bestBeforeDate);
-    dest.writeString(amountOpened);
-    dest.writeString(amountOpenedAggregated);
-    dest.writeString(isAggregatedAmount);
-    dest.writeString(dueType);
+    dest.writeDouble(amountOpened);
+    dest.writeDouble(amountOpenedAggregated);
+    dest.writeInt(isAggregatedAmount);
+    dest.writeValue(dueType);
     dest.writeInt(productId);
     dest.writeParcelable(product, 0);
   }
@@ -175,19 +187,15 @@ public class StockItem extends GroupedListItem implements Parcelable {
   };
 
   public double getAmountAggregatedDouble() {
-    if (amountAggregated == null || amountAggregated.isEmpty()) {
-      return 0;
-    } else {
-      return NumUtil.toDouble(amountAggregated);
-    }
+    return amountAggregated;
   }
 
-  public String getValue() {
+  public Double getValue() {
     return value;
   }
 
   public double getValueDouble() {
-    return NumUtil.isStringDouble(value) ? NumUtil.toDouble(value) : 0;
+    return value != null ? value : 0;
   }
 
   public String getBestBeforeDate() {
@@ -195,19 +203,15 @@ public class StockItem extends GroupedListItem implements Parcelable {
   }
 
   public double getAmountOpenedAggregatedDouble() {
-    if (amountOpenedAggregated == null || amountOpenedAggregated.isEmpty()) {
-      return 0;
-    } else {
-      return NumUtil.toDouble(amountOpenedAggregated);
-    }
+    return amountOpenedAggregated;
   }
 
-  public String getIsAggregatedAmount() {
+  public int getIsAggregatedAmount() {
     return isAggregatedAmount;
   }
 
   public int getIsAggregatedAmountInt() {
-    return NumUtil.isStringInt(isAggregatedAmount) ? Integer.parseInt(isAggregatedAmount) : 0;
+    return isAggregatedAmount;
   }
 
   public int getProductId() {
@@ -219,30 +223,22 @@ public class StockItem extends GroupedListItem implements Parcelable {
   }
 
   public double getAmountDouble() {
-    if (amount == null || amount.isEmpty()) {
-      return 0;
-    } else {
-      return NumUtil.toDouble(amount);
-    }
+    return amount;
   }
 
   public double getAmountOpenedDouble() {
-    if (amountOpened == null || amountOpened.isEmpty()) {
-      return 0;
-    } else {
-      return NumUtil.toDouble(amountOpened);
-    }
+    return amountOpened;
   }
 
-  public void setAmount(String amount) {
+  public void setAmount(double amount) {
     this.amount = amount;
   }
 
-  public void setAmountAggregated(String amountAggregated) {
+  public void setAmountAggregated(double amountAggregated) {
     this.amountAggregated = amountAggregated;
   }
 
-  public void setValue(String value) {
+  public void setValue(Double value) {
     this.value = value;
   }
 
@@ -250,43 +246,43 @@ public class StockItem extends GroupedListItem implements Parcelable {
     this.bestBeforeDate = bestBeforeDate;
   }
 
-  public void setAmountOpened(String amountOpened) {
+  public void setAmountOpened(double amountOpened) {
     this.amountOpened = amountOpened;
   }
 
-  public void setAmountOpenedAggregated(String amountOpenedAggregated) {
+  public void setAmountOpenedAggregated(double amountOpenedAggregated) {
     this.amountOpenedAggregated = amountOpenedAggregated;
   }
 
-  public void setIsAggregatedAmount(String isAggregatedAmount) {
+  public void setIsAggregatedAmount(int isAggregatedAmount) {
     this.isAggregatedAmount = isAggregatedAmount;
   }
 
-  public String getAmount() {
+  public double getAmount() {
     return amount;
   }
 
-  public String getAmountAggregated() {
+  public double getAmountAggregated() {
     return amountAggregated;
   }
 
-  public String getAmountOpened() {
+  public double getAmountOpened() {
     return amountOpened;
   }
 
-  public String getAmountOpenedAggregated() {
+  public double getAmountOpenedAggregated() {
     return amountOpenedAggregated;
   }
 
-  public String getDueType() {
+  public Integer getDueType() {
     return dueType;
   }
 
   public int getDueTypeInt() {
-    return NumUtil.isStringInt(dueType) ? Integer.parseInt(dueType) : 1;
+    return dueType != null ? dueType : DUE_TYPE_BEST_BEFORE;
   }
 
-  public void setDueType(String dueType) {
+  public void setDueType(Integer dueType) {
     this.dueType = dueType;
   }
 
@@ -357,13 +353,13 @@ public class StockItem extends GroupedListItem implements Parcelable {
         itemExpired == stockItem.itemExpired &&
         itemMissing == stockItem.itemMissing &&
         itemMissingAndPartlyInStock == stockItem.itemMissingAndPartlyInStock &&
-        Objects.equals(amount, stockItem.amount) &&
-        Objects.equals(amountAggregated, stockItem.amountAggregated) &&
+        Double.compare(amount, stockItem.amount) == 0 &&
+        Double.compare(amountAggregated, stockItem.amountAggregated) == 0 &&
         Objects.equals(value, stockItem.value) &&
         Objects.equals(bestBeforeDate, stockItem.bestBeforeDate) &&
-        Objects.equals(amountOpened, stockItem.amountOpened) &&
-        Objects.equals(amountOpenedAggregated, stockItem.amountOpenedAggregated) &&
-        Objects.equals(isAggregatedAmount, stockItem.isAggregatedAmount) &&
+        Double.compare(amountOpened, stockItem.amountOpened) == 0 &&
+        Double.compare(amountOpenedAggregated, stockItem.amountOpenedAggregated) == 0 &&
+        isAggregatedAmount == stockItem.isAggregatedAmount &&
         Objects.equals(dueType, stockItem.dueType) &&
         Objects.equals(productId, stockItem.productId) &&
         Objects.equals(product, stockItem.product);
@@ -383,6 +379,27 @@ public class StockItem extends GroupedListItem implements Parcelable {
     return "StockItem(" + product + ")";
   }
 
+  @NonNull
+  public StockItem getClone() {
+    StockItem clone = new StockItem();
+    clone.amount = amount;
+    clone.amountAggregated = amountAggregated;
+    clone.value = value;
+    clone.bestBeforeDate = bestBeforeDate;
+    clone.amountOpened = amountOpened;
+    clone.amountOpenedAggregated = amountOpenedAggregated;
+    clone.isAggregatedAmount = isAggregatedAmount;
+    clone.dueType = dueType;
+    clone.productId = productId;
+    clone.product = product;
+    clone.itemDue = itemDue;
+    clone.itemOverdue = itemOverdue;
+    clone.itemExpired = itemExpired;
+    clone.itemMissing = itemMissing;
+    clone.itemMissingAndPartlyInStock = itemMissingAndPartlyInStock;
+    return clone;
+  }
+
   @SuppressLint("CheckResult")
   public static QueueItem updateStockItems(
       DownloadHelper dlHelper,
@@ -412,9 +429,7 @@ public class StockItem extends GroupedListItem implements Parcelable {
                   Log.i(dlHelper.tag, "download StockItems: " + stockItems);
                 }
                 Single.fromCallable(() -> {
-                  dlHelper.appDatabase.stockItemDao().deleteStockItems().blockingSubscribe();
-                  dlHelper.appDatabase.stockItemDao()
-                      .insertStockItems(stockItems).blockingSubscribe();
+                  dlHelper.appDatabase.replaceAll(dlHelper.appDatabase.stockItemDao(), stockItems);
                   dlHelper.sharedPrefs.edit()
                       .putString(PREF.DB_LAST_TIME_STOCK_ITEMS, dbChangedTime).apply();
                   return true;
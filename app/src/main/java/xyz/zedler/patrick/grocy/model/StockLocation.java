@@ -27,6 +27,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
@@ -47,7 +48,10 @@ import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnStringResponseListener;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.web.NetworkQueue.QueueItem;
 
-@Entity(tableName = "stock_current_location_table")
+@Entity(
+    tableName = "stock_current_location_table",
+    indices = {@Index("product_id"), @Index("location_id")}
+)
 public class StockLocation implements Parcelable {
 
   @PrimaryKey(autoGenerate = true)
@@ -264,10 +268,9 @@ public class StockLocation implements Parcelable {
                   Log.i(dlHelper.tag, "download StockCurrentLocations: " + locations);
                 }
                 Single.fromCallable(() -> {
-                  dlHelper.appDatabase.stockLocationDao()
-                      .deleteStockLocations().blockingSubscribe();
-                  dlHelper.appDatabase.stockLocationDao()
-                      .insertStockLocations(locations).blockingSubscribe();
+                  dlHelper.appDatabase.replaceAll(
+                      dlHelper.appDatabase.stockLocationDao(), locations
+                  );
                   dlHelper.sharedPrefs.edit()
                       .putString(PREF.DB_LAST_TIME_STOCK_LOCATIONS, dbChangedTime).apply();
                   return true;
@@ -201,8 +201,7 @@ public class Store implements Parcelable {
                   Log.i(dlHelper.tag, "download Stores: " + stores);
                 }
                 Single.fromCallable(() -> {
-                      dlHelper.appDatabase.storeDao().deleteStores().blockingSubscribe();
-                      dlHelper.appDatabase.storeDao().insertStores(stores).blockingSubscribe();
+                      dlHelper.appDatabase.replaceAll(dlHelper.appDatabase.storeDao(), stores);
                       dlHelper.sharedPrefs.edit()
                           .putString(Constants.PREF.DB_LAST_TIME_STORES, dbChangedTime).apply();
                       return true;
@@ -298,6 +298,20 @@ public class Task implements Parcelable {
     return "Task(" + name + ")";
   }
 
+  @NonNull
+  public Task getClone() {
+    Task clone = new Task();
+    clone.id = id;
+    clone.name = name;
+    clone.description = description;
+    clone.dueDate = dueDate;
+    clone.done = done;
+    clone.doneTimeStamp = doneTimeStamp;
+    clone.categoryId = categoryId;
+    clone.assignedToUserId = assignedToUserId;
+    return clone;
+  }
+
   @SuppressLint("CheckResult")
   public static QueueItem updateTasks(
       DownloadHelper dlHelper,
@@ -327,8 +341,7 @@ public class Task implements Parcelable {
                   Log.i(dlHelper.tag, "download Tasks: " + tasks);
                 }
                 Single.fromCallable(() -> {
-                  dlHelper.appDatabase.taskDao().deleteTasks().blockingSubscribe();
-                  dlHelper.appDatabase.taskDao().insertTasks(tasks).blockingSubscribe();
+                  dlHelper.appDatabase.replaceAll(dlHelper.appDatabase.taskDao(), tasks);
                   dlHelper.sharedPrefs.edit()
                       .putString(PREF.DB_LAST_TIME_TASKS, dbChangedTime).apply();
                   return true;
@@ -249,9 +249,9 @@ public class TaskCategory extends GroupedListItem implements Parcelable {
                   Log.i(dlHelper.tag, "download Task categories: " + taskCategories);
                 }
                 Single.fromCallable(() -> {
-                  dlHelper.appDatabase.taskCategoryDao().deleteCategories().blockingSubscribe();
-                  dlHelper.appDatabase.taskCategoryDao()
-                      .insertCategories(taskCategories).blockingSubscribe();
+                  dlHelper.appDatabase.replaceAll(
+                      dlHelper.appDatabase.taskCategoryDao(), taskCategories
+                  );
                   dlHelper.sharedPrefs.edit()
                       .putString(PREF.DB_LAST_TIME_TASK_CATEGORIES, dbChangedTime).apply();
                   return true;
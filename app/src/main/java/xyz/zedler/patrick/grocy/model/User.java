@@ -248,8 +248,7 @@ public class User implements Parcelable {
                   Log.i(dlHelper.tag, "download Users: " + users);
                 }
                 Single.fromCallable(() -> {
-                  dlHelper.appDatabase.userDao().deleteUsers().blockingSubscribe();
-                  dlHelper.appDatabase.userDao().insertUsers(users).blockingSubscribe();
+                  dlHelper.appDatabase.replaceAll(dlHelper.appDatabase.userDao(), users);
                   dlHelper.sharedPrefs.edit()
                       .putString(PREF.DB_LAST_TIME_USERS, dbChangedTime).apply();
                   return true;
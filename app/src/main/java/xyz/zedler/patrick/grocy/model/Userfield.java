@@ -364,8 +364,9 @@ public class Userfield implements Parcelable {
                   Log.i(dlHelper.tag, "download Userfields: " + userfields);
                 }
                 Single.fromCallable(() -> {
-                      dlHelper.appDatabase.userfieldDao().deleteUserfields().blockingSubscribe();
-                      dlHelper.appDatabase.userfieldDao().insertStores(userfields).blockingSubscribe();
+                      dlHelper.appDatabase.replaceAll(
+                          dlHelper.appDatabase.userfieldDao(), userfields
+                      );
                       dlHelper.sharedPrefs.edit()
                           .putString(PREF.DB_LAST_TIME_USERFIELDS, dbChangedTime).apply();
                       return true;
@@ -0,0 +1,154 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.model;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Ignore;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * One userfield value of a synced object, stored in its own table instead of a JSON column
+ * so rows of the object table can be read without parsing the userfields of each row.
+ */
+@Entity(
+    tableName = "userfield_value_table",
+    primaryKeys = {"entity", "object_id", "name"}
+)
+public class UserfieldValue {
+
+  @NonNull
+  @ColumnInfo(name = "entity")
+  private String entity;
+
+  @ColumnInfo(name = "object_id")
+  private int objectId;
+
+  @NonNull
+  @ColumnInfo(name = "name")
+  private String name;
+
+  @ColumnInfo(name = "value")
+  private String value;
+
+  public UserfieldValue() {
+    entity = "";
+    name = "";
+  }
+
+  @Ignore
+  public UserfieldValue(
+      @NonNull String entity,
+      int objectId,
+      @NonNull String name,
+      String value
+  ) {
+    this.entity = entity;
+    this.objectId = objectId;
+    this.name = name;
+    this.value = value;
+  }
+
+  @NonNull
+  public String getEntity() {
+    return entity;
+  }
+
+  public void setEntity(@NonNull String entity) {
+    this.entity = entity;
+  }
+
+  public int getObjectId() {
+    return objectId;
+  }
+
+  public void setObjectId(int objectId) {
+    this.objectId = objectId;
+  }
+
+  @NonNull
+  public String getName() {
+    return name;
+  }
+
+  public void setName(@NonNull String name) {
+    this.name = name;
+  }
+
+  public String getValue() {
+    return value;
+  }
+
+  public void setValue(String value) {
+    this.value = value;
+  }
+
+  /**
+   * Sets the userfields map of every product from the given values. Products without values
+   * get an empty map, so callers can look up a userfield without null checks.
+   */
+  public static List<Product> attachToProducts(
+      List<Product> products,
+      List<UserfieldValue> values
+  ) {
+    HashMap<Integer, Map<String, String>> userfieldsHashMap = new HashMap<>();
+    for (UserfieldValue value : values) {
+      Map<String, String> userfields = userfieldsHashMap.get(value.objectId);
+      if (userfields == null) {
+        userfields = new HashMap<>();
+        userfieldsHashMap.put(value.objectId, userfields);
+      }
+      userfields.put(value.name, value.value);
+    }
+    for (Product product : products) {
+      Map<String, String> userfields = userfieldsHashMap.get(product.getId());
+      product.setUserfields(userfields != null ? userfields : new HashMap<>());
+    }
+    return products;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    UserfieldValue that = (UserfieldValue) o;
+    return objectId == that.objectId && Objects.equals(entity, that.entity)
+        && Objects.equals(name, that.name) && Objects.equals(value, that.value);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(entity, objectId, name, value);
+  }
+
+  @NonNull
+  @Override
+  public String toString() {
+    return "UserfieldValue(" + entity + ", " + objectId + ", " + name + ')';
+  }
+}
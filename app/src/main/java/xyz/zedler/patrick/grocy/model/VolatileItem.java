@@ -220,12 +220,14 @@ public class VolatileItem implements Parcelable {
                 ArrayList<StockItem> finalExpiredItems = expiredItems;
                 ArrayList<MissingItem> finalMissingItems = missingItems;
                 Single.fromCallable(() -> {
-                  dlHelper.appDatabase.volatileItemDao().deleteVolatileItems().blockingSubscribe();
-                  dlHelper.appDatabase.volatileItemDao()
-                      .insertVolatileItems(volatileItemsTogether).blockingSubscribe();
-                  dlHelper.appDatabase.missingItemDao().deleteMissingItems().blockingSubscribe();
-                  dlHelper.appDatabase.missingItemDao()
-                      .insertMissingItems(finalMissingItems).blockingSubscribe();
+                  dlHelper.appDatabase.runInTransaction(() -> {
+                    dlHelper.appDatabase.replaceAll(
+                        dlHelper.appDatabase.volatileItemDao(), volatileItemsTogether
+                    );
+                    dlHelper.appDatabase.replaceAll(
+                        dlHelper.appDatabase.missingItemDao(), finalMissingItems
+                    );
+                  });
                   dlHelper.sharedPrefs.edit()
                       .putString(PREF.DB_LAST_TIME_VOLATILE, dbChangedTime)
                       .putString(PREF.DB_LAST_TIME_VOLATILE_MISSING, dbChangedTime).apply();
@@ -28,7 +28,6 @@ import java.util.List;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
 import xyz.zedler.patrick.grocy.model.Location;
 import xyz.zedler.patrick.grocy.model.Product;
-import xyz.zedler.patrick.grocy.model.ProductBarcode;
 import xyz.zedler.patrick.grocy.model.QuantityUnit;
 import xyz.zedler.patrick.grocy.model.QuantityUnitConversionResolved;
 import xyz.zedler.patrick.grocy.model.Store;
@@ -49,7 +48,6 @@ public class InventoryRepository {
   public static class InventoryData {
 
     private final List<Product> products;
-    private final List<ProductBarcode> barcodes;
     private final List<QuantityUnit> quantityUnits;
     private final List<QuantityUnitConversionResolved> quantityUnitConversions;
     private final List<Store> stores;
@@ -57,14 +55,12 @@ public class InventoryRepository {
 
     public InventoryData(
         List<Product> products,
-        List<ProductBarcode> barcodes,
         List<QuantityUnit> quantityUnits,
         List<QuantityUnitConversionResolved> quantityUnitConversions,
         List<Store> stores,
         List<Location> locations
     ) {
       this.products = products;
-      this.barcodes = barcodes;
       this.quantityUnits = quantityUnits;
       this.quantityUnitConversions = quantityUnitConversions;
       this.stores = stores;
@@ -75,10 +71,6 @@ public class InventoryRepository {
       return products;
     }
 
-    public List<ProductBarcode> getBarcodes() {
-      return barcodes;
-    }
-
     public List<QuantityUnit> getQuantityUnits() {
       return quantityUnits;
     }
@@ -100,9 +92,8 @@ public class InventoryRepository {
     Single
         .zip(
             appDatabase.productDao().getProducts(),
-            appDatabase.productBarcodeDao().getProductBarcodes(),
             appDatabase.quantityUnitDao().getQuantityUnits(),
-            appDatabase.quantityUnitConversionResolvedDao().getConversionsResolved(),
+            QuantityUnitConversionRepository.getConversionsResolved(appDatabase),
             appDatabase.storeDao().getStores(),
             appDatabase.locationDao().getLocations(),
             InventoryData::new
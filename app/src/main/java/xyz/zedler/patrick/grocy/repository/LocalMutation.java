@@ -0,0 +1,134 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.repository;
+
+import android.app.Application;
+import androidx.annotation.Nullable;
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.ArrayList;
+import java.util.List;
+import xyz.zedler.patrick.grocy.dao.BulkDao;
+import xyz.zedler.patrick.grocy.database.AppDatabase;
+
+/**
+ * Applies the expected effect of a write request to the local database right away, instead
+ * of downloading all dependent tables again after the server confirmed it. If the request
+ * fails, the mutation is rolled back, so the database matches the server again.
+ *
+ * Updated rows are written as new objects, the previous objects are written again on rollback,
+ * deleted rows are inserted again on rollback. The objects passed in must not be changed
+ * afterwards, as they are written on another thread and may still be shown in a list.
+ * Database writes of all mutations run one after another on a single thread, so a rollback
+ * can't overtake its mutation.
+ * All methods must be called on the main thread.
+ */
+public class LocalMutation {
+
+  private final AppDatabase appDatabase;
+  private final ArrayList<Runnable> writes;
+  private final ArrayList<Runnable> rollbackWrites;
+  private boolean isApplied;
+
+  public interface DaoGetter<T> {
+    BulkDao<T> getDao(AppDatabase appDatabase);
+  }
+
+  public interface DatabaseWrite {
+    void write(AppDatabase appDatabase);
+  }
+
+  public LocalMutation(Application application) {
+    appDatabase = AppDatabase.getAppDatabase(application);
+    writes = new ArrayList<>();
+    rollbackWrites = new ArrayList<>();
+  }
+
+  public <T> LocalMutation update(DaoGetter<T> daoGetter, List<T> rows, List<T> previousRows) {
+    BulkDao<T> dao = daoGetter.getDao(appDatabase);
+    if (!rows.isEmpty()) writes.add(() -> dao.insertAll(rows));
+    if (!previousRows.isEmpty()) rollbackWrites.add(() -> dao.insertAll(previousRows));
+    return this;
+  }
+
+  public <T> LocalMutation delete(DaoGetter<T> daoGetter, List<T> rows) {
+    if (rows.isEmpty()) return this;
+    BulkDao<T> dao = daoGetter.getDao(appDatabase);
+    writes.add(() -> dao.deleteObjects(rows));
+    rollbackWrites.add(() -> dao.insertAll(rows));
+    return this;
+  }
+
+  public void apply(@Nullable Runnable onFinished) {
+    if (isApplied) return;
+    isApplied = true;
+    write(writes, onFinished, null);
+  }
+
+  public void rollback(@Nullable Runnable onFinished) {
+    if (!isApplied) return;
+    isApplied = false;
+    write(rollbackWrites, onFinished, null);
+  }
+
+  /**
+   * Replaces the expected effect with the effect the server confirmed: the mutation is rolled
+   * back and the confirmed write runs in the same transaction, so the rows never show the state
+   * before the request in between. The confirmed write reads the rows it changes itself.
+   * If the write fails, the whole transaction is discarded and onError is called instead of
+   * onFinished.
+   */
+  public void confirm(
+      DatabaseWrite confirmedWrite,
+      @Nullable Runnable onFinished,
+      @Nullable Runnable onError
+  ) {
+    ArrayList<Runnable> operations = new ArrayList<>();
+    if (isApplied) operations.addAll(rollbackWrites);
+    isApplied = false;
+    operations.add(() -> confirmedWrite.write(appDatabase));
+    write(operations, onFinished, onError);
+  }
+
+  private void write(
+      List<Runnable> operations,
+      @Nullable Runnable onFinished,
+      @Nullable Runnable onError
+  ) {
+    Completable
+        .fromAction(() -> appDatabase.runInTransaction(() -> {
+          for (Runnable write : operations) {
+            write.run();
+          }
+        }))
+        .subscribeOn(Schedulers.single())
+        .observeOn(AndroidSchedulers.mainThread())
+        .subscribe(() -> {
+          if (onFinished != null) onFinished.run();
+        }, throwable -> {
+          if (onError != null) {
+            onError.run();
+          } else if (onFinished != null) {
+            onFinished.run();
+          }
+        });
+  }
+}
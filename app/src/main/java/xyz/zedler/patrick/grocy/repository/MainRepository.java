@@ -35,7 +35,10 @@ public class MainRepository {
   public void clearAllTables() {
     Single
         .just(0)
-        .doFinally(appDatabase::clearAllTables)
+        .doFinally(() -> {
+          appDatabase.clearAllTables();
+          QuantityUnitConversionRepository.invalidate();
+        })
         .subscribeOn(Schedulers.io())
         .subscribe();
   }
@@ -25,6 +25,7 @@ import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.functions.Consumer;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.List;
+import xyz.zedler.patrick.grocy.api.GrocyApi.ENTITY;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
 import xyz.zedler.patrick.grocy.model.Location;
 import xyz.zedler.patrick.grocy.model.Product;
@@ -33,6 +34,7 @@ import xyz.zedler.patrick.grocy.model.QuantityUnit;
 import xyz.zedler.patrick.grocy.model.Store;
 import xyz.zedler.patrick.grocy.model.TaskCategory;
 import xyz.zedler.patrick.grocy.model.Userfield;
+import xyz.zedler.patrick.grocy.model.UserfieldValue;
 
 public class MasterObjectListRepository {
 
@@ -106,7 +108,10 @@ public class MasterObjectListRepository {
   public void loadFromDatabase(DataListener onSuccess, Consumer<Throwable> onError) {
     Single
         .zip(
-            appDatabase.productDao().getProducts(),
+            appDatabase.productDao().getProducts().zipWith(
+                appDatabase.userfieldValueDao().getValues(ENTITY.PRODUCTS),
+                UserfieldValue::attachToProducts
+            ),
             appDatabase.productGroupDao().getProductGroups(),
             appDatabase.storeDao().getStores(),
             appDatabase.locationDao().getLocations(),
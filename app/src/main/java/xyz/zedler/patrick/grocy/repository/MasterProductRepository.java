@@ -130,7 +130,7 @@ public class MasterProductRepository {
             appDatabase.locationDao().getLocations(),
             appDatabase.quantityUnitDao().getQuantityUnits(),
             appDatabase.quantityUnitConversionDao().getConversions(),
-            appDatabase.quantityUnitConversionResolvedDao().getConversionsResolved(),
+            QuantityUnitConversionRepository.getConversionsResolved(appDatabase),
             MasterProductData::new
         )
         .subscribeOn(Schedulers.io())
@@ -24,6 +24,7 @@ import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
 import io.reactivex.rxjava3.functions.Consumer;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.List;
+import xyz.zedler.patrick.grocy.api.GrocyApi.ENTITY;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
 import xyz.zedler.patrick.grocy.model.MealPlanEntry;
 import xyz.zedler.patrick.grocy.model.MealPlanSection;
@@ -35,6 +36,7 @@ import xyz.zedler.patrick.grocy.model.RecipeFulfillment;
 import xyz.zedler.patrick.grocy.model.RecipePosition;
 import xyz.zedler.patrick.grocy.model.StockItem;
 import xyz.zedler.patrick.grocy.model.Userfield;
+import xyz.zedler.patrick.grocy.model.UserfieldValue;
 import xyz.zedler.patrick.grocy.util.RxJavaUtil;
 
 public class MealPlanRepository {
@@ -134,7 +136,10 @@ public class MealPlanRepository {
             appDatabase.recipeDao().getRecipes(),
             appDatabase.recipeFulfillmentDao().getRecipeFulfillments(),
             appDatabase.recipePositionDao().getRecipePositions(),
-            appDatabase.productDao().getProducts(),
+            appDatabase.productDao().getProducts().zipWith(
+                appDatabase.userfieldValueDao().getValues(ENTITY.PRODUCTS),
+                UserfieldValue::attachToProducts
+            ),
             appDatabase.quantityUnitDao().getQuantityUnits(),
             appDatabase.productLastPurchasedDao().getProductsLastPurchased(),
             appDatabase.mealPlanEntryDao().getMealPlanEntries(),
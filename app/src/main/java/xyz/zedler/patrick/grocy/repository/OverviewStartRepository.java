@@ -20,128 +20,210 @@
 package xyz.zedler.patrick.grocy.repository;
 
 import android.app.Application;
+import androidx.annotation.NonNull;
+import androidx.room.InvalidationTracker;
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.functions.Consumer;
 import io.reactivex.rxjava3.schedulers.Schedulers;
-import java.util.List;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import xyz.zedler.patrick.grocy.dao.OverviewStartDao;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
-import xyz.zedler.patrick.grocy.model.ChoreEntry;
-import xyz.zedler.patrick.grocy.model.MissingItem;
-import xyz.zedler.patrick.grocy.model.Product;
-import xyz.zedler.patrick.grocy.model.Recipe;
-import xyz.zedler.patrick.grocy.model.ShoppingList;
-import xyz.zedler.patrick.grocy.model.ShoppingListItem;
-import xyz.zedler.patrick.grocy.model.StockItem;
-import xyz.zedler.patrick.grocy.model.StoredPurchase;
-import xyz.zedler.patrick.grocy.model.Task;
 import xyz.zedler.patrick.grocy.model.VolatileItem;
-import xyz.zedler.patrick.grocy.util.RxJavaUtil;
+import xyz.zedler.patrick.grocy.util.DateUtil;
 
 public class OverviewStartRepository {
 
+  private static final String[] STOCK_TABLES = {
+      "stock_item_table",
+      "volatile_item_table",
+      "missing_item_table",
+      "product_table",
+      "shopping_list_item_table"
+  };
+  private static final String[] COUNT_TABLES = {
+      "shopping_list_item_table",
+      "shopping_list_table",
+      "product_table",
+      "recipe_table",
+      "stored_purchase_table"
+  };
+  private static final String CHORE_TABLE = "chore_entry_table";
+  private static final String TASK_TABLE = "task_table";
+
+  // The summary is kept across screens and only the parts whose tables were changed since the
+  // last calculation are calculated again
+  private static final Set<String> invalidatedTables = new HashSet<>();
+  private static OverviewStartSummary summary;
+  private static InvalidationTracker.Observer tableObserver;
+
   private final AppDatabase appDatabase;
 
   public OverviewStartRepository(Application application) {
     this.appDatabase = AppDatabase.getAppDatabase(application);
+    registerTableObserver(appDatabase);
   }
 
-  public interface DataListener {
-    void actionFinished(OverviewStartData data);
+  private static synchronized void registerTableObserver(AppDatabase appDatabase) {
+    if (tableObserver != null) {
+      return;
+    }
+    HashSet<String> tables = new HashSet<>();
+    Collections.addAll(tables, STOCK_TABLES);
+    Collections.addAll(tables, COUNT_TABLES);
+    tables.add(CHORE_TABLE);
+    tables.add(TASK_TABLE);
+    tableObserver = new InvalidationTracker.Observer(tables.toArray(new String[0])) {
+      @Override
+      public void onInvalidated(@NonNull Set<String> tables) {
+        synchronized (invalidatedTables) {
+          invalidatedTables.addAll(tables);
+        }
+      }
+    };
+    appDatabase.getInvalidationTracker().addObserver(tableObserver);
   }
 
-  public static class OverviewStartData {
+  public interface SummaryListener {
+    void actionFinished(OverviewStartSummary summary);
+  }
+
+  public static class OverviewStartSummary {
+
+    private int itemsDueCount;
+    private int itemsOverdueCount;
+    private int itemsExpiredCount;
+    private int itemsMissingCount;
+    private int itemsMissingShoppingListCount;
+    private int itemsInStockCount;
+    private double stockValue;
+    private int shoppingListItemsCount;
+    private int shoppingListsCount;
+    private int productsCount;
+    private int recipesCount;
+    private int storedPurchasesCount;
+    private int choresDueTodayCount;
+    private int choresDueSoonCount;
+    private int choresOverdueCount;
+    private int choresAssignedCount;
+    private int tasksUndoneCount;
+    private int tasksAssignedCount;
+    private LocalDate date;
+    private int userId;
+
+    private OverviewStartSummary copy() {
+      OverviewStartSummary copy = new OverviewStartSummary();
+      copy.itemsDueCount = itemsDueCount;
+      copy.itemsOverdueCount = itemsOverdueCount;
+      copy.itemsExpiredCount = itemsExpiredCount;
+      copy.itemsMissingCount = itemsMissingCount;
+      copy.itemsMissingShoppingListCount = itemsMissingShoppingListCount;
+      copy.itemsInStockCount = itemsInStockCount;
+      copy.stockValue = stockValue;
+      copy.shoppingListItemsCount = shoppingListItemsCount;
+      copy.shoppingListsCount = shoppingListsCount;
+      copy.productsCount = productsCount;
+      copy.recipesCount = recipesCount;
+      copy.storedPurchasesCount = storedPurchasesCount;
+      copy.choresDueTodayCount = choresDueTodayCount;
+      copy.choresDueSoonCount = choresDueSoonCount;
+      copy.choresOverdueCount = choresOverdueCount;
+      copy.choresAssignedCount = choresAssignedCount;
+      copy.tasksUndoneCount = tasksUndoneCount;
+      copy.tasksAssignedCount = tasksAssignedCount;
+      copy.date = date;
+      copy.userId = userId;
+      return copy;
+    }
+
+    public int getItemsDueCount() {
+      return itemsDueCount;
+    }
+
+    public int getItemsOverdueCount() {
+      return itemsOverdueCount;
+    }
+
+    public int getItemsExpiredCount() {
+      return itemsExpiredCount;
+    }
+
+    public int getItemsMissingCount() {
+      return itemsMissingCount;
+    }
+
+    public int getItemsMissingShoppingListCount() {
+      return itemsMissingShoppingListCount;
+    }
 
-    private final List<StockItem> stockItems;
-    private final List<ShoppingListItem> shoppingListItems;
-    private final List<ShoppingList> shoppingLists;
-    private final List<Product> products;
-    private final List<StoredPurchase> storedPurchases;
-    private final List<Recipe> recipes;
-    private final List<ChoreEntry> choreEntries;
-    private final List<Task> tasks;
-    private final List<VolatileItem> volatileItems;
-    private final List<MissingItem> missingItems;
+    public int getItemsInStockCount() {
+      return itemsInStockCount;
+    }
+
+    public double getStockValue() {
+      return stockValue;
+    }
 
-    public OverviewStartData(
-        List<StockItem> stockItems,
-        List<ShoppingListItem> shoppingListItems,
-        List<ShoppingList> shoppingLists,
-        List<Product> products,
-        List<StoredPurchase> storedPurchases,
-        List<Recipe> recipes,
-        List<ChoreEntry> choreEntries,
-        List<Task> tasks,
-        List<VolatileItem> volatileItems,
-        List<MissingItem> missingItems
-    ) {
-      this.stockItems = stockItems;
-      this.shoppingListItems = shoppingListItems;
-      this.shoppingLists = shoppingLists;
-      this.products = products;
-      this.storedPurchases = storedPurchases;
-      this.recipes = recipes;
-      this.choreEntries = choreEntries;
-      this.tasks = tasks;
-      this.volatileItems = volatileItems;
-      this.missingItems = missingItems;
+    public int getShoppingListItemsCount() {
+      return shoppingListItemsCount;
     }
 
-    public List<StockItem> getStockItems() {
-      return stockItems;
+    public int getShoppingListsCount() {
+      return shoppingListsCount;
     }
 
-    public List<ShoppingListItem> getShoppingListItems() {
-      return shoppingListItems;
+    public int getProductsCount() {
+      return productsCount;
     }
 
-    public List<ShoppingList> getShoppingLists() {
-      return shoppingLists;
+    public int getRecipesCount() {
+      return recipesCount;
     }
 
-    public List<Product> getProducts() {
-      return products;
+    public int getStoredPurchasesCount() {
+      return storedPurchasesCount;
     }
 
-    public List<StoredPurchase> getStoredPurchases() {
-      return storedPurchases;
+    public int getChoresDueTodayCount() {
+      return choresDueTodayCount;
     }
 
-    public List<Recipe> getRecipes() {
-      return recipes;
+    public int getChoresDueSoonCount() {
+      return choresDueSoonCount;
     }
 
-    public List<ChoreEntry> getChoreEntries() {
-      return choreEntries;
+    public int getChoresOverdueCount() {
+      return choresOverdueCount;
     }
 
-    public List<Task> getTasks() {
-      return tasks;
+    public int getChoresAssignedCount() {
+      return choresAssignedCount;
     }
 
-    public List<VolatileItem> getVolatileItems() {
-      return volatileItems;
+    public int getTasksUndoneCount() {
+      return tasksUndoneCount;
     }
 
-    public List<MissingItem> getMissingItems() {
-      return missingItems;
+    public int getTasksAssignedCount() {
+      return tasksAssignedCount;
     }
   }
 
-  public void loadFromDatabase(DataListener onSuccess, Consumer<Throwable> onError) {
-    RxJavaUtil
-        .zip(
-            appDatabase.stockItemDao().getStockItems(),
-            appDatabase.shoppingListItemDao().getShoppingListItems(),
-            appDatabase.shoppingListDao().getShoppingLists(),
-            appDatabase.productDao().getProducts(),
-            appDatabase.storedPurchaseDao().getStoredPurchases(),
-            appDatabase.recipeDao().getRecipes(),
-            appDatabase.choreEntryDao().getChoreEntries(),
-            appDatabase.taskDao().getTasks(),
-            appDatabase.volatileItemDao().getVolatileItems(),
-            appDatabase.missingItemDao().getMissingItems(),
-            OverviewStartData::new
-        )
+  /**
+   * Loads the cached summary and calculates the parts whose tables were changed.
+   * Room notifies the table observer asynchronously, so after a sync the caller has to pass
+   * forceUpdate to be sure the new data is included.
+   */
+  public void loadSummary(
+      int currentUserId,
+      boolean forceUpdate,
+      SummaryListener onSuccess,
+      Consumer<Throwable> onError
+  ) {
+    Single.fromCallable(() -> updateSummary(currentUserId, forceUpdate))
         .subscribeOn(Schedulers.io())
         .observeOn(AndroidSchedulers.mainThread())
         .doOnSuccess(onSuccess::actionFinished)
@@ -149,4 +231,79 @@ public class OverviewStartRepository {
         .onErrorComplete()
         .subscribe();
   }
+
+  private OverviewStartSummary updateSummary(int currentUserId, boolean forceUpdate) {
+    synchronized (OverviewStartRepository.class) {
+      Set<String> changedTables;
+      synchronized (invalidatedTables) {
+        changedTables = new HashSet<>(invalidatedTables);
+        invalidatedTables.clear();
+      }
+      OverviewStartSummary oldSummary = summary;
+      OverviewStartSummary newSummary = oldSummary != null
+          ? oldSummary.copy() : new OverviewStartSummary();
+      LocalDate today = LocalDate.now();
+      boolean updateAll = oldSummary == null || forceUpdate;
+      boolean userChanged = updateAll || oldSummary.userId != currentUserId;
+      boolean dateChanged = updateAll || !today.equals(oldSummary.date);
+      newSummary.userId = currentUserId;
+      newSummary.date = today;
+
+      OverviewStartDao dao = appDatabase.overviewStartDao();
+      appDatabase.runInTransaction(() -> {
+        if (updateAll || containsAny(changedTables, STOCK_TABLES)) {
+          newSummary.itemsDueCount = dao.getVolatileItemCount(VolatileItem.TYPE_DUE);
+          newSummary.itemsOverdueCount = dao.getVolatileItemCount(VolatileItem.TYPE_OVERDUE);
+          newSummary.itemsExpiredCount = dao.getVolatileItemCount(VolatileItem.TYPE_EXPIRED);
+          newSummary.itemsMissingCount = dao.getMissingItemCount();
+          newSummary.itemsMissingShoppingListCount = dao.getMissingItemOnShoppingListCount();
+          newSummary.itemsInStockCount = dao.getInStockCount();
+          newSummary.stockValue = dao.getStockValue();
+        }
+        if (updateAll || containsAny(changedTables, COUNT_TABLES)) {
+          newSummary.shoppingListItemsCount = dao.getShoppingListItemCount();
+          newSummary.shoppingListsCount = dao.getShoppingListCount();
+          newSummary.productsCount = dao.getProductCount();
+          newSummary.recipesCount = dao.getRecipeCount();
+          newSummary.storedPurchasesCount = dao.getStoredPurchaseCount();
+        }
+        if (dateChanged || userChanged || changedTables.contains(CHORE_TABLE)) {
+          int choresDueTodayCount = 0;
+          int choresDueSoonCount = 0;
+          int choresOverdueCount = 0;
+          for (String executionTime : dao.getChoreExecutionTimes()) {
+            int daysFromNow = DateUtil.getDaysFromNow(executionTime);
+            if (daysFromNow < 0) {
+              choresOverdueCount++;
+            }
+            if (daysFromNow == 0) {
+              choresDueTodayCount++;
+            }
+            if (daysFromNow >= 0 && daysFromNow <= 5) {
+              choresDueSoonCount++;
+            }
+          }
+          newSummary.choresDueTodayCount = choresDueTodayCount;
+          newSummary.choresDueSoonCount = choresDueSoonCount;
+          newSummary.choresOverdueCount = choresOverdueCount;
+          newSummary.choresAssignedCount = dao.getChoresAssignedCount(currentUserId);
+        }
+        if (userChanged || changedTables.contains(TASK_TABLE)) {
+          newSummary.tasksUndoneCount = dao.getUndoneTaskCount();
+          newSummary.tasksAssignedCount = dao.getUndoneTasksAssignedCount(currentUserId);
+        }
+      });
+      summary = newSummary;
+      return newSummary;
+    }
+  }
+
+  private static boolean containsAny(Set<String> changedTables, String[] tables) {
+    for (String table : tables) {
+      if (changedTables.contains(table)) {
+        return true;
+      }
+    }
+    return false;
+  }
 }
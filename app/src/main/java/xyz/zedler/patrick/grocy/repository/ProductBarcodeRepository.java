@@ -0,0 +1,83 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.repository;
+
+import android.app.Application;
+import androidx.annotation.Nullable;
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.Collections;
+import xyz.zedler.patrick.grocy.dao.ProductBarcodeDao;
+import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.model.BarcodeLookup;
+import xyz.zedler.patrick.grocy.model.ProductBarcode;
+
+/**
+ * Resolves scanned barcodes with the barcode indices of the database instead of scanning all
+ * barcodes and products in memory.
+ */
+public class ProductBarcodeRepository {
+
+  private final AppDatabase appDatabase;
+
+  public ProductBarcodeRepository(Application application) {
+    this.appDatabase = AppDatabase.getAppDatabase(application);
+  }
+
+  /**
+   * Looks up the barcode and its product on a background thread. The listener is called on the
+   * main thread, with an empty lookup if the barcode is unknown or the query failed.
+   */
+  public void getBarcodeLookup(String barcode, LookupListener listener) {
+    Single.fromCallable(() -> appDatabase.productBarcodeDao().getBarcodeLookup(barcode))
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .onErrorReturnItem(new BarcodeLookup())
+        .subscribe(listener::onLookup);
+  }
+
+  /**
+   * Stores a barcode which was added on the server, so it is found by the next scan before
+   * the barcodes are synced again. The sync replaces it with the row of the server.
+   */
+  public void insertProductBarcode(ProductBarcode productBarcode, @Nullable Runnable onFinished) {
+    Completable
+        .fromAction(() -> appDatabase.runInTransaction(() -> {
+          ProductBarcodeDao dao = appDatabase.productBarcodeDao();
+          if (productBarcode.getId() == 0) {
+            productBarcode.setId(dao.getNextLocalId());
+          }
+          dao.insertAll(Collections.singletonList(productBarcode));
+        }))
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .doFinally(() -> {
+          if (onFinished != null) onFinished.run();
+        })
+        .onErrorComplete()
+        .subscribe();
+  }
+
+  public interface LookupListener {
+    void onLookup(BarcodeLookup lookup);
+  }
+}
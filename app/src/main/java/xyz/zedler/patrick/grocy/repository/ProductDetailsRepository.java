@@ -0,0 +1,208 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.repository;
+
+import android.app.Application;
+import androidx.annotation.Nullable;
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.functions.Consumer;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.List;
+import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.model.Location;
+import xyz.zedler.patrick.grocy.model.Product;
+import xyz.zedler.patrick.grocy.model.ProductDetails;
+import xyz.zedler.patrick.grocy.model.ProductLastPurchased;
+import xyz.zedler.patrick.grocy.model.QuantityUnit;
+import xyz.zedler.patrick.grocy.model.StockEntry;
+import xyz.zedler.patrick.grocy.model.StockItem;
+import xyz.zedler.patrick.grocy.model.StockLocation;
+
+/**
+ * Resolves the details of a single product from the local database, so that the stock forms
+ * can be filled directly after a scan. The result may be outdated and has to be revalidated
+ * with the server afterwards.
+ */
+public class ProductDetailsRepository {
+
+  private final AppDatabase appDatabase;
+
+  public ProductDetailsRepository(Application application) {
+    this.appDatabase = AppDatabase.getAppDatabase(application);
+  }
+
+  public interface DataListener {
+
+    void actionFinished(ProductDetailsData data);
+  }
+
+  /**
+   * Details and stock of one product, either resolved locally or collected from the
+   * responses of the server with the setters.
+   */
+  public static class ProductDetailsData {
+
+    private ProductDetails productDetails;
+    private List<StockLocation> stockLocations;
+    private List<StockEntry> stockEntries;
+
+    public ProductDetailsData() {
+    }
+
+    public ProductDetailsData(
+        @Nullable ProductDetails productDetails,
+        @Nullable List<StockLocation> stockLocations,
+        @Nullable List<StockEntry> stockEntries
+    ) {
+      this.productDetails = productDetails;
+      this.stockLocations = stockLocations;
+      this.stockEntries = stockEntries;
+    }
+
+    /**
+     * Null if the product isn't in the local database.
+     */
+    @Nullable
+    public ProductDetails getProductDetails() {
+      return productDetails;
+    }
+
+    public void setProductDetails(ProductDetails productDetails) {
+      this.productDetails = productDetails;
+    }
+
+    /**
+     * Null if the stock can't be resolved locally, because the server includes the stock of
+     * sub products for parent products.
+     */
+    @Nullable
+    public List<StockLocation> getStockLocations() {
+      return stockLocations;
+    }
+
+    public void setStockLocations(List<StockLocation> stockLocations) {
+      this.stockLocations = stockLocations;
+    }
+
+    @Nullable
+    public List<StockEntry> getStockEntries() {
+      return stockEntries;
+    }
+
+    public void setStockEntries(List<StockEntry> stockEntries) {
+      this.stockEntries = stockEntries;
+    }
+
+    public boolean hasStock() {
+      return productDetails != null && stockLocations != null && stockEntries != null
+          && productDetails.getStockAmountAggregated() > 0;
+    }
+
+    /**
+     * Compares amounts, locations and entries of the stock, independent of their order.
+     */
+    public boolean hasSameStock(ProductDetailsData other) {
+      if (!hasStock() || other.productDetails == null
+          || other.stockLocations == null || other.stockEntries == null) {
+        return false;
+      }
+      if (productDetails.getStockAmount() != other.productDetails.getStockAmount()
+          || productDetails.getStockAmountAggregated()
+          != other.productDetails.getStockAmountAggregated()
+          || productDetails.getStockAmountOpened()
+          != other.productDetails.getStockAmountOpened()) {
+        return false;
+      }
+      if (stockLocations.size() != other.stockLocations.size()
+          || stockEntries.size() != other.stockEntries.size()) {
+        return false;
+      }
+      for (StockLocation stockLocation : stockLocations) {
+        StockLocation otherLocation = StockLocation.getFromId(
+            other.stockLocations, stockLocation.getLocationId()
+        );
+        if (otherLocation == null
+            || otherLocation.getAmountDouble() != stockLocation.getAmountDouble()) {
+          return false;
+        }
+      }
+      for (StockEntry stockEntry : stockEntries) {
+        StockEntry otherEntry = StockEntry.getStockEntryFromId(
+            other.stockEntries, stockEntry.getStockId()
+        );
+        if (otherEntry == null || otherEntry.getAmount() != stockEntry.getAmount()
+            || otherEntry.getOpen() != stockEntry.getOpen()
+            || otherEntry.getLocationIdInt() != stockEntry.getLocationIdInt()) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  public void loadFromDatabase(int productId, DataListener onSuccess, Consumer<Throwable> onError) {
+    Single
+        .zip(
+            appDatabase.productDao().getProductsById(productId),
+            appDatabase.stockItemDao().getStockItemsByProductId(productId),
+            appDatabase.productLastPurchasedDao().getProductsLastPurchasedByProductId(productId),
+            appDatabase.stockLocationDao().getStockLocationsByProductId(productId),
+            appDatabase.stockEntryDao().getStockEntriesByProductId(productId),
+            appDatabase.quantityUnitDao().getQuantityUnits(),
+            appDatabase.locationDao().getLocations(),
+            ProductDetailsRepository::resolve
+        )
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .doOnSuccess(onSuccess::actionFinished)
+        .doOnError(onError)
+        .onErrorComplete()
+        .subscribe();
+  }
+
+  private static ProductDetailsData resolve(
+      List<Product> products,
+      List<StockItem> stockItems,
+      List<ProductLastPurchased> productsLastPurchased,
+      List<StockLocation> stockLocations,
+      List<StockEntry> stockEntries,
+      List<QuantityUnit> quantityUnits,
+      List<Location> locations
+  ) {
+    if (products.isEmpty()) {
+      return new ProductDetailsData(null, null, null);
+    }
+    Product product = products.get(0);
+    StockItem stockItem = stockItems.isEmpty() ? null : stockItems.get(0);
+    ProductDetails productDetails = new ProductDetails(
+        product,
+        stockItem,
+        productsLastPurchased.isEmpty() ? null : productsLastPurchased.get(0),
+        QuantityUnit.getFromId(quantityUnits, product.getQuIdPurchaseInt()),
+        QuantityUnit.getFromId(quantityUnits, product.getQuIdStockInt()),
+        Location.getFromId(locations, product.getLocationIdInt())
+    );
+    if (stockItem != null && stockItem.getIsAggregatedAmountInt() == 1) {
+      return new ProductDetailsData(productDetails, null, null);
+    }
+    return new ProductDetailsData(productDetails, stockLocations, stockEntries);
+  }
+}
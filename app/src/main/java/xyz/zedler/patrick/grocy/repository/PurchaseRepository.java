@@ -21,6 +21,7 @@ package xyz.zedler.patrick.grocy.repository;
 
 import android.app.Application;
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.functions.Consumer;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.List;
@@ -29,13 +30,11 @@ import xyz.zedler.patrick.grocy.model.Location;
 import xyz.zedler.patrick.grocy.model.PendingProduct;
 import xyz.zedler.patrick.grocy.model.PendingProductBarcode;
 import xyz.zedler.patrick.grocy.model.Product;
-import xyz.zedler.patrick.grocy.model.ProductBarcode;
 import xyz.zedler.patrick.grocy.model.QuantityUnit;
 import xyz.zedler.patrick.grocy.model.QuantityUnitConversionResolved;
 import xyz.zedler.patrick.grocy.model.ShoppingListItem;
 import xyz.zedler.patrick.grocy.model.Store;
 import xyz.zedler.patrick.grocy.model.StoredPurchase;
-import xyz.zedler.patrick.grocy.util.RxJavaUtil;
 
 public class PurchaseRepository {
 
@@ -53,8 +52,6 @@ public class PurchaseRepository {
 
     private final List<Product> products;
     private final List<PendingProduct> pendingProducts;
-    private final List<ProductBarcode> barcodes;
-    private final List<PendingProductBarcode> pendingProductBarcodes;
     private final List<QuantityUnit> quantityUnits;
     private final List<QuantityUnitConversionResolved> quantityUnitConversions;
     private final List<Store> stores;
@@ -65,8 +62,6 @@ public class PurchaseRepository {
     public PurchaseData(
         List<Product> products,
         List<PendingProduct> pendingProducts,
-        List<ProductBarcode> barcodes,
-        List<PendingProductBarcode> pendingProductBarcodes,
         List<QuantityUnit> quantityUnits,
         List<QuantityUnitConversionResolved> quantityUnitConversions,
         List<Store> stores,
@@ -76,8 +71,6 @@ public class PurchaseRepository {
     ) {
       this.products = products;
       this.pendingProducts = pendingProducts;
-      this.barcodes = barcodes;
-      this.pendingProductBarcodes = pendingProductBarcodes;
       this.quantityUnits = quantityUnits;
       this.quantityUnitConversions = quantityUnitConversions;
       this.stores = stores;
@@ -94,14 +87,6 @@ public class PurchaseRepository {
       return pendingProducts;
     }
 
-    public List<ProductBarcode> getBarcodes() {
-      return barcodes;
-    }
-
-    public List<PendingProductBarcode> getPendingProductBarcodes() {
-      return pendingProductBarcodes;
-    }
-
     public List<QuantityUnit> getQuantityUnits() {
       return quantityUnits;
     }
@@ -128,14 +113,12 @@ public class PurchaseRepository {
   }
 
   public void loadFromDatabase(DataListener onSuccess, Consumer<Throwable> onError) {
-    RxJavaUtil
+    Single
         .zip(
             appDatabase.productDao().getProducts(),
             appDatabase.pendingProductDao().getPendingProducts(),
-            appDatabase.productBarcodeDao().getProductBarcodes(),
-            appDatabase.pendingProductBarcodeDao().getProductBarcodes(),
             appDatabase.quantityUnitDao().getQuantityUnits(),
-            appDatabase.quantityUnitConversionResolvedDao().getConversionsResolved(),
+            QuantityUnitConversionRepository.getConversionsResolved(appDatabase),
             appDatabase.storeDao().getStores(),
             appDatabase.locationDao().getLocations(),
             appDatabase.shoppingListItemDao().getShoppingListItems(),
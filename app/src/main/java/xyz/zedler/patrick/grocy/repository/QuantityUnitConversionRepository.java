@@ -0,0 +1,66 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.repository;
+
+import io.reactivex.rxjava3.core.Single;
+import java.util.List;
+import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.model.QuantityUnitConversionResolved;
+
+public class QuantityUnitConversionRepository {
+
+  // The resolved conversions can be tens of thousands of rows, so they are kept across screens
+  // until they are synced again. All screens get the same list instance, which lets
+  // QuantityUnitConversionUtil group it only once.
+  private static List<QuantityUnitConversionResolved> conversionsResolved;
+  private static int generation;
+
+  public static synchronized void invalidate() {
+    conversionsResolved = null;
+    generation++;
+  }
+
+  /**
+   * Returns the cached conversions or loads them from the database.
+   * The returned list is shared and must not be modified.
+   */
+  public static Single<List<QuantityUnitConversionResolved>> getConversionsResolved(
+      AppDatabase appDatabase
+  ) {
+    return Single.defer(() -> {
+      int loadGeneration;
+      synchronized (QuantityUnitConversionRepository.class) {
+        if (conversionsResolved != null) {
+          return Single.just(conversionsResolved);
+        }
+        loadGeneration = generation;
+      }
+      return appDatabase.quantityUnitConversionResolvedDao().getConversionsResolved()
+          .doOnSuccess(conversions -> {
+            synchronized (QuantityUnitConversionRepository.class) {
+              // don't keep the result if the table was synced again while loading
+              if (loadGeneration == generation) {
+                conversionsResolved = conversions;
+              }
+            }
+          });
+    });
+  }
+}
@@ -94,7 +94,7 @@ public class RecipeEditRepository {
             appDatabase.productBarcodeDao().getProductBarcodes(),
             appDatabase.recipePositionDao().getRecipePositions(),
             appDatabase.quantityUnitDao().getQuantityUnits(),
-            appDatabase.quantityUnitConversionResolvedDao().getConversionsResolved(),
+            QuantityUnitConversionRepository.getConversionsResolved(appDatabase),
             RecipeEditData::new
         )
         .subscribeOn(Schedulers.io())
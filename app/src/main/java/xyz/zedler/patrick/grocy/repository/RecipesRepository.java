@@ -137,7 +137,7 @@ public class RecipesRepository {
             appDatabase.recipePositionResolvedDao().getRecipePositionsResolved(),
             appDatabase.productDao().getProducts(),
             appDatabase.quantityUnitDao().getQuantityUnits(),
-            appDatabase.quantityUnitConversionResolvedDao().getConversionsResolved(),
+            QuantityUnitConversionRepository.getConversionsResolved(appDatabase),
             appDatabase.stockItemDao().getStockItems(),
             appDatabase.shoppingListItemDao().getShoppingListItems(),
             appDatabase.userfieldDao().getUserfields(),
@@ -27,7 +27,6 @@ import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.List;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
 import xyz.zedler.patrick.grocy.model.Product;
-import xyz.zedler.patrick.grocy.model.ProductBarcode;
 import xyz.zedler.patrick.grocy.model.QuantityUnit;
 import xyz.zedler.patrick.grocy.model.QuantityUnitConversionResolved;
 import xyz.zedler.patrick.grocy.model.ShoppingList;
@@ -48,20 +47,17 @@ public class ShoppingListItemEditRepository {
 
     private final List<ShoppingList> shoppingLists;
     private final List<Product> products;
-    private final List<ProductBarcode> barcodes;
     private final List<QuantityUnit> quantityUnits;
     private final List<QuantityUnitConversionResolved> quantityUnitConversions;
 
     public ShoppingListItemEditData(
         List<ShoppingList> shoppingLists,
         List<Product> products,
-        List<ProductBarcode> barcodes,
         List<QuantityUnit> quantityUnits,
         List<QuantityUnitConversionResolved> quantityUnitConversions
     ) {
       this.shoppingLists = shoppingLists;
       this.products = products;
-      this.barcodes = barcodes;
       this.quantityUnits = quantityUnits;
       this.quantityUnitConversions = quantityUnitConversions;
     }
@@ -74,10 +70,6 @@ public class ShoppingListItemEditRepository {
       return products;
     }
 
-    public List<ProductBarcode> getBarcodes() {
-      return barcodes;
-    }
-
     public List<QuantityUnit> getQuantityUnits() {
       return quantityUnits;
     }
@@ -92,9 +84,8 @@ public class ShoppingListItemEditRepository {
         .zip(
             appDatabase.shoppingListDao().getShoppingLists(),
             appDatabase.productDao().getProducts(),
-            appDatabase.productBarcodeDao().getProductBarcodes(),
             appDatabase.quantityUnitDao().getQuantityUnits(),
-            appDatabase.quantityUnitConversionResolvedDao().getConversionsResolved(),
+            QuantityUnitConversionRepository.getConversionsResolved(appDatabase),
             ShoppingListItemEditData::new
         )
         .subscribeOn(Schedulers.io())
@@ -128,7 +128,7 @@ public class ShoppingListRepository {
             appDatabase.shoppingListDao().getShoppingLists(),
             appDatabase.productGroupDao().getProductGroups(),
             appDatabase.quantityUnitDao().getQuantityUnits(),
-            appDatabase.quantityUnitConversionResolvedDao().getConversionsResolved(),
+            QuantityUnitConversionRepository.getConversionsResolved(appDatabase),
             appDatabase.productDao().getProducts(),
             appDatabase.productLastPurchasedDao().getProductsLastPurchased(),
             appDatabase.storeDao().getStores(),
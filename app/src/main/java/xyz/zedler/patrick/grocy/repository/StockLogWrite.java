@@ -0,0 +1,366 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+package xyz.zedler.patrick.grocy.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.model.Location;
+import xyz.zedler.patrick.grocy.model.MissingItem;
+import xyz.zedler.patrick.grocy.model.Product;
+import xyz.zedler.patrick.grocy.model.StockEntry;
+import xyz.zedler.patrick.grocy.model.StockItem;
+import xyz.zedler.patrick.grocy.model.StockLocation;
+import xyz.zedler.patrick.grocy.model.StockLogEntry;
+import xyz.zedler.patrick.grocy.model.VolatileItem;
+import xyz.zedler.patrick.grocy.util.DateUtil;
+import xyz.zedler.patrick.grocy.util.NumUtil;
+
+/**
+ * Writes the effect of a confirmed consume or open transaction to the local database, using the
+ * stock log rows which the server returns for it. The stock items, stock entries and stock
+ * locations of the products are changed by the logged amounts, their due and missing state is
+ * derived again from the result. With undo, the logged effect is reverted.
+ *
+ * When only a part of a stock entry is opened, the server moves the rest into a new entry whose
+ * id is not logged. isStockEntriesIncomplete() is true after the write in this case.
+ */
+public class StockLogWrite implements LocalMutation.DatabaseWrite {
+
+  private final static String TRANSACTION_TYPE_CONSUME = "consume";
+  private final static String TRANSACTION_TYPE_PRODUCT_OPENED = "product-opened";
+
+  private final int productId;
+  private final List<StockLogEntry> logEntries;
+  private final boolean undo;
+  private final int dueSoonDays;
+  private final HashMap<Integer, StockItem> stockItems;
+  private final HashMap<Integer, HashMap<Integer, StockEntry>> stockEntries;
+  private final HashMap<Integer, HashMap<Integer, StockLocation>> stockLocations;
+  private final LinkedHashMap<Integer, StockEntry> changedStockEntries;
+  private final HashSet<StockLocation> changedStockLocations;
+  private volatile boolean stockEntriesIncomplete;
+
+  public StockLogWrite(
+      int productId,
+      List<StockLogEntry> logEntries,
+      boolean undo,
+      int dueSoonDays
+  ) {
+    this.productId = productId;
+    this.logEntries = logEntries;
+    this.undo = undo;
+    this.dueSoonDays = dueSoonDays;
+    stockItems = new HashMap<>();
+    stockEntries = new HashMap<>();
+    stockLocations = new HashMap<>();
+    changedStockEntries = new LinkedHashMap<>();
+    changedStockLocations = new HashSet<>();
+  }
+
+  public boolean isStockEntriesIncomplete() {
+    return stockEntriesIncomplete;
+  }
+
+  @Override
+  public void write(AppDatabase appDatabase) {
+    for (StockLogEntry logEntry : logEntries) {
+      if (TRANSACTION_TYPE_CONSUME.equals(logEntry.getTransactionType())) {
+        applyConsumed(appDatabase, logEntry);
+      } else if (TRANSACTION_TYPE_PRODUCT_OPENED.equals(logEntry.getTransactionType())) {
+        applyOpened(appDatabase, logEntry);
+      }
+    }
+
+    ArrayList<StockEntry> updatedEntries = new ArrayList<>();
+    ArrayList<StockEntry> deletedEntries = new ArrayList<>();
+    for (StockEntry entry : changedStockEntries.values()) {
+      if (entry.getAmount() > 0) {
+        updatedEntries.add(entry);
+      } else {
+        deletedEntries.add(entry);
+      }
+    }
+    appDatabase.stockEntryDao().deleteObjects(deletedEntries);
+    appDatabase.stockEntryDao().insertAll(updatedEntries);
+
+    ArrayList<StockLocation> updatedLocations = new ArrayList<>();
+    ArrayList<StockLocation> deletedLocations = new ArrayList<>();
+    for (StockLocation location : changedStockLocations) {
+      if (location.getAmountDouble() > 0) {
+        updatedLocations.add(location);
+      } else {
+        deletedLocations.add(location);
+      }
+    }
+    appDatabase.stockLocationDao().deleteObjects(deletedLocations);
+    appDatabase.stockLocationDao().insertAll(updatedLocations);
+
+    for (StockItem stockItem : stockItems.values()) {
+      writeStockItem(appDatabase, stockItem);
+    }
+  }
+
+  private void applyConsumed(AppDatabase appDatabase, StockLogEntry logEntry) {
+    // consumed amounts are logged as negative amounts
+    double amount = (undo ? -1 : 1) * getDouble(logEntry.getAmount());
+    boolean wasOpened = logEntry.getOpenedDate() != null;
+    changeStockItem(
+        appDatabase,
+        logEntry,
+        amount,
+        wasOpened ? amount : 0,
+        amount * getDouble(logEntry.getPrice())
+    );
+
+    int locationId = getInt(logEntry.getLocationId());
+    HashMap<Integer, StockLocation> locations = getStockLocations(
+        appDatabase,
+        logEntry.getProductId()
+    );
+    StockLocation location = locations.get(locationId);
+    if (location == null && amount > 0) {
+      location = new StockLocation();
+      location.setProductId(logEntry.getProductId());
+      location.setLocationId(locationId);
+      Location storedLocation = appDatabase.locationDao().getById(locationId);
+      if (storedLocation != null) {
+        location.setLocationName(storedLocation.getName());
+        location.setIsFreezer(storedLocation.getIsFreezer());
+      }
+      location.setAmount(String.valueOf(0));
+      locations.put(locationId, location);
+    }
+    if (location != null) {
+      location.setAmount(String.valueOf(location.getAmountDouble() + amount));
+      changedStockLocations.add(location);
+    }
+
+    int stockRowId = getInt(logEntry.getStockRowId());
+    StockEntry entry = getStockEntries(appDatabase, logEntry.getProductId()).get(stockRowId);
+    if (entry == null && undo) {
+      // the server restores a completely consumed entry with its previous id
+      entry = new StockEntry(stockRowId, logEntry.getStockId());
+      entry.setProductId(logEntry.getProductId());
+      entry.setBestBeforeDate(logEntry.getBestBeforeDate());
+      entry.setPurchasedDate(logEntry.getPurchasedDate());
+      entry.setPrice(logEntry.getPrice());
+      entry.setOpen(wasOpened ? 1 : 0);
+      entry.setOpenedDate(logEntry.getOpenedDate());
+      entry.setLocationId(logEntry.getLocationId());
+      entry.setShoppingLocationId(logEntry.getShoppingLocationId());
+      entry.setNote(logEntry.getNote());
+      getStockEntries(appDatabase, logEntry.getProductId()).put(stockRowId, entry);
+    }
+    if (entry != null) {
+      entry.setAmount(entry.getAmount() + amount);
+      changedStockEntries.put(entry.getId(), entry);
+    }
+  }
+
+  private void applyOpened(AppDatabase appDatabase, StockLogEntry logEntry) {
+    double amount = getDouble(logEntry.getAmount());
+    changeStockItem(appDatabase, logEntry, 0, undo ? -amount : amount, 0);
+
+    int stockRowId = getInt(logEntry.getStockRowId());
+    StockEntry entry = getStockEntries(appDatabase, logEntry.getProductId()).get(stockRowId);
+    if (entry == null) return;
+    if (undo) {
+      // the server reverts the due date to the logged one, a split entry stays split
+      entry.setOpen(0);
+      entry.setOpenedDate(null);
+      entry.setBestBeforeDate(logEntry.getBestBeforeDate());
+    } else {
+      if (entry.getAmount() > amount) {
+        entry.setAmount(amount);
+        stockEntriesIncomplete = true;
+      }
+      entry.setOpen(1);
+      entry.setOpenedDate(DateUtil.getDateStringToday());
+      entry.setBestBeforeDate(getDueDateAfterOpen(appDatabase, entry));
+    }
+    changedStockEntries.put(entry.getId(), entry);
+  }
+
+  private void changeStockItem(
+      AppDatabase appDatabase,
+      StockLogEntry logEntry,
+      double amountDelta,
+      double amountOpenedDelta,
+      double valueDelta
+  ) {
+    StockItem stockItem = getStockItem(appDatabase, logEntry.getProductId());
+    if (stockItem.getAmountAggregated() <= 0 && stockItem.getBestBeforeDate() == null) {
+      stockItem.setBestBeforeDate(logEntry.getBestBeforeDate());
+    }
+    stockItem.setAmount(stockItem.getAmount() + amountDelta);
+    stockItem.setAmountAggregated(stockItem.getAmountAggregated() + amountDelta);
+    stockItem.setAmountOpened(stockItem.getAmountOpened() + amountOpenedDelta);
+    stockItem.setAmountOpenedAggregated(
+        stockItem.getAmountOpenedAggregated() + amountOpenedDelta
+    );
+    double value = stockItem.getValue() != null ? stockItem.getValue() : 0;
+    stockItem.setValue(value + valueDelta);
+    if (logEntry.getProductId() != productId) {
+      // a sub product was used instead, its amount is part of the aggregated parent amount
+      StockItem parentItem = getStockItem(appDatabase, productId);
+      parentItem.setAmountAggregated(parentItem.getAmountAggregated() + amountDelta);
+      parentItem.setAmountOpenedAggregated(
+          parentItem.getAmountOpenedAggregated() + amountOpenedDelta
+      );
+    }
+  }
+
+  private void writeStockItem(AppDatabase appDatabase, StockItem stockItem) {
+    int id = stockItem.getProductId();
+    List<Product> products = appDatabase.productDao().getByIds(Collections.singletonList(id));
+    Product product = !products.isEmpty() ? products.get(0) : null;
+
+    String nextDueDate = null;
+    for (StockEntry entry : getStockEntries(appDatabase, id).values()) {
+      if (entry.getAmount() <= 0 || entry.getBestBeforeDate() == null) continue;
+      if (nextDueDate == null || entry.getBestBeforeDate().compareTo(nextDueDate) < 0) {
+        nextDueDate = entry.getBestBeforeDate();
+      }
+    }
+    // without synced stock entries the previous due date is kept
+    if (nextDueDate != null) stockItem.setBestBeforeDate(nextDueDate);
+    if (stockItem.getDueType() == null && product != null) {
+      stockItem.setDueType(product.getDueDateTypeInt());
+    }
+    boolean inStock = stockItem.getAmountAggregated() > 0;
+    if (inStock) {
+      stockItem.setAmountOpened(Math.max(0, Math.min(
+          stockItem.getAmountOpened(), stockItem.getAmount()
+      )));
+      stockItem.setAmountOpenedAggregated(Math.max(0, Math.min(
+          stockItem.getAmountOpenedAggregated(), stockItem.getAmountAggregated()
+      )));
+      appDatabase.stockItemDao().insertAll(Collections.singletonList(stockItem));
+    } else {
+      appDatabase.stockItemDao().deleteObjects(Collections.singletonList(stockItem));
+    }
+    if (product == null) return;
+
+    appDatabase.volatileItemDao().deleteObjects(appDatabase.volatileItemDao().getByProductId(id));
+    if (inStock && !product.getNoOwnStockBoolean() && stockItem.getBestBeforeDate() != null) {
+      int volatileType = getVolatileType(stockItem);
+      if (volatileType != 0) {
+        appDatabase.volatileItemDao().insertAll(
+            Collections.singletonList(new VolatileItem(id, volatileType))
+        );
+      }
+    }
+
+    double minStockAmount = product.getMinStockAmountDouble();
+    double amount = Math.max(0, stockItem.getAmountAggregated());
+    if (minStockAmount > 0 && amount < minStockAmount) {
+      appDatabase.missingItemDao().insertAll(Collections.singletonList(new MissingItem(
+          id,
+          product.getName(),
+          String.valueOf(minStockAmount - amount),
+          amount > 0 ? "1" : "0"
+      )));
+    } else {
+      MissingItem missingItem = appDatabase.missingItemDao().getById(id);
+      if (missingItem != null) {
+        appDatabase.missingItemDao().deleteObjects(Collections.singletonList(missingItem));
+      }
+    }
+  }
+
+  /**
+   * Returns the volatile type like the server assigns it for the stock overview, or 0 if the
+   * item is neither due soon, overdue nor expired.
+   */
+  private int getVolatileType(StockItem stockItem) {
+    int daysFromNow = DateUtil.getDaysFromNow(stockItem.getBestBeforeDate());
+    if (stockItem.getDueTypeInt() == StockItem.DUE_TYPE_EXPIRATION) {
+      return daysFromNow < 0 ? VolatileItem.TYPE_EXPIRED : 0;
+    } else if (daysFromNow < 0) {
+      return VolatileItem.TYPE_OVERDUE;
+    } else if (daysFromNow <= dueSoonDays) {
+      return VolatileItem.TYPE_DUE;
+    }
+    return 0;
+  }
+
+  private String getDueDateAfterOpen(AppDatabase appDatabase, StockEntry entry) {
+    List<Product> products = appDatabase.productDao()
+        .getByIds(Collections.singletonList(entry.getProductId()));
+    if (products.isEmpty()) return entry.getBestBeforeDate();
+    int days = getInt(products.get(0).getDefaultDueDaysAfterOpen());
+    if (days <= 0) return entry.getBestBeforeDate();
+    String dueDate = DateUtil.getTodayWithDaysAdded(days);
+    // opening never extends the previous due date
+    if (entry.getBestBeforeDate() != null && dueDate.compareTo(entry.getBestBeforeDate()) > 0) {
+      return entry.getBestBeforeDate();
+    }
+    return dueDate;
+  }
+
+  private StockItem getStockItem(AppDatabase appDatabase, int id) {
+    StockItem stockItem = stockItems.get(id);
+    if (stockItem == null) {
+      stockItem = appDatabase.stockItemDao().getByProductId(id);
+      if (stockItem == null) {
+        stockItem = new StockItem();
+        stockItem.setProductId(id);
+      }
+      stockItems.put(id, stockItem);
+    }
+    return stockItem;
+  }
+
+  private HashMap<Integer, StockEntry> getStockEntries(AppDatabase appDatabase, int id) {
+    HashMap<Integer, StockEntry> entries = stockEntries.get(id);
+    if (entries == null) {
+      entries = new HashMap<>();
+      for (StockEntry entry : appDatabase.stockEntryDao().getByProductId(id)) {
+        entries.put(entry.getId(), entry);
+      }
+      stockEntries.put(id, entries);
+    }
+    return entries;
+  }
+
+  private HashMap<Integer, StockLocation> getStockLocations(AppDatabase appDatabase, int id) {
+    HashMap<Integer, StockLocation> locations = stockLocations.get(id);
+    if (locations == null) {
+      locations = new HashMap<>();
+      for (StockLocation location : appDatabase.stockLocationDao().getByProductId(id)) {
+        locations.put(location.getLocationId(), location);
+      }
+      stockLocations.put(id, locations);
+    }
+    return locations;
+  }
+
+  private static double getDouble(String value) {
+    return NumUtil.isStringDouble(value) ? NumUtil.toDouble(value) : 0;
+  }
+
+  private static int getInt(String value) {
+    return NumUtil.isStringInt(value) ? Integer.parseInt(value) : -1;
+  }
+}
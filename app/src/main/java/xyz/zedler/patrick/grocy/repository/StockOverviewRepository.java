@@ -20,6 +20,7 @@
 package xyz.zedler.patrick.grocy.repository;
 
 import android.app.Application;
+import androidx.paging.PagingSource;
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
 import io.reactivex.rxjava3.functions.Consumer;
 import io.reactivex.rxjava3.schedulers.Schedulers;
@@ -34,10 +35,10 @@ import xyz.zedler.patrick.grocy.model.ProductGroup;
 import xyz.zedler.patrick.grocy.model.ProductLastPurchased;
 import xyz.zedler.patrick.grocy.model.QuantityUnit;
 import xyz.zedler.patrick.grocy.model.QuantityUnitConversionResolved;
-import xyz.zedler.patrick.grocy.model.ShoppingListItem;
 import xyz.zedler.patrick.grocy.model.StockItem;
 import xyz.zedler.patrick.grocy.model.StockLocation;
 import xyz.zedler.patrick.grocy.model.Userfield;
+import xyz.zedler.patrick.grocy.model.UserfieldValue;
 import xyz.zedler.patrick.grocy.model.VolatileItem;
 import xyz.zedler.patrick.grocy.util.RxJavaUtil;
 
@@ -63,7 +64,7 @@ public class StockOverviewRepository {
     private final List<ProductAveragePrice> productsAveragePrice;
     private final List<ProductLastPurchased> productsLastPurchased;
     private final List<ProductBarcode> productBarcodes;
-    private final List<ShoppingListItem> shoppingListItems;
+    private final List<String> shoppingListProductIds;
     private final List<Location> locations;
     private final List<StockLocation> stockCurrentLocations;
     private final List<VolatileItem> volatileItems;
@@ -79,7 +80,7 @@ public class StockOverviewRepository {
         List<ProductAveragePrice> productsAveragePrice,
         List<ProductLastPurchased> productsLastPurchased,
         List<ProductBarcode> productBarcodes,
-        List<ShoppingListItem> shoppingListItems,
+        List<String> shoppingListProductIds,
         List<Location> locations,
         List<StockLocation> stockCurrentLocations,
         List<VolatileItem> volatileItems,
@@ -94,7 +95,7 @@ public class StockOverviewRepository {
       this.productsAveragePrice = productsAveragePrice;
       this.productsLastPurchased = productsLastPurchased;
       this.productBarcodes = productBarcodes;
-      this.shoppingListItems = shoppingListItems;
+      this.shoppingListProductIds = shoppingListProductIds;
       this.locations = locations;
       this.stockCurrentLocations = stockCurrentLocations;
       this.volatileItems = volatileItems;
@@ -134,8 +135,8 @@ public class StockOverviewRepository {
       return productBarcodes;
     }
 
-    public List<ShoppingListItem> getShoppingListItems() {
-      return shoppingListItems;
+    public List<String> getShoppingListProductIds() {
+      return shoppingListProductIds;
     }
 
     public List<Location> getLocations() {
@@ -163,14 +164,17 @@ public class StockOverviewRepository {
     RxJavaUtil
         .zip(
             appDatabase.quantityUnitDao().getQuantityUnits(),
-            appDatabase.quantityUnitConversionResolvedDao().getConversionsResolved(),
+            QuantityUnitConversionRepository.getConversionsResolved(appDatabase),
             appDatabase.productGroupDao().getProductGroups(),
             appDatabase.stockItemDao().getStockItems(),
-            appDatabase.productDao().getProducts(),
-            appDatabase.productAveragePriceDao().getProductsAveragePrice(),
-            appDatabase.productLastPurchasedDao().getProductsLastPurchased(),
-            appDatabase.productBarcodeDao().getProductBarcodes(),
-            appDatabase.shoppingListItemDao().getShoppingListItems(),
+            appDatabase.stockOverviewDao().getProducts().zipWith(
+                appDatabase.stockOverviewDao().getProductUserfieldValues(),
+                UserfieldValue::attachToProducts
+            ),
+            appDatabase.stockOverviewDao().getProductsAveragePrice(),
+            appDatabase.stockOverviewDao().getProductsLastPurchased(),
+            appDatabase.stockOverviewDao().getProductBarcodes(),
+            appDatabase.stockOverviewDao().getShoppingListProductIds(),
             appDatabase.locationDao().getLocations(),
             appDatabase.stockLocationDao().getStockLocations(),
             appDatabase.volatileItemDao().getVolatileItems(),
@@ -185,4 +189,15 @@ public class StockOverviewRepository {
         .onErrorComplete()
         .subscribe();
   }
+
+  public PagingSource<Integer, StockItem> getStockItemsPagingSource(
+      int productGroupId,
+      int locationId,
+      int status,
+      String sortMode,
+      boolean sortAscending
+  ) {
+    return appDatabase.stockOverviewDao()
+        .getStockItemsPaged(productGroupId, locationId, status, sortMode, sortAscending);
+  }
 }
@@ -24,6 +24,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import xyz.zedler.patrick.grocy.R;
 import xyz.zedler.patrick.grocy.model.Product;
 import xyz.zedler.patrick.grocy.model.ProductDetails;
@@ -53,7 +54,7 @@ public class AmountUtil {
     if (stock == null || purchase == null) {
       return null;
     }
-    HashMap<QuantityUnit, Double> unitFactors = QuantityUnitConversionUtil
+    Map<QuantityUnit, Double> unitFactors = QuantityUnitConversionUtil
         .getUnitFactors(quantityUnitHashMap, unitConversions, product, isServerVersionMin400);
     Double factor = unitFactors.get(quantityUnitHashMap.get(item.getQuIdInt()));
     return factor != null ? item.getAmountDouble() * factor : item.getAmountDouble();
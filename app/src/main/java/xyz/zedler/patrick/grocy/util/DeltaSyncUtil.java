@@ -0,0 +1,80 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Calculates the difference between the locally stored rows of an entity and freshly
+ * downloaded rows, so only new or changed rows have to be written.
+ *
+ * The objects API of Grocy has no "row updated" timestamp, so edited rows can't be requested
+ * separately. The db_changed_time (PREF.DB_LAST_TIME_*) stays the watermark which decides
+ * whether an entity is downloaded at all; this class decides which rows have to be written.
+ * Used batch by batch in AppDatabase.deltaWriter().
+ */
+public class DeltaSyncUtil {
+
+  // SQLite allows max. 999 bound variables per statement on old devices
+  public static final int MAX_BIND_VARIABLES = 999;
+
+  public static <T> Delta<T> calculateDelta(
+      List<T> storedObjects,
+      List<T> downloadedObjects,
+      IdGetter<T> idGetter
+  ) {
+    HashMap<Integer, T> storedHashMap = new HashMap<>();
+    for (T object : storedObjects) {
+      storedHashMap.put(idGetter.getId(object), object);
+    }
+    ArrayList<T> upserts = new ArrayList<>();
+    for (T object : downloadedObjects) {
+      T storedObject = storedHashMap.remove(idGetter.getId(object));
+      if (storedObject == null || !Objects.equals(storedObject, object)) {
+        upserts.add(object);
+      }
+    }
+    // all remaining stored objects don't exist anymore on the server
+    return new Delta<>(upserts, new ArrayList<>(storedHashMap.keySet()));
+  }
+
+  public static class Delta<T> {
+
+    public final List<T> upserts;
+    public final List<Integer> deletedIds;
+
+    public Delta(List<T> upserts, List<Integer> deletedIds) {
+      this.upserts = upserts;
+      this.deletedIds = deletedIds;
+    }
+
+    public boolean isEmpty() {
+      return upserts.isEmpty() && deletedIds.isEmpty();
+    }
+  }
+
+  public interface IdGetter<T> {
+
+    int getId(T object);
+  }
+}
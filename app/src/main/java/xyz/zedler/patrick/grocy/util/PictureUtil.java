@@ -19,6 +19,7 @@
 
 package xyz.zedler.patrick.grocy.util;
 
+import android.content.Context;
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
 import android.graphics.drawable.Drawable;
@@ -30,8 +31,6 @@ import com.bumptech.glide.Glide;
 import com.bumptech.glide.RequestBuilder;
 import com.bumptech.glide.load.DataSource;
 import com.bumptech.glide.load.engine.GlideException;
-import com.bumptech.glide.load.model.GlideUrl;
-import com.bumptech.glide.load.model.Headers;
 import com.bumptech.glide.load.resource.bitmap.CenterCrop;
 import com.bumptech.glide.load.resource.drawable.DrawableTransitionOptions;
 import com.bumptech.glide.request.RequestListener;
@@ -39,16 +38,14 @@ import com.bumptech.glide.request.target.Target;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
-import xyz.zedler.patrick.grocy.web.RequestHeaders;
+import xyz.zedler.patrick.grocy.web.GrocyPicture;
 
 public class PictureUtil {
 
   public static void loadPicture(ImageView imageView, @Nullable CardView frame, String pictureUrl) {
     Glide.with(imageView.getContext())
-        .load(new GlideUrl(
-            pictureUrl,
-            RequestHeaders.getGlideGrocyAuthHeaders(imageView.getContext())
-        )).transition(DrawableTransitionOptions.withCrossFade())
+        .load(new GrocyPicture(pictureUrl))
+        .transition(DrawableTransitionOptions.withCrossFade())
         .listener(new RequestListener<>() {
           @Override
           public boolean onLoadFailed(@Nullable GlideException e, Object model,
@@ -70,14 +67,18 @@ public class PictureUtil {
       @Nullable CardView frame,
       @Nullable CardView placeHolder,
       String pictureUrl,
-      Headers grocyAuthHeaders,
+      boolean isGrocyPicture,
       boolean keepAspectRatio
   ) {
-    RequestBuilder<Drawable> requestBuilder = Glide.with(picture.getContext())
-        .load(new GlideUrl(pictureUrl, grocyAuthHeaders));
-    requestBuilder = requestBuilder
-        .transform(new CenterCrop())
-        .transition(DrawableTransitionOptions.withCrossFade());
+    RequestBuilder<Drawable> requestBuilder;
+    if (isGrocyPicture) {
+      requestBuilder = getPictureRequest(picture.getContext(), pictureUrl);
+    } else {
+      requestBuilder = Glide.with(picture.getContext())
+          .load(pictureUrl)
+          .transform(new CenterCrop());
+    }
+    requestBuilder = requestBuilder.transition(DrawableTransitionOptions.withCrossFade());
     if (keepAspectRatio) {
       requestBuilder = requestBuilder.override(Target.SIZE_ORIGINAL, Target.SIZE_ORIGINAL);
     }
@@ -105,6 +106,16 @@ public class PictureUtil {
     }).into(picture);
   }
 
+  /**
+   * Request for a picture from the grocy server, as used by the picture rows.
+   * Preloads have to use the same request (and size) to hit the cache later.
+   */
+  public static RequestBuilder<Drawable> getPictureRequest(Context context, String pictureUrl) {
+    return Glide.with(context)
+        .load(new GrocyPicture(pictureUrl))
+        .transform(new CenterCrop());
+  }
+
   public static Bitmap scaleBitmap(String imagePath) {
     int maxWidth = 1280;
     int maxHeight = 800;
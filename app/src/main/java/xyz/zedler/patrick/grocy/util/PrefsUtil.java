@@ -38,6 +38,7 @@ import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import xyz.zedler.patrick.grocy.Constants;
@@ -245,6 +246,18 @@ public class PrefsUtil {
     editPrefs.remove(PREF.DB_LAST_TIME_USERFIELDS);
     editPrefs.remove(PREF.DB_LAST_TIME_MEAL_PLAN_ENTRIES);
     editPrefs.remove(PREF.DB_LAST_TIME_MEAL_PLAN_SECTIONS);
+    editPrefs.remove(PREF.DB_LAST_TIME_HTTP_CACHE);
+    editPrefs.apply();
+  }
+
+  public static void clearCachingRelatedSharedPreferences(
+      SharedPreferences sharedPrefs,
+      List<String> prefs
+  ) {
+    SharedPreferences.Editor editPrefs = sharedPrefs.edit();
+    for (String pref : prefs) {
+      editPrefs.remove(pref);
+    }
     editPrefs.apply();
   }
 
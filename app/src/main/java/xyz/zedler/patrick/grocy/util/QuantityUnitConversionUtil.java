@@ -19,19 +19,51 @@
 
 package xyz.zedler.patrick.grocy.util;
 
+import androidx.annotation.Nullable;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import xyz.zedler.patrick.grocy.model.Product;
 import xyz.zedler.patrick.grocy.model.QuantityUnit;
 import xyz.zedler.patrick.grocy.model.QuantityUnitConversion;
 import xyz.zedler.patrick.grocy.model.QuantityUnitConversionResolved;
 
 public class QuantityUnitConversionUtil {
-  public static HashMap<QuantityUnit, Double> getUnitFactors(
+
+  private static WeakReference<List<QuantityUnitConversionResolved>> indexedConversions;
+  private static ConversionIndex conversionIndex;
+
+  /**
+   * Returns the factors from the stock unit of the product to all units it can be converted to.
+   * The returned map is cached per product with the conversion index and must not be modified.
+   */
+  public static Map<QuantityUnit, Double> getUnitFactors(
       HashMap<Integer, QuantityUnit> quantityUnitHashMap,
       List<QuantityUnitConversionResolved> unitConversions,
       Product product,
       boolean useResolvedConversions
+  ) {
+    ConversionIndex index = getConversionIndex(unitConversions);
+    Map<QuantityUnit, Double> unitFactors = index.getCachedUnitFactors(
+        quantityUnitHashMap, product, useResolvedConversions
+    );
+    if (unitFactors == null) {
+      unitFactors = Collections.unmodifiableMap(
+          getUnitFactors(quantityUnitHashMap, index, product, useResolvedConversions)
+      );
+      index.putCachedUnitFactors(quantityUnitHashMap, product, useResolvedConversions, unitFactors);
+    }
+    return unitFactors;
+  }
+
+  private static HashMap<QuantityUnit, Double> getUnitFactors(
+      HashMap<Integer, QuantityUnit> quantityUnitHashMap,
+      ConversionIndex index,
+      Product product,
+      boolean useResolvedConversions
   ) {
     // useResolvedConversions is always the VersionUtil.isGrocyServerMin400() value because
     // starting with this version, transitive conversions are
@@ -41,12 +73,10 @@ public class QuantityUnitConversionUtil {
     // server (not resolved). If 4.0.0 is the min. server version requirement, this behavior
     // can simply be removed and not all pages have to be edited.
     if (!useResolvedConversions) {
-      return getUnitFactors(quantityUnitHashMap, unitConversions, product);
+      return getUnitFactors(quantityUnitHashMap, index, product);
     }
     HashMap<QuantityUnit, Double> unitFactors = new HashMap<>();
-    for (QuantityUnitConversion conversion : unitConversions) {
-      if (conversion.getProductIdInt() != product.getId()) continue;
-
+    for (QuantityUnitConversion conversion : index.getProductConversions(product.getId())) {
       // We need this check because unitConversions list can contain multiple entry for the same "to" QU.
       //
       // Example:
@@ -66,7 +96,7 @@ public class QuantityUnitConversionUtil {
 
   private static HashMap<QuantityUnit, Double> getUnitFactors(
       HashMap<Integer, QuantityUnit> quantityUnitHashMap,
-      List<QuantityUnitConversionResolved> unitConversions,
+      ConversionIndex index,
       Product product
   ) {
     QuantityUnit stockUnit = quantityUnitHashMap.get(product.getQuIdStockInt());
@@ -80,11 +110,7 @@ public class QuantityUnitConversionUtil {
     if (!unitFactors.containsKey(purchaseUnit)) {
       unitFactors.put(purchaseUnit, 1 / product.getQuFactorPurchaseToStockDouble());
     }
-    for (QuantityUnitConversion conversion : unitConversions) {
-      if (!NumUtil.isStringInt(conversion.getProductId())
-          || product.getId() != conversion.getProductIdInt()) {
-        continue;
-      }
+    for (QuantityUnitConversion conversion : index.getProductConversions(product.getId())) {
       // Only add product specific conversions
       // ("overriding" standard conversions which are added in the next step)
       QuantityUnit unit = quantityUnitHashMap.get(conversion.getToQuId());
@@ -93,11 +119,7 @@ public class QuantityUnitConversionUtil {
       }
       unitFactors.put(unit, conversion.getFactor());
     }
-    for (QuantityUnitConversion conversion : unitConversions) {
-      if (NumUtil.isStringInt(conversion.getProductId())
-          || stockUnit.getId() != conversion.getFromQuId()) {
-        continue;
-      }
+    for (QuantityUnitConversion conversion : index.getStandardConversions(stockUnit.getId())) {
       // Only add standard unit conversions
       QuantityUnit unit = quantityUnitHashMap.get(conversion.getToQuId());
       if (unit == null || unitFactors.containsKey(unit)) {
@@ -108,11 +130,148 @@ public class QuantityUnitConversionUtil {
     return unitFactors;
   }
 
+  /**
+   * Returns the product specific conversions of the list without scanning the whole list.
+   */
+  public static List<QuantityUnitConversionResolved> getProductConversions(
+      List<QuantityUnitConversionResolved> unitConversions,
+      int productId
+  ) {
+    return getConversionIndex(unitConversions).getProductConversions(productId);
+  }
+
+  /**
+   * Returns the conversions of the list grouped by product, together with the unit factors
+   * already calculated for each product. The index is kept for the last used list, which is
+   * the same instance on all screens as long as the conversions are loaded with
+   * QuantityUnitConversionRepository, so it is only built once after each sync.
+   * Lists passed here must not be modified afterwards.
+   */
+  private static synchronized ConversionIndex getConversionIndex(
+      List<QuantityUnitConversionResolved> unitConversions
+  ) {
+    if (indexedConversions == null || indexedConversions.get() != unitConversions) {
+      conversionIndex = new ConversionIndex(unitConversions);
+      indexedConversions = new WeakReference<>(unitConversions);
+    }
+    return conversionIndex;
+  }
+
+  private static class ConversionIndex {
+
+    private final HashMap<Integer, List<QuantityUnitConversionResolved>> productConversions;
+    // conversions without product, only used below server version 4.0.0
+    private final HashMap<Integer, List<QuantityUnitConversionResolved>> standardConversions;
+    private final HashMap<Integer, CachedUnitFactors> unitFactors;
+
+    ConversionIndex(List<QuantityUnitConversionResolved> unitConversions) {
+      productConversions = new HashMap<>();
+      standardConversions = new HashMap<>();
+      unitFactors = new HashMap<>();
+      for (QuantityUnitConversionResolved conversion : unitConversions) {
+        if (NumUtil.isStringInt(conversion.getProductId())) {
+          add(productConversions, conversion.getProductIdInt(), conversion);
+        } else {
+          add(standardConversions, conversion.getFromQuId(), conversion);
+        }
+      }
+    }
+
+    private static void add(
+        HashMap<Integer, List<QuantityUnitConversionResolved>> hashMap,
+        int key,
+        QuantityUnitConversionResolved conversion
+    ) {
+      List<QuantityUnitConversionResolved> conversions = hashMap.get(key);
+      if (conversions == null) {
+        conversions = new ArrayList<>();
+        hashMap.put(key, conversions);
+      }
+      conversions.add(conversion);
+    }
+
+    List<QuantityUnitConversionResolved> getProductConversions(int productId) {
+      List<QuantityUnitConversionResolved> conversions = productConversions.get(productId);
+      return conversions != null ? conversions : Collections.emptyList();
+    }
+
+    List<QuantityUnitConversionResolved> getStandardConversions(int fromQuId) {
+      List<QuantityUnitConversionResolved> conversions = standardConversions.get(fromQuId);
+      return conversions != null ? conversions : Collections.emptyList();
+    }
+
+    @Nullable
+    synchronized Map<QuantityUnit, Double> getCachedUnitFactors(
+        HashMap<Integer, QuantityUnit> quantityUnitHashMap,
+        Product product,
+        boolean useResolvedConversions
+    ) {
+      CachedUnitFactors cached = unitFactors.get(product.getId());
+      if (cached == null || !cached.isValidFor(
+          quantityUnitHashMap, product, useResolvedConversions
+      )) {
+        return null;
+      }
+      return cached.unitFactors;
+    }
+
+    synchronized void putCachedUnitFactors(
+        HashMap<Integer, QuantityUnit> quantityUnitHashMap,
+        Product product,
+        boolean useResolvedConversions,
+        Map<QuantityUnit, Double> factors
+    ) {
+      unitFactors.put(product.getId(), new CachedUnitFactors(
+          quantityUnitHashMap, product, useResolvedConversions, factors
+      ));
+    }
+  }
+
+  /**
+   * Unit factors of a product, which stay valid as long as the same units are used and the
+   * units of the product didn't change.
+   */
+  private static class CachedUnitFactors {
+
+    private final WeakReference<HashMap<Integer, QuantityUnit>> quantityUnitHashMap;
+    private final int quIdStock;
+    private final int quIdPurchase;
+    private final double factorPurchaseToStock;
+    private final boolean useResolvedConversions;
+    private final Map<QuantityUnit, Double> unitFactors;
+
+    CachedUnitFactors(
+        HashMap<Integer, QuantityUnit> quantityUnitHashMap,
+        Product product,
+        boolean useResolvedConversions,
+        Map<QuantityUnit, Double> unitFactors
+    ) {
+      this.quantityUnitHashMap = new WeakReference<>(quantityUnitHashMap);
+      quIdStock = product.getQuIdStockInt();
+      quIdPurchase = product.getQuIdPurchaseInt();
+      factorPurchaseToStock = product.getQuFactorPurchaseToStockDouble();
+      this.useResolvedConversions = useResolvedConversions;
+      this.unitFactors = unitFactors;
+    }
+
+    boolean isValidFor(
+        HashMap<Integer, QuantityUnit> quantityUnitHashMap,
+        Product product,
+        boolean useResolvedConversions
+    ) {
+      return this.quantityUnitHashMap.get() == quantityUnitHashMap
+          && quIdStock == product.getQuIdStockInt()
+          && quIdPurchase == product.getQuIdPurchaseInt()
+          && factorPurchaseToStock == product.getQuFactorPurchaseToStockDouble()
+          && this.useResolvedConversions == useResolvedConversions;
+    }
+  }
+
   public static String getAmountStock(
       QuantityUnit stock,
       QuantityUnit current,
       String amountStr,
-      HashMap<QuantityUnit, Double> quantityUnitsFactors,
+      Map<QuantityUnit, Double> quantityUnitsFactors,
       boolean onlyCheckSingleUnitInStock,
       int maxDecimalPlacesAmount
   ) {
@@ -135,7 +294,7 @@ public class QuantityUnitConversionUtil {
       QuantityUnit current,
       String amountStr,
       String priceStr,
-      HashMap<QuantityUnit, Double> quantityUnitsFactors,
+      Map<QuantityUnit, Double> quantityUnitsFactors,
       boolean isTareWeightEnabled,
       boolean isTotalPrice,
       int decimalPlacesPriceDisplay
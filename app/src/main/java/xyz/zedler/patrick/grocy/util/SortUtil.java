@@ -26,7 +26,6 @@ import java.text.Collator;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -69,10 +68,8 @@ public class SortUtil {
     if (stockItems == null) {
       return;
     }
-    Locale locale = LocaleUtil.getLocale();
-    Collections.sort(stockItems, (item1, item2) -> Collator.getInstance(locale).compare(
-        (ascending ? item1 : item2).getProduct().getName().toLowerCase(),
-        (ascending ? item2 : item1).getProduct().getName().toLowerCase())
+    sortByCollationKey(
+        stockItems, item -> item.getProduct().getName().toLowerCase(), ascending
     );
   }
 
@@ -80,44 +77,17 @@ public class SortUtil {
     if (stockItems == null) {
       return;
     }
-    Collections.sort(
-        stockItems,
-        (item1, item2) -> {
-          String bbd1 = (ascending ? item1 : item2).getBestBeforeDate();
-          String bbd2 = (ascending ? item2 : item1).getBestBeforeDate();
-          if (bbd1 == null && bbd2 == null) {
-            return 0;
-          } else if (bbd1 == null) {
-            return -1; // or 1 when items without BBD should be last
-          } else if (bbd2 == null) {
-            return 1; // or -1 when items without BBD should be last
-          }
-          return DateUtil.getDate(bbd1).compareTo(DateUtil.getDate(bbd2));
-        }
-    );
+    sortByDate(stockItems, StockItem::getBestBeforeDate, ascending);
   }
 
-  public static void sortStockItemsByCreatedTimestamp(List<StockItem> stockItems, boolean ascending) {
+  public static void sortStockItemsByCreatedTimestamp(
+      List<StockItem> stockItems,
+      boolean ascending
+  ) {
     if (stockItems == null) {
       return;
     }
-    Collections.sort(
-        stockItems,
-        (item1, item2) -> {
-          Product product1 = (ascending ? item1 : item2).getProduct();
-          Product product2 = (ascending ? item2 : item1).getProduct();
-          String ts1 = product1.getRowCreatedTimestamp();
-          String ts2 = product2.getRowCreatedTimestamp();
-          if (ts1 == null && ts2 == null) {
-            return 0;
-          } else if (ts1 == null) {
-            return -1;
-          } else if (ts2 == null) {
-            return 1;
-          }
-          return DateUtil.getDate(ts1).compareTo(DateUtil.getDate(ts2));
-        }
-    );
+    sortByDate(stockItems, item -> item.getProduct().getRowCreatedTimestamp(), ascending);
   }
 
   public static void sortStockItemsByUserfieldValue(
@@ -128,57 +98,29 @@ public class SortUtil {
     if (stockItems == null) {
       return;
     }
-    Collections.sort(
-        stockItems,
-        (item1, item2) -> {
-          Product product1 = (ascending ? item1 : item2).getProduct();
-          Product product2 = (ascending ? item2 : item1).getProduct();
-          Map<String, String> userfieldMap1 = product1.getUserfields();
-          Map<String, String> userfieldMap2 = product2.getUserfields();
-          String value1 = userfieldMap1 != null ? userfieldMap1.get(userfield.getName()) : null;
-          String value2 = userfieldMap2 != null ? userfieldMap2.get(userfield.getName()) : null;
-          return compareUserfieldValues(value1, value2, userfield.getType());
-        }
+    sortByUserfieldValue(
+        stockItems, item -> item.getProduct().getUserfields(), userfield, ascending
     );
   }
 
-  private static int compareUserfieldValues(String value1, String value2, String userfieldType) {
-    if (value1 == null && value2 == null) {
-      return 0;
-    } else if (value1 == null) {
-      return -1;
-    } else if (value2 == null) {
-      return 1;
-    }
-    /*if (userfieldType.equals(Userfield.TYPE_NUMBER)) {
-      return Double.compare(NumUtil.toDouble(value1), NumUtil.toDouble(value2));
-    } else if (userfieldType.equals(Userfield.TYPE_DATE)) {
-      return DateUtil.getDate(value1).compareTo(DateUtil.getDate(value2));
-    } else {
-      return Collator.getInstance(LocaleUtil.getLocale()).compare(value1, value2);
-    }*/
-    return Collator.getInstance(LocaleUtil.getLocale()).compare(value1, value2);
+  private static <T> void sortByUserfieldValue(
+      List<T> items,
+      SortKeyGetter<T, Map<String, String>> userfieldsGetter,
+      Userfield userfield,
+      boolean ascending
+  ) {
+    // values are compared as text for all userfield types
+    sortByCollationKey(items, item -> {
+      Map<String, String> userfields = userfieldsGetter.getSortKey(item);
+      return userfields != null ? userfields.get(userfield.getName()) : null;
+    }, ascending);
   }
 
   public static void sortStockEntriesByDueDate(List<StockEntry> stockEntries, boolean ascending) {
     if (stockEntries == null) {
       return;
     }
-    Collections.sort(
-        stockEntries,
-        (item1, item2) -> {
-          String bbd1 = (ascending ? item1 : item2).getBestBeforeDate();
-          String bbd2 = (ascending ? item2 : item1).getBestBeforeDate();
-          if (bbd1 == null && bbd2 == null) {
-            return 0;
-          } else if (bbd1 == null) {
-            return -1; // or 1 when items without BBD should be last
-          } else if (bbd2 == null) {
-            return 1; // or -1 when items without BBD should be last
-          }
-          return DateUtil.getDate(bbd1).compareTo(DateUtil.getDate(bbd2));
-        }
-    );
+    sortByDate(stockEntries, StockEntry::getBestBeforeDate, ascending);
   }
 
   public static void sortStockEntriesByName(
@@ -187,24 +129,10 @@ public class SortUtil {
     if (stockEntries == null || productHashMap == null) {
       return;
     }
-    Locale locale = LocaleUtil.getLocale();
-    Collections.sort(stockEntries, (entry1, entry2) -> {
-      int productId1 = (ascending ? entry1 : entry2).getProductId();
-      int productId2 = (ascending ? entry2 : entry1).getProductId();
-      Product product1 = productHashMap.get(productId1);
-      Product product2 = productHashMap.get(productId2);
-      if (product1 == null && product2 == null) {
-        return 0;
-      } else if (product1 == null) {
-        return -1;
-      } else if (product2 == null) {
-        return 1;
-      }
-      return Collator.getInstance(locale).compare(
-          product1.getName().toLowerCase(),
-          product2.getName().toLowerCase()
-      );
-    });
+    sortByCollationKey(stockEntries, entry -> {
+      Product product = productHashMap.get(entry.getProductId());
+      return product != null ? product.getName().toLowerCase() : null;
+    }, ascending);
   }
 
   public static void sortProductsByName(List<Product> products, boolean ascending) {
@@ -232,33 +160,14 @@ public class SortUtil {
     if (tasks == null || tasks.isEmpty()) {
       return;
     }
-    Locale locale = LocaleUtil.getLocale();
-    Collections.sort(tasks, (item1, item2) -> Collator.getInstance(locale).compare(
-        (ascending ? item1 : item2).getName().toLowerCase(),
-        (ascending ? item2 : item1).getName().toLowerCase()
-    ));
+    sortByCollationKey(tasks, item -> item.getName().toLowerCase(), ascending);
   }
 
   public static void sortTasksByDueDate(List<Task> tasks, boolean ascending) {
     if (tasks == null || tasks.isEmpty()) {
       return;
     }
-    Collections.sort(
-        tasks,
-        (item1, item2) -> {
-          String bbd1 = (ascending ? item1 : item2).getDueDate();
-          String bbd2 = (ascending ? item2 : item1).getDueDate();
-          if (bbd1 == null && bbd2 == null
-              || bbd1 != null && bbd1.isEmpty() && bbd2 != null && bbd2.isEmpty()) {
-            return 0;
-          } else if (bbd1 == null || bbd1.isEmpty()) {
-            return -1; // or 1 when items without BBD should be last
-          } else if (bbd2 == null || bbd2.isEmpty()) {
-            return 1; // or -1 when items without BBD should be last
-          }
-          return DateUtil.getDate(bbd1).compareTo(DateUtil.getDate(bbd2));
-        }
-    );
+    sortByDate(tasks, Task::getDueDate, ascending);
   }
 
   public static void sortTaskCategoriesByName(
@@ -267,11 +176,7 @@ public class SortUtil {
     if (taskCategories == null || taskCategories.isEmpty()) {
       return;
     }
-    Locale locale = LocaleUtil.getLocale();
-    Collections.sort(taskCategories, (item1, item2) -> Collator.getInstance(locale).compare(
-        (ascending ? item1 : item2).getName().toLowerCase(),
-        (ascending ? item2 : item1).getName().toLowerCase()
-    ));
+    sortByCollationKey(taskCategories, item -> item.getName().toLowerCase(), ascending);
   }
 
   public static void sortTasksByCategory(
@@ -282,26 +187,12 @@ public class SortUtil {
     if (tasks == null || tasks.isEmpty()) {
       return;
     }
-    Collections.sort(
-        tasks,
-        (item1, item2) -> {
-          String cId1 = (ascending ? item1 : item2).getCategoryId();
-          String cId2 = (ascending ? item2 : item1).getCategoryId();
-          TaskCategory c1 = NumUtil.isStringInt(cId1)
-              ? taskCategoryHashMap.get(Integer.parseInt(cId1)) : null;
-          TaskCategory c2 = NumUtil.isStringInt(cId2)
-              ? taskCategoryHashMap.get(Integer.parseInt(cId2)) : null;
-
-          if (c1 == null && c2 == null) {
-            return 0;
-          } else if (c1 == null) {
-            return -1;
-          } else if (c2 == null) {
-            return 1;
-          }
-          return c1.getName().compareTo(c2.getName());
-        }
-    );
+    sortByKey(tasks, item -> {
+      String categoryId = item.getCategoryId();
+      TaskCategory category = NumUtil.isStringInt(categoryId)
+          ? taskCategoryHashMap.get(Integer.parseInt(categoryId)) : null;
+      return category != null ? category.getName() : null;
+    }, SortUtil::compareNullsFirst, ascending);
   }
 
   public static void sortChoreEntriesByNextExecution(
@@ -310,60 +201,28 @@ public class SortUtil {
     if (choreEntries == null || choreEntries.isEmpty()) {
       return;
     }
-    Collections.sort(
-        choreEntries,
-        (item1, item2) -> {
-          String time1 = (ascending ? item1 : item2).getNextEstimatedExecutionTime();
-          String time2 = (ascending ? item2 : item1).getNextEstimatedExecutionTime();
-          if (time1 == null && time2 == null
-              || time1 != null && time1.isEmpty() && time2 != null && time2.isEmpty()) {
-            return 0;
-          } else if (time1 == null || time1.isEmpty()) {
-            return -1; // or 1 when items without BBD should be last
-          } else if (time2 == null || time2.isEmpty()) {
-            return 1; // or -1 when items without BBD should be last
-          }
-          Date date1 = DateUtil.getDate(time1);
-          Date date2 = DateUtil.getDate(time2);
-          if (date1 == null || date2 == null) {
-            return 0;
-          }
-          return DateUtil.getDate(time1).compareTo(DateUtil.getDate(time2));
-        }
-    );
+    sortByDate(choreEntries, ChoreEntry::getNextEstimatedExecutionTime, ascending);
   }
 
   public static void sortChoreEntriesByName(ArrayList<ChoreEntry> choreEntries, boolean ascending) {
     if (choreEntries == null || choreEntries.isEmpty()) {
       return;
     }
-    Locale locale = LocaleUtil.getLocale();
-    Collections.sort(choreEntries, (item1, item2) -> Collator.getInstance(locale).compare(
-        (ascending ? item1 : item2).getChoreName().toLowerCase(),
-        (ascending ? item2 : item1).getChoreName().toLowerCase()
-    ));
+    sortByCollationKey(choreEntries, item -> item.getChoreName().toLowerCase(), ascending);
   }
 
   public static void sortUsersByName(ArrayList<User> users, boolean ascending) {
     if (users == null || users.isEmpty()) {
       return;
     }
-    Locale locale = LocaleUtil.getLocale();
-    Collections.sort(users, (item1, item2) -> Collator.getInstance(locale).compare(
-        (ascending ? item1 : item2).getDisplayName().toLowerCase(),
-        (ascending ? item2 : item1).getDisplayName().toLowerCase()
-    ));
+    sortByCollationKey(users, item -> item.getDisplayName().toLowerCase(), ascending);
   }
 
   public static void sortStringsByName(List<String> strings, boolean ascending) {
     if (strings == null || strings.isEmpty()) {
       return;
     }
-    Locale locale = LocaleUtil.getLocale();
-    Collections.sort(strings, (item1, item2) -> Collator.getInstance(locale).compare(
-        (ascending ? item1 : item2).toLowerCase(),
-        (ascending ? item2 : item1).toLowerCase()
-    ));
+    sortByCollationKey(strings, String::toLowerCase, ascending);
   }
 
   public static void sortStringsByValue(List<String> strings) {
@@ -389,32 +248,21 @@ public class SortUtil {
     if (locations == null) {
       return;
     }
-    Locale locale = LocaleUtil.getLocale();
-    Collections.sort(locations, (item1, item2) -> Collator.getInstance(locale).compare(
-        (ascending ? item1 : item2).getName().toLowerCase(),
-        (ascending ? item2 : item1).getName().toLowerCase()
-    ));
+    sortByCollationKey(locations, item -> item.getName().toLowerCase(), ascending);
   }
 
   public static void sortStoresByName(List<Store> stores, boolean ascending) {
     if (stores == null) {
       return;
     }
-    Locale locale = LocaleUtil.getLocale();
-    Collections.sort(stores, (item1, item2) -> Collator.getInstance(locale).compare(
-            (ascending ? item1 : item2).getName().toLowerCase(),
-            (ascending ? item2 : item1).getName().toLowerCase()));
+    sortByCollationKey(stores, item -> item.getName().toLowerCase(), ascending);
   }
 
   public static void sortProductGroupsByName(List<ProductGroup> productGroups, boolean ascending) {
     if (productGroups == null || productGroups.isEmpty()) {
       return;
     }
-    Locale locale = LocaleUtil.getLocale();
-    Collections.sort(productGroups, (item1, item2) -> Collator.getInstance(locale).compare(
-        (ascending ? item1 : item2).getName().toLowerCase(),
-        (ascending ? item2 : item1).getName().toLowerCase()
-    ));
+    sortByCollationKey(productGroups, item -> item.getName().toLowerCase(), ascending);
   }
 
   public static void sortQuantityUnitsByName(
@@ -423,11 +271,7 @@ public class SortUtil {
     if (quantityUnits == null) {
       return;
     }
-    Locale locale = LocaleUtil.getLocale();
-    Collections.sort(quantityUnits, (item1, item2) -> Collator.getInstance(locale).compare(
-            (ascending ? item1 : item2).getName().toLowerCase(),
-            (ascending ? item2 : item1).getName().toLowerCase()
-    ));
+    sortByCollationKey(quantityUnits, item -> item.getName().toLowerCase(), ascending);
   }
 
   public static void sortShoppingListItemsByName(
@@ -438,48 +282,21 @@ public class SortUtil {
     if (shoppingListItems == null) {
       return;
     }
-    Locale locale = LocaleUtil.getLocale();
     ArrayList<ShoppingListItem> itemsWithoutProduct = new ArrayList<>();
+    ArrayList<ShoppingListItem> itemsWithProduct = new ArrayList<>();
     for (ShoppingListItem shoppingListItem : shoppingListItems) {
-      if (!shoppingListItem.hasProduct()) {
+      if (shoppingListItem.hasProduct()) {
+        itemsWithProduct.add(shoppingListItem);
+      } else {
         itemsWithoutProduct.add(shoppingListItem);
       }
     }
-    Collections.sort(
-        itemsWithoutProduct,
-        (item1, item2) -> {
-          String noteA = (ascending ? item1 : item2).getNote();
-          String noteB = (ascending ? item2 : item1).getNote();
-          if (noteA != null && noteB != null) {
-            return Collator.getInstance(locale).compare(noteA, noteB);
-          } else if (noteA == null && noteB != null) {
-            return -1;
-          } else if (noteA != null) {
-            return 1;
-          } else {
-            return 0;
-          }
-        }
-    );
-    shoppingListItems.removeAll(itemsWithoutProduct);
-    Collections.sort(
-        shoppingListItems,
-        (item1, item2) -> {
-          String nameA = productNamesHashMap.get((ascending ? item1 : item2)
-              .getProductIdInt());
-          String nameB = productNamesHashMap.get((ascending ? item2 : item1)
-              .getProductIdInt());
-          if (nameA != null && nameB != null) {
-            return Collator.getInstance(locale).compare(nameA, nameB);
-          } else if (nameA == null && nameB != null) {
-            return -1;
-          } else if (nameA != null) {
-            return 1;
-          } else {
-            return 0;
-          }
-        }
+    sortByCollationKey(itemsWithoutProduct, ShoppingListItem::getNote, ascending);
+    sortByCollationKey(
+        itemsWithProduct, item -> productNamesHashMap.get(item.getProductIdInt()), ascending
     );
+    shoppingListItems.clear();
+    shoppingListItems.addAll(itemsWithProduct);
     shoppingListItems.addAll(itemsWithoutProduct);
   }
 
@@ -487,11 +304,7 @@ public class SortUtil {
     if (users == null || users.isEmpty()) {
       return;
     }
-    Locale locale = LocaleUtil.getLocale();
-    Collections.sort(users, (item1, item2) -> Collator.getInstance(locale).compare(
-        (ascending ? item1 : item2).getUserName().toLowerCase(),
-        (ascending ? item2 : item1).getUserName().toLowerCase()
-    ));
+    sortByCollationKey(users, item -> item.getUserName().toLowerCase(), ascending);
   }
 
   public static void sortMealPlanSections(List<MealPlanSection> mealPlanSections) {
@@ -534,40 +347,35 @@ public class SortUtil {
     if (recipes == null) {
       return;
     }
-    Locale locale = LocaleUtil.getLocale();
-    Collections.sort(recipes, (item1, item2) -> Collator.getInstance(locale).compare(
-            (ascending ? item1 : item2).getName().toLowerCase(),
-            (ascending ? item2 : item1).getName().toLowerCase()));
+    sortByCollationKey(recipes, item -> item.getName().toLowerCase(), ascending);
   }
 
-  public static void sortRecipesByCalories(List<Recipe> recipes, List<RecipeFulfillment> recipeFulfillments, boolean ascending) {
-    if (recipes == null || recipeFulfillments == null) {
+  public static void sortRecipesByCalories(
+      List<Recipe> recipes,
+      HashMap<Integer, RecipeFulfillment> recipeFulfillmentHashMap,
+      boolean ascending
+  ) {
+    if (recipes == null || recipeFulfillmentHashMap == null) {
       return;
     }
-    Collections.sort(recipes, (recipe1, recipe2) -> {
-      RecipeFulfillment recipeFulfillment1 = RecipeFulfillment.getRecipeFulfillmentFromRecipeId(recipeFulfillments, recipe1.getId());
-      RecipeFulfillment recipeFulfillment2 = RecipeFulfillment.getRecipeFulfillmentFromRecipeId(recipeFulfillments, recipe2.getId());
-
-      double recipe1Calories = recipeFulfillment1 != null ? recipeFulfillment1.getCalories() : 0;
-      double recipe2Calories = recipeFulfillment2 != null ? recipeFulfillment2.getCalories() : 0;
-
-      return (int)(ascending ? recipe1Calories : recipe2Calories) - (int)(ascending ? recipe2Calories : recipe1Calories);
-    });
+    sortByLongKey(recipes, recipe -> {
+      RecipeFulfillment recipeFulfillment = recipeFulfillmentHashMap.get(recipe.getId());
+      return recipeFulfillment != null ? (int) recipeFulfillment.getCalories() : 0;
+    }, ascending);
   }
 
-  public static void sortRecipesByDueScore(List<Recipe> recipes, List<RecipeFulfillment> recipeFulfillments, boolean ascending) {
-    if (recipes == null || recipeFulfillments == null) {
+  public static void sortRecipesByDueScore(
+      List<Recipe> recipes,
+      HashMap<Integer, RecipeFulfillment> recipeFulfillmentHashMap,
+      boolean ascending
+  ) {
+    if (recipes == null || recipeFulfillmentHashMap == null) {
       return;
     }
-    Collections.sort(recipes, (recipe1, recipe2) -> {
-      RecipeFulfillment recipeFulfillment1 = RecipeFulfillment.getRecipeFulfillmentFromRecipeId(recipeFulfillments, recipe1.getId());
-      RecipeFulfillment recipeFulfillment2 = RecipeFulfillment.getRecipeFulfillmentFromRecipeId(recipeFulfillments, recipe2.getId());
-
-      int recipe1DueScore = recipeFulfillment1 != null ? recipeFulfillment1.getDueScore() : 0;
-      int recipe2DueScore = recipeFulfillment2 != null ? recipeFulfillment2.getDueScore() : 0;
-
-      return (ascending ? recipe1DueScore : recipe2DueScore) - (ascending ? recipe2DueScore : recipe1DueScore);
-    });
+    sortByLongKey(recipes, recipe -> {
+      RecipeFulfillment recipeFulfillment = recipeFulfillmentHashMap.get(recipe.getId());
+      return recipeFulfillment != null ? recipeFulfillment.getDueScore() : 0;
+    }, ascending);
   }
 
   public static void sortRecipesByUserfieldValue(
@@ -578,16 +386,7 @@ public class SortUtil {
     if (recipes == null) {
       return;
     }
-    Collections.sort(
-        recipes,
-        (item1, item2) -> {
-          Map<String, String> userfieldMap1 = (ascending ? item1 : item2).getUserfields();
-          Map<String, String> userfieldMap2 = (ascending ? item2 : item1).getUserfields();
-          String value1 = userfieldMap1 != null ? userfieldMap1.get(userfield.getName()) : null;
-          String value2 = userfieldMap2 != null ? userfieldMap2.get(userfield.getName()) : null;
-          return compareUserfieldValues(value1, value2, userfield.getType());
-        }
-    );
+    sortByUserfieldValue(recipes, Recipe::getUserfields, userfield, ascending);
   }
 
   public static void sortObjectsByName(ArrayList<Object> objects, String entity, boolean isAscending) {
@@ -595,17 +394,10 @@ public class SortUtil {
       return;
     }
     Locale locale = LocaleUtil.getLocale();
-    Collections.sort(objects, (item1, item2) -> {
-      String name1 = ObjectUtil.getObjectName(isAscending ? item1 : item2, entity);
-      String name2 = ObjectUtil.getObjectName(isAscending ? item2 : item1, entity);
-      if (name1 == null || name2 == null) {
-        return 0;
-      }
-      return Collator.getInstance(locale).compare(
-          name1.toLowerCase(locale),
-          name2.toLowerCase(locale)
-      );
-    });
+    sortByCollationKey(objects, item -> {
+      String name = ObjectUtil.getObjectName(item, entity);
+      return name != null ? name.toLowerCase(locale) : null;
+    }, isAscending);
   }
 
   public static void sortObjectsByCreatedTimestamp(
@@ -616,18 +408,9 @@ public class SortUtil {
     if (objects == null) {
       return;
     }
-    Collections.sort(objects, (item1, item2) -> {
-      String ts1 = ObjectUtil.getObjectCreatedTimestamp(isAscending ? item1 : item2, entity);
-      String ts2 = ObjectUtil.getObjectCreatedTimestamp(isAscending ? item2 : item1, entity);
-      if (ts1 == null && ts2 == null) {
-        return 0;
-      } else if (ts1 == null) {
-        return -1;
-      } else if (ts2 == null) {
-        return 1;
-      }
-      return DateUtil.getDate(ts1).compareTo(DateUtil.getDate(ts2));
-    });
+    sortByDate(
+        objects, item -> ObjectUtil.getObjectCreatedTimestamp(item, entity), isAscending
+    );
   }
 
   public static void sortObjectsByUserfieldValue(
@@ -639,12 +422,112 @@ public class SortUtil {
     if (objects == null || userfield == null) {
       return;
     }
-    Collections.sort(objects, (item1, item2) -> {
-      Map<String, String> uf1 = ObjectUtil.getObjectUserfields(isAscending ? item1 : item2, entity);
-      Map<String, String> uf2 = ObjectUtil.getObjectUserfields(isAscending ? item2 : item1, entity);
-      String value1 = uf1 != null ? uf1.get(userfield.getName()) : null;
-      String value2 = uf2 != null ? uf2.get(userfield.getName()) : null;
-      return compareUserfieldValues(value1, value2, userfield.getType());
-    });
+    sortByUserfieldValue(
+        objects, item -> ObjectUtil.getObjectUserfields(item, entity), userfield, isAscending
+    );
+  }
+
+  /*
+   * The helpers below compute the sort key of every item only once (collation keys, parsed
+   * dates, map lookups) and then sort on those keys instead of recomputing them in every
+   * comparison. Like Collections.sort, they are stable and descending order is the exact
+   * reverse of ascending order, so items with missing keys come first in ascending order.
+   * They don't share state, so they can also be used on background threads.
+   */
+
+  static <T> void sortByCollationKey(
+      List<T> items,
+      SortKeyGetter<T, String> stringGetter,
+      boolean ascending
+  ) {
+    Collator collator = Collator.getInstance(LocaleUtil.getLocale());
+    sortByKey(items, item -> {
+      String string = stringGetter.getSortKey(item);
+      return string != null ? collator.getCollationKey(string) : null;
+    }, SortUtil::compareNullsFirst, ascending);
+  }
+
+  static <T> void sortByDate(
+      List<T> items,
+      SortKeyGetter<T, String> dateGetter,
+      boolean ascending
+  ) {
+    sortByLongKey(items, item -> DateUtil.getDateSortKey(dateGetter.getSortKey(item)), ascending);
+  }
+
+  static <T, K> void sortByKey(
+      List<T> items,
+      SortKeyGetter<T, K> keyGetter,
+      Comparator<K> comparator,
+      boolean ascending
+  ) {
+    ArrayList<SortKeyEntry<T, K>> entries = new ArrayList<>(items.size());
+    for (T item : items) {
+      entries.add(new SortKeyEntry<>(item, keyGetter.getSortKey(item)));
+    }
+    if (ascending) {
+      Collections.sort(entries, (entry1, entry2) -> comparator.compare(entry1.key, entry2.key));
+    } else {
+      Collections.sort(entries, (entry1, entry2) -> comparator.compare(entry2.key, entry1.key));
+    }
+    for (int i = 0; i < entries.size(); i++) {
+      items.set(i, entries.get(i).item);
+    }
+  }
+
+  static <T> void sortByLongKey(List<T> items, LongSortKeyGetter<T> keyGetter, boolean ascending) {
+    ArrayList<LongSortKeyEntry<T>> entries = new ArrayList<>(items.size());
+    for (T item : items) {
+      entries.add(new LongSortKeyEntry<>(item, keyGetter.getSortKey(item)));
+    }
+    if (ascending) {
+      Collections.sort(entries, (entry1, entry2) -> Long.compare(entry1.key, entry2.key));
+    } else {
+      Collections.sort(entries, (entry1, entry2) -> Long.compare(entry2.key, entry1.key));
+    }
+    for (int i = 0; i < entries.size(); i++) {
+      items.set(i, entries.get(i).item);
+    }
+  }
+
+  private static <K extends Comparable<K>> int compareNullsFirst(K key1, K key2) {
+    if (key1 == null && key2 == null) {
+      return 0;
+    } else if (key1 == null) {
+      return -1;
+    } else if (key2 == null) {
+      return 1;
+    }
+    return key1.compareTo(key2);
+  }
+
+  interface SortKeyGetter<T, K> {
+    K getSortKey(T item);
+  }
+
+  interface LongSortKeyGetter<T> {
+    long getSortKey(T item);
+  }
+
+  private static class SortKeyEntry<T, K> {
+
+    private final T item;
+    private final K key;
+
+    private SortKeyEntry(T item, K key) {
+      this.item = item;
+      this.key = key;
+    }
+  }
+
+  private static class LongSortKeyEntry<T> {
+
+    private final T item;
+    private final long key;
+
+    private LongSortKeyEntry(T item, long key) {
+      this.item = item;
+      this.key = key;
+    }
   }
 }
@@ -109,16 +109,15 @@ public class VersionUtil {
     return false;
   }
 
-  public static boolean isDatabaseUpdated(SharedPreferences sharedPrefs, int currentVersion) {
+  /**
+   * Stores the current database version and returns the previously stored one, 0 if none.
+   */
+  public static int updateDatabaseVersion(SharedPreferences sharedPrefs, int currentVersion) {
     int versionOld = sharedPrefs.getInt(PREF.LAST_VERSION_DATABASE, 0);
-    if (versionOld == 0) {
-      sharedPrefs.edit().putInt(PREF.LAST_VERSION_DATABASE, currentVersion).apply();
-      return false;
-    } else if (versionOld != currentVersion) {
+    if (versionOld != currentVersion) {
       sharedPrefs.edit().putInt(PREF.LAST_VERSION_DATABASE, currentVersion).apply();
-      return true;
     }
-    return false;
+    return versionOld;
   }
 
   public static void showChangelogBottomSheet(MainActivity mainActivity) {
@@ -26,13 +26,13 @@ import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.preference.PreferenceManager;
+import io.reactivex.rxjava3.disposables.Disposable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
-import me.xdrop.fuzzywuzzy.FuzzySearch;
-import me.xdrop.fuzzywuzzy.model.BoundExtractedResult;
 import xyz.zedler.patrick.grocy.R;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
+import xyz.zedler.patrick.grocy.helper.SearchIndex;
 import xyz.zedler.patrick.grocy.model.Event;
 import xyz.zedler.patrick.grocy.model.OpenBeautyFactsProduct;
 import xyz.zedler.patrick.grocy.model.OpenFoodFactsProduct;
@@ -66,6 +66,9 @@ public class ChooseProductViewModel extends BaseViewModel {
   private List<Product> products;
   private final HashMap<String, Product> productHashMap;
   private List<PendingProduct> pendingProducts;
+  private SearchIndex<Product> productSearchIndex;
+  private Disposable searchDisposable;
+  private Disposable searchIndexDisposable;
   private final HashMap<String, PendingProduct> pendingProductHashMap;
   private final boolean forbidCreateProductInitial;
   private final boolean pendingProductsActive;
@@ -108,6 +111,7 @@ public class ChooseProductViewModel extends BaseViewModel {
 
     this.barcode = barcode;
     products = new ArrayList<>();
+    productSearchIndex = new SearchIndex<>(products, Product::getName);
     productHashMap = new HashMap<>();
     pendingProductHashMap = new HashMap<>();
   }
@@ -124,6 +128,18 @@ public class ChooseProductViewModel extends BaseViewModel {
       for (PendingProduct pendingProduct : this.pendingProducts) {
         pendingProductHashMap.put(pendingProduct.getName().toLowerCase(), pendingProduct);
       }
+      ArrayList<Product> allProducts = new ArrayList<>(products);
+      allProducts.addAll(pendingProducts);
+      if (searchIndexDisposable != null) searchIndexDisposable.dispose();
+      searchIndexDisposable = SearchIndex.buildInBackground(
+          () -> new SearchIndex<>(allProducts, Product::getName),
+          debug,
+          searchIndex -> {
+            productSearchIndex = searchIndex;
+            String productName = productNameLive.getValue();
+            if (productName != null && !productName.isEmpty()) displayItems();
+          }
+      );
       displayItems();
       if (downloadAfterLoading) {
         downloadData(false);
@@ -151,6 +167,7 @@ public class ChooseProductViewModel extends BaseViewModel {
 
   public void displayItems() {
     String productName = productNameLive.getValue();
+    if (searchDisposable != null) searchDisposable.dispose();
 
     if (productName == null || productName.isEmpty()) {
       SortUtil.sortProductsByName(products, true);
@@ -170,21 +187,9 @@ public class ChooseProductViewModel extends BaseViewModel {
       productNameErrorLive.setValue(null);
     }
 
-    ArrayList<Product> allProducts = new ArrayList<>();
-    allProducts.addAll(products);
-    allProducts.addAll(pendingProducts);
-    ArrayList<Product> suggestions = new ArrayList<>(allProducts.size());
-    List<BoundExtractedResult<Product>> results = FuzzySearch.extractSorted(
-            productName.toLowerCase(),
-            allProducts,
-            Product::getName,
-            20
+    searchDisposable = productSearchIndex.searchDelayed(
+        productName, 20, debug, displayedItemsLive::setValue
     );
-    for (BoundExtractedResult<Product> result : results) {
-      suggestions.add(result.getReferent());
-    }
-
-    displayedItemsLive.setValue(suggestions);
     createProductTextLive.setValue(
         getApplication().getString(R.string.msg_create_new_product_filled, productName)
     );
@@ -318,6 +323,8 @@ public class ChooseProductViewModel extends BaseViewModel {
 
   @Override
   protected void onCleared() {
+    if (searchDisposable != null) searchDisposable.dispose();
+    if (searchIndexDisposable != null) searchIndexDisposable.dispose();
     dlHelper.destroy();
     super.onCleared();
   }
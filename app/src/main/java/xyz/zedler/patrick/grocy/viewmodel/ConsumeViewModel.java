@@ -24,6 +24,7 @@ import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.util.Log;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.StringRes;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
@@ -32,6 +33,7 @@ import androidx.preference.PreferenceManager;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.json.JSONException;
 import org.json.JSONObject;
 import xyz.zedler.patrick.grocy.Constants;
@@ -50,7 +52,9 @@ import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.QuantityUnitsBottomSh
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.QuickModeConfirmBottomSheet;
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.StockEntriesBottomSheet;
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.StockLocationsBottomSheet;
+import xyz.zedler.patrick.grocy.helper.BookingJournal;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
+import xyz.zedler.patrick.grocy.model.BookingJournalEntry;
 import xyz.zedler.patrick.grocy.model.Event;
 import xyz.zedler.patrick.grocy.model.InfoFullscreen;
 import xyz.zedler.patrick.grocy.model.Product;
@@ -62,6 +66,9 @@ import xyz.zedler.patrick.grocy.model.SnackbarMessage;
 import xyz.zedler.patrick.grocy.model.StockEntry;
 import xyz.zedler.patrick.grocy.model.StockLocation;
 import xyz.zedler.patrick.grocy.repository.InventoryRepository;
+import xyz.zedler.patrick.grocy.repository.ProductBarcodeRepository;
+import xyz.zedler.patrick.grocy.repository.ProductDetailsRepository;
+import xyz.zedler.patrick.grocy.repository.ProductDetailsRepository.ProductDetailsData;
 import xyz.zedler.patrick.grocy.util.ArrayUtil;
 import xyz.zedler.patrick.grocy.util.GrocycodeUtil;
 import xyz.zedler.patrick.grocy.util.GrocycodeUtil.Grocycode;
@@ -77,13 +84,15 @@ public class ConsumeViewModel extends BaseViewModel {
   private final boolean debug;
 
   private final DownloadHelper dlHelper;
+  private final BookingJournal bookingJournal;
   private final GrocyApi grocyApi;
   private final InventoryRepository repository;
+  private final ProductDetailsRepository productDetailsRepository;
+  private final ProductBarcodeRepository productBarcodeRepository;
   private final FormDataConsume formData;
 
   private List<Product> products;
   private List<QuantityUnitConversionResolved> unitConversions;
-  private List<ProductBarcode> barcodes;
   private HashMap<Integer, QuantityUnit> quantityUnitHashMap;
 
   private final MutableLiveData<Boolean> isLoadingLive;
@@ -106,8 +115,11 @@ public class ConsumeViewModel extends BaseViewModel {
 
     isLoadingLive = new MutableLiveData<>(false);
     dlHelper = new DownloadHelper(getApplication(), TAG, isLoadingLive::setValue, getOfflineLive());
+    bookingJournal = BookingJournal.getInstance(application);
     grocyApi = new GrocyApi(getApplication());
     repository = new InventoryRepository(application);
+    productDetailsRepository = new ProductDetailsRepository(application);
+    productBarcodeRepository = new ProductBarcodeRepository(application);
     formData = new FormDataConsume(application, sharedPrefs, args);
 
     infoFullscreenLive = new MutableLiveData<>();
@@ -123,8 +135,6 @@ public class ConsumeViewModel extends BaseViewModel {
       quickModeStart = false;
     }
     quickModeEnabled = new MutableLiveData<>(quickModeStart);
-
-    barcodes = new ArrayList<>();
   }
 
   public FormDataConsume getFormData() {
@@ -134,7 +144,6 @@ public class ConsumeViewModel extends BaseViewModel {
   public void loadFromDatabase(boolean downloadAfterLoading) {
     repository.loadFromDatabase(data -> {
       this.products = data.getProducts();
-      this.barcodes = data.getBarcodes();
       this.quantityUnitHashMap = ArrayUtil.getQuantityUnitsHashMap(data.getQuantityUnits());
       this.unitConversions = data.getQuantityUnitConversionsResolved();
       formData.getProductsLive().setValue(Product.getActiveProductsOnly(products));
@@ -168,152 +177,252 @@ public class ConsumeViewModel extends BaseViewModel {
   }
 
   public void setProduct(int productId, ProductBarcode barcode, String stockEntryId) {
-    Runnable onQueueEmptyListener = () -> {
-      ProductDetails productDetails = formData.getProductDetailsLive().getValue();
-      assert productDetails != null;
-      Product product = productDetails.getProduct();
-
-      if (productDetails.getStockAmountAggregated() == 0) {
-        String name = product.getName();
-        showMessageAndContinueScanning(getApplication().getString(R.string.msg_not_in_stock, name));
-        return;
-      }
-
-      formData.getProductDetailsLive().setValue(productDetails);
-      formData.getProductNameLive().setValue(product.getName());
-      formData.getConsumeExactAmountLive().setValue(false);
-
-      // quantity unit
-      HashMap<QuantityUnit, Double> unitFactors = QuantityUnitConversionUtil.getUnitFactors(
-          quantityUnitHashMap,
-          unitConversions,
-          product,
-          VersionUtil.isGrocyServerMin400(sharedPrefs)
-      );
-      formData.getQuantityUnitsFactorsLive().setValue(unitFactors);
-      QuantityUnit stock = quantityUnitHashMap.get(product.getQuIdStockInt());
-      formData.getQuantityUnitStockLive().setValue(stock);
-
-      QuantityUnit barcodeUnit = null;
-      if (barcode != null && barcode.hasQuId()) {
-        barcodeUnit = quantityUnitHashMap.get(barcode.getQuIdInt());
-      }
-      if (barcodeUnit != null && unitFactors.containsKey(barcodeUnit)) {
-        formData.getQuantityUnitLive().setValue(barcodeUnit);
-      } else if (VersionUtil.isGrocyServerMin400(sharedPrefs)) {
-        QuantityUnit consume = quantityUnitHashMap.get(product.getQuIdConsumeInt());
-        formData.getQuantityUnitLive().setValue(consume);
-      } else {
-        formData.getQuantityUnitLive().setValue(stock);
-      }
-
-      // amount
-      boolean isTareWeightEnabled = formData.isTareWeightEnabled();
-      if (!isTareWeightEnabled && barcode != null && barcode.hasAmount()) {
-        // if barcode contains amount, take this (with tare weight handling off)
-        // quick mode status doesn't matter
-        if (barcode.getAmountDouble() < productDetails.getStockAmount()) {
-          formData.getAmountLive().setValue(NumUtil.trimAmount(barcode.getAmountDouble(), maxDecimalPlacesAmount));
-        } else {
-          formData.getAmountLive().setValue(NumUtil.trimAmount(productDetails.getStockAmount(), maxDecimalPlacesAmount));
-        }
-      } else if (!isTareWeightEnabled && !isQuickModeEnabled()) {
-        boolean useQuickConsumeAmount = sharedPrefs.getBoolean(
-            Constants.SETTINGS.STOCK.USE_QUICK_CONSUME_AMOUNT,
-            Constants.SETTINGS_DEFAULT.STOCK.USE_QUICK_CONSUME_AMOUNT
-        );
-        String amount = null;
-        if (useQuickConsumeAmount) {
-          amount = product.getQuickConsumeAmount();
-        }
-        if (!useQuickConsumeAmount || amount == null) {
-          amount = sharedPrefs.getString(
-              Constants.SETTINGS.STOCK.DEFAULT_CONSUME_AMOUNT,
-              Constants.SETTINGS_DEFAULT.STOCK.DEFAULT_CONSUME_AMOUNT
-          );
-        }
-        if (NumUtil.isStringDouble(amount)) {
-          amount = NumUtil.trimAmount(NumUtil.toDouble(amount), maxDecimalPlacesAmount);
-        }
-        if (NumUtil.isStringDouble(amount)
-            && NumUtil.toDouble(amount) > 0) {
-          formData.getAmountLive().setValue(amount);
-        }
-      } else if (!isTareWeightEnabled) {
-        // if quick mode enabled, always fill with amount 1
-        formData.getAmountLive().setValue(NumUtil.trimAmount(1, maxDecimalPlacesAmount));
-      }
-
-      // stock location
-      if (isFeatureEnabled(PREF.FEATURE_STOCK_LOCATION_TRACKING)) {
-        List<StockLocation> stockLocations = formData.getStockLocations();
-        ArrayList<Integer> stockLocationIds = new ArrayList<>();
-        for (StockLocation loc : stockLocations) {
-          stockLocationIds.add(loc.getLocationId());
-        }
-        int locationId;
-        if (NumUtil.isStringInt(product.getDefaultConsumeLocationId())
-            && stockLocationIds.contains(Integer.parseInt(product.getDefaultConsumeLocationId()))) {
-          locationId = Integer.parseInt(product.getDefaultConsumeLocationId());
-        } else {
-          locationId = product.getLocationIdInt();
-        }
-        StockLocation stockLocation = StockLocation.getFromId(stockLocations, locationId);
-        if (stockLocation == null && !stockLocations.isEmpty()) {
-          stockLocation = stockLocations.get(stockLocations.size() - 1);
-        }
-        formData.getStockLocationLive().setValue(stockLocation);
-      }
-
-      // stock entry
-      StockEntry stockEntry = null;
-      if (stockEntryId != null) {
-        stockEntry = StockEntry.getStockEntryFromId(formData.getStockEntries(), stockEntryId);
-      }
-      if (stockEntryId != null && stockEntry == null) {
-        showMessage(R.string.error_stock_entry_grocycode);
-      }
-      if (stockEntry != null) {
-        formData.getUseSpecificLive().setValue(true);
-        formData.getSpecificStockEntryLive().setValue(stockEntry);
+    if (stockEntryId != null) {
+      // stock entries aren't synced, so an entry from a grocycode may only exist on the server
+      downloadProductDetails(productId, barcode, stockEntryId, null);
+      return;
+    }
+    productDetailsRepository.loadFromDatabase(productId, localData -> {
+      if (localData.hasStock()) {
+        // fill the form without waiting for the server, it is revalidated afterwards
+        fillWithProductDetails(localData, barcode, null, false);
+        downloadProductDetails(productId, barcode, stockEntryId, localData);
       } else {
-        formData.getUseSpecificLive().setValue(false);
-        formData.getSpecificStockEntryLive().setValue(null);
-      }
-
-      formData.isFormValid();
-      if (isQuickModeEnabled()) {
-        sendEvent(Event.FOCUS_INVALID_VIEWS);
+        downloadProductDetails(productId, barcode, stockEntryId, null);
       }
-    };
+    }, error -> downloadProductDetails(productId, barcode, stockEntryId, null));
+  }
 
+  private void downloadProductDetails(
+      int productId,
+      ProductBarcode barcode,
+      String stockEntryId,
+      @Nullable ProductDetailsData localData
+  ) {
+    ProductDetailsData serverData = new ProductDetailsData();
     dlHelper.newQueue(
-        updated -> onQueueEmptyListener.run(),
-        error -> showMessageAndContinueScanning(getString(R.string.error_no_product_details))
+        updated -> {
+          if (localData == null) {
+            fillWithProductDetails(serverData, barcode, stockEntryId, true);
+          } else {
+            patchWithProductDetails(localData, serverData);
+          }
+        },
+        error -> {
+          if (localData == null) {
+            showMessageAndContinueScanning(getString(R.string.error_no_product_details));
+          } else if (isQuickModeEnabled()
+              && formData.getProductDetailsLive().getValue() == localData.getProductDetails()) {
+            // offline, continue with the local data
+            sendEvent(Event.FOCUS_INVALID_VIEWS);
+          }
+        }
     ).append(
         ProductDetails.getProductDetails(
             dlHelper,
             productId,
-            productDetails -> formData.getProductDetailsLive().setValue(productDetails)
+            serverData::setProductDetails
         ), StockLocation.getStockLocations(
             dlHelper,
             productId,
-            formData::setStockLocations
+            serverData::setStockLocations
         ), StockEntry.getStockEntries(
             dlHelper,
             productId,
-            formData::setStockEntries
+            serverData::setStockEntries
         )
     ).start();
   }
 
-  public void onBarcodeRecognized(String barcode) {
-    if (formData.getProductDetailsLive().getValue() != null) {
-      if (ProductBarcode.getFromBarcode(barcodes, barcode) == null) {
-        formData.getBarcodeLive().setValue(barcode);
+  private void fillWithProductDetails(
+      ProductDetailsData data,
+      ProductBarcode barcode,
+      String stockEntryId,
+      boolean isServerData
+  ) {
+    ProductDetails productDetails = data.getProductDetails();
+    assert productDetails != null;
+    Product product = productDetails.getProduct();
+
+    if (productDetails.getStockAmountAggregated() == 0) {
+      String name = product.getName();
+      showMessageAndContinueScanning(getApplication().getString(R.string.msg_not_in_stock, name));
+      return;
+    }
+
+    formData.getProductDetailsLive().setValue(productDetails);
+    formData.setStockLocations(data.getStockLocations());
+    formData.setStockEntries(data.getStockEntries());
+    formData.getProductNameLive().setValue(product.getName());
+    formData.getConsumeExactAmountLive().setValue(false);
+
+    // quantity unit
+    Map<QuantityUnit, Double> unitFactors = QuantityUnitConversionUtil.getUnitFactors(
+        quantityUnitHashMap,
+        unitConversions,
+        product,
+        VersionUtil.isGrocyServerMin400(sharedPrefs)
+    );
+    formData.getQuantityUnitsFactorsLive().setValue(unitFactors);
+    QuantityUnit stock = quantityUnitHashMap.get(product.getQuIdStockInt());
+    formData.getQuantityUnitStockLive().setValue(stock);
+
+    QuantityUnit barcodeUnit = null;
+    if (barcode != null && barcode.hasQuId()) {
+      barcodeUnit = quantityUnitHashMap.get(barcode.getQuIdInt());
+    }
+    if (barcodeUnit != null && unitFactors.containsKey(barcodeUnit)) {
+      formData.getQuantityUnitLive().setValue(barcodeUnit);
+    } else if (VersionUtil.isGrocyServerMin400(sharedPrefs)) {
+      QuantityUnit consume = quantityUnitHashMap.get(product.getQuIdConsumeInt());
+      formData.getQuantityUnitLive().setValue(consume);
+    } else {
+      formData.getQuantityUnitLive().setValue(stock);
+    }
+
+    // amount
+    boolean isTareWeightEnabled = formData.isTareWeightEnabled();
+    if (!isTareWeightEnabled && barcode != null && barcode.hasAmount()) {
+      // if barcode contains amount, take this (with tare weight handling off)
+      // quick mode status doesn't matter
+      if (barcode.getAmountDouble() < productDetails.getStockAmount()) {
+        formData.getAmountLive().setValue(NumUtil.trimAmount(barcode.getAmountDouble(), maxDecimalPlacesAmount));
       } else {
-        showMessage(R.string.msg_clear_form_first);
+        formData.getAmountLive().setValue(NumUtil.trimAmount(productDetails.getStockAmount(), maxDecimalPlacesAmount));
+      }
+    } else if (!isTareWeightEnabled && !isQuickModeEnabled()) {
+      boolean useQuickConsumeAmount = sharedPrefs.getBoolean(
+          Constants.SETTINGS.STOCK.USE_QUICK_CONSUME_AMOUNT,
+          Constants.SETTINGS_DEFAULT.STOCK.USE_QUICK_CONSUME_AMOUNT
+      );
+      String amount = null;
+      if (useQuickConsumeAmount) {
+        amount = product.getQuickConsumeAmount();
+      }
+      if (!useQuickConsumeAmount || amount == null) {
+        amount = sharedPrefs.getString(
+            Constants.SETTINGS.STOCK.DEFAULT_CONSUME_AMOUNT,
+            Constants.SETTINGS_DEFAULT.STOCK.DEFAULT_CONSUME_AMOUNT
+        );
+      }
+      if (NumUtil.isStringDouble(amount)) {
+        amount = NumUtil.trimAmount(NumUtil.toDouble(amount), maxDecimalPlacesAmount);
+      }
+      if (NumUtil.isStringDouble(amount)
+          && NumUtil.toDouble(amount) > 0) {
+        formData.getAmountLive().setValue(amount);
       }
+    } else if (!isTareWeightEnabled) {
+      // if quick mode enabled, always fill with amount 1
+      formData.getAmountLive().setValue(NumUtil.trimAmount(1, maxDecimalPlacesAmount));
+    }
+
+    // stock location
+    if (isFeatureEnabled(PREF.FEATURE_STOCK_LOCATION_TRACKING)) {
+      List<StockLocation> stockLocations = formData.getStockLocations();
+      ArrayList<Integer> stockLocationIds = new ArrayList<>();
+      for (StockLocation loc : stockLocations) {
+        stockLocationIds.add(loc.getLocationId());
+      }
+      int locationId;
+      if (NumUtil.isStringInt(product.getDefaultConsumeLocationId())
+          && stockLocationIds.contains(Integer.parseInt(product.getDefaultConsumeLocationId()))) {
+        locationId = Integer.parseInt(product.getDefaultConsumeLocationId());
+      } else {
+        locationId = product.getLocationIdInt();
+      }
+      StockLocation stockLocation = StockLocation.getFromId(stockLocations, locationId);
+      if (stockLocation == null && !stockLocations.isEmpty()) {
+        stockLocation = stockLocations.get(stockLocations.size() - 1);
+      }
+      formData.getStockLocationLive().setValue(stockLocation);
+    }
+
+    // stock entry
+    StockEntry stockEntry = null;
+    if (stockEntryId != null) {
+      stockEntry = StockEntry.getStockEntryFromId(formData.getStockEntries(), stockEntryId);
+    }
+    if (stockEntryId != null && stockEntry == null) {
+      showMessage(R.string.error_stock_entry_grocycode);
+    }
+    if (stockEntry != null) {
+      formData.getUseSpecificLive().setValue(true);
+      formData.getSpecificStockEntryLive().setValue(stockEntry);
+    } else {
+      formData.getUseSpecificLive().setValue(false);
+      formData.getSpecificStockEntryLive().setValue(null);
+    }
+
+    formData.isFormValid();
+    if (isQuickModeEnabled() && isServerData) {
+      // with local data, quick mode has to wait for the stock on the server
+      sendEvent(Event.FOCUS_INVALID_VIEWS);
+    }
+  }
+
+  /**
+   * Updates a form which was filled with local data if the stock on the server differs.
+   * Values entered by the user are kept, only selections which don't exist anymore are reset.
+   */
+  private void patchWithProductDetails(
+      ProductDetailsData localData,
+      ProductDetailsData serverData
+  ) {
+    if (formData.getProductDetailsLive().getValue() != localData.getProductDetails()) {
+      return; // form was cleared or filled with another product in the meantime
+    }
+    ProductDetails productDetails = serverData.getProductDetails();
+    assert productDetails != null;
+    if (productDetails.getStockAmountAggregated() == 0) {
+      String name = productDetails.getProduct().getName();
+      showMessageAndContinueScanning(getApplication().getString(R.string.msg_not_in_stock, name));
+      return;
+    }
+    boolean hasSameStock = localData.hasSameStock(serverData);
+    formData.getProductDetailsLive().setValue(productDetails);
+    formData.setStockLocations(serverData.getStockLocations());
+    formData.setStockEntries(serverData.getStockEntries());
+    if (hasSameStock) {
+      if (isQuickModeEnabled()) sendEvent(Event.FOCUS_INVALID_VIEWS);
+      return;
+    }
+
+    StockLocation stockLocation = formData.getStockLocationLive().getValue();
+    if (stockLocation != null) {
+      List<StockLocation> stockLocations = formData.getStockLocations();
+      StockLocation updatedLocation = StockLocation.getFromId(
+          stockLocations, stockLocation.getLocationId()
+      );
+      if (updatedLocation == null && !stockLocations.isEmpty()) {
+        updatedLocation = stockLocations.get(stockLocations.size() - 1);
+      }
+      formData.getStockLocationLive().setValue(updatedLocation);
+    }
+
+    StockEntry stockEntry = formData.getSpecificStockEntryLive().getValue();
+    if (stockEntry != null) {
+      StockEntry updatedEntry = StockEntry.getStockEntryFromId(
+          formData.getStockEntries(), stockEntry.getStockId()
+      );
+      formData.getUseSpecificLive().setValue(updatedEntry != null);
+      formData.getSpecificStockEntryLive().setValue(updatedEntry);
+    }
+    formData.isFormValid();
+    if (isQuickModeEnabled()) {
+      sendEvent(Event.FOCUS_INVALID_VIEWS);
+    }
+  }
+
+  public void onBarcodeRecognized(String barcode) {
+    if (formData.getProductDetailsLive().getValue() != null) {
+      productBarcodeRepository.getBarcodeLookup(barcode, lookup -> {
+        if (lookup.getProductBarcode() == null) {
+          formData.getBarcodeLive().setValue(barcode);
+        } else {
+          showMessage(R.string.msg_clear_form_first);
+        }
+      });
       return;
     }
     Product product = null;
@@ -330,19 +439,19 @@ public class ConsumeViewModel extends BaseViewModel {
       showMessageAndContinueScanning(R.string.error_wrong_grocycode_type);
       return;
     }
-    ProductBarcode productBarcode = null;
-    if (product == null) {
-      productBarcode = ProductBarcode.getFromBarcode(barcodes, barcode);
-      product = productBarcode != null
-          ? Product.getProductFromId(products, productBarcode.getProductIdInt()) : null;
-    }
     if (product != null) {
-      setProduct(product.getId(), productBarcode, stockEntryId);
-    } else {
-      Bundle bundle = new Bundle();
-      bundle.putString(ARGUMENT.BARCODE, barcode);
-      sendEvent(Event.CHOOSE_PRODUCT, bundle);
+      setProduct(product.getId(), null, stockEntryId);
+      return;
     }
+    productBarcodeRepository.getBarcodeLookup(barcode, lookup -> {
+      if (lookup.getProduct() != null) {
+        setProduct(lookup.getProduct().getId(), lookup.getProductBarcode(), null);
+      } else {
+        Bundle bundle = new Bundle();
+        bundle.putString(ARGUMENT.BARCODE, barcode);
+        sendEvent(Event.CHOOSE_PRODUCT, bundle);
+      }
+    });
   }
 
   public void checkProductInput() {
@@ -364,20 +473,20 @@ public class ConsumeViewModel extends BaseViewModel {
       showMessageAndContinueScanning(R.string.error_wrong_grocycode_type);
       return;
     }
-    if (product == null) {
-      ProductBarcode productBarcode = null;
-      for (ProductBarcode code : barcodes) {
-        if (code.getBarcode().equals(input.trim())) {
-          productBarcode = code;
-          product = Product.getProductFromId(products, code.getProductIdInt());
-        }
-      }
-      if (product != null) {
-        setProduct(product.getId(), productBarcode, null);
-        return;
-      }
+    if (product != null) {
+      onProductInputChecked(product, input);
+      return;
     }
+    productBarcodeRepository.getBarcodeLookup(input.trim(), lookup -> {
+      if (lookup.getProduct() != null) {
+        setProduct(lookup.getProduct().getId(), lookup.getProductBarcode(), null);
+      } else {
+        onProductInputChecked(null, input);
+      }
+    });
+  }
 
+  private void onProductInputChecked(@Nullable Product product, String input) {
     ProductDetails currentProductDetails = formData.getProductDetailsLive().getValue();
     Product currentProduct = currentProductDetails != null
         ? currentProductDetails.getProduct() : null;
@@ -409,11 +518,13 @@ public class ConsumeViewModel extends BaseViewModel {
     assert formData.getProductDetailsLive().getValue() != null;
     Product product = formData.getProductDetailsLive().getValue().getProduct();
     JSONObject body = formData.getFilledJSONObject(isActionOpen);
-    dlHelper.postWithArray(
-        isActionOpen
-            ? grocyApi.openProduct(product.getId())
-            : grocyApi.consumeProduct(product.getId()),
-        body,
+    BookingJournalEntry entry = new BookingJournalEntry(
+        isActionOpen ? BookingJournalEntry.TYPE_OPEN : BookingJournalEntry.TYPE_CONSUME,
+        product,
+        body
+    );
+    bookingJournal.book(
+        entry,
         response -> {
           // UNDO OPTION
           String transactionId = null;
@@ -451,6 +562,10 @@ public class ConsumeViewModel extends BaseViewModel {
           showSnackbar(snackbarMessage);
           sendEvent(Event.CONSUME_SUCCESS);
         },
+        () -> {
+          showMessage(R.string.msg_stored_in_journal);
+          sendEvent(Event.CONSUME_SUCCESS);
+        },
         error -> {
           showNetworkErrorMessage(error);
           if (debug) {
@@ -474,15 +589,21 @@ public class ConsumeViewModel extends BaseViewModel {
   }
 
   private void uploadProductBarcode(Runnable onSuccess) {
+    assert formData.getProductDetailsLive().getValue() != null;
+    Product product = formData.getProductDetailsLive().getValue().getProduct();
     ProductBarcode productBarcode = formData.fillProductBarcode();
     JSONObject body = productBarcode.getJsonFromProductBarcode(debug, TAG);
-    ProductBarcode.addProductBarcode(dlHelper, body, () -> {
+    Runnable onUploaded = () -> {
       formData.getBarcodeLive().setValue(null);
-      barcodes.add(productBarcode); // add to list so it will be found on next scan without reload
-      if (onSuccess != null) {
-        onSuccess.run();
-      }
-    }, error -> showMessage(R.string.error_failed_barcode_upload)).perform(dlHelper.getUuid());
+      // store it so it will be found on next scan without sync
+      productBarcodeRepository.insertProductBarcode(productBarcode, onSuccess);
+    };
+    bookingJournal.book(
+        new BookingJournalEntry(BookingJournalEntry.TYPE_PRODUCT_BARCODE, product, body),
+        response -> onUploaded.run(),
+        onUploaded,
+        error -> showMessage(R.string.error_failed_barcode_upload)
+    );
   }
 
   public void showInputProductBottomSheet(@NonNull String input) {
@@ -495,7 +616,7 @@ public class ConsumeViewModel extends BaseViewModel {
     if (!hasFocus) {
       return;
     }
-    HashMap<QuantityUnit, Double> unitsFactors = getFormData()
+    Map<QuantityUnit, Double> unitsFactors = getFormData()
         .getQuantityUnitsFactorsLive().getValue();
     Bundle bundle = new Bundle();
     bundle.putParcelableArrayList(
@@ -24,6 +24,7 @@ import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.util.Log;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.StringRes;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
@@ -32,6 +33,8 @@ import androidx.preference.PreferenceManager;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import org.json.JSONException;
 import org.json.JSONObject;
 import xyz.zedler.patrick.grocy.Constants;
@@ -49,8 +52,10 @@ import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.LocationsBottomSheet;
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.QuantityUnitsBottomSheet;
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.QuickModeConfirmBottomSheet;
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.StoresBottomSheet;
+import xyz.zedler.patrick.grocy.helper.BookingJournal;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnObjectResponseListener;
+import xyz.zedler.patrick.grocy.model.BookingJournalEntry;
 import xyz.zedler.patrick.grocy.model.Event;
 import xyz.zedler.patrick.grocy.model.InfoFullscreen;
 import xyz.zedler.patrick.grocy.model.Location;
@@ -62,6 +67,8 @@ import xyz.zedler.patrick.grocy.model.QuantityUnitConversionResolved;
 import xyz.zedler.patrick.grocy.model.SnackbarMessage;
 import xyz.zedler.patrick.grocy.model.Store;
 import xyz.zedler.patrick.grocy.repository.InventoryRepository;
+import xyz.zedler.patrick.grocy.repository.ProductBarcodeRepository;
+import xyz.zedler.patrick.grocy.repository.ProductDetailsRepository;
 import xyz.zedler.patrick.grocy.util.ArrayUtil;
 import xyz.zedler.patrick.grocy.util.DateUtil;
 import xyz.zedler.patrick.grocy.util.GrocycodeUtil;
@@ -78,13 +85,15 @@ public class InventoryViewModel extends BaseViewModel {
   private final boolean debug;
 
   private final DownloadHelper dlHelper;
+  private final BookingJournal bookingJournal;
   private final GrocyApi grocyApi;
   private final InventoryRepository repository;
+  private final ProductDetailsRepository productDetailsRepository;
+  private final ProductBarcodeRepository productBarcodeRepository;
   private final FormDataInventory formData;
 
   private List<Product> products;
   private List<QuantityUnitConversionResolved> unitConversions;
-  private List<ProductBarcode> barcodes;
   private List<Store> stores;
   private List<Location> locations;
   private HashMap<Integer, QuantityUnit> quantityUnitHashMap;
@@ -114,8 +123,11 @@ public class InventoryViewModel extends BaseViewModel {
 
     isLoadingLive = new MutableLiveData<>(false);
     dlHelper = new DownloadHelper(getApplication(), TAG, isLoadingLive::setValue, getOfflineLive());
+    bookingJournal = BookingJournal.getInstance(application);
     grocyApi = new GrocyApi(getApplication());
     repository = new InventoryRepository(application);
+    productDetailsRepository = new ProductDetailsRepository(application);
+    productBarcodeRepository = new ProductBarcodeRepository(application);
     formData = new FormDataInventory(application, sharedPrefs, args);
 
     infoFullscreenLive = new MutableLiveData<>();
@@ -129,8 +141,6 @@ public class InventoryViewModel extends BaseViewModel {
       quickModeStart = false;
     }
     quickModeEnabled = new MutableLiveData<>(quickModeStart);
-
-    barcodes = new ArrayList<>();
   }
 
   public FormDataInventory getFormData() {
@@ -140,7 +150,6 @@ public class InventoryViewModel extends BaseViewModel {
   public void loadFromDatabase(boolean downloadAfterLoading) {
     repository.loadFromDatabase(data -> {
       this.products = data.getProducts();
-      this.barcodes = data.getBarcodes();
       this.quantityUnitHashMap = ArrayUtil.getQuantityUnitsHashMap(data.getQuantityUnits());
       this.unitConversions = data.getQuantityUnitConversionsResolved();
       this.stores = data.getStores();
@@ -192,7 +201,7 @@ public class InventoryViewModel extends BaseViewModel {
       formData.getProductNameLive().setValue(updatedProduct.getName());
 
       // quantity unit
-      HashMap<QuantityUnit, Double> unitFactors = QuantityUnitConversionUtil.getUnitFactors(
+      Map<QuantityUnit, Double> unitFactors = QuantityUnitConversionUtil.getUnitFactors(
           quantityUnitHashMap,
           unitConversions,
           updatedProduct,
@@ -229,11 +238,7 @@ public class InventoryViewModel extends BaseViewModel {
 
       // price
       if (isFeatureEnabled(PREF.FEATURE_STOCK_PRICE_TRACKING)) {
-        String lastPrice = productDetails.getLastPrice();
-        if (lastPrice != null && !lastPrice.isEmpty()) {
-          lastPrice = NumUtil.trimPrice(NumUtil.toDouble(lastPrice), decimalPlacesPriceInput);
-        }
-        formData.getPriceLive().setValue(lastPrice);
+        formData.getPriceLive().setValue(getLastPriceForInput(productDetails));
       }
 
       // store
@@ -264,21 +269,88 @@ public class InventoryViewModel extends BaseViewModel {
         }
     };
 
+    productDetailsRepository.loadFromDatabase(productId, localData -> {
+      ProductDetails localDetails = localData.getProductDetails();
+      if (localDetails != null) {
+        // fill the form without waiting for the server, it is revalidated afterwards
+        listener.onResponse(localDetails);
+      }
+      downloadProductDetails(productId, listener, localDetails);
+    }, error -> downloadProductDetails(productId, listener, null));
+  }
+
+  private void downloadProductDetails(
+      int productId,
+      OnObjectResponseListener<ProductDetails> listener,
+      @Nullable ProductDetails localDetails
+  ) {
     ProductDetails.getProductDetails(
         dlHelper,
         productId,
-        listener,
-        error -> showMessageAndContinueScanning(getString(R.string.error_no_product_details))
+        productDetails -> {
+          if (localDetails == null) {
+            listener.onResponse(productDetails);
+          } else {
+            patchWithProductDetails(localDetails, productDetails);
+          }
+        },
+        error -> {
+          if (localDetails == null) {
+            showMessageAndContinueScanning(getString(R.string.error_no_product_details));
+          }
+        }
     ).perform(dlHelper.getUuid());
   }
 
+  /**
+   * Updates a form which was filled with local data if the server has other values.
+   * Only fields which still contain the value from the local data are changed.
+   */
+  private void patchWithProductDetails(ProductDetails localDetails, ProductDetails productDetails) {
+    if (formData.getProductDetailsLive().getValue() != localDetails) {
+      return; // form was cleared or filled with another product in the meantime
+    }
+    formData.getProductDetailsLive().setValue(productDetails);
+
+    // amount
+    String localAmount = NumUtil.trimAmount(localDetails.getStockAmount(), maxDecimalPlacesAmount);
+    if (!formData.isTareWeightEnabled() && !isQuickModeEnabled()
+        && productDetails.getStockAmount() != localDetails.getStockAmount()
+        && localAmount.equals(formData.getAmountLive().getValue())) {
+      formData.getAmountLive().setValue(
+          NumUtil.trimAmount(productDetails.getStockAmount(), maxDecimalPlacesAmount)
+      );
+    }
+
+    // price
+    String localPrice = getLastPriceForInput(localDetails);
+    String price = getLastPriceForInput(productDetails);
+    if (isFeatureEnabled(PREF.FEATURE_STOCK_PRICE_TRACKING)
+        && !Objects.equals(localPrice, price)
+        && Objects.equals(localPrice, formData.getPriceLive().getValue())) {
+      formData.getPriceLive().setValue(price);
+    }
+    formData.isFormValid();
+  }
+
+  @Nullable
+  private String getLastPriceForInput(ProductDetails productDetails) {
+    String lastPrice = productDetails.getLastPrice();
+    if (lastPrice != null && !lastPrice.isEmpty()) {
+      lastPrice = NumUtil.trimPrice(NumUtil.toDouble(lastPrice), decimalPlacesPriceInput);
+    }
+    return lastPrice;
+  }
+
   public void onBarcodeRecognized(String barcode) {
     if (formData.getProductDetailsLive().getValue() != null) {
-      if (ProductBarcode.getFromBarcode(barcodes, barcode) == null) {
-        formData.getBarcodeLive().setValue(barcode);
-      } else {
-        showMessage(R.string.msg_clear_form_first);
-      }
+      productBarcodeRepository.getBarcodeLookup(barcode, lookup -> {
+        if (lookup.getProductBarcode() == null) {
+          formData.getBarcodeLive().setValue(barcode);
+        } else {
+          showMessage(R.string.msg_clear_form_first);
+        }
+      });
       return;
     }
     Product product = null;
@@ -293,19 +365,19 @@ public class InventoryViewModel extends BaseViewModel {
       showMessageAndContinueScanning(R.string.error_wrong_grocycode_type);
       return;
     }
-    ProductBarcode productBarcode = null;
-    if (product == null) {
-      productBarcode = ProductBarcode.getFromBarcode(barcodes, barcode);
-      product = productBarcode != null
-          ? Product.getProductFromId(products, productBarcode.getProductIdInt()) : null;
-    }
     if (product != null) {
-      setProduct(product.getId(), productBarcode);
-    } else {
-      Bundle bundle = new Bundle();
-      bundle.putString(ARGUMENT.BARCODE, barcode);
-      sendEvent(Event.CHOOSE_PRODUCT, bundle);
+      setProduct(product.getId(), null);
+      return;
     }
+    productBarcodeRepository.getBarcodeLookup(barcode, lookup -> {
+      if (lookup.getProduct() != null) {
+        setProduct(lookup.getProduct().getId(), lookup.getProductBarcode());
+      } else {
+        Bundle bundle = new Bundle();
+        bundle.putString(ARGUMENT.BARCODE, barcode);
+        sendEvent(Event.CHOOSE_PRODUCT, bundle);
+      }
+    });
   }
 
   public void checkProductInput() {
@@ -327,20 +399,20 @@ public class InventoryViewModel extends BaseViewModel {
       showMessageAndContinueScanning(R.string.error_wrong_grocycode_type);
       return;
     }
-    if (product == null) {
-      ProductBarcode barcode = null;
-      for (ProductBarcode code : barcodes) {
-        if (code.getBarcode().equals(input.trim())) {
-          barcode = code;
-          product = Product.getProductFromId(products, code.getProductIdInt());
-        }
-      }
-      if (product != null) {
-        setProduct(product.getId(), barcode);
-        return;
-      }
+    if (product != null) {
+      onProductInputChecked(product, input);
+      return;
     }
+    productBarcodeRepository.getBarcodeLookup(input.trim(), lookup -> {
+      if (lookup.getProduct() != null) {
+        setProduct(lookup.getProduct().getId(), lookup.getProductBarcode());
+      } else {
+        onProductInputChecked(null, input);
+      }
+    });
+  }
 
+  private void onProductInputChecked(@Nullable Product product, String input) {
     ProductDetails currentProductDetails = formData.getProductDetailsLive().getValue();
     Product currentProduct = currentProductDetails != null
         ? currentProductDetails.getProduct() : null;
@@ -372,9 +444,8 @@ public class InventoryViewModel extends BaseViewModel {
 
     Product product = formData.getProductDetailsLive().getValue().getProduct();
     JSONObject body = formData.getFilledJSONObject();
-    dlHelper.postWithArray(
-        grocyApi.inventoryProduct(product.getId()),
-        body,
+    bookingJournal.book(
+        new BookingJournalEntry(BookingJournalEntry.TYPE_INVENTORY, product, body),
         response -> {
           // UNDO OPTION
           String transactionId = null;
@@ -408,6 +479,10 @@ public class InventoryViewModel extends BaseViewModel {
           showSnackbar(snackbarMessage);
           sendEvent(Event.TRANSACTION_SUCCESS);
         },
+        () -> {
+          showMessage(R.string.msg_stored_in_journal);
+          sendEvent(Event.TRANSACTION_SUCCESS);
+        },
         error -> {
           showNetworkErrorMessage(error);
             if (debug) {
@@ -431,6 +506,8 @@ public class InventoryViewModel extends BaseViewModel {
   }
 
   public void uploadProductBarcode(Runnable onSuccess, boolean withoutForm) {
+    assert formData.getProductDetailsLive().getValue() != null;
+    Product product = formData.getProductDetailsLive().getValue().getProduct();
     ProductBarcode productBarcode;
     if (withoutForm) {
       productBarcode = formData.fillProductBarcodeWithoutForm();
@@ -438,13 +515,17 @@ public class InventoryViewModel extends BaseViewModel {
       productBarcode = formData.fillProductBarcode();
     }
     JSONObject body = productBarcode.getJsonFromProductBarcode(debug, TAG);
-    ProductBarcode.addProductBarcode(dlHelper, body, () -> {
+    Runnable onUploaded = () -> {
       formData.getBarcodeLive().setValue(null);
-      barcodes.add(productBarcode); // add to list so it will be found on next scan without reload
-        if (onSuccess != null) {
-            onSuccess.run();
-        }
-    }, error -> showMessage(R.string.error_failed_barcode_upload)).perform(dlHelper.getUuid());
+      // store it so it will be found on next scan without sync
+      productBarcodeRepository.insertProductBarcode(productBarcode, onSuccess);
+    };
+    bookingJournal.book(
+        new BookingJournalEntry(BookingJournalEntry.TYPE_PRODUCT_BARCODE, product, body),
+        response -> onUploaded.run(),
+        onUploaded,
+        error -> showMessage(R.string.error_failed_barcode_upload)
+    );
   }
 
   private Store getStore(int id) {
@@ -466,7 +547,7 @@ public class InventoryViewModel extends BaseViewModel {
       if (!hasFocus) {
           return;
       }
-    HashMap<QuantityUnit, Double> unitsFactors = getFormData()
+    Map<QuantityUnit, Double> unitsFactors = getFormData()
         .getQuantityUnitsFactorsLive().getValue();
     Bundle bundle = new Bundle();
     bundle.putParcelableArrayList(
@@ -28,11 +28,11 @@ import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.preference.PreferenceManager;
+import io.reactivex.rxjava3.disposables.Disposable;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import me.xdrop.fuzzywuzzy.FuzzySearch;
-import me.xdrop.fuzzywuzzy.model.BoundExtractedResult;
 import xyz.zedler.patrick.grocy.Constants;
 import xyz.zedler.patrick.grocy.R;
 import xyz.zedler.patrick.grocy.api.GrocyApi;
@@ -40,6 +40,7 @@ import xyz.zedler.patrick.grocy.api.GrocyApi.ENTITY;
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.ProductOverviewBottomSheet;
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.ProductOverviewBottomSheetArgs;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
+import xyz.zedler.patrick.grocy.helper.SearchIndex;
 import xyz.zedler.patrick.grocy.model.Event;
 import xyz.zedler.patrick.grocy.model.FilterChipLiveData;
 import xyz.zedler.patrick.grocy.model.FilterChipLiveDataProductGroup;
@@ -55,8 +56,8 @@ import xyz.zedler.patrick.grocy.model.TaskCategory;
 import xyz.zedler.patrick.grocy.model.Userfield;
 import xyz.zedler.patrick.grocy.repository.MasterObjectListRepository;
 import xyz.zedler.patrick.grocy.util.ArrayUtil;
-import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.util.ObjectUtil;
+import xyz.zedler.patrick.grocy.util.PrefsUtil;
 import xyz.zedler.patrick.grocy.util.SortUtil;
 
 public class MasterObjectListViewModel extends BaseViewModel {
@@ -70,6 +71,7 @@ public class MasterObjectListViewModel extends BaseViewModel {
   private final DownloadHelper dlHelper;
   private final GrocyApi grocyApi;
   private final MasterObjectListRepository repository;
+  private final boolean debug;
 
   private final MutableLiveData<Boolean> isLoadingLive;
   private final MutableLiveData<InfoFullscreen> infoFullscreenLive;
@@ -83,6 +85,10 @@ public class MasterObjectListViewModel extends BaseViewModel {
   private HashMap<String, Userfield> userfieldHashMap = new HashMap<>();
 
   private String search;
+  private SearchIndex<Object> searchIndex;
+  private List<Object> searchResultsFuzzy;
+  private Disposable searchDisposable;
+  private Disposable searchIndexDisposable;
   private final String entity;
 
   public MasterObjectListViewModel(@NonNull Application application, String entity) {
@@ -90,6 +96,7 @@ public class MasterObjectListViewModel extends BaseViewModel {
 
     this.entity = entity;
     sharedPrefs = PreferenceManager.getDefaultSharedPreferences(getApplication());
+    debug = PrefsUtil.isDebuggingEnabled(sharedPrefs);
 
     isLoadingLive = new MutableLiveData<>(false);
     dlHelper = new DownloadHelper(getApplication(), TAG, isLoadingLive::setValue, getOfflineLive());
@@ -113,6 +120,8 @@ public class MasterObjectListViewModel extends BaseViewModel {
     );
 
     objects = new ArrayList<>();
+    searchIndex = new SearchIndex<>(objects, item -> ObjectUtil.getObjectName(item, entity));
+    searchResultsFuzzy = new ArrayList<>();
   }
 
   public void loadFromDatabase(boolean downloadAfterLoading) {
@@ -143,6 +152,18 @@ public class MasterObjectListViewModel extends BaseViewModel {
       userfieldHashMap = ArrayUtil.getUserfieldHashMap(data.getUserfields());
       filterChipLiveDataSort.setUserfields(data.getUserfields(), entity);
 
+      List<?> loadedObjects = objects;
+      if (searchIndexDisposable != null) searchIndexDisposable.dispose();
+      searchIndexDisposable = SearchIndex.buildInBackground(
+          () -> new SearchIndex<Object>(
+              loadedObjects, item -> ObjectUtil.getObjectName(item, entity)
+          ),
+          debug,
+          searchIndex -> {
+            this.searchIndex = searchIndex;
+            if (search != null && !search.isEmpty()) setSearch(search);
+          }
+      );
       displayItems();
       if (downloadAfterLoading) {
         downloadData(false);
@@ -175,29 +196,10 @@ public class MasterObjectListViewModel extends BaseViewModel {
     ArrayList<Object> searchedItems;
     if (search != null && !search.isEmpty()) {
 
-      ArrayList<Object> searchResultsFuzzy = new ArrayList<>(objects.size());
-      List results = FuzzySearch.extractSorted(
-          search,
-          objects,
-          item -> {
-            String name = ObjectUtil.getObjectName(item, entity);
-            return name != null ? name.toLowerCase() : "";
-          },
-          70
-      );
-      for (Object result : results) {
-        searchResultsFuzzy.add(((BoundExtractedResult<?>) result).getReferent());
-      }
-
-      searchedItems = new ArrayList<>();
-      ArrayList<Integer> objectIdsInList = new ArrayList<>();
-      for (Object object : objects) {
-        String name = ObjectUtil.getObjectName(object, entity);
-        name = name != null ? name.toLowerCase() : "";
-        if (name.contains(search)) {
-          searchedItems.add(object);
-          objectIdsInList.add(ObjectUtil.getObjectId(object, entity));
-        }
+      searchedItems = new ArrayList<>(searchIndex.searchContaining(search));
+      HashSet<Integer> objectIdsInList = new HashSet<>();
+      for (Object object : searchedItems) {
+        objectIdsInList.add(ObjectUtil.getObjectId(object, entity));
       }
 
       sortObjects(searchedItems);
@@ -218,11 +220,9 @@ public class MasterObjectListViewModel extends BaseViewModel {
     if (entity.equals(GrocyApi.ENTITY.PRODUCTS) && filterChipLiveDataProductGroup.isActive()) {
       filteredItems = new ArrayList<>();
       for (Object object : searchedItems) {
-        if (!NumUtil.isStringInt(((Product) object).getProductGroupId())) {
-          continue;
-        }
-        int productGroupId = Integer.parseInt(((Product) object).getProductGroupId());
-        if (productGroupId == filterChipLiveDataProductGroup.getSelectedId()) {
+        int productGroupId = ((Product) object).getProductGroupIdInt();
+        if (productGroupId != -1
+            && productGroupId == filterChipLiveDataProductGroup.getSelectedId()) {
           filteredItems.add(object);
         }
       }
@@ -279,11 +279,23 @@ public class MasterObjectListViewModel extends BaseViewModel {
   }
 
   public void setSearch(@Nullable String search) {
-    this.search = search != null ? search.toLowerCase() : null;
-    displayItems();
+    if (searchDisposable != null) searchDisposable.dispose();
+    String searchLower = search != null ? search.toLowerCase() : null;
+    if (searchLower == null || searchLower.isEmpty()) {
+      this.search = searchLower;
+      searchResultsFuzzy = new ArrayList<>();
+      displayItems();
+      return;
+    }
+    searchDisposable = searchIndex.searchDelayed(searchLower, 70, debug, results -> {
+      this.search = searchLower;
+      searchResultsFuzzy = results;
+      displayItems();
+    });
   }
 
   public void deleteSearch() {
+    if (searchDisposable != null) searchDisposable.dispose();
     search = null;
   }
 
@@ -319,6 +331,8 @@ public class MasterObjectListViewModel extends BaseViewModel {
 
   @Override
   protected void onCleared() {
+    if (searchDisposable != null) searchDisposable.dispose();
+    if (searchIndexDisposable != null) searchIndexDisposable.dispose();
     dlHelper.destroy();
     super.onCleared();
   }
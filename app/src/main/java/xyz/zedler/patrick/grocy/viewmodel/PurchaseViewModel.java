@@ -33,6 +33,7 @@ import androidx.preference.PreferenceManager;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -70,6 +71,8 @@ import xyz.zedler.patrick.grocy.model.ShoppingListItem;
 import xyz.zedler.patrick.grocy.model.SnackbarMessage;
 import xyz.zedler.patrick.grocy.model.Store;
 import xyz.zedler.patrick.grocy.model.StoredPurchase;
+import xyz.zedler.patrick.grocy.repository.ProductBarcodeRepository;
+import xyz.zedler.patrick.grocy.repository.ProductDetailsRepository;
 import xyz.zedler.patrick.grocy.repository.PurchaseRepository;
 import xyz.zedler.patrick.grocy.util.AmountUtil;
 import xyz.zedler.patrick.grocy.util.ArrayUtil;
@@ -90,6 +93,8 @@ public class PurchaseViewModel extends BaseViewModel {
   private final DownloadHelper dlHelper;
   private final GrocyApi grocyApi;
   private final PurchaseRepository repository;
+  private final ProductDetailsRepository productDetailsRepository;
+  private final ProductBarcodeRepository productBarcodeRepository;
   private final FormDataPurchase formData;
 
   private List<Product> products;
@@ -99,8 +104,6 @@ public class PurchaseViewModel extends BaseViewModel {
   private HashMap<Integer, QuantityUnit> quantityUnitHashMap;
   private List<QuantityUnitConversionResolved> unitConversions;
   private HashMap<Integer, Double> shoppingListItemAmountsHashMap;
-  private List<ProductBarcode> barcodes;
-  private List<PendingProductBarcode> pendingProductBarcodes;
   private List<Store> stores;
   private List<Location> locations;
   private List<ShoppingListItem> shoppingListItems;
@@ -136,6 +139,8 @@ public class PurchaseViewModel extends BaseViewModel {
     dlHelper = new DownloadHelper(getApplication(), TAG, isLoadingLive::setValue, getOfflineLive());
     grocyApi = new GrocyApi(getApplication());
     repository = new PurchaseRepository(application);
+    productDetailsRepository = new ProductDetailsRepository(application);
+    productBarcodeRepository = new ProductBarcodeRepository(application);
     formData = new FormDataPurchase(application, sharedPrefs, args);
 
     if (args.getShoppingListItems() != null) {
@@ -182,8 +187,6 @@ public class PurchaseViewModel extends BaseViewModel {
               appendPendingProducts(Product.getActiveProductsOnly(products), pendingProducts)
       );
       productHashMap = ArrayUtil.getProductsHashMap(products);
-      this.pendingProductBarcodes = data.getPendingProductBarcodes();
-      this.barcodes = appendPendingProductBarcodes(data.getBarcodes(), pendingProductBarcodes);
       this.quantityUnits = data.getQuantityUnits();
       quantityUnitHashMap = ArrayUtil.getQuantityUnitsHashMap(quantityUnits);
       this.unitConversions = data.getQuantityUnitConversionsResolved();
@@ -267,7 +270,7 @@ public class PurchaseViewModel extends BaseViewModel {
       } else if (shoppingListItem != null && shoppingListItem.hasQuId()) {
         forcedQuId = shoppingListItem.getQuIdInt();
       }
-      HashMap<QuantityUnit, Double> unitFactors = QuantityUnitConversionUtil.getUnitFactors(
+      Map<QuantityUnit, Double> unitFactors = QuantityUnitConversionUtil.getUnitFactors(
           quantityUnitHashMap,
           unitConversions,
           updatedProduct,
@@ -351,10 +354,7 @@ public class PurchaseViewModel extends BaseViewModel {
           // if barcode contains last price, take this
           lastPrice = barcode.getLastPrice();
         } else {
-          lastPrice = productDetails.getLastPrice();
-          if (lastPrice != null && !lastPrice.isEmpty()) {
-            lastPrice = NumUtil.trimPrice(NumUtil.toDouble(lastPrice) / initialUnitFactor, decimalPlacesPriceInput);
-          }
+          lastPrice = getLastPriceForInput(productDetails, initialUnitFactor);
         }
         formData.getPriceLive().setValue(lastPrice);
       }
@@ -405,14 +405,111 @@ public class PurchaseViewModel extends BaseViewModel {
       formData.getAmountLive().setValue(NumUtil.trimAmount(shoppingListItem.getAmountDouble(), maxDecimalPlacesAmount));
       return;
     }
+    loadProductDetails(productId, barcode, listener);
+  }
+
+  private void loadProductDetails(
+      int productId,
+      @Nullable ProductBarcode barcode,
+      OnObjectResponseListener<ProductDetails> listener
+  ) {
+    productDetailsRepository.loadFromDatabase(productId, localData -> {
+      ProductDetails localDetails = localData.getProductDetails();
+      if (localDetails != null) {
+        // fill the form without waiting for the server, it is revalidated afterwards
+        listener.onResponse(localDetails);
+      }
+      downloadProductDetails(productId, barcode, listener, localDetails);
+    }, error -> downloadProductDetails(productId, barcode, listener, null));
+  }
+
+  private void downloadProductDetails(
+      int productId,
+      @Nullable ProductBarcode barcode,
+      OnObjectResponseListener<ProductDetails> listener,
+      @Nullable ProductDetails localDetails
+  ) {
     ProductDetails.getProductDetails(
         dlHelper,
         productId,
-        listener,
-        error -> showMessageAndContinueScanning(getString(R.string.error_no_product_details))
+        productDetails -> {
+          if (localDetails == null) {
+            listener.onResponse(productDetails);
+          } else {
+            patchWithProductDetails(localDetails, productDetails, barcode);
+          }
+        },
+        error -> {
+          if (localDetails == null) {
+            showMessageAndContinueScanning(getString(R.string.error_no_product_details));
+          }
+        }
     ).perform(dlHelper.getUuid());
   }
 
+  /**
+   * Updates a form which was filled with local data if the server has other values.
+   * Only fields which still contain the value from the local data are changed.
+   */
+  private void patchWithProductDetails(
+      ProductDetails localDetails,
+      ProductDetails productDetails,
+      @Nullable ProductBarcode barcode
+  ) {
+    if (formData.getProductDetailsLive().getValue() != localDetails) {
+      return; // form was cleared or filled with another product in the meantime
+    }
+    formData.getProductDetailsLive().setValue(productDetails);
+
+    // price
+    if (isFeatureEnabled(PREF.FEATURE_STOCK_PRICE_TRACKING)
+        && (barcode == null || !barcode.hasLastPrice())) {
+      Map<QuantityUnit, Double> unitFactors = formData.getQuantityUnitsFactorsLive().getValue();
+      QuantityUnit quantityUnit = formData.getQuantityUnitLive().getValue();
+      Double factor = unitFactors != null && quantityUnit != null
+          ? unitFactors.get(quantityUnit) : null;
+      double unitFactor = factor != null ? factor : 1;
+      String localPrice = getLastPriceForInput(localDetails, unitFactor);
+      String price = getLastPriceForInput(productDetails, unitFactor);
+      if (!Objects.equals(localPrice, price)
+          && Objects.equals(localPrice, formData.getPriceLive().getValue())) {
+        formData.getPriceLive().setValue(price);
+      }
+    }
+
+    // store
+    if (formData.getPinnedStoreIdLive().getValue() == null
+        && (barcode == null || !barcode.hasStoreId())) {
+      Store localStore = getStoreFromProductDetails(localDetails);
+      Store store = getStoreFromProductDetails(productDetails);
+      if (localStore != store && formData.getStoreLive().getValue() == localStore) {
+        formData.getStoreLive().setValue(store);
+        formData.getShowStoreSection().setValue(store != null || !stores.isEmpty());
+      }
+    }
+    formData.isFormValid();
+  }
+
+  @Nullable
+  private String getLastPriceForInput(ProductDetails productDetails, double unitFactor) {
+    String lastPrice = productDetails.getLastPrice();
+    if (lastPrice != null && !lastPrice.isEmpty()) {
+      lastPrice = NumUtil.trimPrice(
+          NumUtil.toDouble(lastPrice) / unitFactor, decimalPlacesPriceInput
+      );
+    }
+    return lastPrice;
+  }
+
+  @Nullable
+  private Store getStoreFromProductDetails(ProductDetails productDetails) {
+    String storeId = productDetails.getLastShoppingLocationId();
+    if (!NumUtil.isStringInt(storeId)) {
+      storeId = productDetails.getDefaultShoppingLocationId();
+    }
+    return NumUtil.isStringInt(storeId) ? getStore(Integer.parseInt(storeId)) : null;
+  }
+
   public void setPendingProduct(int pendingProductId, PendingProductBarcode barcode) {
     PendingProduct pendingProduct = PendingProduct.getFromId(pendingProducts, pendingProductId);
     if (pendingProduct == null) return;
@@ -496,11 +593,13 @@ public class PurchaseViewModel extends BaseViewModel {
 
   public void onBarcodeRecognized(String barcode) {
     if (formData.getProductDetailsLive().getValue() != null) {
-      if (ProductBarcode.getFromBarcode(barcodes, barcode) == null) {
-        formData.getBarcodeLive().setValue(barcode);
-      } else {
-        showMessage(R.string.msg_clear_form_first);
-      }
+      productBarcodeRepository.getBarcodeLookup(barcode, lookup -> {
+        if (lookup.getBarcode() == null) {
+          formData.getBarcodeLive().setValue(barcode);
+        } else {
+          showMessage(R.string.msg_clear_form_first);
+        }
+      });
       return;
     }
     Product product = null;
@@ -515,23 +614,25 @@ public class PurchaseViewModel extends BaseViewModel {
       showMessageAndContinueScanning(R.string.error_wrong_grocycode_type);
       return;
     }
-    ProductBarcode productBarcode = null;
-    if (product == null) {
-      productBarcode = ProductBarcode.getFromBarcode(barcodes, barcode);
+    if (product != null) {
+      setProduct(product.getId(), null, null);
+      return;
+    }
+    productBarcodeRepository.getBarcodeLookup(barcode, lookup -> {
+      ProductBarcode productBarcode = lookup.getBarcode();
       if (productBarcode instanceof PendingProductBarcode) {
         setPendingProduct(productBarcode.getProductIdInt(), (PendingProductBarcode) productBarcode);
         return;
-      } else if (productBarcode != null) {
-        product = productHashMap.get(productBarcode.getProductIdInt());
       }
-    }
-    if (product != null) {
-      setProduct(product.getId(), productBarcode, null);
-    } else {
-      Bundle bundle = new Bundle();
-      bundle.putString(ARGUMENT.BARCODE, barcode);
-      sendEvent(Event.CHOOSE_PRODUCT, bundle);
-    }
+      Product barcodeProduct = lookup.getBarcodeProduct();
+      if (barcodeProduct != null) {
+        setProduct(barcodeProduct.getId(), productBarcode, null);
+      } else {
+        Bundle bundle = new Bundle();
+        bundle.putString(ARGUMENT.BARCODE, barcode);
+        sendEvent(Event.CHOOSE_PRODUCT, bundle);
+      }
+    });
   }
 
   public void checkProductInput() {
@@ -553,24 +654,21 @@ public class PurchaseViewModel extends BaseViewModel {
       showMessageAndContinueScanning(R.string.error_wrong_grocycode_type);
       return;
     }
-    if (product == null) {
-      ProductBarcode productBarcode = null;
-      for (ProductBarcode code : barcodes) {
-        if (code.getBarcode().equals(input.trim())) {
-          productBarcode = code;
-          if (code instanceof PendingProductBarcode) {
-            product = PendingProduct.getFromId(pendingProducts, code.getProductIdInt());
-          } else {
-            product = productHashMap.get(code.getProductIdInt());
-          }
-        }
-      }
-      if (product != null) {
-        setProduct(product.getId(), productBarcode, null);
-        return;
-      }
+    if (product != null) {
+      onProductInputChecked(product, input);
+      return;
     }
+    productBarcodeRepository.getBarcodeLookup(input.trim(), lookup -> {
+      Product barcodeProduct = lookup.getBarcodeProduct();
+      if (barcodeProduct != null) {
+        setProduct(barcodeProduct.getId(), lookup.getBarcode(), null);
+      } else {
+        onProductInputChecked(null, input);
+      }
+    });
+  }
 
+  private void onProductInputChecked(@Nullable Product product, String input) {
     ProductDetails currentProductDetails = formData.getProductDetailsLive().getValue();
     Product currentProduct = currentProductDetails != null
         ? currentProductDetails.getProduct() : null;
@@ -742,10 +840,8 @@ public class PurchaseViewModel extends BaseViewModel {
     JSONObject body = productBarcode.getJsonFromProductBarcode(debug, TAG);
     ProductBarcode.addProductBarcode(dlHelper, body, () -> {
       formData.getBarcodeLive().setValue(null);
-      barcodes.add(productBarcode); // add to list so it will be found on next scan without reload
-      if (onSuccess != null) {
-        onSuccess.run();
-      }
+      // store it so it will be found on next scan without sync
+      productBarcodeRepository.insertProductBarcode(productBarcode, onSuccess);
     }, error -> showMessage(R.string.error_failed_barcode_upload)).perform(dlHelper.getUuid());
   }
 
@@ -776,8 +872,6 @@ public class PurchaseViewModel extends BaseViewModel {
   private void storePendingProductBarcode(Runnable onSuccess) {
     PendingProductBarcode productBarcode = formData.fillPendingProductBarcode();
     formData.getBarcodeLive().setValue(null);
-    barcodes.add(productBarcode); // add to list so it will be found on next scan without reload
-    pendingProductBarcodes.add(productBarcode);
     repository.insertPendingProductBarcode(productBarcode, onSuccess);
   }
 
@@ -863,7 +957,7 @@ public class PurchaseViewModel extends BaseViewModel {
     if (!hasFocus) {
       return;
     }
-    HashMap<QuantityUnit, Double> unitsFactors = getFormData()
+    Map<QuantityUnit, Double> unitsFactors = getFormData()
         .getQuantityUnitsFactorsLive().getValue();
     Bundle bundle = new Bundle();
     bundle.putParcelableArrayList(
@@ -1012,22 +1106,6 @@ public class PurchaseViewModel extends BaseViewModel {
     return newList;
   }
 
-  private ArrayList<ProductBarcode> appendPendingProductBarcodes(
-      List<ProductBarcode> productBarcodes,
-      List<PendingProductBarcode> pendingProductBarcodes
-  ) {
-    ArrayList<String> barcodeStrings = new ArrayList<>();
-    for (ProductBarcode productBarcode : productBarcodes) {
-      barcodeStrings.add(productBarcode.getBarcode());
-    }
-    ArrayList<ProductBarcode> newList = new ArrayList<>(productBarcodes);
-    for (PendingProductBarcode pendingProductBarcode : pendingProductBarcodes) {
-      if (barcodeStrings.contains(pendingProductBarcode.getBarcode())) continue;
-      newList.add(pendingProductBarcode);
-    }
-    return newList;
-  }
-
   public boolean hasStoredPurchase() {
     return storedPurchaseId != null;
   }
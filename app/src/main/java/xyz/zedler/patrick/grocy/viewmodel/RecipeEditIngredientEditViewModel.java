@@ -32,6 +32,7 @@ import androidx.preference.PreferenceManager;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.json.JSONObject;
 import xyz.zedler.patrick.grocy.Constants;
 import xyz.zedler.patrick.grocy.Constants.ARGUMENT;
@@ -156,7 +157,7 @@ public class RecipeEditIngredientEditViewModel extends BaseViewModel {
       formData.getProductDetailsLive().setValue(productDetails);
       formData.getProductNameLive().setValue(product.getName());
 
-      HashMap<QuantityUnit, Double> unitFactors = QuantityUnitConversionUtil.getUnitFactors(
+      Map<QuantityUnit, Double> unitFactors = QuantityUnitConversionUtil.getUnitFactors(
           quantityUnitHashMap,
           unitConversions,
           product,
@@ -449,7 +450,7 @@ public class RecipeEditIngredientEditViewModel extends BaseViewModel {
   }
 
   private interface ProductLoadedListener {
-    void onProductLoaded(Product product, HashMap<QuantityUnit, Double> unitFactors);
+    void onProductLoaded(Product product, Map<QuantityUnit, Double> unitFactors);
   }
 
   public static class RecipeEditIngredientEditViewModelFactory implements ViewModelProvider.Factory {
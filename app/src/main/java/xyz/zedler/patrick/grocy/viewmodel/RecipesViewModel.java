@@ -82,7 +82,7 @@ public class RecipesViewModel extends BaseViewModel {
   private final FilterChipLiveDataFields filterChipLiveDataFields;
 
   private List<Recipe> recipes;
-  private List<RecipeFulfillment> recipeFulfillments;
+  private HashMap<Integer, RecipeFulfillment> recipeFulfillmentHashMap;
   private List<RecipePosition> recipePositions;
   private List<Product> products;
   private List<QuantityUnit> quantityUnits;
@@ -133,7 +133,9 @@ public class RecipesViewModel extends BaseViewModel {
   public void loadFromDatabase(boolean downloadAfterLoading) {
     repository.loadFromDatabase(data -> {
       recipes = ArrayUtil.getRecipesWithoutShadowRecipes(data.getRecipes());
-      recipeFulfillments = data.getRecipeFulfillments();
+      recipeFulfillmentHashMap = ArrayUtil.getRecipeFulfillmentHashMap(
+          data.getRecipeFulfillments()
+      );
       recipePositions = data.getRecipePositions();
       products = data.getProducts();
       quantityUnits = data.getQuantityUnits();
@@ -141,6 +143,7 @@ public class RecipesViewModel extends BaseViewModel {
       userfieldHashMap = ArrayUtil.getUserfieldHashMap(data.getUserfields());
       filterChipLiveDataSort.setUserfields(data.getUserfields(), DISPLAYED_USERFIELD_ENTITIES);
       filterChipLiveDataFields.setUserfields(data.getUserfields(), DISPLAYED_USERFIELD_ENTITIES);
+      updateStatusCounts();
 
       updateFilteredRecipes();
       if (downloadAfterLoading) {
@@ -169,25 +172,39 @@ public class RecipesViewModel extends BaseViewModel {
     );
   }
 
-  public void updateFilteredRecipes() {
-    ArrayList<Recipe> filteredRecipes = new ArrayList<>();
-
+  private void updateStatusCounts() {
     int enoughInStockCount = 0;
     int notEnoughInStockButInShoppingListCount = 0;
     int notEnoughInStockCount = 0;
 
+    for (Recipe recipe : recipes) {
+      RecipeFulfillment recipeFulfillment = recipeFulfillmentHashMap.get(recipe.getId());
+      if (recipeFulfillment == null) {
+        continue;
+      }
+      if (recipeFulfillment.isNeedFulfilled()) {
+        enoughInStockCount++;
+      } else if (recipeFulfillment.isNeedFulfilledWithShoppingList()) {
+        notEnoughInStockButInShoppingListCount++;
+      } else {
+        notEnoughInStockCount++;
+      }
+    }
+
+    filterChipLiveDataStatus
+        .setEnoughInStockCount(enoughInStockCount)
+        .setNotEnoughButInShoppingListCount(notEnoughInStockButInShoppingListCount)
+        .setNotEnoughCount(notEnoughInStockCount)
+        .emitCounts();
+  }
+
+  public void updateFilteredRecipes() {
+    ArrayList<Recipe> filteredRecipes = new ArrayList<>();
+
     for (Recipe recipe : this.recipes) {
-      RecipeFulfillment recipeFulfillment = RecipeFulfillment.getRecipeFulfillmentFromRecipeId(recipeFulfillments, recipe.getId());
+      RecipeFulfillment recipeFulfillment = recipeFulfillmentHashMap.get(recipe.getId());
 
       if (recipeFulfillment != null) {
-        if (recipeFulfillment.isNeedFulfilled()) {
-          enoughInStockCount++;
-        } else if (recipeFulfillment.isNeedFulfilledWithShoppingList()) {
-          notEnoughInStockButInShoppingListCount++;
-        } else {
-          notEnoughInStockCount++;
-        }
-
         if (filterChipLiveDataStatus.getStatus() != FilterChipLiveDataStatusRecipes.STATUS_ALL) {
           if (filterChipLiveDataStatus.getStatus() == FilterChipLiveDataStatusRecipes.STATUS_ENOUGH_IN_STOCK
               && !recipeFulfillment.isNeedFulfilled()
@@ -222,9 +239,9 @@ public class RecipesViewModel extends BaseViewModel {
     boolean sortAscending = filterChipLiveDataSort.isSortAscending();
 
     if (sortMode.equals(SORT_ENERGY)) {
-      SortUtil.sortRecipesByCalories(filteredRecipes, recipeFulfillments, sortAscending);
+      SortUtil.sortRecipesByCalories(filteredRecipes, recipeFulfillmentHashMap, sortAscending);
     } else if (sortMode.equals(SORT_DUE_SCORE)) {
-      SortUtil.sortRecipesByDueScore(filteredRecipes, recipeFulfillments, sortAscending);
+      SortUtil.sortRecipesByDueScore(filteredRecipes, recipeFulfillmentHashMap, sortAscending);
     } else if (sortMode.startsWith(Userfield.NAME_PREFIX)) {
       String userfieldName = sortMode.substring(Userfield.NAME_PREFIX.length());
       Userfield userfield = userfieldHashMap.get(userfieldName);
@@ -241,12 +258,6 @@ public class RecipesViewModel extends BaseViewModel {
       SortUtil.sortRecipesByName(filteredRecipes, sortAscending);
     }
 
-    filterChipLiveDataStatus
-            .setEnoughInStockCount(enoughInStockCount)
-            .setNotEnoughButInShoppingListCount(notEnoughInStockButInShoppingListCount)
-            .setNotEnoughCount(notEnoughInStockCount)
-            .emitCounts();
-
     filteredRecipesLive.setValue(filteredRecipes);
   }
 
@@ -255,8 +266,8 @@ public class RecipesViewModel extends BaseViewModel {
     sendEvent(Event.SCROLL_UP);
   }
 
-  public ArrayList<RecipeFulfillment> getRecipeFulfillments() {
-    return new ArrayList<>(recipeFulfillments);
+  public HashMap<Integer, RecipeFulfillment> getRecipeFulfillmentHashMap() {
+    return recipeFulfillmentHashMap;
   }
 
   public ArrayList<RecipePosition> getRecipePositions() {
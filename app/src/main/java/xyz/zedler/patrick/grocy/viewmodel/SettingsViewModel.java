@@ -67,6 +67,8 @@ import xyz.zedler.patrick.grocy.util.PrefsUtil;
 import xyz.zedler.patrick.grocy.util.ReminderUtil;
 import xyz.zedler.patrick.grocy.util.SortUtil;
 import xyz.zedler.patrick.grocy.util.VersionUtil;
+import xyz.zedler.patrick.grocy.web.HttpCache;
+import xyz.zedler.patrick.grocy.web.RequestQueueSingleton;
 
 public class SettingsViewModel extends BaseViewModel {
 
@@ -1097,6 +1099,7 @@ public class SettingsViewModel extends BaseViewModel {
 
   public void clearAllTables() {
     repository.clearAllTables();
+    HttpCache.clear(RequestQueueSingleton.getInstance(getApplication()).getRequestQueue());
   }
 
   public void clearServerRelatedSharedPreferences() {
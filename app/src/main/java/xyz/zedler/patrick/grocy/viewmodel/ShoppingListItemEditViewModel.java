@@ -31,6 +31,7 @@ import androidx.lifecycle.ViewModelProvider;
 import androidx.preference.PreferenceManager;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.json.JSONObject;
 import xyz.zedler.patrick.grocy.Constants;
 import xyz.zedler.patrick.grocy.Constants.ARGUMENT;
@@ -47,12 +48,12 @@ import xyz.zedler.patrick.grocy.helper.DownloadHelper;
 import xyz.zedler.patrick.grocy.model.Event;
 import xyz.zedler.patrick.grocy.model.InfoFullscreen;
 import xyz.zedler.patrick.grocy.model.Product;
-import xyz.zedler.patrick.grocy.model.ProductBarcode;
 import xyz.zedler.patrick.grocy.model.ProductDetails;
 import xyz.zedler.patrick.grocy.model.QuantityUnit;
 import xyz.zedler.patrick.grocy.model.QuantityUnitConversionResolved;
 import xyz.zedler.patrick.grocy.model.ShoppingList;
 import xyz.zedler.patrick.grocy.model.ShoppingListItem;
+import xyz.zedler.patrick.grocy.repository.ProductBarcodeRepository;
 import xyz.zedler.patrick.grocy.repository.ShoppingListItemEditRepository;
 import xyz.zedler.patrick.grocy.util.ArrayUtil;
 import xyz.zedler.patrick.grocy.util.GrocycodeUtil;
@@ -70,6 +71,7 @@ public class ShoppingListItemEditViewModel extends BaseViewModel {
   private final DownloadHelper dlHelper;
   private final GrocyApi grocyApi;
   private final ShoppingListItemEditRepository repository;
+  private final ProductBarcodeRepository productBarcodeRepository;
   private final FormDataShoppingListItemEdit formData;
   private final ShoppingListItemEditFragmentArgs args;
 
@@ -78,7 +80,6 @@ public class ShoppingListItemEditViewModel extends BaseViewModel {
 
   private List<ShoppingList> shoppingLists;
   private List<Product> products;
-  private List<ProductBarcode> barcodes;
   private List<QuantityUnitConversionResolved> unitConversions;
   private HashMap<Integer, QuantityUnit> quantityUnitHashMap;
 
@@ -104,6 +105,7 @@ public class ShoppingListItemEditViewModel extends BaseViewModel {
     dlHelper = new DownloadHelper(getApplication(), TAG, isLoadingLive::setValue, getOfflineLive());
     grocyApi = new GrocyApi(getApplication());
     repository = new ShoppingListItemEditRepository(application);
+    productBarcodeRepository = new ProductBarcodeRepository(application);
     formData = new FormDataShoppingListItemEdit(application);
     args = startupArgs;
     isActionEdit = startupArgs.getAction().equals(Constants.ACTION.EDIT);
@@ -119,7 +121,6 @@ public class ShoppingListItemEditViewModel extends BaseViewModel {
     repository.loadFromDatabase(data -> {
       this.shoppingLists = data.getShoppingLists();
       this.products = data.getProducts();
-      this.barcodes = data.getBarcodes();
       this.quantityUnitHashMap = ArrayUtil.getQuantityUnitsHashMap(data.getQuantityUnits());
       this.unitConversions = data.getQuantityUnitConversions();
       formData.getProductsLive().setValue(Product.getActiveProductsOnly(products));
@@ -237,7 +238,7 @@ public class ShoppingListItemEditViewModel extends BaseViewModel {
       formData.getProductLive().setValue(product);
       formData.getProductNameLive().setValue(product.getName());
 
-      HashMap<QuantityUnit, Double> unitFactors = QuantityUnitConversionUtil.getUnitFactors(
+      Map<QuantityUnit, Double> unitFactors = QuantityUnitConversionUtil.getUnitFactors(
           quantityUnitHashMap,
           unitConversions,
           product,
@@ -272,7 +273,7 @@ public class ShoppingListItemEditViewModel extends BaseViewModel {
     formData.getProductLive().setValue(product);
     formData.getProductNameLive().setValue(product.getName());
 
-    HashMap<QuantityUnit, Double> unitFactors = QuantityUnitConversionUtil.getUnitFactors(
+    Map<QuantityUnit, Double> unitFactors = QuantityUnitConversionUtil.getUnitFactors(
         quantityUnitHashMap,
         unitConversions,
         product,
@@ -319,16 +320,19 @@ public class ShoppingListItemEditViewModel extends BaseViewModel {
       showMessage(R.string.error_wrong_grocycode_type);
       return;
     }
-    if (product == null) {
-      product = Product.getProductFromBarcode(products, barcodes, barcode);
-    }
     if (product != null) {
       setProduct(product, true);
-    } else {
-      Bundle bundle = new Bundle();
-      bundle.putString(ARGUMENT.BARCODE, barcode);
-      sendEvent(Event.CHOOSE_PRODUCT, bundle);
+      return;
     }
+    productBarcodeRepository.getBarcodeLookup(barcode, lookup -> {
+      if (lookup.getProduct() != null) {
+        setProduct(lookup.getProduct(), true);
+      } else {
+        Bundle bundle = new Bundle();
+        bundle.putString(ARGUMENT.BARCODE, barcode);
+        sendEvent(Event.CHOOSE_PRODUCT, bundle);
+      }
+    });
   }
 
   public void showProductDetailsBottomSheet() {
@@ -40,6 +40,7 @@ import xyz.zedler.patrick.grocy.Constants.SETTINGS.STOCK;
 import xyz.zedler.patrick.grocy.Constants.SETTINGS_DEFAULT;
 import xyz.zedler.patrick.grocy.R;
 import xyz.zedler.patrick.grocy.api.GrocyApi;
+import xyz.zedler.patrick.grocy.database.AppDatabase;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
 import xyz.zedler.patrick.grocy.model.Event;
 import xyz.zedler.patrick.grocy.model.FilterChipLiveData;
@@ -59,6 +60,7 @@ import xyz.zedler.patrick.grocy.model.ShoppingListItem;
 import xyz.zedler.patrick.grocy.model.ShoppingListItem.ShoppingListItemWithSync;
 import xyz.zedler.patrick.grocy.model.SnackbarMessage;
 import xyz.zedler.patrick.grocy.model.Store;
+import xyz.zedler.patrick.grocy.repository.LocalMutation;
 import xyz.zedler.patrick.grocy.repository.ShoppingListRepository;
 import xyz.zedler.patrick.grocy.util.AmountUtil;
 import xyz.zedler.patrick.grocy.util.ArrayUtil;
@@ -575,6 +577,8 @@ public class ShoppingListViewModel extends BaseViewModel {
         Log.e(TAG, "clearShoppingList: " + e);
       }
     }
+    LocalMutation mutation = newDeleteItemsMutation(shoppingList, false);
+    mutation.apply(() -> loadFromDatabase(false));
     dlHelper.post(
         grocyApi.clearShoppingList(),
         jsonObject,
@@ -587,7 +591,6 @@ public class ShoppingListViewModel extends BaseViewModel {
               R.string.msg_shopping_list_cleared,
               shoppingList.getName()
           ));
-          downloadData(false, false);
         },
         error -> {
           showMessage(getString(R.string.error_undefined));
@@ -598,22 +601,21 @@ public class ShoppingListViewModel extends BaseViewModel {
                     + ": " + error
             );
           }
-          downloadData(false, false);
+          mutation.rollback(() -> downloadData(false, false));
         }
     );
   }
 
   public void clearDoneItems(ShoppingList shoppingList) {
+    LocalMutation mutation = newDeleteItemsMutation(shoppingList, true);
     NetworkQueue queue = dlHelper.newQueue(
-        updated -> {
-          showMessage(getApplication().getString(
-              R.string.msg_shopping_list_cleared,
-              shoppingList.getName()
-          ));
-          downloadData(false, false);
-        }, volleyError -> {
+        updated -> showMessage(getApplication().getString(
+            R.string.msg_shopping_list_cleared,
+            shoppingList.getName()
+        )), volleyError -> {
           showMessage(getString(R.string.error_undefined));
-          downloadData(false, false);
+          // some items may already be deleted on the server
+          mutation.rollback(() -> downloadData(false, false));
         }
     );
     for (ShoppingListItem shoppingListItem : shoppingListItems) {
@@ -625,9 +627,25 @@ public class ShoppingListViewModel extends BaseViewModel {
       }
       queue.append(ShoppingListItem.deleteShoppingListItem(dlHelper, shoppingListItem.getId()));
     }
+    mutation.apply(() -> loadFromDatabase(false));
     queue.start();
   }
 
+  private LocalMutation newDeleteItemsMutation(ShoppingList shoppingList, boolean onlyDone) {
+    ArrayList<ShoppingListItem> items = new ArrayList<>();
+    for (ShoppingListItem shoppingListItem : shoppingListItems) {
+      if (shoppingListItem.getShoppingListIdInt() != shoppingList.getId()) {
+        continue;
+      }
+      if (onlyDone && shoppingListItem.getDoneInt() == 0) {
+        continue;
+      }
+      items.add(shoppingListItem);
+    }
+    return new LocalMutation(getApplication())
+        .delete(AppDatabase::shoppingListItemDao, items);
+  }
+
   @Nullable
   public ShoppingList getShoppingListFromId(int id) {
     if (shoppingLists == null) {
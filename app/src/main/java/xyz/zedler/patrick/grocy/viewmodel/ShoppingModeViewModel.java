@@ -21,6 +21,8 @@ package xyz.zedler.patrick.grocy.viewmodel;
 
 import android.app.Application;
 import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
 import android.text.Html;
 import android.text.Spanned;
 import android.util.Log;
@@ -30,14 +32,18 @@ import androidx.lifecycle.MutableLiveData;
 import androidx.preference.PreferenceManager;
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map.Entry;
 import org.json.JSONException;
 import org.json.JSONObject;
 import xyz.zedler.patrick.grocy.Constants;
 import xyz.zedler.patrick.grocy.Constants.PREF;
 import xyz.zedler.patrick.grocy.R;
 import xyz.zedler.patrick.grocy.api.GrocyApi;
+import xyz.zedler.patrick.grocy.helper.ChangeWatcher;
+import xyz.zedler.patrick.grocy.helper.ChangeWatcher.Subscription;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
 import xyz.zedler.patrick.grocy.model.Event;
 import xyz.zedler.patrick.grocy.model.FilterChipLiveData;
@@ -67,6 +73,10 @@ public class ShoppingModeViewModel extends BaseViewModel {
 
   private static final String TAG = ShoppingModeViewModel.class.getSimpleName();
   private static final int DEFAULT_SHOPPING_LIST_ID = 1;
+  // toggled items are stored at once and sent after this delay, so that repeated toggles of
+  // the same item result in one request
+  private static final long SYNC_DELAY_MS = 1500;
+  private static final int SYNC_MAX_PARALLEL_REQUESTS = 3;
 
   public final static String FIELD_AMOUNT = "field_amount";
   public final static String FIELD_PRICE_LAST_UNIT = "field_price_last_unit";
@@ -99,6 +109,10 @@ public class ShoppingModeViewModel extends BaseViewModel {
   private HashMap<Integer, String> productNamesHashMap;
   private HashMap<Integer, ProductLastPurchased> productLastPurchasedHashMap;
   private ArrayList<Integer> missingProductIds;
+  private final Handler syncHandler;
+  private final Runnable syncRunnable;
+  private boolean isSyncRunning;
+  private Subscription changeWatcherSubscription;
   private final boolean debug;
 
   public ShoppingModeViewModel(@NonNull Application application) {
@@ -112,6 +126,8 @@ public class ShoppingModeViewModel extends BaseViewModel {
     dlHelper = new DownloadHelper(getApplication(), TAG, isLoadingLive::setValue, getOfflineLive());
     grocyApi = new GrocyApi(getApplication());
     repository = new ShoppingListRepository(application);
+    syncHandler = new Handler(Looper.getMainLooper());
+    syncRunnable = () -> syncShoppingListItems(false);
 
     infoFullscreenLive = new MutableLiveData<>();
     selectedShoppingListIdLive = new MutableLiveData<>(1);
@@ -164,7 +180,7 @@ public class ShoppingModeViewModel extends BaseViewModel {
       if (downloadAfterLoading) {
         downloadData(false, false);
       } else {
-        syncShoppingListItems();
+        syncShoppingListItems(true);
       }
     }, error -> onError(error, TAG));
   }
@@ -204,17 +220,33 @@ public class ShoppingModeViewModel extends BaseViewModel {
   }
 
   public void downloadData(boolean forceUpdate, boolean noSync) {
+    downloadData(null, forceUpdate, noSync);
+  }
+
+  private void downloadData(
+      @Nullable String dbChangedTime,
+      boolean forceUpdate,
+      boolean noSync
+  ) {
     dlHelper.updateData(
         updated -> {
           if (updated) {
             loadFromDatabase(false);
           } else {
-            syncShoppingListItems();
+            syncShoppingListItems(true);
+          }
+        },
+        error -> {
+          if (dbChangedTime != null) {
+            // notified by the change watcher, which has to notify again with the next poll
+            ChangeWatcher.getInstance().onUpdateFailed();
           }
+          onError(error, TAG);
         },
-        error -> onError(error, TAG),
+        dbChangedTime,
         forceUpdate,
         true,
+        null,
         noSync ? ShoppingListItem.class : ShoppingListItemWithSync.class,
         ShoppingList.class,
         ProductGroup.class,
@@ -226,30 +258,71 @@ public class ShoppingModeViewModel extends BaseViewModel {
     );
   }
 
-  private void syncShoppingListItems() {
-    if (isOffline()) return;
-    ArrayList<ShoppingListItem> itemsToSync = new ArrayList<>();
+  /**
+   * Downloads the data whenever the shared ChangeWatcher detects a change on the server.
+   * Must be stopped again when the screen isn't visible anymore.
+   */
+  public void startChangeWatcher() {
+    stopChangeWatcher();
+    int seconds = sharedPrefs.getInt(
+        Constants.SETTINGS.SHOPPING_MODE.UPDATE_INTERVAL,
+        Constants.SETTINGS_DEFAULT.SHOPPING_MODE.UPDATE_INTERVAL
+    );
+    if (seconds == 0 || !getAutoSyncEnabled()) {
+      return;
+    }
+    changeWatcherSubscription = ChangeWatcher.getInstance().subscribe(
+        dlHelper,
+        seconds,
+        time -> {
+          if (debug) Log.i(TAG, "startChangeWatcher: server data changed");
+          downloadData(time, false, false);
+        },
+        error -> getOfflineLive().setValue(true)
+    );
+  }
+
+  public void stopChangeWatcher() {
+    ChangeWatcher.getInstance().unsubscribe(changeWatcherSubscription);
+    changeWatcherSubscription = null;
+  }
+
+  private void scheduleSync() {
+    syncHandler.removeCallbacks(syncRunnable);
+    if (!isOffline()) {
+      syncHandler.postDelayed(syncRunnable, SYNC_DELAY_MS);
+    }
+  }
+
+  /**
+   * Sends the done state of all items which were changed locally since the last sync.
+   * Items which were toggled back to the state on the server don't need a request, and only
+   * the rows of the sent items are updated afterwards.
+   */
+  private void syncShoppingListItems(boolean showSyncedMessage) {
+    syncHandler.removeCallbacks(syncRunnable);
+    if (isOffline() || shoppingListItems == null || isSyncRunning) return;
+    HashMap<Integer, Integer> doneStatesToSync = new HashMap<>();
+    ArrayList<ShoppingListItem> itemsToggledBack = new ArrayList<>();
     for (ShoppingListItem item : shoppingListItems) {
-      if (item.getDoneSynced() != -1) {
-        itemsToSync.add(item);
+      if (item.getDoneSynced() == -1) continue;
+      if (item.getDoneSynced() == item.getDoneInt()) {
+        ShoppingListItem itemToggledBack = item.getClone();
+        itemToggledBack.setDoneSynced(-1);
+        itemsToggledBack.add(itemToggledBack);
+      } else {
+        doneStatesToSync.put(item.getId(), item.getDoneInt());
       }
     }
-    if (itemsToSync.isEmpty()) return;
-    Runnable emptyListener = () -> {
-      ArrayList<ShoppingListItem> itemsToUpdate = new ArrayList<>();
-      for (ShoppingListItem itemToSync : itemsToSync) {
-        itemToSync.setDoneSynced(-1);
-        itemsToUpdate.add(itemToSync);
-      }
-      repository.insertShoppingListItems(
-          () -> {
-            showMessage(getString(R.string.msg_synced));
-            loadFromDatabase(false);
-          },
-          itemsToUpdate.toArray(new ShoppingListItem[0])
-      );
-    };
+    if (!itemsToggledBack.isEmpty()) {
+      updateShoppingListItems(itemsToggledBack);
+    }
+    if (doneStatesToSync.isEmpty()) return;
+
+    isSyncRunning = true;
+    HashMap<Integer, Integer> syncedDoneStates = new HashMap<>();
     DownloadHelper.OnMultiTypeErrorListener errorListener = error -> {
+      onSyncFinished(syncedDoneStates);
       SnackbarMessage snackbarMessage = new SnackbarMessage(getString(R.string.msg_failed_to_sync));
       snackbarMessage.setAction(
           getString(R.string.action_details),
@@ -259,26 +332,89 @@ public class ShoppingModeViewModel extends BaseViewModel {
       showSnackbar(snackbarMessage);
       showMessage(getString(R.string.msg_failed_to_sync));
     };
-    NetworkQueue queue = dlHelper.newQueue(updated -> emptyListener.run(), errorListener);
-    for (ShoppingListItem itemToSync : itemsToSync) {
+    NetworkQueue queue = dlHelper.newQueue(updated -> {
+      onSyncFinished(syncedDoneStates);
+      if (showSyncedMessage) {
+        showMessage(getString(R.string.msg_synced));
+      }
+    }, errorListener);
+    queue.setMaxParallelItems(SYNC_MAX_PARALLEL_REQUESTS);
+    for (Entry<Integer, Integer> doneState : doneStatesToSync.entrySet()) {
       JSONObject body = new JSONObject();
       try {
-        body.put("done", itemToSync.getDoneInt());
+        body.put("done", doneState.getValue());
       } catch (JSONException e) {
         if (debug) {
           Log.e(TAG, "syncItems: " + e);
         }
       }
-      queue.append(ShoppingListItem.editShoppingListItem(dlHelper, itemToSync.getId(), body));
+      queue.append(ShoppingListItem.editShoppingListItem(
+          dlHelper,
+          doneState.getKey(),
+          body,
+          response -> syncedDoneStates.put(doneState.getKey(), doneState.getValue()),
+          null
+      ));
     }
     queue.start();
   }
 
+  private void onSyncFinished(HashMap<Integer, Integer> syncedDoneStates) {
+    isSyncRunning = false;
+    if (syncedDoneStates.isEmpty()) return;
+    sharedPrefs.edit()
+        .putString(Constants.PREF.DB_LAST_TIME_SHOPPING_LIST_ITEMS, null).apply();
+    ArrayList<ShoppingListItem> syncedItems = new ArrayList<>();
+    boolean hasChangesToSync = false;
+    for (ShoppingListItem item : shoppingListItems) {
+      Integer syncedDone = syncedDoneStates.get(item.getId());
+      if (syncedDone == null) continue;
+      ShoppingListItem syncedItem = item.getClone();
+      // the item could have been toggled again while its request was running
+      if (syncedItem.getDoneInt() == syncedDone) {
+        syncedItem.setDoneSynced(-1);
+      } else {
+        syncedItem.setDoneSynced(syncedDone);
+        hasChangesToSync = true;
+      }
+      syncedItems.add(syncedItem);
+    }
+    updateShoppingListItems(syncedItems);
+    if (hasChangesToSync) {
+      scheduleSync();
+    }
+  }
+
+  /**
+   * Replaces the given items in the loaded list and stores only them, instead of reloading
+   * all tables after every change.
+   */
+  private void updateShoppingListItems(List<ShoppingListItem> changedItems) {
+    HashMap<Integer, ShoppingListItem> changedItemHashMap = new HashMap<>();
+    for (ShoppingListItem item : changedItems) {
+      changedItemHashMap.put(item.getId(), item);
+    }
+    for (int i = 0; i < shoppingListItems.size(); i++) {
+      ShoppingListItem changedItem = changedItemHashMap.get(shoppingListItems.get(i).getId());
+      if (changedItem != null) {
+        shoppingListItems.set(i, changedItem);
+      }
+    }
+    repository.insertShoppingListItems(
+        () -> {},
+        changedItems.toArray(new ShoppingListItem[0])
+    );
+    updateFilteredShoppingListItems();
+  }
+
   private void showSyncErrorDetailsAlertDialog() {
     new MaterialAlertDialogBuilder(
         getApplication(), R.style.ThemeOverlay_Grocy_AlertDialog
     ).setTitle(R.string.msg_failed_to_sync)
-        .setPositiveButton(R.string.action_try_again, (dialog, which) -> syncShoppingListItems())
+        .setPositiveButton(
+            R.string.action_try_again,
+            (dialog, which) -> syncShoppingListItems(true)
+        )
         .setNegativeButton(
             R.string.action_reload,
             (dialog, which) -> downloadData(true, true)
@@ -303,54 +439,17 @@ public class ShoppingModeViewModel extends BaseViewModel {
   }
 
   public void toggleDoneStatus(ShoppingListItem listItem) {
-    if (listItem == null) {
+    if (listItem == null || shoppingListItems == null) {
       showErrorMessage();
       return;
     }
     ShoppingListItem shoppingListItem = listItem.getClone();
-
-    if (isOffline()) {
-      if (shoppingListItem.getDoneSynced() == -1) {
-        shoppingListItem.setDoneSynced(shoppingListItem.getDoneInt());
-      }
-      shoppingListItem.setDone(shoppingListItem.getDoneInt() == 0 ? 1 : 0);  // toggle state
-      updateDoneStatus(shoppingListItem);
-      return;
+    if (shoppingListItem.getDoneSynced() == -1) {
+      shoppingListItem.setDoneSynced(shoppingListItem.getDoneInt());
     }
-
     shoppingListItem.setDone(shoppingListItem.getDoneInt() == 0 ? 1 : 0);  // toggle state
-
-    JSONObject body = new JSONObject();
-    try {
-      body.put("done", shoppingListItem.getDoneInt());
-    } catch (JSONException e) {
-      if (debug) {
-        Log.e(TAG, "toggleDoneStatus: " + e);
-      }
-    }
-    ShoppingListItem.editShoppingListItem(
-        dlHelper,
-        shoppingListItem.getId(),
-        body,
-        response -> updateDoneStatus(shoppingListItem),
-        error -> {
-          showMessage(getString(R.string.error_undefined));
-          if (debug) {
-            Log.e(TAG, "toggleDoneStatus: " + error);
-          }
-        }
-    ).perform(dlHelper.getUuid());
-  }
-
-  private void updateDoneStatus(ShoppingListItem shoppingListItem) {
-    repository.insertShoppingListItems(
-        () -> {
-          sharedPrefs.edit()
-              .putString(Constants.PREF.DB_LAST_TIME_SHOPPING_LIST_ITEMS, null).apply();
-          loadFromDatabase(false);
-        },
-        shoppingListItem
-    );
+    updateShoppingListItems(Collections.singletonList(shoppingListItem));
+    scheduleSync();
   }
 
   public void saveNotes(Spanned notes) {
@@ -507,6 +606,9 @@ public class ShoppingModeViewModel extends BaseViewModel {
 
   @Override
   protected void onCleared() {
+    // changes which weren't sent yet are stored and synced the next time
+    syncHandler.removeCallbacks(syncRunnable);
+    stopChangeWatcher();
     dlHelper.destroy();
     super.onCleared();
   }
@@ -23,16 +23,29 @@ import android.app.Application;
 import android.content.SharedPreferences;
 import android.util.Log;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Transformations;
 import androidx.lifecycle.ViewModel;
 import androidx.lifecycle.ViewModelProvider;
+import androidx.paging.Pager;
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingData;
+import androidx.paging.PagingDataTransforms;
+import androidx.paging.PagingLiveData;
+import androidx.paging.PagingSource;
 import androidx.preference.PreferenceManager;
 import com.google.android.material.snackbar.Snackbar;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.reflect.TypeToken;
+import io.reactivex.rxjava3.disposables.Disposable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import me.xdrop.fuzzywuzzy.FuzzySearch;
-import me.xdrop.fuzzywuzzy.model.BoundExtractedResult;
+import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import xyz.zedler.patrick.grocy.Constants;
@@ -42,8 +55,11 @@ import xyz.zedler.patrick.grocy.Constants.SETTINGS_DEFAULT;
 import xyz.zedler.patrick.grocy.R;
 import xyz.zedler.patrick.grocy.api.GrocyApi;
 import xyz.zedler.patrick.grocy.api.GrocyApi.ENTITY;
+import xyz.zedler.patrick.grocy.dao.StockEntryDao;
+import xyz.zedler.patrick.grocy.database.AppDatabase;
 import xyz.zedler.patrick.grocy.fragment.StockOverviewFragmentArgs;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
+import xyz.zedler.patrick.grocy.helper.SearchIndex;
 import xyz.zedler.patrick.grocy.model.Event;
 import xyz.zedler.patrick.grocy.model.FilterChipLiveData;
 import xyz.zedler.patrick.grocy.model.FilterChipLiveDataFields;
@@ -66,10 +82,14 @@ import xyz.zedler.patrick.grocy.model.QuantityUnit;
 import xyz.zedler.patrick.grocy.model.QuantityUnitConversionResolved;
 import xyz.zedler.patrick.grocy.model.ShoppingListItem;
 import xyz.zedler.patrick.grocy.model.SnackbarMessage;
+import xyz.zedler.patrick.grocy.model.StockEntry;
 import xyz.zedler.patrick.grocy.model.StockItem;
 import xyz.zedler.patrick.grocy.model.StockLocation;
+import xyz.zedler.patrick.grocy.model.StockLogEntry;
 import xyz.zedler.patrick.grocy.model.Userfield;
 import xyz.zedler.patrick.grocy.model.VolatileItem;
+import xyz.zedler.patrick.grocy.repository.LocalMutation;
+import xyz.zedler.patrick.grocy.repository.StockLogWrite;
 import xyz.zedler.patrick.grocy.repository.StockOverviewRepository;
 import xyz.zedler.patrick.grocy.util.ArrayUtil;
 import xyz.zedler.patrick.grocy.util.GrocycodeUtil;
@@ -88,6 +108,8 @@ public class StockOverviewViewModel extends BaseViewModel {
   public final static String SORT_DUE_DATE = "sort_due_date";
   public final static String SORT_CREATED_TIMESTAMP = "sort_created_timestamp";
 
+  private final static int PAGE_SIZE = 50;
+
   public final static String FIELD_AMOUNT = "field_amount";
   public final static String FIELD_DUE_DATE = "field_due_date";
   public final static String FIELD_VALUE = "field_value";
@@ -106,6 +128,8 @@ public class StockOverviewViewModel extends BaseViewModel {
   private final MutableLiveData<Boolean> isLoadingLive;
   private final MutableLiveData<InfoFullscreen> infoFullscreenLive;
   private final MutableLiveData<ArrayList<StockItem>> filteredStockItemsLive;
+  private final MutableLiveData<Pager<Integer, StockItem>> stockItemsPagerLive;
+  private final LiveData<PagingData<StockItem>> pagedStockItemsLive;
   private final MutableLiveData<Boolean> scannerVisibilityLive;
   private final FilterChipLiveDataStatusStock filterChipLiveDataStatus;
   private final FilterChipLiveDataProductGroup filterChipLiveDataProductGroup;
@@ -115,13 +139,16 @@ public class StockOverviewViewModel extends BaseViewModel {
   private final FilterChipLiveDataFields filterChipLiveDataFields;
 
   private List<StockItem> stockItems;
-  private List<Product> products;
   private HashMap<Integer, ProductGroup> productGroupHashMap;
-  private HashMap<String, ProductBarcode> productBarcodeHashMap;
-  private HashMap<Integer, Product> productHashMap;
+  private SearchIndex<Product> productSearchIndex;
+  private Disposable searchDisposable;
+  private Disposable searchIndexDisposable;
+  private String stockItemsPagingQuery;
+  // the paging source is created and the products are attached on a background thread
+  private volatile PagingSource<Integer, StockItem> stockItemsPagingSource;
+  private volatile HashMap<Integer, Product> productHashMap;
   private HashMap<Integer, String> productAveragePriceHashMap;
   private HashMap<Integer, ProductLastPurchased> productLastPurchasedHashMap;
-  private List<ShoppingListItem> shoppingListItems;
   private ArrayList<String> shoppingListItemsProductIds;
   private HashMap<Integer, QuantityUnit> quantityUnitHashMap;
   private List<QuantityUnitConversionResolved> quantityUnitConversions;
@@ -131,7 +158,7 @@ public class StockOverviewViewModel extends BaseViewModel {
   private HashMap<String, Userfield> userfieldHashMap;
 
   private String searchInput;
-  private ArrayList<String> searchResultsFuzzy;
+  private HashSet<Integer> searchResultsFuzzy;
   private final boolean debug;
   private final int maxDecimalPlacesAmount;
   private boolean alreadyLoadedFromDatabase;
@@ -149,12 +176,24 @@ public class StockOverviewViewModel extends BaseViewModel {
 
     isLoadingLive = new MutableLiveData<>(false);
     dlHelper = new DownloadHelper(getApplication(), TAG, isLoadingLive::setValue, getOfflineLive());
+    dlHelper.setHighPriorityTypes(StockItem.class, Product.class, QuantityUnit.class);
     grocyApi = new GrocyApi(getApplication());
     repository = new StockOverviewRepository(application);
     pluralUtil = new PluralUtil(application);
 
     infoFullscreenLive = new MutableLiveData<>();
     filteredStockItemsLive = new MutableLiveData<>();
+    stockItemsPagerLive = new MutableLiveData<>();
+    pagedStockItemsLive = Transformations.switchMap(stockItemsPagerLive, pager -> {
+      if (pager == null) return new MutableLiveData<>(null);
+      return PagingLiveData.cachedIn(Transformations.map(
+          PagingLiveData.getLiveData(pager),
+          pagingData -> PagingDataTransforms.map(pagingData, Runnable::run, stockItem -> {
+            stockItem.setProduct(productHashMap.get(stockItem.getProductId()));
+            return stockItem;
+          })
+      ), this);
+    });
     scannerVisibilityLive = new MutableLiveData<>(false);
 
     filterChipLiveDataStatus = new FilterChipLiveDataStatusStock(
@@ -212,13 +251,12 @@ public class StockOverviewViewModel extends BaseViewModel {
       quantityUnitConversions = data.getQuantityUnitConversions();
       productGroupHashMap = ArrayUtil.getProductGroupsHashMap(data.getProductGroups());
       filterChipLiveDataProductGroup.setProductGroups(data.getProductGroups());
-      this.products = data.getProducts();
       productHashMap = ArrayUtil.getProductsHashMap(data.getProducts());
       productAveragePriceHashMap = ArrayUtil
           .getProductAveragePriceHashMap(data.getProductsAveragePrice());
       productLastPurchasedHashMap = ArrayUtil
           .getProductLastPurchasedHashMap(data.getProductsLastPurchased());
-      productBarcodeHashMap = ArrayUtil.getProductBarcodesHashMap(data.getProductBarcodes());
+      buildProductSearchIndex(data.getProducts(), data.getProductBarcodes(), productHashMap);
       this.stockItems = data.getStockItems();
 
       int itemsDueCount = 0;
@@ -257,8 +295,10 @@ public class StockOverviewViewModel extends BaseViewModel {
       }
       int itemsInStockCount = 0;
       int itemsOpenedCount = 0;
+      boolean productsMissing = false;
       for (StockItem stockItem : stockItems) {
         stockItem.setProduct(productHashMap.get(stockItem.getProductId()));
+        if (stockItem.getProduct() == null) productsMissing = true;
         if (!stockItem.isItemMissing() || stockItem.isItemMissingAndPartlyInStock()) {
           itemsInStockCount++;
         }
@@ -267,13 +307,15 @@ public class StockOverviewViewModel extends BaseViewModel {
         }
       }
 
-      this.shoppingListItems = data.getShoppingListItems();
-      shoppingListItemsProductIds = new ArrayList<>();
-      for (ShoppingListItem item : shoppingListItems) {
-        if (item.getProductId() != null && !item.getProductId().isEmpty()) {
-          shoppingListItemsProductIds.add(item.getProductId());
-        }
+      if (productsMissing) {
+        // invalidate products and stock items offline cache because products may have changed
+        SharedPreferences.Editor editPrefs = sharedPrefs.edit();
+        editPrefs.putString(PREF.DB_LAST_TIME_PRODUCTS, null);
+        editPrefs.putString(PREF.DB_LAST_TIME_STOCK_ITEMS, null);
+        editPrefs.apply();
       }
+
+      shoppingListItemsProductIds = new ArrayList<>(data.getShoppingListProductIds());
       filterChipLiveDataLocation.setLocations(data.getLocations());
       locationHashMap = ArrayUtil.getLocationsHashMap(data.getLocations());
 
@@ -310,6 +352,25 @@ public class StockOverviewViewModel extends BaseViewModel {
     }, error -> onError(error, TAG));
   }
 
+  private void buildProductSearchIndex(
+      List<Product> products,
+      List<ProductBarcode> barcodes,
+      HashMap<Integer, Product> productHashMap
+  ) {
+    if (searchIndexDisposable != null) searchIndexDisposable.dispose();
+    searchIndexDisposable = SearchIndex.buildInBackground(() -> {
+      SearchIndex<Product> searchIndex = new SearchIndex<>(products, Product::getName);
+      for (ProductBarcode barcode : barcodes) {
+        Product product = productHashMap.get(barcode.getProductIdInt());
+        if (product != null) searchIndex.addKey(barcode.getBarcode(), product);
+      }
+      return searchIndex;
+    }, debug, searchIndex -> {
+      productSearchIndex = searchIndex;
+      if (searchInput != null && !searchInput.isEmpty()) updateSearchInput(searchInput);
+    });
+  }
+
   public void downloadData(boolean forceUpdate) {
     dlHelper.updateData(
         updated -> {
@@ -334,27 +395,31 @@ public class StockOverviewViewModel extends BaseViewModel {
   }
 
   public void updateFilteredStockItems() {
+    if (isPagingSupported()) {
+      updatePagedStockItems();
+      return;
+    }
+    if (stockItemsPagerLive.getValue() != null) {
+      stockItemsPagerLive.setValue(null);
+      stockItemsPagingQuery = null;
+    }
+
     ArrayList<StockItem> filteredStockItems = new ArrayList<>();
 
     Product productSearch = null;
-    ProductBarcode productBarcodeSearch = null;
+    Product productBarcodeSearch = null;
     if (searchInput != null && !searchInput.isEmpty()) {
       Grocycode grocycode = GrocycodeUtil.getGrocycode(searchInput);
       if (grocycode != null && grocycode.isProduct()) {
         productSearch = productHashMap.get(grocycode.getObjectId());
       }
-      if (productSearch == null) {
-        productBarcodeSearch = productBarcodeHashMap.get(searchInput);
+      if (productSearch == null && productSearchIndex != null) {
+        productBarcodeSearch = productSearchIndex.getByKey(searchInput);
       }
     }
 
     for (StockItem item : this.stockItems) {
       if (item.getProduct() == null) {
-        // invalidate products and stock items offline cache because products may have changed
-        SharedPreferences.Editor editPrefs = sharedPrefs.edit();
-        editPrefs.putString(PREF.DB_LAST_TIME_PRODUCTS, null);
-        editPrefs.putString(PREF.DB_LAST_TIME_STOCK_ITEMS, null);
-        editPrefs.apply();
         continue;
       }
 
@@ -367,14 +432,14 @@ public class StockOverviewViewModel extends BaseViewModel {
         String productName = item.getProduct().getName().toLowerCase();
         searchContainsItem = productName.contains(searchInput);
         if (!searchContainsItem) {
-          searchContainsItem = searchResultsFuzzy.contains(productName);
+          searchContainsItem = searchResultsFuzzy.contains(item.getProductId());
         }
       }
       if (!searchContainsItem && productSearch == null && productBarcodeSearch == null) {
         continue;
       }
       if (!searchContainsItem && productSearch == null
-          && productBarcodeSearch.getProductIdInt() != item.getProductId()) {
+          && productBarcodeSearch.getId() != item.getProductId()) {
         continue;
       }
       if (productSearch != null && productSearch.getId() != item.getProductId()) {
@@ -383,11 +448,7 @@ public class StockOverviewViewModel extends BaseViewModel {
 
       int productGroupFilterId = filterChipLiveDataProductGroup.getSelectedId();
       if (productGroupFilterId != FilterChipLiveDataProductGroup.NO_FILTER
-          && NumUtil.isStringInt(item.getProduct().getProductGroupId())
-          && productGroupFilterId != Integer.parseInt(item.getProduct().getProductGroupId())
-          || productGroupFilterId != FilterChipLiveDataProductGroup.NO_FILTER
-          && !NumUtil.isStringInt(item.getProduct().getProductGroupId())
-      ) {
+          && productGroupFilterId != item.getProduct().getProductGroupIdInt()) {
         continue;
       }
       int locationFilterId = filterChipLiveDataLocation.getSelectedId();
@@ -423,7 +484,56 @@ public class StockOverviewViewModel extends BaseViewModel {
       }
     }
 
-    if (filteredStockItems.isEmpty()) {
+    updateInfoFullscreen(filteredStockItems.isEmpty());
+    filteredStockItemsLive.setValue(filteredStockItems);
+  }
+
+  /**
+   * Without search, grouping and sorting by userfields the database can filter and sort the
+   * items, so they are loaded in pages instead of being filtered and sorted here.
+   */
+  private boolean isPagingSupported() {
+    String sortMode = getSortMode();
+    return (searchInput == null || searchInput.isEmpty())
+        && getGroupingMode().equals(FilterChipLiveDataGroupingStock.GROUPING_NONE)
+        && (sortMode.equals(SORT_NAME) || sortMode.equals(SORT_DUE_DATE)
+        || sortMode.equals(SORT_CREATED_TIMESTAMP));
+  }
+
+  private void updatePagedStockItems() {
+    if (productHashMap == null) return;
+    int productGroupId = filterChipLiveDataProductGroup.getSelectedId();
+    int locationId = filterChipLiveDataLocation.getSelectedId();
+    int status = filterChipLiveDataStatus.getStatus();
+    String sortMode = getSortMode();
+    boolean sortAscending = isSortAscending();
+    String query = productGroupId + "_" + locationId + "_" + status + "_" + sortMode
+        + "_" + sortAscending;
+    filteredStockItemsLive.setValue(null);
+    if (query.equals(stockItemsPagingQuery) && stockItemsPagingSource != null) {
+      // reload the pages at the current position with the new products and other data
+      stockItemsPagingSource.invalidate();
+      return;
+    }
+    stockItemsPagingQuery = query;
+    stockItemsPagerLive.setValue(new Pager<>(
+        new PagingConfig(PAGE_SIZE, PAGE_SIZE, false),
+        () -> {
+          stockItemsPagingSource = repository.getStockItemsPagingSource(
+              productGroupId, locationId, status, sortMode, sortAscending
+          );
+          return stockItemsPagingSource;
+        }
+    ));
+  }
+
+  public void onPagedListLoaded(int itemCount) {
+    if (stockItemsPagerLive.getValue() == null) return;
+    updateInfoFullscreen(itemCount == 0);
+  }
+
+  private void updateInfoFullscreen(boolean isEmpty) {
+    if (isEmpty) {
       InfoFullscreen info;
       if (searchInput != null && !searchInput.isEmpty()) {
         info = new InfoFullscreen(InfoFullscreen.INFO_NO_SEARCH_RESULTS);
@@ -442,8 +552,6 @@ public class StockOverviewViewModel extends BaseViewModel {
     } else {
       infoFullscreenLive.setValue(null);
     }
-
-    filteredStockItemsLive.setValue(filteredStockItems);
   }
 
   public void updateFilteredStockItemsWithTopScroll() {
@@ -489,6 +597,12 @@ public class StockOverviewViewModel extends BaseViewModel {
         Log.e(TAG, "consumeProduct: " + e);
       }
     }
+    // with tare weight handling the amount is the gross weight and not the consumed amount
+    LocalMutation mutation = stockItem.getProduct().getEnableTareWeightHandlingInt() == 0
+        ? newStockItemMutation(stockItem, -amount, 0) : null;
+    if (mutation != null) {
+      mutation.apply(() -> loadFromDatabase(false));
+    }
     dlHelper.postWithArray(
         grocyApi.consumeProduct(stockItem.getProductId()),
         body,
@@ -506,6 +620,7 @@ public class StockOverviewViewModel extends BaseViewModel {
               Log.e(TAG, "consumeProduct: " + e);
             }
           }
+          List<StockLogEntry> logEntries = getStockLogEntries(response);
 
           String msg = getApplication().getString(
               spoiled ? R.string.msg_consumed_spoiled : R.string.msg_consumed,
@@ -521,22 +636,16 @@ public class StockOverviewViewModel extends BaseViewModel {
           // set undo button on snackBar
           if (transactionId != null) {
             String finalTransactionId = transactionId;
-            snackbarMsg.setAction(getString(R.string.action_undo), v -> dlHelper.post(
-                grocyApi.undoStockTransaction(finalTransactionId),
-                response1 -> {
-                  downloadData(false);
-                  showSnackbar(new SnackbarMessage(
-                      getString(R.string.msg_undone_transaction),
-                      Snackbar.LENGTH_SHORT
-                  ));
-                  if (debug) {
-                    Log.i(TAG, "consumeProduct: undone");
-                  }
-                },
-                this::showNetworkErrorMessage
+            // the stock log rows of the response contain the exact amounts to restore
+            double finalAmountConsumed = amountConsumed;
+            snackbarMsg.setAction(getString(R.string.action_undo), v -> undoStockTransaction(
+                stockItem,
+                finalTransactionId,
+                logEntries,
+                newStockItemMutation(stockItem, finalAmountConsumed, 0)
             ));
           }
-          downloadData(false);
+          applyStockLog(stockItem, mutation, logEntries, false);
           showSnackbar(snackbarMsg);
           if (debug) {
             Log.i(
@@ -545,6 +654,9 @@ public class StockOverviewViewModel extends BaseViewModel {
           }
         },
         error -> {
+          if (mutation != null) {
+            mutation.rollback(() -> loadFromDatabase(false));
+          }
           showNetworkErrorMessage(error);
           if (debug) {
             Log.i(TAG, "consumeProduct: " + error);
@@ -563,6 +675,10 @@ public class StockOverviewViewModel extends BaseViewModel {
         Log.e(TAG, "openProduct: " + e);
       }
     }
+    LocalMutation mutation = newStockItemMutation(stockItem, 0, amount);
+    if (mutation != null) {
+      mutation.apply(() -> loadFromDatabase(false));
+    }
     dlHelper.postWithArray(
         grocyApi.openProduct(stockItem.getProductId()),
         body,
@@ -580,6 +696,7 @@ public class StockOverviewViewModel extends BaseViewModel {
               Log.e(TAG, "openProduct: " + e);
             }
           }
+          List<StockLogEntry> logEntries = getStockLogEntries(response);
 
           String msg = getApplication().getString(
               R.string.msg_opened,
@@ -595,22 +712,15 @@ public class StockOverviewViewModel extends BaseViewModel {
           // set undo button on snackBar
           if (transactionId != null) {
             String finalTransactionId = transactionId;
-            snackbarMsg.setAction(getString(R.string.action_undo), v -> dlHelper.post(
-                grocyApi.undoStockTransaction(finalTransactionId),
-                response1 -> {
-                  downloadData(false);
-                  showSnackbar(new SnackbarMessage(
-                      getString(R.string.msg_undone_transaction),
-                      Snackbar.LENGTH_SHORT
-                  ));
-                  if (debug) {
-                    Log.i(TAG, "openProduct: undone");
-                  }
-                },
-                this::showNetworkErrorMessage
+            double finalAmountOpened = amountOpened;
+            snackbarMsg.setAction(getString(R.string.action_undo), v -> undoStockTransaction(
+                stockItem,
+                finalTransactionId,
+                logEntries,
+                newStockItemMutation(stockItem, 0, -finalAmountOpened)
             ));
           }
-          downloadData(false);
+          applyStockLog(stockItem, mutation, logEntries, false);
           showSnackbar(snackbarMsg);
           if (debug) {
             Log.i(
@@ -619,6 +729,9 @@ public class StockOverviewViewModel extends BaseViewModel {
           }
         },
         error -> {
+          if (mutation != null) {
+            mutation.rollback(() -> loadFromDatabase(false));
+          }
           showNetworkErrorMessage(error);
           if (debug) {
             Log.i(TAG, "openProduct: " + error);
@@ -627,7 +740,144 @@ public class StockOverviewViewModel extends BaseViewModel {
     );
   }
 
+  private void undoStockTransaction(
+      StockItem stockItem,
+      String transactionId,
+      List<StockLogEntry> logEntries,
+      @Nullable LocalMutation mutation
+  ) {
+    if (mutation != null) {
+      mutation.apply(() -> loadFromDatabase(false));
+    }
+    dlHelper.post(
+        grocyApi.undoStockTransaction(transactionId),
+        response -> {
+          applyStockLog(stockItem, mutation, logEntries, true);
+          showSnackbar(new SnackbarMessage(
+              getString(R.string.msg_undone_transaction),
+              Snackbar.LENGTH_SHORT
+          ));
+          if (debug) {
+            Log.i(TAG, "undoStockTransaction: undone");
+          }
+        },
+        error -> {
+          if (mutation != null) {
+            mutation.rollback(() -> loadFromDatabase(false));
+          }
+          showNetworkErrorMessage(error);
+        }
+    );
+  }
+
+  /**
+   * Changes the stock amounts of the item in the local database until the server confirmed
+   * the transaction and its stock log is applied with applyStockLog().
+   * The delta is applied to a copy of the currently loaded row, the row itself stays unchanged
+   * for the rollback. Returns null if the item has no stored stock which could be changed.
+   */
+  @Nullable
+  private LocalMutation newStockItemMutation(
+      StockItem stockItem,
+      double amountDelta,
+      double amountOpenedDelta
+  ) {
+    StockItem currentItem = getCurrentStockItem(stockItem);
+    if (currentItem == null || currentItem.getAmountAggregated() <= 0) {
+      return null;
+    }
+    StockItem changedItem = currentItem.getClone();
+    changedItem.setAmount(Math.max(0, currentItem.getAmount() + amountDelta));
+    changedItem.setAmountAggregated(
+        Math.max(0, currentItem.getAmountAggregated() + amountDelta)
+    );
+    changedItem.setAmountOpened(Math.max(0, Math.min(
+        currentItem.getAmountOpened() + amountOpenedDelta, changedItem.getAmount()
+    )));
+    changedItem.setAmountOpenedAggregated(Math.max(0, Math.min(
+        currentItem.getAmountOpenedAggregated() + amountOpenedDelta,
+        changedItem.getAmountAggregated()
+    )));
+    return new LocalMutation(getApplication()).update(
+        AppDatabase::stockItemDao,
+        Collections.singletonList(changedItem),
+        Collections.singletonList(currentItem)
+    );
+  }
+
+  /**
+   * Returns the row of this product as it was last loaded from the database, which can differ
+   * from the given item if a local mutation was applied after the item was passed around.
+   * Returns null if the product is not in stock anymore, e.g. after it was consumed completely.
+   */
+  @Nullable
+  private StockItem getCurrentStockItem(StockItem stockItem) {
+    if (stockItems == null) {
+      return stockItem;
+    }
+    for (StockItem item : stockItems) {
+      if (item.getProductId() == stockItem.getProductId()) {
+        return item;
+      }
+    }
+    return null;
+  }
+
+  private List<StockLogEntry> getStockLogEntries(JSONArray response) {
+    try {
+      return dlHelper.gson.fromJson(
+          response.toString(),
+          new TypeToken<List<StockLogEntry>>() {}.getType()
+      );
+    } catch (JsonSyntaxException e) {
+      if (debug) {
+        Log.e(TAG, "getStockLogEntries: " + e);
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Replaces the expected change of a stock transaction with the change logged by the server,
+   * in stock items, entries, locations and the due and missing state of the product.
+   * The stock is only downloaded again if the log can't be applied, the stock entries of the
+   * product if an entry was split by opening a part of it.
+   */
+  private void applyStockLog(
+      StockItem stockItem,
+      @Nullable LocalMutation mutation,
+      @Nullable List<StockLogEntry> logEntries,
+      boolean undo
+  ) {
+    if (logEntries == null || logEntries.isEmpty()) {
+      downloadData(false);
+      return;
+    }
+    int productId = stockItem.getProductId();
+    StockLogWrite stockLogWrite = new StockLogWrite(
+        productId, logEntries, undo, getDaysExpriringSoon()
+    );
+    if (mutation == null) mutation = new LocalMutation(getApplication());
+    mutation.confirm(stockLogWrite, () -> {
+      loadFromDatabase(false);
+      if (stockLogWrite.isStockEntriesIncomplete()) downloadStockEntries(productId);
+    }, () -> downloadData(false));
+  }
+
+  private void downloadStockEntries(int productId) {
+    dlHelper.newQueue(null, error -> downloadData(false)).append(
+        StockEntry.getStockEntries(dlHelper, productId, stockEntries -> new LocalMutation(
+            getApplication()
+        ).confirm(appDatabase -> {
+          StockEntryDao stockEntryDao = appDatabase.stockEntryDao();
+          stockEntryDao.deleteObjects(stockEntryDao.getByProductId(productId));
+          stockEntryDao.insertAll(stockEntries);
+        }, null, null))
+    ).start();
+  }
+
   public void resetSearch() {
+    if (searchDisposable != null) searchDisposable.dispose();
     searchInput = null;
     setIsSearchVisible(false);
   }
@@ -636,22 +886,32 @@ public class StockOverviewViewModel extends BaseViewModel {
     return filteredStockItemsLive;
   }
 
+  public LiveData<PagingData<StockItem>> getPagedStockItemsLive() {
+    return pagedStockItemsLive;
+  }
+
   public void updateSearchInput(String input) {
-    this.searchInput = input.toLowerCase();
-
-    // Initialize suggestion list with max. capacity; growing is expensive.
-    searchResultsFuzzy = new ArrayList<>(products.size());
-    List<BoundExtractedResult<Product>> results = FuzzySearch.extractSorted(
-        this.searchInput,
-        products,
-        item -> item.getName().toLowerCase(),
-        70
-    );
-    for (BoundExtractedResult<Product> result : results) {
-      searchResultsFuzzy.add(result.getString());
+    if (searchDisposable != null) searchDisposable.dispose();
+    String searchInput = input.toLowerCase();
+    if (searchInput.isEmpty() || productSearchIndex == null) {
+      this.searchInput = searchInput;
+      searchResultsFuzzy = new HashSet<>();
+      updateFilteredStockItems();
+      return;
     }
+    searchDisposable = productSearchIndex.searchDelayed(searchInput, 70, debug, results -> {
+      this.searchInput = searchInput;
+      searchResultsFuzzy = getProductIds(results);
+      updateFilteredStockItems();
+    });
+  }
 
-    updateFilteredStockItems();
+  private static HashSet<Integer> getProductIds(List<Product> products) {
+    HashSet<Integer> productIds = new HashSet<>(products.size());
+    for (Product product : products) {
+      productIds.add(product.getId());
+    }
+    return productIds;
   }
 
   public ArrayList<Integer> getProductIdsMissingItems() {
@@ -793,6 +1053,8 @@ public class StockOverviewViewModel extends BaseViewModel {
 
   @Override
   protected void onCleared() {
+    if (searchDisposable != null) searchDisposable.dispose();
+    if (searchIndexDisposable != null) searchIndexDisposable.dispose();
     dlHelper.destroy();
     super.onCleared();
   }
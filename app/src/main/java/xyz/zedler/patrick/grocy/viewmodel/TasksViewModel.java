@@ -26,6 +26,7 @@ import androidx.annotation.NonNull;
 import androidx.lifecycle.MutableLiveData;
 import androidx.preference.PreferenceManager;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import org.json.JSONException;
@@ -34,6 +35,7 @@ import xyz.zedler.patrick.grocy.Constants.PREF;
 import xyz.zedler.patrick.grocy.R;
 import xyz.zedler.patrick.grocy.api.GrocyApi;
 import xyz.zedler.patrick.grocy.api.GrocyApi.ENTITY;
+import xyz.zedler.patrick.grocy.database.AppDatabase;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
 import xyz.zedler.patrick.grocy.model.Event;
 import xyz.zedler.patrick.grocy.model.FilterChipLiveData;
@@ -44,6 +46,7 @@ import xyz.zedler.patrick.grocy.model.InfoFullscreen;
 import xyz.zedler.patrick.grocy.model.Task;
 import xyz.zedler.patrick.grocy.model.TaskCategory;
 import xyz.zedler.patrick.grocy.model.User;
+import xyz.zedler.patrick.grocy.repository.LocalMutation;
 import xyz.zedler.patrick.grocy.repository.TasksRepository;
 import xyz.zedler.patrick.grocy.util.ArrayUtil;
 import xyz.zedler.patrick.grocy.util.DateUtil;
@@ -212,29 +215,40 @@ public class TasksViewModel extends BaseViewModel {
   public void changeTaskDoneStatus(int taskId) {
     Task task = Task.getTaskFromId(tasks, taskId);
     if (task == null) return;
+    boolean wasDone = task.isDone();
+    String doneTime = dateUtil.getCurrentDateWithTimeStr();
     JSONObject body = new JSONObject();
     try {
-      body.put("done_time", dateUtil.getCurrentDateWithTimeStr());
+      body.put("done_time", doneTime);
     } catch (JSONException e) {
       if (debug) {
-        if (!task.isDone()) {
+        if (!wasDone) {
           Log.e(TAG, "completeTask: " + e);
         } else {
           Log.e(TAG, "undoTask: " + e);
         }
       }
     }
+    // the shown task stays unchanged, so the list sees the change and it can be rolled back
+    Task changedTask = task.getClone();
+    changedTask.setDone(!wasDone);
+    changedTask.setDoneTimeStamp(!wasDone ? doneTime : null);
+    LocalMutation mutation = new LocalMutation(getApplication()).update(
+        AppDatabase::taskDao,
+        Collections.singletonList(changedTask),
+        Collections.singletonList(task)
+    );
+    mutation.apply(() -> loadFromDatabase(false));
     dlHelper.postWithArray(
-        !task.isDone() ? grocyApi.completeTask(task.getId()) : grocyApi.undoTask(task.getId()),
+        !wasDone ? grocyApi.completeTask(task.getId()) : grocyApi.undoTask(task.getId()),
         body,
         response -> {
           String msg = getApplication().getString(
-              !task.isDone() ? R.string.msg_task_completed : R.string.msg_task_not_completed
+              !wasDone ? R.string.msg_task_completed : R.string.msg_task_not_completed
           );
           showMessage(msg);
-          downloadData(false);
 
-          if (!task.isDone()) {
+          if (!wasDone) {
             Log.i(
                 TAG, "completeTask: completed " + task.getName()
             );
@@ -243,9 +257,10 @@ public class TasksViewModel extends BaseViewModel {
           }
         },
         error -> {
+          mutation.rollback(() -> loadFromDatabase(false));
           showNetworkErrorMessage(error);
           if (debug) {
-            if (!task.isDone()) {
+            if (!wasDone) {
               Log.i(TAG, "completeTask: " + error);
             } else {
               Log.i(TAG, "undoTask: " + error);
@@ -24,6 +24,7 @@ import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.util.Log;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.StringRes;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
@@ -32,6 +33,7 @@ import androidx.preference.PreferenceManager;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.json.JSONException;
 import org.json.JSONObject;
 import xyz.zedler.patrick.grocy.Constants;
@@ -49,7 +51,9 @@ import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.QuantityUnitsBottomSh
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.QuickModeConfirmBottomSheet;
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.StockEntriesBottomSheet;
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.StockLocationsBottomSheet;
+import xyz.zedler.patrick.grocy.helper.BookingJournal;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
+import xyz.zedler.patrick.grocy.model.BookingJournalEntry;
 import xyz.zedler.patrick.grocy.model.Event;
 import xyz.zedler.patrick.grocy.model.InfoFullscreen;
 import xyz.zedler.patrick.grocy.model.Location;
@@ -62,6 +66,9 @@ import xyz.zedler.patrick.grocy.model.SnackbarMessage;
 import xyz.zedler.patrick.grocy.model.StockEntry;
 import xyz.zedler.patrick.grocy.model.StockLocation;
 import xyz.zedler.patrick.grocy.repository.InventoryRepository;
+import xyz.zedler.patrick.grocy.repository.ProductBarcodeRepository;
+import xyz.zedler.patrick.grocy.repository.ProductDetailsRepository;
+import xyz.zedler.patrick.grocy.repository.ProductDetailsRepository.ProductDetailsData;
 import xyz.zedler.patrick.grocy.util.ArrayUtil;
 import xyz.zedler.patrick.grocy.util.GrocycodeUtil;
 import xyz.zedler.patrick.grocy.util.GrocycodeUtil.Grocycode;
@@ -77,13 +84,15 @@ public class TransferViewModel extends BaseViewModel {
   private final boolean debug;
 
   private final DownloadHelper dlHelper;
+  private final BookingJournal bookingJournal;
   private final GrocyApi grocyApi;
   private final InventoryRepository repository;
+  private final ProductDetailsRepository productDetailsRepository;
+  private final ProductBarcodeRepository productBarcodeRepository;
   private final FormDataTransfer formData;
 
   private List<Product> products;
   private List<QuantityUnitConversionResolved> unitConversions;
-  private List<ProductBarcode> barcodes;
   private List<Location> locations;
   private HashMap<Integer, QuantityUnit> quantityUnitHashMap;
 
@@ -107,8 +116,11 @@ public class TransferViewModel extends BaseViewModel {
 
     isLoadingLive = new MutableLiveData<>(false);
     dlHelper = new DownloadHelper(getApplication(), TAG, isLoadingLive::setValue, getOfflineLive());
+    bookingJournal = BookingJournal.getInstance(application);
     grocyApi = new GrocyApi(getApplication());
     repository = new InventoryRepository(application);
+    productDetailsRepository = new ProductDetailsRepository(application);
+    productBarcodeRepository = new ProductBarcodeRepository(application);
     formData = new FormDataTransfer(application, sharedPrefs, args);
 
     infoFullscreenLive = new MutableLiveData<>();
@@ -122,8 +134,6 @@ public class TransferViewModel extends BaseViewModel {
       quickModeStart = false;
     }
     quickModeEnabled = new MutableLiveData<>(quickModeStart);
-
-    barcodes = new ArrayList<>();
   }
 
   public FormDataTransfer getFormData() {
@@ -133,7 +143,6 @@ public class TransferViewModel extends BaseViewModel {
   public void loadFromDatabase(boolean downloadAfterLoading) {
     repository.loadFromDatabase(data -> {
       this.products = data.getProducts();
-      this.barcodes = data.getBarcodes();
       this.locations = data.getLocations();
       this.quantityUnitHashMap = ArrayUtil.getQuantityUnitsHashMap(data.getQuantityUnits());
       this.unitConversions = data.getQuantityUnitConversionsResolved();
@@ -169,127 +178,227 @@ public class TransferViewModel extends BaseViewModel {
   }
 
   public void setProduct(int productId, ProductBarcode barcode, String stockEntryId) {
-    Runnable onQueueEmptyListener = () -> {
-      ProductDetails productDetails = formData.getProductDetailsLive().getValue();
-      assert productDetails != null;
-      Product product = productDetails.getProduct();
-
-      if (productDetails.getStockAmountAggregated() == 0) {
-        String name = product.getName();
-        showMessageAndContinueScanning(getApplication().getString(R.string.msg_not_in_stock, name));
-        return;
-      }
-      if (productDetails.getProduct().getEnableTareWeightHandlingBoolean()) {
-        showMessageAndContinueScanning(getApplication().getString(R.string.msg_transfer_tare_weight));
-        return;
-      }
-
-      formData.getProductDetailsLive().setValue(productDetails);
-      formData.getProductNameLive().setValue(product.getName());
-
-      // stock location (from location)
-      List<StockLocation> stockLocations = formData.getStockLocations();
-      StockLocation stockLocation = StockLocation.getFromId(
-          stockLocations,
-          product.getLocationIdInt()
-      );
-      if (stockLocation == null && !stockLocations.isEmpty()) {
-        stockLocation = stockLocations.get(stockLocations.size() - 1);
-      }
-      formData.getFromLocationLive().setValue(stockLocation);
-
-      // quantity unit
-      HashMap<QuantityUnit, Double> unitFactors= QuantityUnitConversionUtil.getUnitFactors(
-          quantityUnitHashMap,
-          unitConversions,
-          product,
-          VersionUtil.isGrocyServerMin400(sharedPrefs)
-      );
-      formData.getQuantityUnitsFactorsLive().setValue(unitFactors);
-      QuantityUnit stock = quantityUnitHashMap.get(product.getQuIdStockInt());
-      formData.getQuantityUnitStockLive().setValue(stock);
-
-      QuantityUnit barcodeUnit = null;
-      if (barcode != null && barcode.hasQuId()) {
-        barcodeUnit = quantityUnitHashMap.get(barcode.getQuIdInt());
-      }
-      if (barcodeUnit != null && unitFactors.containsKey(barcodeUnit)) {
-        formData.getQuantityUnitLive().setValue(barcodeUnit);
-      } else {
-        formData.getQuantityUnitLive().setValue(stock);
-      }
-
-      // amount
-      if (barcode != null && barcode.hasAmount()) {
-        // if barcode contains amount, take this
-        // quick mode status doesn't matter
-        formData.getAmountLive().setValue(NumUtil.trimAmount(barcode.getAmountDouble(), maxDecimalPlacesAmount));
-      } else if (!isQuickModeEnabled()) {
-        String defaultAmount = sharedPrefs.getString(
-            Constants.SETTINGS.STOCK.DEFAULT_CONSUME_AMOUNT,
-            Constants.SETTINGS_DEFAULT.STOCK.DEFAULT_CONSUME_AMOUNT
-        );
-        if (NumUtil.isStringDouble(defaultAmount)) {
-          defaultAmount = NumUtil.trimAmount(NumUtil.toDouble(defaultAmount), maxDecimalPlacesAmount);
-        }
-        if (NumUtil.isStringDouble(defaultAmount)
-            && NumUtil.toDouble(defaultAmount) > 0) {
-          formData.getAmountLive().setValue(defaultAmount);
-        }
-      } else {
-        // if quick mode enabled, always fill with amount 1
-        formData.getAmountLive().setValue(NumUtil.trimAmount(1, maxDecimalPlacesAmount));
-      }
-
-      // stock entry
-      StockEntry stockEntry = null;
-      if (stockEntryId != null) {
-        stockEntry = StockEntry.getStockEntryFromId(formData.getStockEntries(), stockEntryId);
-      }
-      if (stockEntryId != null && stockEntry == null) {
-        showMessage(R.string.error_stock_entry_grocycode);
-      }
-      if (stockEntry != null) {
-        formData.getUseSpecificLive().setValue(true);
-        formData.getSpecificStockEntryLive().setValue(stockEntry);
+    if (stockEntryId != null) {
+      // stock entries aren't synced, so an entry from a grocycode may only exist on the server
+      downloadProductDetails(productId, barcode, stockEntryId, null);
+      return;
+    }
+    productDetailsRepository.loadFromDatabase(productId, localData -> {
+      if (localData.hasStock()) {
+        // fill the form without waiting for the server, it is revalidated afterwards
+        fillWithProductDetails(localData, barcode, null, false);
+        downloadProductDetails(productId, barcode, stockEntryId, localData);
       } else {
-        formData.getUseSpecificLive().setValue(false);
-        formData.getSpecificStockEntryLive().setValue(null);
-      }
-
-      formData.isFormValid();
-      if (isQuickModeEnabled()) {
-        sendEvent(Event.FOCUS_INVALID_VIEWS);
+        downloadProductDetails(productId, barcode, stockEntryId, null);
       }
-    };
+    }, error -> downloadProductDetails(productId, barcode, stockEntryId, null));
+  }
 
+  private void downloadProductDetails(
+      int productId,
+      ProductBarcode barcode,
+      String stockEntryId,
+      @Nullable ProductDetailsData localData
+  ) {
+    ProductDetailsData serverData = new ProductDetailsData();
     dlHelper.newQueue(
-        updated -> onQueueEmptyListener.run(),
-        error -> showMessageAndContinueScanning(getString(R.string.error_no_product_details))
+        updated -> {
+          if (localData == null) {
+            fillWithProductDetails(serverData, barcode, stockEntryId, true);
+          } else {
+            patchWithProductDetails(localData, serverData);
+          }
+        },
+        error -> {
+          if (localData == null) {
+            showMessageAndContinueScanning(getString(R.string.error_no_product_details));
+          } else if (isQuickModeEnabled()
+              && formData.getProductDetailsLive().getValue() == localData.getProductDetails()) {
+            // offline, continue with the local data
+            sendEvent(Event.FOCUS_INVALID_VIEWS);
+          }
+        }
     ).append(
         ProductDetails.getProductDetails(
             dlHelper,
             productId,
-            productDetails -> formData.getProductDetailsLive().setValue(productDetails)
+            serverData::setProductDetails
         ), StockLocation.getStockLocations(
             dlHelper,
             productId,
-            formData::setStockLocations
+            serverData::setStockLocations
         ), StockEntry.getStockEntries(
             dlHelper,
             productId,
-            formData::setStockEntries
+            serverData::setStockEntries
         )
     ).start();
   }
 
+  private void fillWithProductDetails(
+      ProductDetailsData data,
+      ProductBarcode barcode,
+      String stockEntryId,
+      boolean isServerData
+  ) {
+    ProductDetails productDetails = data.getProductDetails();
+    assert productDetails != null;
+    Product product = productDetails.getProduct();
+
+    if (productDetails.getStockAmountAggregated() == 0) {
+      String name = product.getName();
+      showMessageAndContinueScanning(getApplication().getString(R.string.msg_not_in_stock, name));
+      return;
+    }
+    if (productDetails.getProduct().getEnableTareWeightHandlingBoolean()) {
+      showMessageAndContinueScanning(getApplication().getString(R.string.msg_transfer_tare_weight));
+      return;
+    }
+
+    formData.getProductDetailsLive().setValue(productDetails);
+    formData.setStockLocations(data.getStockLocations());
+    formData.setStockEntries(data.getStockEntries());
+    formData.getProductNameLive().setValue(product.getName());
+
+    // stock location (from location)
+    List<StockLocation> stockLocations = formData.getStockLocations();
+    StockLocation stockLocation = StockLocation.getFromId(
+        stockLocations,
+        product.getLocationIdInt()
+    );
+    if (stockLocation == null && !stockLocations.isEmpty()) {
+      stockLocation = stockLocations.get(stockLocations.size() - 1);
+    }
+    formData.getFromLocationLive().setValue(stockLocation);
+
+    // quantity unit
+    Map<QuantityUnit, Double> unitFactors= QuantityUnitConversionUtil.getUnitFactors(
+        quantityUnitHashMap,
+        unitConversions,
+        product,
+        VersionUtil.isGrocyServerMin400(sharedPrefs)
+    );
+    formData.getQuantityUnitsFactorsLive().setValue(unitFactors);
+    QuantityUnit stock = quantityUnitHashMap.get(product.getQuIdStockInt());
+    formData.getQuantityUnitStockLive().setValue(stock);
+
+    QuantityUnit barcodeUnit = null;
+    if (barcode != null && barcode.hasQuId()) {
+      barcodeUnit = quantityUnitHashMap.get(barcode.getQuIdInt());
+    }
+    if (barcodeUnit != null && unitFactors.containsKey(barcodeUnit)) {
+      formData.getQuantityUnitLive().setValue(barcodeUnit);
+    } else {
+      formData.getQuantityUnitLive().setValue(stock);
+    }
+
+    // amount
+    if (barcode != null && barcode.hasAmount()) {
+      // if barcode contains amount, take this
+      // quick mode status doesn't matter
+      formData.getAmountLive().setValue(NumUtil.trimAmount(barcode.getAmountDouble(), maxDecimalPlacesAmount));
+    } else if (!isQuickModeEnabled()) {
+      String defaultAmount = sharedPrefs.getString(
+          Constants.SETTINGS.STOCK.DEFAULT_CONSUME_AMOUNT,
+          Constants.SETTINGS_DEFAULT.STOCK.DEFAULT_CONSUME_AMOUNT
+      );
+      if (NumUtil.isStringDouble(defaultAmount)) {
+        defaultAmount = NumUtil.trimAmount(NumUtil.toDouble(defaultAmount), maxDecimalPlacesAmount);
+      }
+      if (NumUtil.isStringDouble(defaultAmount)
+          && NumUtil.toDouble(defaultAmount) > 0) {
+        formData.getAmountLive().setValue(defaultAmount);
+      }
+    } else {
+      // if quick mode enabled, always fill with amount 1
+      formData.getAmountLive().setValue(NumUtil.trimAmount(1, maxDecimalPlacesAmount));
+    }
+
+    // stock entry
+    StockEntry stockEntry = null;
+    if (stockEntryId != null) {
+      stockEntry = StockEntry.getStockEntryFromId(formData.getStockEntries(), stockEntryId);
+    }
+    if (stockEntryId != null && stockEntry == null) {
+      showMessage(R.string.error_stock_entry_grocycode);
+    }
+    if (stockEntry != null) {
+      formData.getUseSpecificLive().setValue(true);
+      formData.getSpecificStockEntryLive().setValue(stockEntry);
+    } else {
+      formData.getUseSpecificLive().setValue(false);
+      formData.getSpecificStockEntryLive().setValue(null);
+    }
+
+    formData.isFormValid();
+    if (isQuickModeEnabled() && isServerData) {
+      // with local data, quick mode has to wait for the stock on the server
+      sendEvent(Event.FOCUS_INVALID_VIEWS);
+    }
+  }
+
+  /**
+   * Updates a form which was filled with local data if the stock on the server differs.
+   * Values entered by the user are kept, only selections which don't exist anymore are reset.
+   */
+  private void patchWithProductDetails(
+      ProductDetailsData localData,
+      ProductDetailsData serverData
+  ) {
+    if (formData.getProductDetailsLive().getValue() != localData.getProductDetails()) {
+      return; // form was cleared or filled with another product in the meantime
+    }
+    ProductDetails productDetails = serverData.getProductDetails();
+    assert productDetails != null;
+    if (productDetails.getStockAmountAggregated() == 0) {
+      String name = productDetails.getProduct().getName();
+      showMessageAndContinueScanning(getApplication().getString(R.string.msg_not_in_stock, name));
+      return;
+    }
+    boolean hasSameStock = localData.hasSameStock(serverData);
+    formData.getProductDetailsLive().setValue(productDetails);
+    formData.setStockLocations(serverData.getStockLocations());
+    formData.setStockEntries(serverData.getStockEntries());
+    if (hasSameStock) {
+      if (isQuickModeEnabled()) sendEvent(Event.FOCUS_INVALID_VIEWS);
+      return;
+    }
+
+    StockLocation fromLocation = formData.getFromLocationLive().getValue();
+    if (fromLocation != null) {
+      List<StockLocation> stockLocations = formData.getStockLocations();
+      StockLocation updatedLocation = StockLocation.getFromId(
+          stockLocations, fromLocation.getLocationId()
+      );
+      if (updatedLocation == null && !stockLocations.isEmpty()) {
+        updatedLocation = stockLocations.get(stockLocations.size() - 1);
+      }
+      formData.getFromLocationLive().setValue(updatedLocation);
+    }
+
+    StockEntry stockEntry = formData.getSpecificStockEntryLive().getValue();
+    if (stockEntry != null) {
+      StockEntry updatedEntry = StockEntry.getStockEntryFromId(
+          formData.getStockEntries(), stockEntry.getStockId()
+      );
+      formData.getUseSpecificLive().setValue(updatedEntry != null);
+      formData.getSpecificStockEntryLive().setValue(updatedEntry);
+    }
+    formData.isFormValid();
+    if (isQuickModeEnabled()) {
+      sendEvent(Event.FOCUS_INVALID_VIEWS);
+    }
+  }
+
   public void onBarcodeRecognized(String barcode) {
     if (formData.getProductDetailsLive().getValue() != null) {
-      if (ProductBarcode.getFromBarcode(barcodes, barcode) == null) {
-        formData.getBarcodeLive().setValue(barcode);
-      } else {
-        showMessage(R.string.msg_clear_form_first);
-      }
+      productBarcodeRepository.getBarcodeLookup(barcode, lookup -> {
+        if (lookup.getProductBarcode() == null) {
+          formData.getBarcodeLive().setValue(barcode);
+        } else {
+          showMessage(R.string.msg_clear_form_first);
+        }
+      });
       return;
     }
     Product product = null;
@@ -306,19 +415,19 @@ public class TransferViewModel extends BaseViewModel {
       showMessageAndContinueScanning(R.string.error_wrong_grocycode_type);
       return;
     }
-    ProductBarcode productBarcode = null;
-    if (product == null) {
-      productBarcode = ProductBarcode.getFromBarcode(barcodes, barcode);
-      product = productBarcode != null
-          ? Product.getProductFromId(products, productBarcode.getProductIdInt()) : null;
-    }
     if (product != null) {
-      setProduct(product.getId(), productBarcode, stockEntryId);
-    } else {
-      Bundle bundle = new Bundle();
-      bundle.putString(ARGUMENT.BARCODE, barcode);
-      sendEvent(Event.CHOOSE_PRODUCT, bundle);
+      setProduct(product.getId(), null, stockEntryId);
+      return;
     }
+    productBarcodeRepository.getBarcodeLookup(barcode, lookup -> {
+      if (lookup.getProduct() != null) {
+        setProduct(lookup.getProduct().getId(), lookup.getProductBarcode(), null);
+      } else {
+        Bundle bundle = new Bundle();
+        bundle.putString(ARGUMENT.BARCODE, barcode);
+        sendEvent(Event.CHOOSE_PRODUCT, bundle);
+      }
+    });
   }
 
   public void checkProductInput() {
@@ -340,20 +449,20 @@ public class TransferViewModel extends BaseViewModel {
       showMessageAndContinueScanning(R.string.error_wrong_grocycode_type);
       return;
     }
-    if (product == null) {
-      ProductBarcode productBarcode = null;
-      for (ProductBarcode code : barcodes) {
-        if (code.getBarcode().equals(input.trim())) {
-          productBarcode = code;
-          product = Product.getProductFromId(products, code.getProductIdInt());
-        }
-      }
-      if (product != null) {
-        setProduct(product.getId(), productBarcode, null);
-        return;
-      }
+    if (product != null) {
+      onProductInputChecked(product, input);
+      return;
     }
+    productBarcodeRepository.getBarcodeLookup(input.trim(), lookup -> {
+      if (lookup.getProduct() != null) {
+        setProduct(lookup.getProduct().getId(), lookup.getProductBarcode(), null);
+      } else {
+        onProductInputChecked(null, input);
+      }
+    });
+  }
 
+  private void onProductInputChecked(@Nullable Product product, String input) {
     ProductDetails currentProductDetails = formData.getProductDetailsLive().getValue();
     Product currentProduct = currentProductDetails != null
         ? currentProductDetails.getProduct() : null;
@@ -398,8 +507,8 @@ public class TransferViewModel extends BaseViewModel {
       return;
     }
 
-    dlHelper.postWithArray(grocyApi.transferProduct(product.getId()),
-        body,
+    bookingJournal.book(
+        new BookingJournalEntry(BookingJournalEntry.TYPE_TRANSFER, product, body),
         response -> {
           // UNDO OPTION
           String transactionId = null;
@@ -439,6 +548,10 @@ public class TransferViewModel extends BaseViewModel {
           showSnackbar(snackbarMessage);
           sendEvent(Event.CONSUME_SUCCESS);
         },
+        () -> {
+          showMessage(R.string.msg_stored_in_journal);
+          sendEvent(Event.CONSUME_SUCCESS);
+        },
         error -> {
           showNetworkErrorMessage(error);
           if (debug) {
@@ -462,15 +575,21 @@ public class TransferViewModel extends BaseViewModel {
   }
 
   private void uploadProductBarcode(Runnable onSuccess) {
+    assert formData.getProductDetailsLive().getValue() != null;
+    Product product = formData.getProductDetailsLive().getValue().getProduct();
     ProductBarcode productBarcode = formData.fillProductBarcode();
     JSONObject body = productBarcode.getJsonFromProductBarcode(debug, TAG);
-    ProductBarcode.addProductBarcode(dlHelper, body, () -> {
+    Runnable onUploaded = () -> {
       formData.getBarcodeLive().setValue(null);
-      barcodes.add(productBarcode); // add to list so it will be found on next scan without reload
-      if (onSuccess != null) {
-        onSuccess.run();
-      }
-    }, error -> showMessage(R.string.error_failed_barcode_upload)).perform(dlHelper.getUuid());
+      // store it so it will be found on next scan without sync
+      productBarcodeRepository.insertProductBarcode(productBarcode, onSuccess);
+    };
+    bookingJournal.book(
+        new BookingJournalEntry(BookingJournalEntry.TYPE_PRODUCT_BARCODE, product, body),
+        response -> onUploaded.run(),
+        onUploaded,
+        error -> showMessage(R.string.error_failed_barcode_upload)
+    );
   }
 
   public void showInputProductBottomSheet(@NonNull String input) {
@@ -483,7 +602,7 @@ public class TransferViewModel extends BaseViewModel {
     if (!hasFocus) {
       return;
     }
-    HashMap<QuantityUnit, Double> unitsFactors = getFormData()
+    Map<QuantityUnit, Double> unitsFactors = getFormData()
         .getQuantityUnitsFactorsLive().getValue();
     Bundle bundle = new Bundle();
     bundle.putParcelableArrayList(
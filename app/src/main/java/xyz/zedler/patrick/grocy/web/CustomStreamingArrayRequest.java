@@ -0,0 +1,166 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.web;
+
+import android.util.Base64;
+import androidx.annotation.Nullable;
+import com.android.volley.DefaultRetryPolicy;
+import com.android.volley.NetworkResponse;
+import com.android.volley.ParseError;
+import com.android.volley.Request;
+import com.android.volley.Response;
+import com.android.volley.RetryPolicy;
+import com.android.volley.toolbox.HttpHeaderParser;
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.stream.JsonReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * GET request for a JSON array of objects which are decoded one by one with a JsonReader
+ * and handed to a BatchWriter in batches of fixed size, so the response is never held as
+ * String or as complete list of objects. Parsing and writing happen on the network thread,
+ * the listener receives the number of decoded objects.
+ */
+public class CustomStreamingArrayRequest<T> extends Request<Integer> {
+
+  public final static int DEFAULT_BATCH_SIZE = 500;
+
+  private final String url;
+  private final String apiKey;
+  private final String homeAssistantIngressSessionKey;
+  private final Gson gson;
+  private final Type objectType;
+  private final BatchWriter<T> batchWriter;
+  private final Response.Listener<Integer> listener;
+
+  public CustomStreamingArrayRequest(
+      String url,
+      String apiKey,
+      String homeAssistantIngressSessionKey,
+      Gson gson,
+      Type objectType,
+      BatchWriter<T> batchWriter,
+      Response.Listener<Integer> listener,
+      @Nullable Response.ErrorListener errorListener,
+      int timeoutSeconds,
+      String tag
+  ) {
+    super(Method.GET, url, error -> {
+      if (errorListener != null) {
+        errorListener.onErrorResponse(error);
+      }
+    });
+    this.url = url;
+    this.apiKey = apiKey;
+    this.homeAssistantIngressSessionKey = homeAssistantIngressSessionKey;
+    this.gson = gson;
+    this.objectType = objectType;
+    this.batchWriter = batchWriter;
+    this.listener = listener;
+    if (tag != null) {
+      setTag(tag);
+    }
+    setShouldCache(false);
+    RetryPolicy policy = new DefaultRetryPolicy(
+        timeoutSeconds * 1000,
+        DefaultRetryPolicy.DEFAULT_MAX_RETRIES,
+        DefaultRetryPolicy.DEFAULT_BACKOFF_MULT
+    );
+    setRetryPolicy(policy);
+  }
+
+  @Override
+  protected Response<Integer> parseNetworkResponse(NetworkResponse response) {
+    int[] count = {0};
+    try {
+      String charset = HttpHeaderParser.parseCharset(response.headers, "UTF-8");
+      // an exception thrown while parsing rolls back everything written before
+      batchWriter.runInTransaction(() -> {
+        try (JsonReader reader = new JsonReader(new InputStreamReader(
+            new ByteArrayInputStream(response.data), charset
+        ))) {
+          ArrayList<T> batch = new ArrayList<>(DEFAULT_BATCH_SIZE);
+          reader.beginArray();
+          while (reader.hasNext()) {
+            batch.add(gson.fromJson(reader, objectType));
+            count[0]++;
+            if (batch.size() == DEFAULT_BATCH_SIZE) {
+              batchWriter.onBatch(batch);
+              batch = new ArrayList<>(DEFAULT_BATCH_SIZE);
+            }
+          }
+          reader.endArray();
+          if (!batch.isEmpty()) {
+            batchWriter.onBatch(batch);
+          }
+        } catch (IOException e) {
+          throw new JsonIOException(e);
+        }
+      });
+      return Response.success(count[0], HttpHeaderParser.parseCacheHeaders(response));
+    } catch (RuntimeException e) {
+      return Response.error(new ParseError(e));
+    }
+  }
+
+  @Override
+  protected void deliverResponse(Integer response) {
+    listener.onResponse(response);
+  }
+
+  @Override
+  public Map<String, String> getHeaders() {
+    Map<String, String> params = new HashMap<>();
+    Matcher matcher = Pattern.compile("(http|https)://(\\S+):(\\S+)@(\\S+)").matcher(url);
+    if (matcher.matches()) {
+      String user = matcher.group(2);
+      String password = matcher.group(3);
+      byte[] combination = (user + ":" + password).getBytes();
+      String encoded = Base64.encodeToString(combination, Base64.DEFAULT);
+      params.put("Authorization", "Basic " + encoded);
+    }
+    if (apiKey != null && !apiKey.isEmpty()) {
+      params.put("GROCY-API-KEY", apiKey);
+    }
+    if (homeAssistantIngressSessionKey != null) {
+      params.put("Cookie", "ingress_session=" + homeAssistantIngressSessionKey);
+    }
+    return params.isEmpty() ? Collections.emptyMap() : params;
+  }
+
+  public interface BatchWriter<T> {
+
+    // must run the parsing inside of a single database transaction
+    void runInTransaction(Runnable parsing);
+
+    void onBatch(List<T> objects);
+  }
+}
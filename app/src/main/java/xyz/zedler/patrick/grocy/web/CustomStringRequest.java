@@ -22,6 +22,7 @@ package xyz.zedler.patrick.grocy.web;
 import android.util.Base64;
 import androidx.annotation.Nullable;
 import com.android.volley.DefaultRetryPolicy;
+import com.android.volley.NetworkResponse;
 import com.android.volley.Response;
 import com.android.volley.RetryPolicy;
 import com.android.volley.toolbox.StringRequest;
@@ -38,6 +39,7 @@ public class CustomStringRequest extends StringRequest {
   private final String apiKey;
   private final String homeAssistantIngressSessionKey;
   private final String userAgent;
+  private long cacheTtlMillis;
 
   public CustomStringRequest(
       int method,
@@ -81,7 +83,8 @@ public class CustomStringRequest extends StringRequest {
     if (tag != null) {
       setTag(tag);
     }
-    setShouldCache(false);
+    cacheTtlMillis = method == Method.GET && userAgent == null ? HttpCache.getTtlMillis(url) : 0;
+    setShouldCache(cacheTtlMillis > 0);
     RetryPolicy policy = new DefaultRetryPolicy(
         timeoutSeconds * 1000,
         DefaultRetryPolicy.DEFAULT_MAX_RETRIES,
@@ -168,6 +171,24 @@ public class CustomStringRequest extends StringRequest {
     );
   }
 
+  /**
+   * Caches the response for the given time regardless of its URL, must be called before the
+   * request is added to the queue.
+   */
+  public void setCacheTtlMillis(long cacheTtlMillis) {
+    this.cacheTtlMillis = cacheTtlMillis;
+    setShouldCache(cacheTtlMillis > 0);
+  }
+
+  @Override
+  protected Response<String> parseNetworkResponse(NetworkResponse response) {
+    Response<String> parsed = super.parseNetworkResponse(response);
+    if (cacheTtlMillis == 0 || !parsed.isSuccess()) {
+      return parsed;
+    }
+    return Response.success(parsed.result, HttpCache.getCacheEntry(response, cacheTtlMillis));
+  }
+
   @Override
   public Map<String, String> getHeaders() {
     Map<String, String> params = new HashMap<>();
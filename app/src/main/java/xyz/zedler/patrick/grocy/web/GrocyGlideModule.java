@@ -0,0 +1,67 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.web;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.GlideBuilder;
+import com.bumptech.glide.Registry;
+import com.bumptech.glide.annotation.GlideModule;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
+import com.bumptech.glide.load.engine.cache.DiskCache;
+import com.bumptech.glide.load.engine.cache.InternalCacheDiskCacheFactory;
+import com.bumptech.glide.module.AppGlideModule;
+import com.bumptech.glide.request.RequestOptions;
+import java.io.InputStream;
+
+@GlideModule
+public class GrocyGlideModule extends AppGlideModule {
+
+  private static final long DISK_CACHE_SIZE = 150 * 1024 * 1024;
+
+  @Override
+  public void applyOptions(@NonNull Context context, @NonNull GlideBuilder builder) {
+    builder.setDiskCache(new InternalCacheDiskCacheFactory(
+        context, DiskCache.Factory.DEFAULT_DISK_CACHE_DIR, DISK_CACHE_SIZE
+    ));
+    // keep the downloaded source and the decoded thumbnails, so scrolling back to a row
+    // doesn't decode the full picture again
+    builder.setDefaultRequestOptions(new RequestOptions().diskCacheStrategy(DiskCacheStrategy.ALL));
+  }
+
+  @Override
+  public void registerComponents(
+      @NonNull Context context,
+      @NonNull Glide glide,
+      @NonNull Registry registry
+  ) {
+    registry.prepend(
+        GrocyPicture.class,
+        InputStream.class,
+        new GrocyPictureLoader.Factory(context)
+    );
+  }
+
+  @Override
+  public boolean isManifestParsingEnabled() {
+    return false;
+  }
+}
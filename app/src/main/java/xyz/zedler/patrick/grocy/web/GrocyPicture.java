@@ -0,0 +1,72 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.web;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Glide model for a picture served by the grocy server.
+ * The cache key is the picture url without user credentials, so cached pictures stay valid
+ * when the auth headers (API key, basic auth or the rotating ingress session cookie) change.
+ * The headers are only added when the picture is actually downloaded, see GrocyPictureLoader.
+ */
+public class GrocyPicture {
+
+  private final String url;
+  private final String cacheKey;
+
+  public GrocyPicture(@NonNull String url) {
+    this.url = url;
+    this.cacheKey = url.replaceFirst("^(https?://)[^/@]*@", "$1");
+  }
+
+  @NonNull
+  public String getUrl() {
+    return url;
+  }
+
+  @NonNull
+  public String getCacheKey() {
+    return cacheKey;
+  }
+
+  @Override
+  public boolean equals(@Nullable Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    return cacheKey.equals(((GrocyPicture) o).cacheKey);
+  }
+
+  @Override
+  public int hashCode() {
+    return cacheKey.hashCode();
+  }
+
+  @NonNull
+  @Override
+  public String toString() {
+    return "GrocyPicture(" + cacheKey + ")";
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.web;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.model.GlideUrl;
+import com.bumptech.glide.load.model.ModelLoader;
+import com.bumptech.glide.load.model.ModelLoaderFactory;
+import com.bumptech.glide.load.model.MultiModelLoaderFactory;
+import com.bumptech.glide.signature.ObjectKey;
+import java.io.InputStream;
+
+/**
+ * Loads GrocyPicture models with the current grocy auth headers, but keys the memory and disk
+ * cache only on the credential-free picture url.
+ */
+public class GrocyPictureLoader implements ModelLoader<GrocyPicture, InputStream> {
+
+  private final Context context;
+  private final ModelLoader<GlideUrl, InputStream> urlLoader;
+
+  public GrocyPictureLoader(Context context, ModelLoader<GlideUrl, InputStream> urlLoader) {
+    this.context = context;
+    this.urlLoader = urlLoader;
+  }
+
+  @Nullable
+  @Override
+  public LoadData<InputStream> buildLoadData(
+      @NonNull GrocyPicture picture,
+      int width,
+      int height,
+      @NonNull Options options
+  ) {
+    GlideUrl glideUrl = new GlideUrl(
+        picture.getUrl(),
+        RequestHeaders.getGlideGrocyAuthHeaders(context)
+    );
+    LoadData<InputStream> loadData = urlLoader.buildLoadData(glideUrl, width, height, options);
+    if (loadData == null) {
+      return null;
+    }
+    return new LoadData<>(new ObjectKey(picture.getCacheKey()), loadData.fetcher);
+  }
+
+  @Override
+  public boolean handles(@NonNull GrocyPicture picture) {
+    return true;
+  }
+
+  public static class Factory implements ModelLoaderFactory<GrocyPicture, InputStream> {
+
+    private final Context context;
+
+    public Factory(Context context) {
+      this.context = context.getApplicationContext();
+    }
+
+    @NonNull
+    @Override
+    public ModelLoader<GrocyPicture, InputStream> build(
+        @NonNull MultiModelLoaderFactory multiFactory
+    ) {
+      return new GrocyPictureLoader(context, multiFactory.build(GlideUrl.class, InputStream.class));
+    }
+
+    @Override
+    public void teardown() {
+    }
+  }
+}
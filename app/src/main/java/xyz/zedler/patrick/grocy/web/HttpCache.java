@@ -0,0 +1,120 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.web;
+
+import android.content.SharedPreferences;
+import androidx.annotation.Nullable;
+import com.android.volley.Cache;
+import com.android.volley.NetworkResponse;
+import com.android.volley.RequestQueue;
+import com.android.volley.toolbox.ClearCacheRequest;
+import com.android.volley.toolbox.HttpHeaderParser;
+import java.util.regex.Pattern;
+import xyz.zedler.patrick.grocy.Constants.PREF;
+
+/**
+ * Opt-in response cache for GET requests of read endpoints which are opened repeatedly.
+ * Only URLs with a TTL in getTtlMillis() and requests with an explicit TTL are cached, all other
+ * requests go to the network.
+ *
+ * A cached response is used without request until its TTL expired. After that, it is
+ * revalidated with its ETag or Last-Modified header if the server sent one, so an unchanged
+ * resource is answered with 304 and the cached body. As Grocy doesn't send cache headers
+ * for API responses, the whole cache is cleared after every write request of this app and
+ * as soon as the db-changed-time of the server differs from the time of the cached responses.
+ */
+public class HttpCache {
+
+  public final static int DISK_CACHE_SIZE_BYTES = 10 * 1024 * 1024;
+
+  private final static long TTL_SYSTEM_INFO_MS = 24 * 60 * 60 * 1000;
+  private final static long TTL_PRICE_HISTORY_MS = 60 * 60 * 1000;
+  // only for the product overview and not by URL, stock forms need the current product details
+  public final static long TTL_PRODUCT_DETAILS_MS = 10 * 60 * 1000;
+  private final static long TTL_STOCK_LOG_MS = 10 * 60 * 1000;
+
+  private final static Pattern SYSTEM_INFO = Pattern.compile(".*/api/system/info");
+  private final static Pattern PRICE_HISTORY = Pattern
+      .compile(".*/api/stock/products/\\d+/price-history");
+  private final static Pattern STOCK_LOG = Pattern.compile(".*/api/objects/stock_log\\?.*");
+
+  /**
+   * Returns how long the response of the given GET request may be used without request,
+   * or 0 if it should not be cached at all.
+   */
+  public static long getTtlMillis(String url) {
+    if (SYSTEM_INFO.matcher(url).matches()) {
+      return TTL_SYSTEM_INFO_MS;
+    } else if (PRICE_HISTORY.matcher(url).matches()) {
+      return TTL_PRICE_HISTORY_MS;
+    } else if (STOCK_LOG.matcher(url).matches()) {
+      return TTL_STOCK_LOG_MS;
+    }
+    return 0;
+  }
+
+  /**
+   * Cache entry with the given TTL instead of the one from the cache headers, which Grocy
+   * doesn't send. The validators of the response are kept for revalidation.
+   */
+  public static Cache.Entry getCacheEntry(NetworkResponse response, long ttlMillis) {
+    long now = System.currentTimeMillis();
+    Cache.Entry entry = new Cache.Entry();
+    entry.data = response.data;
+    entry.etag = response.headers != null ? response.headers.get("ETag") : null;
+    String lastModified = response.headers != null
+        ? response.headers.get("Last-Modified") : null;
+    if (lastModified != null) {
+      entry.lastModified = HttpHeaderParser.parseDateAsEpoch(lastModified);
+    }
+    String serverDate = response.headers != null ? response.headers.get("Date") : null;
+    if (serverDate != null) {
+      entry.serverDate = HttpHeaderParser.parseDateAsEpoch(serverDate);
+    }
+    // same TTL for both, so an expired entry is never delivered before it is revalidated
+    entry.softTtl = now + ttlMillis;
+    entry.ttl = entry.softTtl;
+    entry.responseHeaders = response.headers;
+    entry.allResponseHeaders = response.allHeaders;
+    return entry;
+  }
+
+  public static void clear(RequestQueue requestQueue) {
+    // executed on the cache thread before all requests which are added later
+    requestQueue.add(new ClearCacheRequest(requestQueue.getCache(), null));
+  }
+
+  /**
+   * Clears the cache if the database of the server was changed since the cached responses
+   * were received, or if that time is unknown.
+   */
+  public static void onDbChangedTime(
+      RequestQueue requestQueue,
+      SharedPreferences sharedPrefs,
+      @Nullable String dbChangedTime
+  ) {
+    String lastTime = sharedPrefs.getString(PREF.DB_LAST_TIME_HTTP_CACHE, null);
+    if (dbChangedTime == null || dbChangedTime.equals(lastTime)) {
+      return;
+    }
+    clear(requestQueue);
+    sharedPrefs.edit().putString(PREF.DB_LAST_TIME_HTTP_CACHE, dbChangedTime).apply();
+  }
+}
@@ -19,6 +19,7 @@
 
 package xyz.zedler.patrick.grocy.web;
 
+import androidx.annotation.Nullable;
 import com.android.volley.RequestQueue;
 import java.util.ArrayList;
 import java.util.UUID;
@@ -28,13 +29,22 @@ import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnStringResponseListener;
 
 public class NetworkQueue {
 
-  private final ArrayList<QueueItem> queueItems;
+  public final static int PRIORITY_LOW = 0;
+  public final static int PRIORITY_NORMAL = 1;
+  public final static int PRIORITY_HIGH = 2;
+  // same as number of network threads in RequestQueueSingleton
+  public final static int DEFAULT_MAX_PARALLEL_ITEMS = 6;
+
+  private final ArrayList<QueueItem> queueItems; // waiting items
+  private final ArrayList<QueueItem> runningItems;
   private final OnQueueEmptyListener onQueueEmptyListener;
   private final OnMultiTypeErrorListener onErrorListener;
   private final OnLoadingListener onLoadingListener;
+  private OnItemFinishedListener onItemFinishedListener;
   private final RequestQueue requestQueue;
   private final String uuidQueue;
   private int requestsNotFinishedCount;
+  private int maxParallelItems;
   private boolean isRunning; // state of queue
   private boolean isLoading; // state of "loading" circle
   private boolean realRequestsMade; // true if any real requests were made (not only QueueItemWithoutLoading in queue)
@@ -50,8 +60,10 @@ public class NetworkQueue {
     this.onLoadingListener = onLoadingListener;
     this.requestQueue = requestQueue;
     queueItems = new ArrayList<>();
+    runningItems = new ArrayList<>();
     uuidQueue = UUID.randomUUID().toString();
     requestsNotFinishedCount = 0;
+    maxParallelItems = DEFAULT_MAX_PARALLEL_ITEMS;
     isRunning = false;
     isLoading = false;
     realRequestsMade = false;
@@ -79,6 +91,17 @@ public class NetworkQueue {
     executeQueueItems();
   }
 
+  public NetworkQueue setMaxParallelItems(int maxParallelItems) {
+    this.maxParallelItems = Math.max(1, maxParallelItems);
+    return this;
+  }
+
+  // called with the type of every finished item, so that already persisted data can be displayed
+  public NetworkQueue setOnItemFinishedListener(OnItemFinishedListener onItemFinishedListener) {
+    this.onItemFinishedListener = onItemFinishedListener;
+    return this;
+  }
+
   public void start() {
     if (isRunning) {
       return;
@@ -102,45 +125,98 @@ public class NetworkQueue {
     if (queueItems.isEmpty() || requestsNotFinishedCount == 0) {
       return;
     }
+    QueueItem queueItem = pollNextItem();
+    while (queueItem != null) {
+      performQueueItem(queueItem);
+      queueItem = pollNextItem();
+    }
+  }
 
+  /**
+   * Returns the waiting item with the highest priority whose dependencies are all finished.
+   * Items with equal priority are started in the order they were appended.
+   */
+  @Nullable
+  private QueueItem pollNextItem() {
+    if (runningItems.size() >= maxParallelItems) {
+      return null;
+    }
+    QueueItem nextItem = null;
     for (QueueItem queueItem : queueItems) {
-      if (!(queueItem instanceof QueueItemWithoutLoading) && !isLoading
-          && onLoadingListener != null) {
-        // this prevents loading circle to appear when shopping mode updates data but nothing has
-        // changed on server. In this case, all QueueItems are null except for products because
-        // QuantityUnitConversions rely on it and are updated after products. So loading circle
-        // only appears if QueueItem is not QueueItemWithoutLoading, which is always the case
-        // except in the condition explained.
-        onLoadingListener.onLoadingChanged(true);
-        isLoading = true;
+      if ((nextItem == null || queueItem.priority > nextItem.priority)
+          && areDependenciesFinished(queueItem)) {
+        nextItem = queueItem;
       }
-      queueItem.perform(response -> {
-        requestsNotFinishedCount--;
-        if (requestsNotFinishedCount > 0) {
-          return;
-        }
-        isRunning = false;
-        isLoading = false;
-        if (onLoadingListener != null) {
-          onLoadingListener.onLoadingChanged(false);
-        }
-        if (onQueueEmptyListener != null) {
-          onQueueEmptyListener.onQueueEmpty(realRequestsMade); // TODO: Test it
-        }
-        reset(false);
-      }, error -> {
-        isRunning = false;
-        isLoading = false;
-        if (onLoadingListener != null) {
-          onLoadingListener.onLoadingChanged(false);
-        }
-        if (onErrorListener != null) {
-          onErrorListener.onError(error);
-        }
-        reset(true);
-      }, uuidQueue);
     }
-    queueItems.clear();
+    if (nextItem == null && runningItems.isEmpty() && !queueItems.isEmpty()) {
+      // circular dependencies, nothing would ever finish
+      nextItem = queueItems.get(0);
+    }
+    if (nextItem != null) {
+      queueItems.remove(nextItem);
+    }
+    return nextItem;
+  }
+
+  private boolean areDependenciesFinished(QueueItem queueItem) {
+    for (Class<?> dependency : queueItem.dependencies) {
+      for (QueueItem item : queueItems) {
+        if (item != queueItem && item.type == dependency) return false;
+      }
+      for (QueueItem item : runningItems) {
+        if (item.type == dependency) return false;
+      }
+    }
+    return true;
+  }
+
+  private void performQueueItem(QueueItem queueItem) {
+    if (!(queueItem instanceof QueueItemWithoutLoading) && !isLoading
+        && onLoadingListener != null) {
+      // this prevents loading circle to appear when shopping mode updates data but nothing has
+      // changed on server. In this case, all QueueItems are null except for products because
+      // QuantityUnitConversions rely on it and are updated after products. So loading circle
+      // only appears if QueueItem is not QueueItemWithoutLoading, which is always the case
+      // except in the condition explained.
+      onLoadingListener.onLoadingChanged(true);
+      isLoading = true;
+    }
+    runningItems.add(queueItem);
+    queueItem.perform(response -> {
+      if (!runningItems.remove(queueItem)) {
+        return; // queue was reset in the meantime
+      }
+      requestsNotFinishedCount--;
+      if (onItemFinishedListener != null && queueItem.type != null) {
+        onItemFinishedListener.onItemFinished(queueItem.type);
+      }
+      if (requestsNotFinishedCount > 0) {
+        executeQueueItems();
+        return;
+      }
+      isRunning = false;
+      isLoading = false;
+      if (onLoadingListener != null) {
+        onLoadingListener.onLoadingChanged(false);
+      }
+      if (onQueueEmptyListener != null) {
+        onQueueEmptyListener.onQueueEmpty(realRequestsMade); // TODO: Test it
+      }
+      reset(false);
+    }, error -> {
+      if (!runningItems.contains(queueItem)) {
+        return; // queue was reset in the meantime
+      }
+      isRunning = false;
+      isLoading = false;
+      if (onLoadingListener != null) {
+        onLoadingListener.onLoadingChanged(false);
+      }
+      if (onErrorListener != null) {
+        onErrorListener.onError(error);
+      }
+      reset(true);
+    }, uuidQueue);
   }
 
   public int getSize() {
@@ -156,11 +232,19 @@ public class NetworkQueue {
       requestQueue.cancelAll(uuidQueue);
     }
     queueItems.clear();
+    runningItems.clear();
     requestsNotFinishedCount = 0;
     realRequestsMade = false;
   }
 
   public abstract static class QueueItem {
+
+    // optional, needed for dependencies and for OnItemFinishedListener
+    @Nullable
+    private Class<?> type;
+    private Class<?>[] dependencies = new Class<?>[0];
+    private int priority = PRIORITY_NORMAL;
+
     public abstract void perform(
         OnStringResponseListener responseListener,
         OnMultiTypeErrorListener errorListener,
@@ -171,6 +255,31 @@ public class NetworkQueue {
       // UUID is for cancelling the requests; should be uuidHelper from above
       perform(null, null, uuid);
     }
+
+    public QueueItem setType(@Nullable Class<?> type) {
+      this.type = type;
+      return this;
+    }
+
+    @Nullable
+    public Class<?> getType() {
+      return type;
+    }
+
+    // item is started after all items with these types in the same queue are finished
+    public QueueItem setDependencies(Class<?>... dependencies) {
+      this.dependencies = dependencies;
+      return this;
+    }
+
+    public QueueItem setPriority(int priority) {
+      this.priority = priority;
+      return this;
+    }
+
+    public int getPriority() {
+      return priority;
+    }
   }
 
   public abstract static class QueueItemWithoutLoading extends QueueItem {
@@ -180,4 +289,8 @@ public class NetworkQueue {
   public interface OnQueueEmptyListener {
     void onQueueEmpty(boolean updated);
   }
+
+  public interface OnItemFinishedListener {
+    void onItemFinished(Class<?> type);
+  }
 }
@@ -0,0 +1,182 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.web;
+
+import androidx.annotation.Nullable;
+import com.android.volley.AuthFailureError;
+import com.android.volley.Header;
+import com.android.volley.Request.Method;
+import com.android.volley.toolbox.BaseHttpStack;
+import com.android.volley.toolbox.HttpResponse;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import okhttp3.ConnectionPool;
+import okhttp3.Headers;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okhttp3.brotli.BrotliInterceptor;
+
+/**
+ * Volley stack on top of OkHttp. All instances share one client and with it one connection pool,
+ * so the requests of a sync are multiplexed over a single HTTP/2 connection (or reuse kept-alive
+ * HTTP/1.1 connections) and TLS sessions are resumed instead of negotiated for every request.
+ * Responses are requested with Brotli and gzip and decompressed transparently.
+ */
+public class OkHttpStack extends BaseHttpStack {
+
+  private static final int MAX_IDLE_CONNECTIONS = 6;
+  private static final long KEEP_ALIVE_MINUTES = 5;
+
+  private static OkHttpClient sharedClient;
+
+  private final OkHttpClient client;
+
+  public OkHttpStack(@Nullable Proxy proxy) {
+    // same pool for every stack, so rebuilding the queue after a settings change keeps the
+    // warm connections; pooled connections are bound to their proxy route anyway
+    client = getSharedClient().newBuilder().proxy(proxy).build();
+  }
+
+  private static synchronized OkHttpClient getSharedClient() {
+    if (sharedClient == null) {
+      sharedClient = new OkHttpClient.Builder()
+          .connectionPool(new ConnectionPool(
+              MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES
+          ))
+          .addInterceptor(BrotliInterceptor.INSTANCE)
+          // the retry policy of Volley has to be the only retry, otherwise bookings could be
+          // sent again silently after a stale pooled connection failed
+          .retryOnConnectionFailure(false)
+          .build();
+    }
+    return sharedClient;
+  }
+
+  @Override
+  public HttpResponse executeRequest(
+      com.android.volley.Request<?> request,
+      Map<String, String> additionalHeaders
+  ) throws IOException, AuthFailureError {
+    int timeoutMs = request.getTimeoutMs();
+    OkHttpClient callClient = client.newBuilder()
+        .connectTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+        .readTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+        .writeTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+        .build();
+
+    Request.Builder builder = new Request.Builder().url(request.getUrl());
+    Map<String, String> headers = new HashMap<>(additionalHeaders);
+    headers.putAll(request.getHeaders());
+    for (Map.Entry<String, String> header : headers.entrySet()) {
+      builder.header(header.getKey(), header.getValue());
+    }
+    setMethodAndBody(builder, request);
+
+    Response response = callClient.newCall(builder.build()).execute();
+    int code = response.code();
+    List<Header> responseHeaders = convertHeaders(response.headers());
+    ResponseBody body = response.body();
+    if (body == null || !hasResponseBody(request.getMethod(), code)) {
+      response.close();
+      return new HttpResponse(code, responseHeaders);
+    }
+    // Volley closes the stream after reading it, which releases the connection to the pool
+    return new HttpResponse(code, responseHeaders, (int) body.contentLength(), body.byteStream());
+  }
+
+  private static void setMethodAndBody(
+      Request.Builder builder,
+      com.android.volley.Request<?> request
+  ) throws AuthFailureError {
+    switch (request.getMethod()) {
+      case Method.DEPRECATED_GET_OR_POST:
+        byte[] postBody = request.getBody();
+        if (postBody != null) {
+          builder.post(RequestBody.create(postBody, getMediaType(request)));
+        } else {
+          builder.get();
+        }
+        break;
+      case Method.GET:
+        builder.get();
+        break;
+      case Method.DELETE:
+        builder.delete();
+        break;
+      case Method.POST:
+        builder.post(createBody(request));
+        break;
+      case Method.PUT:
+        builder.put(createBody(request));
+        break;
+      case Method.PATCH:
+        builder.patch(createBody(request));
+        break;
+      case Method.HEAD:
+        builder.head();
+        break;
+      case Method.OPTIONS:
+        builder.method("OPTIONS", null);
+        break;
+      case Method.TRACE:
+        builder.method("TRACE", null);
+        break;
+      default:
+        throw new IllegalStateException("Unknown method type.");
+    }
+  }
+
+  private static RequestBody createBody(com.android.volley.Request<?> request)
+      throws AuthFailureError {
+    byte[] body = request.getBody();
+    return RequestBody.create(body != null ? body : new byte[0], getMediaType(request));
+  }
+
+  @Nullable
+  private static MediaType getMediaType(com.android.volley.Request<?> request) {
+    return MediaType.parse(request.getBodyContentType());
+  }
+
+  private static List<Header> convertHeaders(Headers headers) {
+    List<Header> converted = new ArrayList<>(headers.size());
+    for (int i = 0; i < headers.size(); i++) {
+      converted.add(new Header(headers.name(i), headers.value(i)));
+    }
+    return converted;
+  }
+
+  private static boolean hasResponseBody(int requestMethod, int responseCode) {
+    return requestMethod != Method.HEAD
+        && !(HttpURLConnection.HTTP_CONTINUE <= responseCode
+        && responseCode < HttpURLConnection.HTTP_OK)
+        && responseCode != HttpURLConnection.HTTP_NO_CONTENT
+        && responseCode != HttpURLConnection.HTTP_NOT_MODIFIED;
+  }
+}
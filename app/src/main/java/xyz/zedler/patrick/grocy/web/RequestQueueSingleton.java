@@ -21,21 +21,17 @@ package xyz.zedler.patrick.grocy.web;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import androidx.annotation.Nullable;
 import androidx.preference.PreferenceManager;
 import com.android.volley.Cache;
 import com.android.volley.Network;
 import com.android.volley.RequestQueue;
+import com.android.volley.toolbox.BaseHttpStack;
 import com.android.volley.toolbox.BasicNetwork;
 import com.android.volley.toolbox.DiskBasedCache;
-import com.android.volley.toolbox.HurlStack;
-import java.io.IOException;
-import java.net.InetAddress;
-import java.net.Socket;
-import java.security.KeyManagementException;
-import java.security.NoSuchAlgorithmException;
-import javax.net.ssl.SSLContext;
-import javax.net.ssl.SSLSocket;
-import javax.net.ssl.SSLSocketFactory;
+import java.io.File;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
 import xyz.zedler.patrick.grocy.Constants.SETTINGS.NETWORK;
 import xyz.zedler.patrick.grocy.Constants.SETTINGS_DEFAULT;
 
@@ -67,82 +63,37 @@ public class RequestQueueSingleton {
   public void newRequestQueue() {
     //requestQueue = Volley.newRequestQueue(ctx);
 
-    Cache cache = new DiskBasedCache(ctx.getCacheDir(), 1024 * 1024);
+    // own directory, because clearing the cache deletes all files in it
+    Cache cache = new DiskBasedCache(
+        new File(ctx.getCacheDir(), "volley"),
+        HttpCache.DISK_CACHE_SIZE_BYTES
+    );
 
-    SharedPreferences sharedPrefs = PreferenceManager.getDefaultSharedPreferences(ctx);
-    boolean useTor = sharedPrefs.getBoolean(NETWORK.TOR, SETTINGS_DEFAULT.NETWORK.TOR);
-    boolean useProxy = sharedPrefs.getBoolean(NETWORK.PROXY, SETTINGS_DEFAULT.NETWORK.PROXY);
-
-    HurlStack stack;
-    if (useTor || useProxy) {
-      stack = new ProxyHurlStack(sharedPrefs, useTor);
-    } else {
-      try {
-        stack = new HurlStack(null, new TLSSocketFactory());
-      } catch (NoSuchAlgorithmException | KeyManagementException e) {
-        stack = new HurlStack();
-      }
-    }
+    BaseHttpStack stack = createHttpStack(
+        PreferenceManager.getDefaultSharedPreferences(ctx)
+    );
     Network network = new BasicNetwork(stack);
     requestQueue = new RequestQueue(cache, network, 6);
     requestQueue.start();
   }
 
-  private static class TLSSocketFactory extends SSLSocketFactory {
-
-    private final SSLSocketFactory internalSSLSocketFactory;
-
-    public TLSSocketFactory() throws KeyManagementException, NoSuchAlgorithmException {
-      SSLContext context = SSLContext.getInstance("TLS");
-      context.init(null, null, null);
-      internalSSLSocketFactory = context.getSocketFactory();
-    }
-
-    @Override
-    public String[] getDefaultCipherSuites() {
-      return internalSSLSocketFactory.getDefaultCipherSuites();
-    }
-
-    @Override
-    public String[] getSupportedCipherSuites() {
-      return internalSSLSocketFactory.getSupportedCipherSuites();
-    }
-
-    @Override
-    public Socket createSocket() throws IOException {
-      return enableTLSOnSocket(internalSSLSocketFactory.createSocket());
-    }
-
-    @Override
-    public Socket createSocket(Socket s, String host, int port, boolean autoClose) throws IOException {
-      return enableTLSOnSocket(internalSSLSocketFactory.createSocket(s, host, port, autoClose));
-    }
-
-    @Override
-    public Socket createSocket(String host, int port) throws IOException {
-      return enableTLSOnSocket(internalSSLSocketFactory.createSocket(host, port));
-    }
-
-    @Override
-    public Socket createSocket(String host, int port, InetAddress localHost, int localPort) throws IOException {
-      return enableTLSOnSocket(internalSSLSocketFactory.createSocket(host, port, localHost, localPort));
-    }
-
-    @Override
-    public Socket createSocket(InetAddress host, int port) throws IOException {
-      return enableTLSOnSocket(internalSSLSocketFactory.createSocket(host, port));
-    }
-
-    @Override
-    public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort) throws IOException {
-      return enableTLSOnSocket(internalSSLSocketFactory.createSocket(address, port, localAddress, localPort));
-    }
+  private static BaseHttpStack createHttpStack(SharedPreferences sharedPrefs) {
+    return new OkHttpStack(getProxy(sharedPrefs));
+  }
 
-    private Socket enableTLSOnSocket(Socket socket) {
-      if((socket instanceof SSLSocket)) {
-        ((SSLSocket)socket).setEnabledProtocols(new String[] {"TLSv1.1", "TLSv1.2", "TLSv1.3"});
-      }
-      return socket;
+  @Nullable
+  private static Proxy getProxy(SharedPreferences sharedPrefs) {
+    if (sharedPrefs.getBoolean(NETWORK.TOR, SETTINGS_DEFAULT.NETWORK.TOR)) {
+      // unresolved address, so host names (also .onion) are resolved by Tor and not locally
+      return new Proxy(
+          Proxy.Type.SOCKS,
+          InetSocketAddress.createUnresolved("127.0.0.1", 9050)
+      );
+    } else if (sharedPrefs.getBoolean(NETWORK.PROXY, SETTINGS_DEFAULT.NETWORK.PROXY)) {
+      String host = sharedPrefs.getString(NETWORK.PROXY_HOST, SETTINGS_DEFAULT.NETWORK.PROXY_HOST);
+      int port = sharedPrefs.getInt(NETWORK.PROXY_PORT, SETTINGS_DEFAULT.NETWORK.PROXY_PORT);
+      return new Proxy(Proxy.Type.HTTP, InetSocketAddress.createUnresolved(host, port));
     }
+    return null;
   }
-}
\ No newline at end of file
+}